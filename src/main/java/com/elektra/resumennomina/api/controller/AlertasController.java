@@ -1,7 +1,9 @@
 package com.elektra.resumennomina.api.controller;
 
 import com.elektra.resumennomina.api.dto.*;
+import com.elektra.resumennomina.application.service.AlertasMaterializadasService;
 import com.elektra.resumennomina.application.service.AlertasService;
+import com.elektra.resumennomina.application.service.SeleccionAlertas;
 import com.elektra.resumennomina.domain.model.*;
 import com.elektra.resumennomina.domain.port.input.CompensacionUseCase;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,6 +26,7 @@ import java.util.List;
 @Tag(name = "Alertas", description = "Endpoints para consulta de alertas estadísticas (Z-Score e Intervalo de Predicción)")
 public class AlertasController {
 
+    private final AlertasMaterializadasService alertasMaterializadasService;
     private final AlertasService alertasService;
     private final CompensacionUseCase compensacionUseCase;
 
@@ -38,7 +41,7 @@ public class AlertasController {
                 Periodo.fromCodigo(periodo) :
                 compensacionUseCase.obtenerPeriodoActual();
 
-        List<AlertaZScore> alertas = alertasService.obtenerAlertasZScore(periodoObj);
+        List<AlertaZScore> alertas = alertasMaterializadasService.obtenerAlertasZScore(periodoObj);
 
         List<AlertaZScoreResponse> response = alertas.stream()
                 .map(this::toZScoreResponse)
@@ -58,7 +61,7 @@ public class AlertasController {
                 Periodo.fromCodigo(periodo) :
                 compensacionUseCase.obtenerPeriodoActual();
 
-        List<AlertaPrediccion> alertas = alertasService.obtenerAlertasPrediccion(periodoObj);
+        List<AlertaPrediccion> alertas = alertasMaterializadasService.obtenerAlertasPrediccion(periodoObj);
 
         List<AlertaPrediccionResponse> response = alertas.stream()
                 .map(this::toPrediccionResponse)
@@ -69,29 +72,71 @@ public class AlertasController {
 
     @GetMapping
     @Operation(summary = "Obtiene todas las alertas",
-            description = "Retorna tanto alertas Z-Score como de Intervalo de Predicción")
+            description = "Retorna tanto alertas Z-Score como de Intervalo de Predicción, de la más relevante a la menos. "
+                    + "Con 'limite' devuelve las primeras N de cada tipo y un cursor para la siguiente página")
     public ResponseEntity<ApiResponse<AlertasResponse>> obtenerTodasLasAlertas(
             @Parameter(description = "Codigo del periodo (YYYYWW). Si no se especifica, usa el más reciente")
-            @RequestParam(required = false) Integer periodo) {
-
+            @RequestParam(required = false) Integer periodo,
+            @Parameter(description = "Máximo de alertas de cada tipo. Si no se especifica, retorna todas")
+            @RequestParam(required = false) Integer limite,
+            @Parameter(description = "Severidad de las alertas Z-Score: CRITICA, ALTA o MODERADA")
+            @RequestParam(required = false) AlertaZScore.Severidad severidad,
+            @Parameter(description = "Negocio a evaluar. Si no se especifica, evalúa todos")
+            @RequestParam(required = false) String negocio,
+            @Parameter(description = "Cursor devuelto en 'siguienteCursor' por la página anterior. "
+                    + "Sin 'periodo' se continúa en el periodo del cursor")
+            @RequestParam(required = false) String cursor) {
+
+        // Sin periodo explicito, la paginacion sigue en el periodo del cursor aunque llegue una carga nueva
         Periodo periodoObj = periodo != null ?
                 Periodo.fromCodigo(periodo) :
-                compensacionUseCase.obtenerPeriodoActual();
-
-        List<AlertaZScore> alertasZScore = alertasService.obtenerAlertasZScore(periodoObj);
-        List<AlertaPrediccion> alertasPrediccion = alertasService.obtenerAlertasPrediccion(periodoObj);
+                SeleccionAlertas.periodoDelCursor(cursor).orElseGet(compensacionUseCase::obtenerPeriodoActual);
 
-        AlertasResponse response = AlertasResponse.builder()
-                .periodo(periodoObj.toString())
-                .totalAlertasZScore(alertasZScore.size())
-                .totalAlertasPrediccion(alertasPrediccion.size())
-                .alertasZScore(alertasZScore.stream().map(this::toZScoreResponse).toList())
-                .alertasPrediccion(alertasPrediccion.stream().map(this::toPrediccionResponse).toList())
+        FiltroAlertas filtro = FiltroAlertas.builder()
+                .negocio(negocio)
+                .severidad(severidad)
+                .limite(limite)
+                .cursor(cursor)
                 .build();
 
+        ResultadoAlertas resultado = alertasMaterializadasService.obtenerAlertas(periodoObj, filtro);
+
+        return ResponseEntity.ok(ApiResponse.success(toAlertasResponse(resultado)));
+    }
+
+    @GetMapping("/historial")
+    @Operation(summary = "Obtiene el historial de alertas de un rango de periodos",
+            description = "Retorna las alertas Z-Score y de Intervalo de Predicción de cada periodo con datos en el rango. "
+                    + "El rango puede cubrir como máximo dos años")
+    public ResponseEntity<ApiResponse<List<AlertasResponse>>> obtenerHistorialAlertas(
+            @Parameter(description = "Periodo inicial (YYYYWW)")
+            @RequestParam Integer desde,
+            @Parameter(description = "Periodo final (YYYYWW). Si no se especifica, usa el más reciente")
+            @RequestParam(required = false) Integer hasta) {
+
+        Periodo periodoHasta = hasta != null ?
+                Periodo.fromCodigo(hasta) :
+                compensacionUseCase.obtenerPeriodoActual();
+
+        List<AlertasResponse> response = alertasService
+                .obtenerHistorialAlertas(Periodo.fromCodigo(desde), periodoHasta).stream()
+                .map(this::toAlertasResponse)
+                .toList();
+
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    private AlertasResponse toAlertasResponse(ResultadoAlertas resultado) {
+        return AlertasResponse.builder()
+                .periodo(resultado.getPeriodo().toString())
+                .totalAlertasZScore(resultado.getTotalAlertasZScore())
+                .totalAlertasPrediccion(resultado.getTotalAlertasPrediccion())
+                .alertasZScore(resultado.getAlertasZScore().stream().map(this::toZScoreResponse).toList())
+                .alertasPrediccion(resultado.getAlertasPrediccion().stream().map(this::toPrediccionResponse).toList())
+                .siguienteCursor(resultado.getSiguienteCursor())
+                .build();
+    }
+
     private AlertaZScoreResponse toZScoreResponse(AlertaZScore alerta) {
         return AlertaZScoreResponse.builder()
                 .negocio(alerta.getNegocio())
@@ -24,6 +24,10 @@ import java.util.List;
 @Tag(name = "Compensación", description = "Endpoints para consulta de datos de compensación")
 public class CompensacionController {
 
+    // Formato compacto de las series (arreglos paralelos), por parametro o encabezado
+    private static final String FORMATO_COLUMNAR = "columnar";
+    private static final String ENCABEZADO_FORMATO = "X-Formato-Serie";
+
     private final CompensacionUseCase compensacionUseCase;
     private final ResponseMapper responseMapper;
 
@@ -54,7 +58,10 @@ public class CompensacionController {
             @Parameter(description = "Periodo inicial (YYYYWW)")
             @RequestParam(required = false) Integer desde,
             @Parameter(description = "Periodo final (YYYYWW)")
-            @RequestParam(required = false) Integer hasta) {
+            @RequestParam(required = false) Integer hasta,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
 
         Periodo periodoHasta = hasta != null ?
                 Periodo.fromCodigo(hasta) :
@@ -66,7 +73,8 @@ public class CompensacionController {
 
         EstadisticasSerie estadisticas = compensacionUseCase.obtenerSerieNacionalTotal(periodoDesde, periodoHasta);
 
-        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(estadisticas);
+        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(
+                estadisticas, esColumnar(formato, formatoEncabezado));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -79,7 +87,10 @@ public class CompensacionController {
             @Parameter(description = "Nombre del negocio")
             @PathVariable String negocio,
             @RequestParam(required = false) Integer desde,
-            @RequestParam(required = false) Integer hasta) {
+            @RequestParam(required = false) Integer hasta,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
 
         Periodo periodoHasta = hasta != null ?
                 Periodo.fromCodigo(hasta) :
@@ -92,7 +103,8 @@ public class CompensacionController {
         EstadisticasSerie estadisticas = compensacionUseCase.obtenerSeriePorNegocio(
                 negocio, periodoDesde, periodoHasta);
 
-        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(estadisticas);
+        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(
+                estadisticas, esColumnar(formato, formatoEncabezado));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -106,7 +118,10 @@ public class CompensacionController {
             @Parameter(description = "Nombre del puesto")
             @PathVariable String puesto,
             @RequestParam(required = false) Integer desde,
-            @RequestParam(required = false) Integer hasta) {
+            @RequestParam(required = false) Integer hasta,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
 
         Periodo periodoHasta = hasta != null ?
                 Periodo.fromCodigo(hasta) :
@@ -119,7 +134,8 @@ public class CompensacionController {
         EstadisticasSerie estadisticas = compensacionUseCase.obtenerSeriePorNegocioYPuesto(
                 negocio, puesto, periodoDesde, periodoHasta);
 
-        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(estadisticas);
+        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(
+                estadisticas, esColumnar(formato, formatoEncabezado));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -155,7 +171,10 @@ public class CompensacionController {
             @Parameter(description = "Nombre del indicador")
             @PathVariable String indicador,
             @RequestParam(required = false) Integer desde,
-            @RequestParam(required = false) Integer hasta) {
+            @RequestParam(required = false) Integer hasta,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
 
         Periodo periodoHasta = hasta != null ?
                 Periodo.fromCodigo(hasta) :
@@ -168,7 +187,40 @@ public class CompensacionController {
         EstadisticasSerie estadisticas = compensacionUseCase.obtenerSeriePorNegocioPuestoIndicador(
                 negocio, puesto, indicador, periodoDesde, periodoHasta);
 
-        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(estadisticas);
+        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(
+                estadisticas, esColumnar(formato, formatoEncabezado));
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/negocios/series")
+    @Operation(summary = "Obtiene varias series por negocio, puesto e indicador",
+            description = "Lote de series historicas con un mismo rango, en el orden solicitado")
+    public ResponseEntity<ApiResponse<List<SerieTemporalResponse>>> obtenerSeriesPorNegocioPuestoIndicador(
+            @RequestBody SeriesLoteRequest request,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
+
+        Periodo periodoHasta = request.getHasta() != null ?
+                Periodo.fromCodigo(request.getHasta()) :
+                compensacionUseCase.obtenerPeriodoActual();
+
+        Periodo periodoDesde = request.getDesde() != null ?
+                Periodo.fromCodigo(request.getDesde()) :
+                Periodo.fromCodigo(202301);
+
+        List<ClaveSerie> claves = request.getSeries() != null ?
+                request.getSeries().stream()
+                        .map(s -> new ClaveSerie(s.getNegocio(), s.getPuesto(), s.getIndicador()))
+                        .toList() :
+                List.of();
+
+        boolean columnar = esColumnar(formato, formatoEncabezado);
+        List<SerieTemporalResponse> response = compensacionUseCase.obtenerSeriesPorNegocioPuestoIndicador(
+                        claves, periodoDesde, periodoHasta).stream()
+                .map(e -> responseMapper.toSerieTemporalResponse(e, columnar))
+                .toList();
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -197,7 +249,10 @@ public class CompensacionController {
             @PathVariable Integer funcionSap,
             @PathVariable String indicador,
             @RequestParam(required = false) Integer desde,
-            @RequestParam(required = false) Integer hasta) {
+            @RequestParam(required = false) Integer hasta,
+            @Parameter(description = "Formato de la serie: objetos (por defecto) o columnar")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = ENCABEZADO_FORMATO, required = false) String formatoEncabezado) {
 
         Periodo periodoHasta = hasta != null ?
                 Periodo.fromCodigo(hasta) :
@@ -210,7 +265,8 @@ public class CompensacionController {
         EstadisticasSerie estadisticas = compensacionUseCase.obtenerSeriePorPuestoIndicador(
                 funcionSap, indicador, periodoDesde, periodoHasta);
 
-        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(estadisticas);
+        SerieTemporalResponse response = responseMapper.toSerieTemporalResponse(
+                estadisticas, esColumnar(formato, formatoEncabezado));
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -269,6 +325,27 @@ public class CompensacionController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    // ==================== TABLERO NACIONAL ====================
+
+    @GetMapping("/tablero")
+    @Operation(summary = "Obtiene el tablero nacional completo",
+            description = "Resumen nacional, resumen por negocio, mapa de calor y tablas de resultados "
+                    + "(total y promedio) del periodo, calculados con una sola lectura de ambas semanas")
+    public ResponseEntity<ApiResponse<TableroNacionalResponse>> obtenerTableroNacional(
+            @Parameter(description = "Codigo del periodo (YYYYWW). Si no se especifica, usa el mas reciente")
+            @RequestParam(required = false) Integer periodo) {
+
+        Periodo periodoObj = periodo != null ?
+                Periodo.fromCodigo(periodo) :
+                compensacionUseCase.obtenerPeriodoActual();
+
+        TableroNacional tablero = compensacionUseCase.obtenerTableroNacional(periodoObj);
+
+        TableroNacionalResponse response = responseMapper.toTableroNacionalResponse(tablero);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     // ==================== CATALOGOS ====================
 
     @GetMapping("/negocios")
@@ -326,4 +403,8 @@ public class CompensacionController {
         Periodo periodo = compensacionUseCase.obtenerPeriodoActual();
         return ResponseEntity.ok(ApiResponse.success(periodo.toDisplayString()));
     }
+
+    private static boolean esColumnar(String formato, String formatoEncabezado) {
+        return FORMATO_COLUMNAR.equalsIgnoreCase(formato) || FORMATO_COLUMNAR.equalsIgnoreCase(formatoEncabezado);
+    }
 }
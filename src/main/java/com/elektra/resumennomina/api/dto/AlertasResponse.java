@@ -15,10 +15,10 @@ public class AlertasResponse {
     /** Periodo evaluado */
     private String periodo;
 
-    /** Total de alertas Z-Score */
+    /** Total de alertas Z-Score que cumplen los filtros */
     private int totalAlertasZScore;
 
-    /** Total de alertas de predicción */
+    /** Total de alertas de predicción que cumplen los filtros */
     private int totalAlertasPrediccion;
 
     /** Lista de alertas Z-Score */
@@ -26,4 +26,7 @@ public class AlertasResponse {
 
     /** Lista de alertas de predicción */
     private List<AlertaPrediccionResponse> alertasPrediccion;
+
+    /** Cursor para solicitar la siguiente página; null si no hay más alertas */
+    private String siguienteCursor;
 }
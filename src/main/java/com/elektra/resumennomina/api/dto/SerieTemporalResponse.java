@@ -36,6 +36,9 @@ public class SerieTemporalResponse {
     // Serie de datos
     private List<PuntoSerieDto> serie;
 
+    // Serie en formato columnar (en lugar de serie, cuando se solicita formato=columnar)
+    private SerieColumnarDto columnas;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -58,4 +61,20 @@ public class SerieTemporalResponse {
         private Boolean fueraDe1Sigma;
         private Boolean fueraDe15Sigma;
     }
+
+    /**
+     * Serie en arreglos paralelos, un elemento por punto y en el mismo orden.
+     * fueraDeSigma es un mapa de bits (base64 en JSON): el bit 2i indica que el punto i esta fuera de 1 sigma
+     * y el bit 2i+1 que esta fuera de 1.5 sigma; el bit k es el bit (k % 8) del byte (k / 8)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SerieColumnarDto {
+        private int[] periodos;                 // Codigos YYYYWW
+        private BigDecimal[] valores;
+        private BigDecimal[] variaciones;
+        private byte[] fueraDeSigma;
+    }
 }
@@ -0,0 +1,34 @@
+package com.elektra.resumennomina.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de entrada para consultar varias series por negocio, puesto e indicador con un mismo rango.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesLoteRequest {
+
+    // Rango de periodos (YYYYWW); si no se indica, desde 202301 hasta el periodo actual
+    private Integer desde;
+    private Integer hasta;
+
+    private List<ClaveSerieDto> series;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClaveSerieDto {
+        private String negocio;
+        private String puesto;
+        private String indicador;
+    }
+}
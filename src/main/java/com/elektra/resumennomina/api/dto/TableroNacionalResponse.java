@@ -0,0 +1,26 @@
+package com.elektra.resumennomina.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la respuesta del tablero nacional: reune en una respuesta lo que la vista
+ * Nacional pide a /nacional, /mapa-calor, /tabla-resultados/* y /periodo-actual.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableroNacionalResponse {
+
+    private String periodoActual;
+
+    private ResumenNacionalResponse nacional;
+    private MapaCalorResponse mapaCalor;
+    private TablaResultadosResponse tablaTotal;
+    private TablaResultadosResponse tablaPromedio;
+}
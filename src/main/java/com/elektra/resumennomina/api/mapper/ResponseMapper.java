@@ -4,6 +4,7 @@ import com.elektra.resumennomina.api.dto.*;
 import com.elektra.resumennomina.domain.model.*;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -43,7 +44,14 @@ public class ResponseMapper {
     }
 
     public SerieTemporalResponse toSerieTemporalResponse(EstadisticasSerie estadisticas) {
-        List<SerieTemporalResponse.PuntoSerieDto> puntos = estadisticas.getPuntos() != null ?
+        return toSerieTemporalResponse(estadisticas, false);
+    }
+
+    /**
+     * Serie con un objeto por punto o, si columnar, con los puntos en arreglos paralelos
+     */
+    public SerieTemporalResponse toSerieTemporalResponse(EstadisticasSerie estadisticas, boolean columnar) {
+        List<SerieTemporalResponse.PuntoSerieDto> puntos = columnar ? null : estadisticas.getPuntos() != null ?
                 estadisticas.getPuntos().stream()
                         .map(p -> SerieTemporalResponse.PuntoSerieDto.builder()
                                 .semana(p.getPeriodo().toDisplayString())
@@ -74,6 +82,35 @@ public class ResponseMapper {
                         .limiteInferior15Sigma(estadisticas.getLimiteInferior15Sigma())
                         .build())
                 .serie(puntos)
+                .columnas(columnar ? toSerieColumnar(estadisticas) : null)
+                .build();
+    }
+
+    private SerieTemporalResponse.SerieColumnarDto toSerieColumnar(EstadisticasSerie estadisticas) {
+        List<EstadisticasSerie.PuntoSerie> puntos = estadisticas.getPuntos() != null ? estadisticas.getPuntos() : List.of();
+        int[] periodos = new int[puntos.size()];
+        BigDecimal[] valores = new BigDecimal[puntos.size()];
+        BigDecimal[] variaciones = new BigDecimal[puntos.size()];
+        byte[] fueraDeSigma = new byte[(2 * puntos.size() + 7) / 8];
+
+        for (int i = 0; i < puntos.size(); i++) {
+            EstadisticasSerie.PuntoSerie punto = puntos.get(i);
+            periodos[i] = punto.getPeriodo().toCodigo();
+            valores[i] = punto.getValor();
+            variaciones[i] = punto.getVariacionVsSemanaAnterior();
+            if (punto.estaFuera1Sigma(estadisticas.getLimiteSuperior1Sigma(), estadisticas.getLimiteInferior1Sigma())) {
+                fueraDeSigma[(2 * i) / 8] |= (byte) (1 << ((2 * i) % 8));
+            }
+            if (punto.estaFuera15Sigma(estadisticas.getLimiteSuperior15Sigma(), estadisticas.getLimiteInferior15Sigma())) {
+                fueraDeSigma[(2 * i + 1) / 8] |= (byte) (1 << ((2 * i + 1) % 8));
+            }
+        }
+
+        return SerieTemporalResponse.SerieColumnarDto.builder()
+                .periodos(periodos)
+                .valores(valores)
+                .variaciones(variaciones)
+                .fueraDeSigma(fueraDeSigma)
                 .build();
     }
 
@@ -132,6 +169,20 @@ public class ResponseMapper {
                 .build();
     }
 
+    public TableroNacionalResponse toTableroNacionalResponse(TableroNacional tablero) {
+        Periodo periodo = tablero.getPeriodo();
+        return TableroNacionalResponse.builder()
+                .periodoActual(periodo.toDisplayString())
+                .nacional(toResumenNacionalResponse(
+                        periodo, tablero.getResumenNacional(), tablero.getResumenPorNegocio()))
+                .mapaCalor(toMapaCalorResponse(periodo, tablero.getMapaCalor()))
+                .tablaTotal(toTablaResultadosResponse(
+                        periodo, tablero.getTablaTotal(), TablaResultadosResponse.TipoTabla.TOTAL))
+                .tablaPromedio(toTablaResultadosResponse(
+                        periodo, tablero.getTablaPromedio(), TablaResultadosResponse.TipoTabla.PROMEDIO))
+                .build();
+    }
+
     private String toSlug(String text) {
         if (text == null) return "";
         return text.toLowerCase()
@@ -0,0 +1,21 @@
+package com.elektra.resumennomina.application.event;
+
+import java.util.Set;
+
+/**
+ * Evento publicado despues de cada escritura exitosa sobre datos_compensacion.
+ * Permite a los componentes derivados (alertas materializadas, caches, etc.) actualizarse.
+ *
+ * @param periodos codigos de periodo (YYYYWW) cargados, reemplazados o eliminados
+ * @param completo indica que se reemplazo toda la coleccion
+ */
+public record DatosActualizadosEvent(Set<Integer> periodos, boolean completo) {
+
+    public static DatosActualizadosEvent parcial(Set<Integer> periodos) {
+        return new DatosActualizadosEvent(Set.copyOf(periodos), false);
+    }
+
+    public static DatosActualizadosEvent completo(Set<Integer> periodos) {
+        return new DatosActualizadosEvent(Set.copyOf(periodos), true);
+    }
+}
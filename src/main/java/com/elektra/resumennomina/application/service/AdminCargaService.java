@@ -2,9 +2,11 @@ package com.elektra.resumennomina.application.service;
 
 import com.elektra.resumennomina.api.dto.DatosInteligenciaRow;
 import com.elektra.resumennomina.api.dto.ResultadoCarga;
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +33,7 @@ public class AdminCargaService {
 
     private final MongoTemplate mongoTemplate;
     private final CsvProcessorService csvProcessor;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Carga datos reemplazando todos los existentes
@@ -67,6 +71,7 @@ public class AdminCargaService {
                     .collect(Collectors.toList());
 
             mongoTemplate.getCollection(COLLECTION_NAME).insertMany(documents);
+            eventPublisher.publishEvent(DatosActualizadosEvent.completo(extraerPeriodos(datos)));
 
             resultado.setRegistrosExitosos(documents.size());
             resultado.setSuccess(true);
@@ -139,6 +144,10 @@ public class AdminCargaService {
                 }
             }
 
+            if (exitosos > 0) {
+                eventPublisher.publishEvent(DatosActualizadosEvent.parcial(extraerPeriodos(datos)));
+            }
+
             resultado.setRegistrosExitosos(exitosos);
             resultado.setRegistrosConError(errores);
             resultado.setSuccess(errores == 0);
@@ -197,6 +206,7 @@ public class AdminCargaService {
                     .collect(Collectors.toList());
 
             mongoTemplate.getCollection(COLLECTION_NAME).insertMany(documents);
+            eventPublisher.publishEvent(DatosActualizadosEvent.parcial(Set.of(periodo)));
 
             resultado.setRegistrosExitosos(documents.size());
             resultado.setSuccess(true);
@@ -229,6 +239,7 @@ public class AdminCargaService {
         try {
             Query query = new Query(Criteria.where("codigoPeriodo").is(periodo));
             long eliminados = mongoTemplate.remove(query, COLLECTION_NAME).getDeletedCount();
+            eventPublisher.publishEvent(DatosActualizadosEvent.parcial(Set.of(periodo)));
 
             resultado.setSuccess(true);
             resultado.setTotalRegistros((int) eliminados);
@@ -326,6 +337,17 @@ public class AdminCargaService {
         }
     }
 
+    /**
+     * Obtiene los codigos de periodo presentes en los registros cargados
+     */
+    private Set<Integer> extraerPeriodos(List<DatosInteligenciaRow> datos) {
+        return datos.stream()
+                .map(DatosInteligenciaRow::getPkiPeriodo)
+                .filter(p -> p != null && p.trim().matches("\\d+"))
+                .map(p -> Integer.parseInt(p.trim()))
+                .collect(Collectors.toSet());
+    }
+
     private Document convertirADocument(DatosInteligenciaRow dato) {
         return new Document()
                 .append("funcionSap", dato.getPkiPuesto())
@@ -0,0 +1,179 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.domain.model.FiltroAlertas;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import com.elektra.resumennomina.domain.port.output.AlertasMaterializadasRepository;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.infrastructure.config.executor.CalculoExecutorConfig;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de alertas materializadas.
+ * Las alertas se calculan al cargar datos y se guardan por periodo, de modo que las
+ * consultas solo leen el documento del periodo. Si el periodo no esta materializado
+ * se calcula en linea con AlertasService.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertasMaterializadasService {
+
+    private final AlertasService alertasService;
+    private final EstadoSeriesService estadoSeriesService;
+    private final AlertasMaterializadasRepository materializadasRepository;
+    private final DatoCompensacionRepository datoRepository;
+    private final AppProperties appProperties;
+    @Qualifier(CalculoExecutorConfig.MATERIALIZACION_EXECUTOR)
+    private final ExecutorService materializacionExecutor;
+
+    // Cada carga invalida una generacion; un recalculo solo guarda si su generacion sigue vigente
+    private final AtomicLong generacion = new AtomicLong();
+    private final Object cerrojo = new Object();
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Obtiene las alertas del periodo desde la coleccion materializada,
+     * o las calcula en linea si el periodo no esta materializado
+     */
+    public ResultadoAlertas obtenerAlertas(Periodo periodo) {
+        if (appProperties.getAlertas().isMaterializar()) {
+            Optional<ResultadoAlertas> materializado = materializadasRepository.findByPeriodo(periodo.toCodigo());
+            if (materializado.isPresent()) {
+                return materializado.get();
+            }
+            log.debug("Alertas del periodo {} no materializadas, calculando en linea", periodo);
+        }
+        return alertasService.obtenerAlertas(periodo);
+    }
+
+    /**
+     * Obtiene la página de alertas que cumple el filtro. Con el periodo materializado solo se filtra
+     * y selecciona sobre el documento; si no, el filtro de negocio se aplica antes de evaluar las series.
+     */
+    public ResultadoAlertas obtenerAlertas(Periodo periodo, FiltroAlertas filtro) {
+        if (appProperties.getAlertas().isMaterializar()) {
+            Optional<ResultadoAlertas> materializado = materializadasRepository.findByPeriodo(periodo.toCodigo());
+            if (materializado.isPresent()) {
+                return SeleccionAlertas.seleccionar(periodo, materializado.get().getAlertasZScore(),
+                        materializado.get().getAlertasPrediccion(), filtro);
+            }
+        }
+        return alertasService.obtenerAlertas(periodo, filtro);
+    }
+
+    public List<AlertaZScore> obtenerAlertasZScore(Periodo periodo) {
+        return obtenerAlertas(periodo).getAlertasZScore();
+    }
+
+    public List<AlertaPrediccion> obtenerAlertasPrediccion(Periodo periodo) {
+        return obtenerAlertas(periodo).getAlertasPrediccion();
+    }
+
+    // ========== MATERIALIZACION ==========
+
+    /**
+     * Invalida y recalcula las alertas afectadas por una carga o eliminacion de datos.
+     * Un periodo se ve afectado si alguno de los periodos modificados cae dentro de su
+     * ventana historica; solo se recalculan los mas recientes (app.alertas.periodos-materializados),
+     * el resto queda sin materializar y se calcula en linea al consultarse.
+     * La invalidacion se hace dentro de la carga, para que ninguna consulta posterior lea alertas
+     * anteriores; el recalculo corre en el hilo de materializacion y no alarga la carga.
+     */
+    @EventListener
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        if (!appProperties.getAlertas().isMaterializar()) {
+            return;
+        }
+
+        List<Integer> recalcular;
+        long generacionCarga;
+        try {
+            List<Integer> periodosDatos = datoRepository.findDistinctPeriodos();
+            List<Integer> afectados = event.completo() ? periodosDatos : periodosAfectados(event, periodosDatos);
+
+            synchronized (cerrojo) {
+                generacionCarga = generacion.incrementAndGet();
+                if (event.completo()) {
+                    materializadasRepository.deleteAll();
+                } else {
+                    // Tambien se invalidan los periodos modificados que ya no tienen datos (eliminaciones)
+                    materializadasRepository.deleteByPeriodos(event.periodos());
+                    materializadasRepository.deleteByPeriodos(afectados);
+                }
+            }
+
+            recalcular = afectados.stream()
+                    .sorted(Collections.reverseOrder())
+                    .limit(Math.max(0, appProperties.getAlertas().getPeriodosMaterializados()))
+                    .toList();
+
+            log.info("Alertas materializadas: {} periodos afectados invalidados, {} por recalcular",
+                    afectados.size(), recalcular.size());
+
+        } catch (Exception e) {
+            // La carga ya se completo; las consultas usaran el calculo en linea
+            log.error("Error invalidando alertas materializadas: {}", e.getMessage(), e);
+            return;
+        }
+
+        materializacionExecutor.execute(() -> materializar(recalcular, generacionCarga));
+    }
+
+    /**
+     * Recalcula y guarda las alertas de los periodos. Si otra carga invalido las alertas mientras
+     * se calculaban, se descarta el resultado: esa carga programa su propio recalculo.
+     */
+    private void materializar(List<Integer> periodos, long generacionCarga) {
+        long inicio = System.currentTimeMillis();
+        int guardados = 0;
+        try {
+            for (Integer codigo : periodos) {
+                ResultadoAlertas resultado = alertasService.obtenerAlertas(Periodo.fromCodigo(codigo));
+                synchronized (cerrojo) {
+                    if (generacion.get() != generacionCarga) {
+                        log.info("Materializacion de alertas descartada: hubo una carga posterior");
+                        return;
+                    }
+                    materializadasRepository.save(resultado);
+                }
+                guardados++;
+            }
+            log.info("Alertas materializadas: {} periodos recalculados en {} ms",
+                    guardados, System.currentTimeMillis() - inicio);
+
+        } catch (Exception e) {
+            // Los periodos sin guardar se calculan en linea al consultarse
+            log.error("Error materializando alertas: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<Integer> periodosAfectados(DatosActualizadosEvent event, List<Integer> periodosDatos) {
+        if (event.periodos().isEmpty()) {
+            return List.of();
+        }
+
+        int minModificado = Collections.min(event.periodos());
+        int maxModificado = Collections.max(event.periodos());
+
+        return periodosDatos.stream()
+                .filter(codigo -> codigo >= minModificado)
+                .filter(codigo -> estadoSeriesService.obtenerInicioVentana(Periodo.fromCodigo(codigo)).toCodigo() <= maxModificado)
+                .toList();
+    }
+}
@@ -1,15 +1,19 @@
 package com.elektra.resumennomina.application.service;
 
 import com.elektra.resumennomina.domain.model.*;
-import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.infrastructure.config.executor.CalculoExecutorConfig;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 /**
  * Servicio para generación de alertas estadísticas.
@@ -20,181 +24,238 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AlertasService {
 
-    private final DatoCompensacionRepository repository;
-    private static final String INDICADOR_EMPLEADO = "Empleado";
+    private final EstadoSeriesService estadoSeriesService;
+    @Qualifier(CalculoExecutorConfig.CALCULO_EXECUTOR)
+    private final ExecutorService calculoExecutor;
+    private final AppProperties appProperties;
     private static final int MIN_PERIODOS_HISTORIA = 10;
+    private static final double DESVIACION_MINIMA = 0.01;
+    private static final double DIFERENCIA_MINIMA = 0.01;
+    private static final double FACTOR_INTERVALO_95 = 1.96;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    // Dos años de posiciones de semana (ver Periodo.toOrdinal)
+    private static final int MAXIMO_SEMANAS_HISTORIAL = 2 * Periodo.SEMANAS_ORDINAL;
+
+    // ==================== ALERTAS COMBINADAS ====================
+
+    /**
+     * Obtiene alertas Z-Score y de predicción en una sola evaluación.
+     * Cada serie se carga una vez y sobre ella se aplican ambas pruebas.
+     */
+    public ResultadoAlertas obtenerAlertas(Periodo periodo) {
+        log.info("Calculando alertas Z-Score y de predicción para periodo: {}", periodo);
+
+        ResultadoAlertas resultado = ordenar(evaluarAlertas(periodo, estadoSeriesService.obtenerEstados(periodo)));
+
+        log.info("Se encontraron {} alertas Z-Score y {} alertas de predicción",
+                resultado.getTotalAlertasZScore(), resultado.getTotalAlertasPrediccion());
+        return resultado;
+    }
+
+    /**
+     * Obtiene las alertas que cumplen el filtro. Las series de otros negocios se descartan antes
+     * de evaluarse; de las alertas resultantes solo se ordenan las que entran en la página.
+     */
+    public ResultadoAlertas obtenerAlertas(Periodo periodo, FiltroAlertas filtro) {
+        log.info("Calculando alertas para periodo {} con filtro {}", periodo, filtro);
+
+        List<EstadoSerie> series = estadoSeriesService.obtenerEstados(periodo).stream()
+                .filter(serie -> filtro.incluyeNegocio(serie.getNegocio()))
+                .toList();
+
+        ResultadoAlertas evaluadas = evaluarAlertas(periodo, series);
+        return SeleccionAlertas.seleccionar(periodo, evaluadas.getAlertasZScore(),
+                evaluadas.getAlertasPrediccion(), filtro);
+    }
+
+    /**
+     * Obtiene el historial de alertas de cada periodo con datos entre desde y hasta.
+     * Los datos del rango se leen una vez y la ventana de cada serie se desplaza periodo a periodo,
+     * en lugar de leer y recalcular 52 semanas por cada periodo. El rango se limita a dos años.
+     */
+    public List<ResultadoAlertas> obtenerHistorialAlertas(Periodo desde, Periodo hasta) {
+        if (desde.compareTo(hasta) > 0) {
+            throw new IllegalArgumentException("El periodo inicial no puede ser posterior al final");
+        }
+        if (hasta.toOrdinal() - desde.toOrdinal() + 1 > MAXIMO_SEMANAS_HISTORIAL) {
+            throw new IllegalArgumentException("El historial admite como maximo "
+                    + MAXIMO_SEMANAS_HISTORIAL + " semanas");
+        }
+        log.info("Calculando historial de alertas de {} a {}", desde, hasta);
+
+        long inicio = System.currentTimeMillis();
+        List<ResultadoAlertas> historial = new ArrayList<>();
+        estadoSeriesService.recorrerVentanas(desde, hasta,
+                (periodo, series) -> historial.add(ordenar(evaluarAlertas(periodo, series))));
+
+        log.info("Historial de alertas: {} periodos en {} ms", historial.size(), System.currentTimeMillis() - inicio);
+        return historial;
+    }
+
+    /**
+     * Evalúa ambas pruebas sobre las series; las listas quedan sin ordenar
+     */
+    private ResultadoAlertas evaluarAlertas(Periodo periodo, List<EstadoSerie> series) {
+        List<AlertasSerie> evaluadas = evaluarSeries(
+                series,
+                serie -> {
+                    AlertaZScore zScore = evaluarZScore(serie, periodo);
+                    AlertaPrediccion prediccion = evaluarPrediccion(serie, periodo);
+                    return zScore == null && prediccion == null ? null : new AlertasSerie(zScore, prediccion);
+                });
+
+        List<AlertaZScore> alertasZScore = new ArrayList<>();
+        List<AlertaPrediccion> alertasPrediccion = new ArrayList<>();
+        for (AlertasSerie alertas : evaluadas) {
+            if (alertas.zScore() != null) {
+                alertasZScore.add(alertas.zScore());
+            }
+            if (alertas.prediccion() != null) {
+                alertasPrediccion.add(alertas.prediccion());
+            }
+        }
+
+        return ResultadoAlertas.builder()
+                .periodo(periodo)
+                .alertasZScore(alertasZScore)
+                .alertasPrediccion(alertasPrediccion)
+                .totalAlertasZScore(alertasZScore.size())
+                .totalAlertasPrediccion(alertasPrediccion.size())
+                .build();
+    }
+
+    private ResultadoAlertas ordenar(ResultadoAlertas resultado) {
+        resultado.getAlertasZScore().sort(SeleccionAlertas.ORDEN_ZSCORE);
+        resultado.getAlertasPrediccion().sort(SeleccionAlertas.ORDEN_PREDICCION);
+        return resultado;
+    }
+
+    /**
+     * Alertas generadas por una misma serie
+     */
+    private record AlertasSerie(AlertaZScore zScore, AlertaPrediccion prediccion) {}
 
     // ==================== ALERTAS Z-SCORE ====================
 
     /**
      * Obtiene alertas Z-Score para todos los puestos e indicadores.
      * Se activa cuando la variación semanal sale del rango habitual.
+     * La media y la desviación salen del estado acumulado de cada serie.
      */
     public List<AlertaZScore> obtenerAlertasZScore(Periodo periodo) {
         log.info("Calculando alertas Z-Score para periodo: {}", periodo);
 
-        List<AlertaZScore> alertas = new ArrayList<>();
-        List<String> negocios = repository.findDistinctNegocios();
-
-        for (String negocio : negocios) {
-            List<String> puestos = repository.findDistinctPuestosByNegocio(negocio);
-
-            for (String puesto : puestos) {
-                List<String> indicadores = repository.findDistinctIndicadoresByNegocioAndPuesto(negocio, puesto);
-
-                for (String indicador : indicadores) {
-                    if (INDICADOR_EMPLEADO.equalsIgnoreCase(indicador.trim())) {
-                        continue; // Excluir indicador de empleados
-                    }
-
-                    try {
-                        AlertaZScore alerta = calcularAlertaZScore(negocio, puesto, indicador, periodo);
-                        if (alerta != null) {
-                            alertas.add(alerta);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Error calculando Z-Score para {}/{}/{}: {}",
-                                negocio, puesto, indicador, e.getMessage());
-                    }
-                }
-            }
-        }
+        List<EstadoSerie> series = estadoSeriesService.obtenerEstados(periodo);
+
+        List<AlertaZScore> alertas = evaluarSeries(series, serie -> evaluarZScore(serie, periodo));
 
-        // Ordenar por severidad (CRITICA primero) y luego por Z-Score descendente
-        alertas.sort(Comparator
-                .comparing(AlertaZScore::getSeveridad)
-                .thenComparing(a -> a.getZScore().abs(), Comparator.reverseOrder()));
+        alertas.sort(SeleccionAlertas.ORDEN_ZSCORE);
 
         log.info("Se encontraron {} alertas Z-Score", alertas.size());
         return alertas;
     }
 
-    private AlertaZScore calcularAlertaZScore(String negocio, String puesto, String indicador, Periodo periodo) {
-        // Obtener serie histórica (últimos 52 periodos aproximadamente)
-        Periodo desde = calcularPeriodoInicio(periodo, 52);
-        List<DatoCompensacion> datos = repository.findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
-                negocio, puesto, indicador, desde.toCodigo(), periodo.toCodigo());
-
-        if (datos.size() < MIN_PERIODOS_HISTORIA) {
-            return null; // Historia insuficiente
-        }
-
-        // Agrupar por periodo y calcular promedios
-        Map<Periodo, BigDecimal> valoresPorPeriodo = datos.stream()
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        // Ordenar periodos
-        List<Periodo> periodosOrdenados = valoresPorPeriodo.keySet().stream()
-                .sorted()
-                .toList();
-
-        if (periodosOrdenados.size() < 3) {
+    private AlertaZScore evaluarZScore(EstadoSerie serie, Periodo periodo) {
+        try {
+            return calcularAlertaZScore(serie, periodo);
+        } catch (Exception e) {
+            log.warn("Error calculando Z-Score para {}/{}/{}: {}",
+                    serie.getNegocio(), serie.getPuesto(), serie.getIndicador(), e.getMessage());
             return null;
         }
+    }
 
-        // Calcular variaciones porcentuales entre periodos consecutivos
-        List<BigDecimal> variaciones = new ArrayList<>();
-        for (int i = 1; i < periodosOrdenados.size(); i++) {
-            BigDecimal valorAnterior = valoresPorPeriodo.get(periodosOrdenados.get(i - 1));
-            BigDecimal valorActual = valoresPorPeriodo.get(periodosOrdenados.get(i));
-
-            if (valorAnterior.compareTo(BigDecimal.ZERO) != 0) {
-                BigDecimal variacion = valorActual.subtract(valorAnterior)
-                        .divide(valorAnterior, 6, RoundingMode.HALF_UP);
-                variaciones.add(variacion);
-            }
+    /**
+     * Z-Score de la variación actual contra la historia de la serie, en O(1) a partir de
+     * las estadísticas de Welford del estado (conteo, media y M2 de las variaciones históricas).
+     */
+    private AlertaZScore calcularAlertaZScore(EstadoSerie serie, Periodo periodo) {
+        if (serie.getRegistros() < MIN_PERIODOS_HISTORIA) {
+            return null; // Historia insuficiente
         }
 
-        if (variaciones.size() < 2) {
+        if (serie.getPuntos().size() < 3) {
             return null;
         }
 
-        // La última variación es la actual (del periodo evaluado)
-        BigDecimal variacionActual = variaciones.get(variaciones.size() - 1);
-
-        // Excluir primera y última variación para análisis histórico
-        List<BigDecimal> variacionesHistoricas = variaciones.subList(0, variaciones.size() - 1);
-
-        if (variacionesHistoricas.isEmpty()) {
+        // Se necesita la variación actual (del periodo evaluado) y al menos una variación histórica
+        if (serie.getVariacionActual() == null || serie.getConteo() < 1) {
             return null;
         }
 
-        // Calcular media y desviación estándar de variaciones históricas
-        BigDecimal media = calcularMedia(variacionesHistoricas);
-        BigDecimal desviacion = calcularDesviacionEstandar(variacionesHistoricas, media);
+        double variacionActual = serie.getVariacionActual();
+        double media = CalculoEstadistico.redondear(serie.getMedia(), 6);
+        double desviacion = calcularDesviacionEstandar(serie, media);
+
+        return construirAlertaZScore(serie.clave(), variacionActual, media, desviacion, periodo);
+    }
 
-        if (desviacion.compareTo(BigDecimal.ZERO) == 0) {
-            desviacion = new BigDecimal("0.01"); // Evitar división por cero
+    /**
+     * Aplica los umbrales dinámicos y el Z-Score a la variación actual de una serie.
+     * Retorna null si no se cumplen las tres condiciones de alerta.
+     */
+    private AlertaZScore construirAlertaZScore(ClaveSerie clave, double variacionActual, double media,
+                                               double desviacion, Periodo periodo) {
+        if (desviacion == 0) {
+            desviacion = DESVIACION_MINIMA; // Evitar división por cero
         }
 
         // Calcular umbrales dinámicos según volatilidad
-        BigDecimal margenDinamico = calcularMargenDinamico(desviacion);
-        BigDecimal limiteSuperior = media.add(margenDinamico);
-        BigDecimal limiteInferior = media.subtract(margenDinamico);
+        double margenDinamico = calcularMargenDinamico(desviacion);
+        double limiteSuperior = CalculoEstadistico.redondear(media + margenDinamico, 8);
+        double limiteInferior = CalculoEstadistico.redondear(media - margenDinamico, 8);
 
         // Calcular Z-Score
-        BigDecimal zScore = variacionActual.subtract(media)
-                .divide(desviacion, 4, RoundingMode.HALF_UP)
-                .abs();
+        double diferencia = CalculoEstadistico.redondear(variacionActual - media, 6);
+        double zScore = Math.abs(CalculoEstadistico.redondear(diferencia / desviacion, 4));
 
         // Validar si es alerta (3 condiciones simultáneas)
-        boolean superaUmbrales = variacionActual.compareTo(limiteSuperior) > 0 ||
-                variacionActual.compareTo(limiteInferior) < 0;
-        boolean diferenciaSignificativa = variacionActual.subtract(media).abs()
-                .compareTo(new BigDecimal("0.01")) > 0;
-        boolean zScoreSignificativo = zScore.compareTo(BigDecimal.ONE) > 0;
+        boolean superaUmbrales = variacionActual > limiteSuperior || variacionActual < limiteInferior;
+        boolean diferenciaSignificativa = Math.abs(diferencia) > DIFERENCIA_MINIMA;
+        boolean zScoreSignificativo = zScore > 1;
 
         if (!superaUmbrales || !diferenciaSignificativa || !zScoreSignificativo) {
             return null; // No es una alerta válida
         }
 
-        // Clasificar severidad
-        AlertaZScore.Severidad severidad = clasificarSeveridad(zScore);
-
         return AlertaZScore.builder()
-                .negocio(negocio.trim())
-                .puesto(puesto.trim())
-                .indicador(indicador.trim())
-                .variacionPorcentual(variacionActual.multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP))
-                .variacionMedia(media.multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP))
-                .desviacionEstandar(desviacion.multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP))
-                .limiteInferior(limiteInferior.multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP))
-                .limiteSuperior(limiteSuperior.multiply(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP))
-                .zScore(zScore.setScale(2, RoundingMode.HALF_UP))
-                .severidad(severidad)
+                .negocio(clave.negocio())
+                .puesto(clave.puesto())
+                .indicador(clave.indicador())
+                .variacionPorcentual(porcentaje(variacionActual))
+                .variacionMedia(porcentaje(media))
+                .desviacionEstandar(porcentaje(desviacion))
+                .limiteInferior(porcentaje(limiteInferior))
+                .limiteSuperior(porcentaje(limiteSuperior))
+                .zScore(decimal(zScore))
+                .severidad(clasificarSeveridad(zScore))
                 .periodo(periodo)
                 .build();
     }
 
-    private BigDecimal calcularMargenDinamico(BigDecimal desviacionEstandar) {
-        BigDecimal margen;
+    private double calcularMargenDinamico(double desviacionEstandar) {
+        double margen;
 
         // Estrategia adaptativa según volatilidad
-        if (desviacionEstandar.compareTo(new BigDecimal("0.01")) < 0) {
+        if (desviacionEstandar < 0.01) {
             // Series muy estables: margen fijo de 1.5%
-            margen = new BigDecimal("0.015");
-        } else if (desviacionEstandar.compareTo(new BigDecimal("0.05")) < 0) {
+            margen = 0.015;
+        } else if (desviacionEstandar < 0.05) {
             // Volatilidad media: factor de 1.3×σ
-            margen = desviacionEstandar.multiply(new BigDecimal("1.3"));
+            margen = CalculoEstadistico.redondear(desviacionEstandar * 1.3, 8);
         } else {
             // Alta volatilidad: usa σ directamente
             margen = desviacionEstandar;
         }
 
         // Acotar entre 1% y 20%
-        BigDecimal minMargen = new BigDecimal("0.01");
-        BigDecimal maxMargen = new BigDecimal("0.20");
-
-        return margen.max(minMargen).min(maxMargen);
+        return Math.min(Math.max(margen, 0.01), 0.20);
     }
 
-    private AlertaZScore.Severidad clasificarSeveridad(BigDecimal zScore) {
-        if (zScore.compareTo(new BigDecimal("3")) > 0) {
+    private AlertaZScore.Severidad clasificarSeveridad(double zScore) {
+        if (zScore > 3) {
             return AlertaZScore.Severidad.CRITICA;
-        } else if (zScore.compareTo(new BigDecimal("2")) > 0) {
+        } else if (zScore > 2) {
             return AlertaZScore.Severidad.ALTA;
         } else {
             return AlertaZScore.Severidad.MODERADA;
@@ -210,220 +271,165 @@ public class AlertasService {
     public List<AlertaPrediccion> obtenerAlertasPrediccion(Periodo periodo) {
         log.info("Calculando alertas de predicción para periodo: {}", periodo);
 
-        List<AlertaPrediccion> alertas = new ArrayList<>();
-        List<String> negocios = repository.findDistinctNegocios();
-
-        for (String negocio : negocios) {
-            List<String> puestos = repository.findDistinctPuestosByNegocio(negocio);
-
-            for (String puesto : puestos) {
-                List<String> indicadores = repository.findDistinctIndicadoresByNegocioAndPuesto(negocio, puesto);
-
-                for (String indicador : indicadores) {
-                    if (INDICADOR_EMPLEADO.equalsIgnoreCase(indicador.trim())) {
-                        continue;
-                    }
-
-                    try {
-                        AlertaPrediccion alerta = calcularAlertaPrediccion(negocio, puesto, indicador, periodo);
-                        if (alerta != null) {
-                            alertas.add(alerta);
-                        }
-                    } catch (Exception e) {
-                        log.warn("Error calculando predicción para {}/{}/{}: {}",
-                                negocio, puesto, indicador, e.getMessage());
-                    }
-                }
-            }
-        }
+        List<EstadoSerie> series = estadoSeriesService.obtenerEstados(periodo);
 
-        // Ordenar por variación fuera del rango (mayor primero)
-        alertas.sort(Comparator.comparing(
-                a -> a.getVariacionFueraRango().abs(),
-                Comparator.reverseOrder()));
+        List<AlertaPrediccion> alertas = evaluarSeries(series, serie -> evaluarPrediccion(serie, periodo));
+
+        alertas.sort(SeleccionAlertas.ORDEN_PREDICCION);
 
         log.info("Se encontraron {} alertas de predicción", alertas.size());
         return alertas;
     }
 
-    private AlertaPrediccion calcularAlertaPrediccion(String negocio, String puesto,
-                                                       String indicador, Periodo periodo) {
-        // Obtener serie histórica
-        Periodo desde = calcularPeriodoInicio(periodo, 52);
-        List<DatoCompensacion> datos = repository.findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
-                negocio, puesto, indicador, desde.toCodigo(), periodo.toCodigo());
-
-        // Agrupar por periodo
-        Map<Periodo, BigDecimal> valoresPorPeriodo = datos.stream()
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        List<Periodo> periodosOrdenados = valoresPorPeriodo.keySet().stream()
-                .sorted()
-                .toList();
-
-        boolean historiaInsuficiente = periodosOrdenados.size() < MIN_PERIODOS_HISTORIA;
-
-        if (periodosOrdenados.size() < 3) {
+    private AlertaPrediccion evaluarPrediccion(EstadoSerie serie, Periodo periodo) {
+        try {
+            return calcularAlertaPrediccion(serie, periodo);
+        } catch (Exception e) {
+            log.warn("Error calculando predicción para {}/{}/{}: {}",
+                    serie.getNegocio(), serie.getPuesto(), serie.getIndicador(), e.getMessage());
             return null;
         }
+    }
 
-        // Separar observación actual de la historia
-        Periodo periodoActual = periodosOrdenados.get(periodosOrdenados.size() - 1);
-        BigDecimal observacionReal = valoresPorPeriodo.get(periodoActual);
+    private AlertaPrediccion calcularAlertaPrediccion(EstadoSerie serie, Periodo periodo) {
+        double[] valores = serie.valores();
 
-        // Usar historia sin la última observación para predecir
-        List<BigDecimal> valoresHistoricos = periodosOrdenados.subList(0, periodosOrdenados.size() - 1)
-                .stream()
-                .map(valoresPorPeriodo::get)
-                .toList();
+        boolean historiaInsuficiente = valores.length < MIN_PERIODOS_HISTORIA;
 
-        if (valoresHistoricos.isEmpty()) {
+        if (valores.length < 3) {
             return null;
         }
 
-        // Calcular predicción usando modelo simplificado (media móvil ponderada + tendencia)
-        BigDecimal pronostico = calcularPronostico(valoresHistoricos);
-        BigDecimal errorEstandar = calcularErrorEstandar(valoresHistoricos, pronostico);
+        // Separar observación actual de la historia usada para predecir
+        int historia = valores.length - 1;
+        double observacionReal = valores[historia];
 
-        // Intervalo de predicción 95%: pronóstico ± 1.96 × SE
-        BigDecimal factor196 = new BigDecimal("1.96");
-        BigDecimal margen = factor196.multiply(errorEstandar);
-        BigDecimal limiteInferior = pronostico.subtract(margen);
-        BigDecimal limiteSuperior = pronostico.add(margen);
+        // Calcular predicción usando modelo simplificado (media móvil ponderada + tendencia)
+        double pronostico = CalculoEstadistico.pronosticoEma(valores, 0, historia);
+        double errorEstandar = calcularErrorEstandar(valores, historia, pronostico);
 
-        // Verificar si está fuera del intervalo
-        boolean fueraRango = observacionReal.compareTo(limiteInferior) < 0 ||
-                observacionReal.compareTo(limiteSuperior) > 0;
+        return construirAlertaPrediccion(serie.clave(), observacionReal, pronostico, errorEstandar,
+                historiaInsuficiente, periodo);
+    }
 
-        if (!fueraRango) {
+    /**
+     * Verifica si la observación sale del intervalo de predicción 95%: pronóstico ± 1.96 × SE.
+     * Retorna null si la observación está dentro del intervalo.
+     */
+    private AlertaPrediccion construirAlertaPrediccion(ClaveSerie clave, double observacionReal,
+                                                       double pronostico, double errorEstandar,
+                                                       boolean historiaInsuficiente, Periodo periodo) {
+        double margen = FACTOR_INTERVALO_95 * errorEstandar;
+        double limiteInferior = pronostico - margen;
+        double limiteSuperior = pronostico + margen;
+
+        if (observacionReal >= limiteInferior && observacionReal <= limiteSuperior) {
             return null; // No es alerta si está dentro del intervalo
         }
 
-        // Calcular variación fuera del rango
-        BigDecimal variacionFuera;
-        if (observacionReal.compareTo(limiteSuperior) > 0) {
-            // Por encima del límite superior
-            variacionFuera = pronostico.compareTo(BigDecimal.ZERO) != 0 ?
-                    observacionReal.subtract(limiteSuperior)
-                            .divide(pronostico, 4, RoundingMode.HALF_UP)
-                            .multiply(new BigDecimal("100")) :
-                    BigDecimal.ZERO;
-        } else {
-            // Por debajo del límite inferior
-            variacionFuera = pronostico.compareTo(BigDecimal.ZERO) != 0 ?
-                    observacionReal.subtract(limiteInferior)
-                            .divide(pronostico, 4, RoundingMode.HALF_UP)
-                            .multiply(new BigDecimal("100")) :
-                    BigDecimal.ZERO;
-        }
+        // Variación fuera del rango respecto al límite excedido
+        double limiteExcedido = observacionReal > limiteSuperior ? limiteSuperior : limiteInferior;
+        double variacionFuera = pronostico != 0
+                ? CalculoEstadistico.redondear((observacionReal - limiteExcedido) / pronostico, 4)
+                : 0;
 
         return AlertaPrediccion.builder()
-                .negocio(negocio.trim())
-                .puesto(puesto.trim())
-                .indicador(indicador.trim())
-                .observacionReal(observacionReal.setScale(2, RoundingMode.HALF_UP))
-                .pronostico(pronostico.setScale(2, RoundingMode.HALF_UP))
-                .limiteInferior(limiteInferior.setScale(2, RoundingMode.HALF_UP))
-                .limiteSuperior(limiteSuperior.setScale(2, RoundingMode.HALF_UP))
-                .variacionFueraRango(variacionFuera.setScale(2, RoundingMode.HALF_UP))
+                .negocio(clave.negocio())
+                .puesto(clave.puesto())
+                .indicador(clave.indicador())
+                .observacionReal(decimal(observacionReal))
+                .pronostico(decimal(pronostico))
+                .limiteInferior(decimal(limiteInferior))
+                .limiteSuperior(decimal(limiteSuperior))
+                .variacionFueraRango(porcentaje(variacionFuera))
                 .historiaInsuficiente(historiaInsuficiente)
                 .periodo(periodo)
                 .build();
     }
 
     /**
-     * Calcula pronóstico usando media móvil ponderada exponencial (EMA) con tendencia.
+     * Calcula error estándar del pronóstico sobre los primeros n valores.
      */
-    private BigDecimal calcularPronostico(List<BigDecimal> valores) {
-        if (valores.isEmpty()) {
-            return BigDecimal.ZERO;
+    private double calcularErrorEstandar(double[] valores, int n, double pronostico) {
+        if (n < 2) {
+            return pronostico * 0.1; // 10% como fallback
         }
 
-        int n = valores.size();
-
-        // EMA con alpha = 2/(n+1) para dar más peso a valores recientes
-        BigDecimal alpha = new BigDecimal("2").divide(
-                new BigDecimal(n + 1), 6, RoundingMode.HALF_UP);
+        double media = CalculoEstadistico.redondear(CalculoEstadistico.media(valores, 0, n), 6);
+        double varianza = CalculoEstadistico.redondear(
+                CalculoEstadistico.varianzaMuestral(valores, 0, n, media), 6);
 
-        BigDecimal ema = valores.get(0);
-        for (int i = 1; i < n; i++) {
-            ema = alpha.multiply(valores.get(i))
-                    .add(BigDecimal.ONE.subtract(alpha).multiply(ema));
-        }
+        // Error estándar = sqrt(varianza) * factor de ajuste
+        double se = Math.sqrt(varianza) * Math.sqrt(1 + 1.0 / n);
 
-        // Calcular tendencia (diferencia promedio entre últimos períodos)
-        if (n >= 3) {
-            BigDecimal tendencia = valores.get(n - 1).subtract(valores.get(n - 3))
-                    .divide(new BigDecimal("2"), 6, RoundingMode.HALF_UP);
-            return ema.add(tendencia);
-        }
-
-        return ema;
+        return CalculoEstadistico.redondear(se, 2);
     }
 
+    // ==================== EVALUACIÓN DE SERIES ====================
+
     /**
-     * Calcula error estándar del pronóstico.
+     * Evalúa cada serie con la función indicada y descarta las que no generan alerta.
+     * En modo paralelo divide las series en lotes que se ejecutan en el pool de cálculo;
+     * los resultados se concatenan en el orden original de los lotes.
      */
-    private BigDecimal calcularErrorEstandar(List<BigDecimal> valores, BigDecimal pronostico) {
-        if (valores.size() < 2) {
-            return pronostico.multiply(new BigDecimal("0.1")); // 10% como fallback
+    private <S, A> List<A> evaluarSeries(List<S> series, Function<S, A> evaluacion) {
+        AppProperties.AlertasProperties config = appProperties.getAlertas();
+        int tamanoLote = Math.max(1, config.getTamanoLote());
+
+        if (!config.isParalelo() || series.size() <= tamanoLote) {
+            return evaluarLote(series, evaluacion);
         }
 
-        // Calcular residuos (diferencias con media)
-        BigDecimal media = calcularMedia(valores);
-        BigDecimal sumaCuadrados = valores.stream()
-                .map(v -> v.subtract(media).pow(2))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<CompletableFuture<List<A>>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < series.size(); inicio += tamanoLote) {
+            List<S> lote = series.subList(inicio, Math.min(inicio + tamanoLote, series.size()));
+            lotes.add(CompletableFuture.supplyAsync(() -> evaluarLote(lote, evaluacion), calculoExecutor));
+        }
 
-        BigDecimal varianza = sumaCuadrados.divide(
-                new BigDecimal(valores.size() - 1), 6, RoundingMode.HALF_UP);
+        List<A> resultado = new ArrayList<>();
+        for (CompletableFuture<List<A>> lote : lotes) {
+            resultado.addAll(lote.join());
+        }
 
-        // Error estándar = sqrt(varianza) / sqrt(n) * factor de ajuste
-        double se = Math.sqrt(varianza.doubleValue()) *
-                Math.sqrt(1 + 1.0 / valores.size());
+        log.debug("Evaluadas {} series en {} lotes", series.size(), lotes.size());
+        return resultado;
+    }
 
-        return new BigDecimal(se).setScale(2, RoundingMode.HALF_UP);
+    private <S, A> List<A> evaluarLote(List<S> lote, Function<S, A> evaluacion) {
+        List<A> resultado = new ArrayList<>();
+        for (S serie : lote) {
+            A alerta = evaluacion.apply(serie);
+            if (alerta != null) {
+                resultado.add(alerta);
+            }
+        }
+        return resultado;
     }
 
     // ==================== UTILIDADES ====================
 
-    private BigDecimal calcularMedia(List<BigDecimal> valores) {
-        if (valores.isEmpty()) {
-            return BigDecimal.ZERO;
+    /**
+     * Desviación estándar muestral de la historia con la varianza a 6 decimales, igual que el cálculo en BigDecimal
+     */
+    private double calcularDesviacionEstandar(EstadoSerie serie, double media) {
+        if (serie.getConteo() < 2) {
+            return 0;
         }
-        BigDecimal suma = valores.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-        return suma.divide(new BigDecimal(valores.size()), 6, RoundingMode.HALF_UP);
+        double varianza = CalculoEstadistico.redondear(serie.varianzaHistoria(media), 6);
+        return CalculoEstadistico.redondear(Math.sqrt(varianza), 6);
     }
 
-    private BigDecimal calcularDesviacionEstandar(List<BigDecimal> valores, BigDecimal media) {
-        if (valores.size() < 2) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal sumaCuadrados = valores.stream()
-                .map(v -> v.subtract(media).pow(2))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal varianza = sumaCuadrados.divide(
-                new BigDecimal(valores.size() - 1), 6, RoundingMode.HALF_UP);
-
-        return new BigDecimal(Math.sqrt(varianza.doubleValue())).setScale(6, RoundingMode.HALF_UP);
+    /**
+     * Convierte una fracción a porcentaje con 2 decimales
+     */
+    private BigDecimal porcentaje(double fraccion) {
+        return BigDecimal.valueOf(fraccion).multiply(CIEN).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private Periodo calcularPeriodoInicio(Periodo hasta, int semanas) {
-        int anio = hasta.getAnio();
-        int semana = hasta.getSemana() - semanas;
-
-        while (semana < 1) {
-            anio--;
-            semana += 52;
-        }
-
-        // Construir código de periodo: YYYYWW
-        int codigo = anio * 100 + semana;
-        return Periodo.fromCodigo(codigo);
+    /**
+     * Convierte un valor a BigDecimal con 2 decimales
+     */
+    private BigDecimal decimal(double valor) {
+        return BigDecimal.valueOf(CalculoEstadistico.redondear(valor, 2)).setScale(2, RoundingMode.HALF_UP);
     }
 }
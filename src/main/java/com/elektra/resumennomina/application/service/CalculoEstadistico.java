@@ -0,0 +1,94 @@
+package com.elektra.resumennomina.application.service;
+
+/**
+ * Núcleo de cálculo estadístico sobre arreglos primitivos.
+ * Trabaja con rangos [inicio, fin) de un arreglo de valores para evitar copias y
+ * objetos intermedios; la conversión a BigDecimal se hace solo al publicar resultados.
+ */
+public final class CalculoEstadistico {
+
+    private static final double LIMITE_PRECISION = 0x1p52;
+    private static final double TOLERANCIA_EMPATE = 1e-13;
+    private static final double[] FACTORES = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private CalculoEstadistico() {
+    }
+
+    /**
+     * Media aritmética del rango
+     */
+    public static double media(double[] valores, int inicio, int fin) {
+        int n = fin - inicio;
+        if (n <= 0) {
+            return 0;
+        }
+        double suma = 0;
+        for (int i = inicio; i < fin; i++) {
+            suma += valores[i];
+        }
+        return suma / n;
+    }
+
+    /**
+     * Suma de cuadrados de las desviaciones respecto a la media indicada
+     */
+    public static double sumaCuadrados(double[] valores, int inicio, int fin, double media) {
+        double suma = 0;
+        for (int i = inicio; i < fin; i++) {
+            double diferencia = valores[i] - media;
+            suma += diferencia * diferencia;
+        }
+        return suma;
+    }
+
+    /**
+     * Varianza muestral (divisor n - 1); cero si hay menos de dos valores
+     */
+    public static double varianzaMuestral(double[] valores, int inicio, int fin, double media) {
+        int n = fin - inicio;
+        if (n < 2) {
+            return 0;
+        }
+        return sumaCuadrados(valores, inicio, fin, media) / (n - 1);
+    }
+
+    /**
+     * Pronóstico con media móvil exponencial (alpha = 2/(n+1)) más la tendencia
+     * de los últimos tres valores: (v[n-1] - v[n-3]) / 2.
+     */
+    public static double pronosticoEma(double[] valores, int inicio, int fin) {
+        int n = fin - inicio;
+        if (n <= 0) {
+            return 0;
+        }
+
+        double alpha = redondear(2.0 / (n + 1), 6);
+        double ema = valores[inicio];
+        for (int i = inicio + 1; i < fin; i++) {
+            ema = alpha * valores[i] + (1 - alpha) * ema;
+        }
+
+        if (n >= 3) {
+            double tendencia = redondear((valores[fin - 1] - valores[fin - 3]) / 2, 6);
+            return ema + tendencia;
+        }
+
+        return ema;
+    }
+
+    /**
+     * Redondea con HALF_UP a la cantidad de decimales indicada (0 a 8).
+     * Reproduce la escala usada por los cálculos en BigDecimal; los valores cuya magnitud
+     * ya no tiene decimales representables en double se devuelven sin cambio.
+     * Un valor que queda por debajo del medio solo por error de representación
+     * (p. ej. 23050.604999999996 en lugar de 23050.605) se trata como empate y sube.
+     */
+    public static double redondear(double valor, int decimales) {
+        double factor = FACTORES[decimales];
+        double escalado = Math.abs(valor) * factor;
+        if (escalado >= LIMITE_PRECISION || Double.isNaN(escalado)) {
+            return valor;
+        }
+        return Math.copySign(Math.floor(escalado + 0.5 + escalado * TOLERANCIA_EMPATE) / factor, valor);
+    }
+}
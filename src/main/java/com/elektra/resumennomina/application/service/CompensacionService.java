@@ -3,30 +3,43 @@ package com.elektra.resumennomina.application.service;
 import com.elektra.resumennomina.domain.model.*;
 import com.elektra.resumennomina.domain.port.input.CompensacionUseCase;
 import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
 import com.elektra.resumennomina.infrastructure.config.cache.CacheConfig;
+import com.elektra.resumennomina.infrastructure.config.executor.CalculoExecutorConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Servicio principal que implementa los casos de uso de compensacion.
+ * Las consultas leen el rollup semanal (un dato por serie y periodo) en lugar de los registros originales;
+ * solo la vista por funcion SAP lee los registros originales.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CompensacionService implements CompensacionUseCase {
 
-    private final DatoCompensacionRepository repository;
+    private final RollupSemanalRepository repository;
+    private final DatoCompensacionRepository datoRepository;
     private final EstadisticasService estadisticasService;
+    private final TablaResultadosService tablaResultadosService;
+    private final PeriodoActualService periodoActualService;
+    @Qualifier(CalculoExecutorConfig.CALCULO_EXECUTOR)
+    private final ExecutorService calculoExecutor;
 
     private static final String INDICADOR_COMPENSACION = "Compensación";
     private static final String INDICADOR_EMPLEADO = "Empleado";
+    private static final int CODIGO_COMPENSACION = DiccionarioDimension.INDICADORES.codigo(INDICADOR_COMPENSACION);
+    private static final int CODIGO_EMPLEADO = DiccionarioDimension.INDICADORES.codigo(INDICADOR_EMPLEADO);
+    private static final int MAXIMO_SERIES_LOTE = 200;
 
     // ==================== VISTA NACIONAL ====================
 
@@ -38,16 +51,21 @@ public class CompensacionService implements CompensacionUseCase {
         List<DatoCompensacion> datosActual = repository.findByPeriodo(periodo.toCodigo());
         List<DatoCompensacion> datosAnterior = repository.findByPeriodo(periodo.anterior().toCodigo());
 
-        BigDecimal totalActual = sumarCompensacion(datosActual);
-        BigDecimal totalAnterior = sumarCompensacion(datosAnterior);
+        return construirResumenNacional(periodo, datosActual, datosAnterior);
+    }
+
+    private ResumenSemanal construirResumenNacional(Periodo periodo, List<DatoCompensacion> datosActual,
+                                                    List<DatoCompensacion> datosAnterior) {
+        long totalActual = sumarCompensacion(datosActual);
+        long totalAnterior = sumarCompensacion(datosAnterior);
         int empleadosActual = contarEmpleados(datosActual);
         int empleadosAnterior = contarEmpleados(datosAnterior);
 
         ResumenSemanal resumen = ResumenSemanal.builder()
                 .periodo(periodo)
                 .negocio("Nacional")
-                .totalCompensacion(totalActual)
-                .totalAnterior(totalAnterior)
+                .totalCompensacion(Centavos.aBigDecimal(totalActual))
+                .totalAnterior(Centavos.aBigDecimal(totalAnterior))
                 .cantidadEmpleados(empleadosActual)
                 .empleadosAnterior(empleadosAnterior)
                 .build();
@@ -64,22 +82,41 @@ public class CompensacionService implements CompensacionUseCase {
     public List<ResumenSemanal> obtenerResumenNacionalPorNegocio(Periodo periodo) {
         log.info("Obteniendo resumen por negocio para periodo: {}", periodo);
 
+        // Una sola agregacion con los totales de ambos periodos por negocio e indicador
+        return construirResumenPorNegocio(periodo, repository.sumarPorNegocioPeriodoEIndicador(
+                List.of(periodo.toCodigo(), periodo.anterior().toCodigo())));
+    }
+
+    private List<ResumenSemanal> construirResumenPorNegocio(Periodo periodo, List<TotalIndicador> totales) {
+        int codigoActual = periodo.toCodigo();
+
+        // Totales por negocio en centavos
+        Map<String, Long> compensacionActual = new HashMap<>();
+        Map<String, Long> compensacionAnterior = new HashMap<>();
+        Map<String, Integer> empleadosPorNegocio = new HashMap<>();
+        for (TotalIndicador total : totales) {
+            String negocio = total.negocio().trim();
+            if (total.esIndicador(INDICADOR_COMPENSACION)) {
+                Map<String, Long> destino = total.codigoPeriodo() == codigoActual ? compensacionActual : compensacionAnterior;
+                destino.merge(negocio, Centavos.de(total.total()), Centavos::sumar);
+            } else if (total.esIndicador(INDICADOR_EMPLEADO) && total.codigoPeriodo() == codigoActual) {
+                empleadosPorNegocio.merge(negocio, total.total().intValue(), Integer::sum);
+            }
+        }
+
         List<String> negocios = repository.findDistinctNegocios();
         List<ResumenSemanal> resumenes = new ArrayList<>();
 
         for (String negocio : negocios) {
-            List<DatoCompensacion> datosActual = repository.findByNegocioAndPeriodo(negocio, periodo.toCodigo());
-            List<DatoCompensacion> datosAnterior = repository.findByNegocioAndPeriodo(negocio, periodo.anterior().toCodigo());
-
-            BigDecimal totalActual = sumarCompensacion(datosActual);
-            BigDecimal totalAnterior = sumarCompensacion(datosAnterior);
-            int empleadosActual = contarEmpleados(datosActual);
+            long totalActual = compensacionActual.getOrDefault(negocio.trim(), 0L);
+            long totalAnterior = compensacionAnterior.getOrDefault(negocio.trim(), 0L);
+            int empleadosActual = empleadosPorNegocio.getOrDefault(negocio.trim(), 0);
 
             ResumenSemanal resumen = ResumenSemanal.builder()
                     .periodo(periodo)
                     .negocio(negocio.trim())
-                    .totalCompensacion(totalActual)
-                    .totalAnterior(totalAnterior)
+                    .totalCompensacion(Centavos.aBigDecimal(totalActual))
+                    .totalAnterior(Centavos.aBigDecimal(totalAnterior))
                     .cantidadEmpleados(empleadosActual)
                     .build();
 
@@ -98,14 +135,9 @@ public class CompensacionService implements CompensacionUseCase {
     public EstadisticasSerie obtenerSerieNacionalTotal(Periodo desde, Periodo hasta) {
         log.info("Obteniendo serie nacional total desde {} hasta {}", desde, hasta);
 
-        List<DatoCompensacion> datos = repository.findByPeriodoBetween(desde.toCodigo(), hasta.toCodigo());
-
-        Map<Periodo, BigDecimal> seriePorPeriodo = datos.stream()
-                .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
+        // Suma por periodo sin cargar el historial completo en memoria
+        SerieSemanal seriePorPeriodo = SerieSemanal.deTotales(repository.sumarIndicadorPorPeriodo(
+                INDICADOR_COMPENSACION, desde.toCodigo(), hasta.toCodigo()));
 
         return estadisticasService.calcularEstadisticas(seriePorPeriodo, "Nacional", "Total", INDICADOR_COMPENSACION);
     }
@@ -118,11 +150,7 @@ public class CompensacionService implements CompensacionUseCase {
         List<DatoCompensacion> datos = repository.findByNegocioAndIndicadorAndPeriodoBetween(
                 negocio, INDICADOR_COMPENSACION, desde.toCodigo(), hasta.toCodigo());
 
-        Map<Periodo, BigDecimal> seriePorPeriodo = datos.stream()
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
+        SerieSemanal seriePorPeriodo = SerieSemanal.sumar(datos, d -> true);
 
         return estadisticasService.calcularEstadisticas(seriePorPeriodo, negocio, "Total", INDICADOR_COMPENSACION);
     }
@@ -136,12 +164,7 @@ public class CompensacionService implements CompensacionUseCase {
                 negocio, puesto, desde.toCodigo(), hasta.toCodigo());
 
         // Filtrar por indicador Compensacion y agrupar por periodo
-        Map<Periodo, BigDecimal> seriePorPeriodo = datos.stream()
-                .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
+        SerieSemanal seriePorPeriodo = SerieSemanal.sumar(datos, d -> d.getCodigoIndicador() == CODIGO_COMPENSACION);
 
         return estadisticasService.calcularEstadisticas(seriePorPeriodo, negocio, puesto, INDICADOR_COMPENSACION);
     }
@@ -153,93 +176,114 @@ public class CompensacionService implements CompensacionUseCase {
         log.info("Obteniendo serie para negocio {} puesto {} indicador {} desde {} hasta {}",
                 negocio, puesto, indicador, desde, hasta);
 
-        List<DatoCompensacion> datos = repository.findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
-                negocio, puesto, indicador, desde.toCodigo(), hasta.toCodigo());
-
-        // Agrupar por periodo
-        Map<Periodo, BigDecimal> seriePorPeriodo = datos.stream()
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        // Para gráficas mostrar PROMEDIO por empleado (excepto indicador Empleado)
-        if (!indicador.equalsIgnoreCase(INDICADOR_EMPLEADO)) {
-            // Obtener empleados por periodo del mismo negocio y puesto
-            List<DatoCompensacion> datosEmpleados = repository.findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
-                    negocio, puesto, INDICADOR_EMPLEADO, desde.toCodigo(), hasta.toCodigo());
-
-            Map<Periodo, Integer> empleadosPorPeriodo = datosEmpleados.stream()
-                    .collect(Collectors.toMap(
-                            DatoCompensacion::getPeriodo,
-                            d -> d.getValor().intValue(),
-                            Integer::sum
-                    ));
-
-            seriePorPeriodo = seriePorPeriodo.entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            e -> {
-                                Integer empleados = empleadosPorPeriodo.get(e.getKey());
-                                if (empleados != null && empleados > 0) {
-                                    return e.getValue().divide(BigDecimal.valueOf(empleados), 2, RoundingMode.HALF_UP);
-                                }
-                                return e.getValue();
-                            }
-                    ));
-        }
+        // Indicador y empleados por periodo en una sola consulta
+        List<TotalEmpleadosPeriodo> totales = repository.sumarIndicadorYEmpleadosPorPeriodo(
+                negocio, puesto, indicador, INDICADOR_EMPLEADO, desde.toCodigo(), hasta.toCodigo());
+
+        SerieSemanal seriePorPeriodo = seriePorEmpleado(totales, indicador);
 
         return estadisticasService.calcularEstadisticas(seriePorPeriodo, negocio, puesto, indicador);
     }
 
+    @Override
+    public List<EstadisticasSerie> obtenerSeriesPorNegocioPuestoIndicador(
+            List<ClaveSerie> claves, Periodo desde, Periodo hasta) {
+        log.info("Obteniendo lote de {} series desde {} hasta {}", claves.size(), desde, hasta);
+
+        if (claves.isEmpty() || claves.size() > MAXIMO_SERIES_LOTE) {
+            throw new IllegalArgumentException("El lote debe tener entre 1 y " + MAXIMO_SERIES_LOTE + " series");
+        }
+
+        // Una sola lectura del rango para todos los negocios y puestos del lote
+        Set<String> negocios = new LinkedHashSet<>();
+        Set<String> puestos = new LinkedHashSet<>();
+        claves.forEach(clave -> {
+            negocios.add(clave.negocio());
+            puestos.add(clave.puesto());
+        });
+        List<DatoCompensacion> datos = repository.findByNegocioInAndPuestoInAndPeriodoBetween(
+                negocios, puestos, desde.toCodigo(), hasta.toCodigo());
+
+        // Agrupar por serie con los nombres canonicos
+        Map<ClaveSerie, List<DatoCompensacion>> datosPorSerie = new HashMap<>();
+        for (DatoCompensacion dato : datos) {
+            datosPorSerie.computeIfAbsent(claveDeDato(dato), k -> new ArrayList<>()).add(dato);
+        }
+
+        // Las estadisticas de cada serie se calculan en el pool de calculo
+        List<CompletableFuture<EstadisticasSerie>> series = new ArrayList<>(claves.size());
+        for (ClaveSerie clave : claves) {
+            List<DatoCompensacion> datosIndicador = datosPorSerie.getOrDefault(
+                    claveCanonica(clave.negocio(), clave.puesto(), clave.indicador()), List.of());
+            List<DatoCompensacion> datosEmpleado = datosPorSerie.getOrDefault(
+                    claveCanonica(clave.negocio(), clave.puesto(), INDICADOR_EMPLEADO), List.of());
+            series.add(CompletableFuture.supplyAsync(() -> estadisticasService.calcularEstadisticas(
+                    seriePorEmpleado(TotalesSemana.sumarIndicadorYEmpleadosPorPeriodo(datosIndicador, datosEmpleado),
+                            clave.indicador()),
+                    clave.negocio(), clave.puesto(), clave.indicador()), calculoExecutor));
+        }
+
+        return series.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Clave con los nombres canonicos de un dato guardado (los datos registran sus nombres en el diccionario)
+     */
+    private static ClaveSerie claveDeDato(DatoCompensacion dato) {
+        return new ClaveSerie(DiccionarioDimension.NEGOCIOS.canonico(dato.getNegocio()),
+                DiccionarioDimension.PUESTOS.canonico(dato.getPuesto()),
+                DiccionarioDimension.INDICADORES.canonico(dato.getIndicador()));
+    }
+
+    /**
+     * Clave con los nombres canonicos de una serie pedida, sin registrar los nombres de la peticion
+     */
+    private static ClaveSerie claveCanonica(String negocio, String puesto, String indicador) {
+        return new ClaveSerie(DiccionarioDimension.NEGOCIOS.buscarCanonico(negocio),
+                DiccionarioDimension.PUESTOS.buscarCanonico(puesto),
+                DiccionarioDimension.INDICADORES.buscarCanonico(indicador));
+    }
+
     @Override
     public List<ResumenIndicador> obtenerResumenIndicadoresPorNegocioYPuesto(
             String negocio, String puesto, Periodo periodo) {
         log.info("Obteniendo resumen de indicadores para negocio {} puesto {} periodo {}", negocio, puesto, periodo);
 
-        // Obtener indicadores disponibles para este negocio y puesto
-        List<String> indicadores = repository.findDistinctIndicadoresByNegocioAndPuesto(negocio, puesto);
+        int codigoActual = periodo.toCodigo();
 
-        // Obtener datos del periodo actual y anterior
-        List<DatoCompensacion> datosActual = repository.findByNegocioAndPuestoAndPeriodo(
-                negocio, puesto, periodo.toCodigo());
-        List<DatoCompensacion> datosAnterior = repository.findByNegocioAndPuestoAndPeriodo(
-                negocio, puesto, periodo.anterior().toCodigo());
+        // Totales por indicador de ambos periodos en una sola agregacion (sin consultar los indicadores distintos)
+        List<TotalIndicador> totales = repository.sumarPorPeriodoEIndicador(
+                negocio, puesto, List.of(codigoActual, periodo.anterior().toCodigo()));
 
-        log.info("Datos encontrados para periodo actual {}: {} registros", periodo.toCodigo(), datosActual.size());
-        log.info("Datos encontrados para periodo anterior {}: {} registros", periodo.anterior().toCodigo(), datosAnterior.size());
+        log.info("Totales encontrados para periodos {} y {}: {}", codigoActual, periodo.anterior().toCodigo(), totales.size());
 
-        List<ResumenIndicador> resumenes = new ArrayList<>();
-
-        for (String indicador : indicadores) {
-            BigDecimal totalActual = datosActual.stream()
-                    .filter(d -> indicador.equalsIgnoreCase(d.getIndicador().trim()))
-                    .map(DatoCompensacion::getValor)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Centavos por indicador: [actual, anterior]; las variantes del nombre comparten codigo
+        Map<Integer, long[]> totalesPorIndicador = new LinkedHashMap<>();
+        for (TotalIndicador total : totales) {
+            long[] montos = totalesPorIndicador.computeIfAbsent(
+                    DiccionarioDimension.INDICADORES.codigo(total.indicador()), k -> new long[2]);
+            int posicion = total.codigoPeriodo() == codigoActual ? 0 : 1;
+            montos[posicion] = Centavos.sumar(montos[posicion], Centavos.de(total.total()));
+        }
 
-            BigDecimal totalAnterior = datosAnterior.stream()
-                    .filter(d -> indicador.equalsIgnoreCase(d.getIndicador().trim()))
-                    .map(DatoCompensacion::getValor)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<ResumenIndicador> resumenes = new ArrayList<>(totalesPorIndicador.size());
 
+        totalesPorIndicador.forEach((codigoIndicador, montos) -> {
             // Mostrar totales sin dividir por empleados
-            BigDecimal valorActual = totalActual;
-            BigDecimal valorAnterior = totalAnterior;
+            long totalActual = montos[0];
+            long totalAnterior = montos[1];
 
-            BigDecimal diferencia = valorActual.subtract(valorAnterior);
-            BigDecimal variacion = estadisticasService.calcularVariacionPorcentual(valorActual, valorAnterior);
+            long diferencia = Centavos.restar(totalActual, totalAnterior);
 
             resumenes.add(ResumenIndicador.builder()
-                    .indicador(indicador.trim())
-                    .valorActual(valorActual)
-                    .valorAnterior(valorAnterior)
-                    .diferencia(diferencia)
-                    .variacionPorcentual(variacion)
-                    .variacionPositiva(diferencia.compareTo(BigDecimal.ZERO) >= 0)
+                    .indicador(DiccionarioDimension.INDICADORES.nombre(codigoIndicador))
+                    .valorActual(Centavos.aBigDecimal(totalActual))
+                    .valorAnterior(Centavos.aBigDecimal(totalAnterior))
+                    .diferencia(Centavos.aBigDecimal(diferencia))
+                    .variacionPorcentual(Centavos.variacionPorcentual(totalActual, totalAnterior))
+                    .variacionPositiva(diferencia >= 0)
                     .build());
-        }
+        });
 
         // Ordenar por nombre de indicador
         resumenes.sort(Comparator.comparing(ResumenIndicador::getIndicador));
@@ -254,9 +298,9 @@ public class CompensacionService implements CompensacionUseCase {
     public ResumenSemanal obtenerResumenPorPuesto(int funcionSap, Periodo periodo) {
         log.info("Obteniendo resumen para funcion SAP {} periodo {}", funcionSap, periodo);
 
-        List<DatoCompensacion> datosActual = repository.findByFuncionSapAndPeriodoBetween(
+        List<DatoCompensacion> datosActual = datoRepository.findByFuncionSapAndPeriodoBetween(
                 funcionSap, periodo.toCodigo(), periodo.toCodigo());
-        List<DatoCompensacion> datosAnterior = repository.findByFuncionSapAndPeriodoBetween(
+        List<DatoCompensacion> datosAnterior = datoRepository.findByFuncionSapAndPeriodoBetween(
                 funcionSap, periodo.anterior().toCodigo(), periodo.anterior().toCodigo());
 
         String puesto = datosActual.stream()
@@ -269,16 +313,16 @@ public class CompensacionService implements CompensacionUseCase {
                 .map(d -> d.getNegocio().trim())
                 .orElse("Desconocido");
 
-        BigDecimal totalActual = sumarCompensacion(datosActual);
-        BigDecimal totalAnterior = sumarCompensacion(datosAnterior);
+        long totalActual = sumarCompensacion(datosActual);
+        long totalAnterior = sumarCompensacion(datosAnterior);
         int empleadosActual = contarEmpleados(datosActual);
 
         ResumenSemanal resumen = ResumenSemanal.builder()
                 .periodo(periodo)
                 .negocio(negocio)
                 .puesto(puesto)
-                .totalCompensacion(totalActual)
-                .totalAnterior(totalAnterior)
+                .totalCompensacion(Centavos.aBigDecimal(totalActual))
+                .totalAnterior(Centavos.aBigDecimal(totalAnterior))
                 .cantidadEmpleados(empleadosActual)
                 .build();
 
@@ -293,49 +337,21 @@ public class CompensacionService implements CompensacionUseCase {
     public EstadisticasSerie obtenerSeriePorPuestoIndicador(int funcionSap, String indicador, Periodo desde, Periodo hasta) {
         log.info("Obteniendo serie para funcion SAP {} indicador {} desde {} hasta {}", funcionSap, indicador, desde, hasta);
 
-        List<DatoCompensacion> datos = repository.findByFuncionSapAndPeriodoBetween(
-                funcionSap, desde.toCodigo(), hasta.toCodigo());
+        // Indicador y empleados por periodo en una sola consulta
+        List<TotalEmpleadosPeriodo> totales = datoRepository.sumarIndicadorYEmpleadosPorPeriodoDeFuncionSap(
+                funcionSap, indicador, INDICADOR_EMPLEADO, desde.toCodigo(), hasta.toCodigo());
 
-        String puesto = datos.stream()
+        String puesto = totales.stream()
                 .findFirst()
-                .map(d -> d.getPuesto().trim())
+                .map(t -> t.puesto().trim())
                 .orElse("Desconocido");
 
-        String negocio = datos.stream()
+        String negocio = totales.stream()
                 .findFirst()
-                .map(d -> d.getNegocio().trim())
+                .map(t -> t.negocio().trim())
                 .orElse("Desconocido");
 
-        // Filtrar por indicador y agrupar por periodo
-        Map<Periodo, BigDecimal> seriePorPeriodo = datos.stream()
-                .filter(d -> indicador.equalsIgnoreCase(d.getIndicador().trim()))
-                .collect(Collectors.groupingBy(
-                        DatoCompensacion::getPeriodo,
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        // Para gráficas mostrar PROMEDIO por empleado (excepto indicador Empleado)
-        if (!indicador.equalsIgnoreCase(INDICADOR_EMPLEADO)) {
-            Map<Periodo, Integer> empleadosPorPeriodo = datos.stream()
-                    .filter(d -> INDICADOR_EMPLEADO.equalsIgnoreCase(d.getIndicador().trim()))
-                    .collect(Collectors.toMap(
-                            DatoCompensacion::getPeriodo,
-                            d -> d.getValor().intValue(),
-                            Integer::sum
-                    ));
-
-            seriePorPeriodo = seriePorPeriodo.entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            e -> {
-                                Integer empleados = empleadosPorPeriodo.get(e.getKey());
-                                if (empleados != null && empleados > 0) {
-                                    return e.getValue().divide(BigDecimal.valueOf(empleados), 2, RoundingMode.HALF_UP);
-                                }
-                                return e.getValue();
-                            }
-                    ));
-        }
+        SerieSemanal seriePorPeriodo = seriePorEmpleado(totales, indicador);
 
         return estadisticasService.calcularEstadisticas(seriePorPeriodo, negocio, puesto, indicador);
     }
@@ -347,44 +363,43 @@ public class CompensacionService implements CompensacionUseCase {
     public List<MapaCalorItem> obtenerMapaCalor(Periodo periodo) {
         log.info("Obteniendo mapa de calor para periodo {}", periodo);
 
-        List<DatoCompensacion> datosActual = repository.findByPeriodo(periodo.toCodigo());
-        List<DatoCompensacion> datosAnterior = repository.findByPeriodo(periodo.anterior().toCodigo());
+        // Totales de Compensacion por puesto de ambos periodos, agregados en la base de datos
+        return construirMapaCalor(periodo, repository.sumarIndicadorPorPuesto(
+                INDICADOR_COMPENSACION, List.of(periodo.toCodigo(), periodo.anterior().toCodigo())));
+    }
 
-        // Agrupar por puesto
-        Map<String, BigDecimal> compensacionActualPorPuesto = datosActual.stream()
-                .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                .collect(Collectors.groupingBy(
-                        d -> d.getPuesto().trim(),
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        Map<String, BigDecimal> compensacionAnteriorPorPuesto = datosAnterior.stream()
-                .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                .collect(Collectors.groupingBy(
-                        d -> d.getPuesto().trim(),
-                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)
-                ));
-
-        Map<String, String> negocioPorPuesto = datosActual.stream()
-                .collect(Collectors.toMap(
-                        d -> d.getPuesto().trim(),
-                        d -> d.getNegocio().trim(),
-                        (a, b) -> a
-                ));
+    private List<MapaCalorItem> construirMapaCalor(Periodo periodo, List<TotalPuesto> totales) {
+        int codigoActual = periodo.toCodigo();
+
+        // Totales por puesto en centavos
+        Map<String, Long> compensacionActualPorPuesto = new LinkedHashMap<>();
+        Map<String, Long> compensacionAnteriorPorPuesto = new HashMap<>();
+        Map<String, String> negocioPorPuesto = new HashMap<>();
+        for (TotalPuesto total : totales) {
+            String puesto = total.puesto().trim();
+            if (total.codigoPeriodo() == codigoActual) {
+                negocioPorPuesto.putIfAbsent(puesto, total.negocio().trim());
+                if (total.registros() > 0) {
+                    compensacionActualPorPuesto.merge(puesto, Centavos.de(total.total()), Centavos::sumar);
+                }
+            } else {
+                compensacionAnteriorPorPuesto.merge(puesto, Centavos.de(total.total()), Centavos::sumar);
+            }
+        }
 
         List<MapaCalorItem> items = new ArrayList<>();
 
-        for (String puesto : compensacionActualPorPuesto.keySet()) {
-            BigDecimal valorActual = compensacionActualPorPuesto.get(puesto);
-            BigDecimal valorAnterior = compensacionAnteriorPorPuesto.getOrDefault(puesto, BigDecimal.ZERO);
-            BigDecimal variacion = estadisticasService.calcularVariacionPorcentual(valorActual, valorAnterior);
+        for (Map.Entry<String, Long> entrada : compensacionActualPorPuesto.entrySet()) {
+            String puesto = entrada.getKey();
+            long valorActual = entrada.getValue();
+            long valorAnterior = compensacionAnteriorPorPuesto.getOrDefault(puesto, 0L);
 
             items.add(MapaCalorItem.builder()
                     .negocio(negocioPorPuesto.getOrDefault(puesto, "Otro"))
                     .puesto(puesto)
-                    .valorSemanaActual(valorActual)
-                    .valorSemanaAnterior(valorAnterior)
-                    .variacionPorcentual(variacion)
+                    .valorSemanaActual(Centavos.aBigDecimal(valorActual))
+                    .valorSemanaAnterior(Centavos.aBigDecimal(valorAnterior))
+                    .variacionPorcentual(Centavos.variacionPorcentual(valorActual, valorAnterior))
                     .periodoActual(periodo)
                     .periodoAnterior(periodo.anterior())
                     .build());
@@ -402,60 +417,64 @@ public class CompensacionService implements CompensacionUseCase {
     @Override
     public List<ResumenSemanal> obtenerTablaResultadosTotal(Periodo periodo) {
         log.info("Obteniendo tabla de resultados total para periodo {}", periodo);
-        return obtenerTablaResultados(periodo, false);
+        return construirTablaResultados(periodo, tablaResultadosService.obtenerTotalesPorPuesto(periodo), false);
     }
 
     @Override
     public List<ResumenSemanal> obtenerTablaResultadosPromedio(Periodo periodo) {
         log.info("Obteniendo tabla de resultados promedio para periodo {}", periodo);
-        return obtenerTablaResultados(periodo, true);
+        return construirTablaResultados(periodo, tablaResultadosService.obtenerTotalesPorPuesto(periodo), true);
     }
 
-    private List<ResumenSemanal> obtenerTablaResultados(Periodo periodo, boolean calcularPromedio) {
-        List<DatoCompensacion> datosActual = repository.findByPeriodo(periodo.toCodigo());
-        List<DatoCompensacion> datosAnterior = repository.findByPeriodo(periodo.anterior().toCodigo());
-
-        // Agrupar por puesto
-        Map<String, List<DatoCompensacion>> porPuestoActual = datosActual.stream()
-                .collect(Collectors.groupingBy(d -> d.getPuesto().trim()));
-
-        Map<String, List<DatoCompensacion>> porPuestoAnterior = datosAnterior.stream()
-                .collect(Collectors.groupingBy(d -> d.getPuesto().trim()));
+    /**
+     * Arma la tabla a partir de los totales por puesto de ambos periodos
+     * (la agregacion en cache se comparte entre total y promedio)
+     */
+    private List<ResumenSemanal> construirTablaResultados(Periodo periodo, List<TotalesPuesto> totalesPorPuesto,
+                                                          boolean calcularPromedio) {
+        int codigoActual = periodo.toCodigo();
+
+        Map<String, TotalesPuesto> porPuestoActual = new LinkedHashMap<>();
+        Map<String, TotalesPuesto> porPuestoAnterior = new HashMap<>();
+        for (TotalesPuesto totales : totalesPorPuesto) {
+            Map<String, TotalesPuesto> destino = totales.codigoPeriodo() == codigoActual ? porPuestoActual : porPuestoAnterior;
+            destino.merge(totales.puesto().trim(), totales, CompensacionService::combinarTotales);
+        }
 
         List<ResumenSemanal> resultados = new ArrayList<>();
 
-        for (String puesto : porPuestoActual.keySet()) {
-            List<DatoCompensacion> datosActualPuesto = porPuestoActual.get(puesto);
-            List<DatoCompensacion> datosAnteriorPuesto = porPuestoAnterior.getOrDefault(puesto, List.of());
+        for (TotalesPuesto totalesActual : porPuestoActual.values()) {
+            String puesto = totalesActual.puesto().trim();
+            TotalesPuesto totalesAnterior = porPuestoAnterior.get(puesto);
 
-            String negocio = datosActualPuesto.stream()
-                    .findFirst()
-                    .map(d -> d.getNegocio().trim())
-                    .orElse("Otro");
+            String negocio = totalesActual.negocio() != null ? totalesActual.negocio().trim() : "Otro";
 
-            BigDecimal totalActual = sumarCompensacion(datosActualPuesto);
-            BigDecimal totalAnterior = sumarCompensacion(datosAnteriorPuesto);
-            int empleadosActual = contarEmpleados(datosActualPuesto);
-            int empleadosAnterior = contarEmpleados(datosAnteriorPuesto);
+            long totalActual = Centavos.de(totalesActual.compensacion());
+            long totalAnterior = totalesAnterior != null ? Centavos.de(totalesAnterior.compensacion()) : 0;
+            int empleadosActual = totalesActual.empleados().intValue();
+            int empleadosAnterior = totalesAnterior != null ? totalesAnterior.empleados().intValue() : 0;
 
-            BigDecimal valorActual = totalActual;
-            BigDecimal valorAnterior = totalAnterior;
+            long valorActual = totalActual;
+            long valorAnterior = totalAnterior;
 
             if (calcularPromedio && empleadosActual > 0) {
-                valorActual = totalActual.divide(BigDecimal.valueOf(empleadosActual), 2, RoundingMode.HALF_UP);
+                valorActual = Centavos.dividir(totalActual, empleadosActual);
                 if (empleadosAnterior > 0) {
-                    valorAnterior = totalAnterior.divide(BigDecimal.valueOf(empleadosAnterior), 2, RoundingMode.HALF_UP);
+                    valorAnterior = Centavos.dividir(totalAnterior, empleadosAnterior);
                 }
             }
 
+            BigDecimal montoActual = Centavos.aBigDecimal(valorActual);
+            BigDecimal montoAnterior = Centavos.aBigDecimal(valorAnterior);
+
             ResumenSemanal resumen = ResumenSemanal.builder()
                     .periodo(periodo)
                     .negocio(negocio)
                     .puesto(puesto)
-                    .totalCompensacion(valorActual)
-                    .totalAnterior(valorAnterior)
-                    .promedioCompensacion(calcularPromedio ? valorActual : null)
-                    .promedioAnterior(calcularPromedio ? valorAnterior : null)
+                    .totalCompensacion(montoActual)
+                    .totalAnterior(montoAnterior)
+                    .promedioCompensacion(calcularPromedio ? montoActual : null)
+                    .promedioAnterior(calcularPromedio ? montoAnterior : null)
                     .cantidadEmpleados(empleadosActual)
                     .build();
 
@@ -472,6 +491,45 @@ public class CompensacionService implements CompensacionUseCase {
         return resultados;
     }
 
+    // ==================== TABLERO NACIONAL ====================
+
+    @Override
+    @Cacheable(value = CacheConfig.TABLERO_NACIONAL, key = "#periodo.toCodigo()")
+    public TableroNacional obtenerTableroNacional(Periodo periodo) {
+        log.info("Obteniendo tablero nacional para periodo {}", periodo);
+
+        int codigoActual = periodo.toCodigo();
+        int codigoAnterior = periodo.anterior().toCodigo();
+
+        // Una sola lectura de ambas semanas; las vistas se arman en memoria con los mismos totales
+        // que las agregaciones de cada endpoint individual
+        List<DatoCompensacion> datos = repository.findByPeriodoIn(List.of(codigoActual, codigoAnterior));
+
+        List<DatoCompensacion> datosActual = new ArrayList<>();
+        List<DatoCompensacion> datosAnterior = new ArrayList<>();
+        for (DatoCompensacion dato : datos) {
+            if (dato.getCodigoPeriodo() == codigoActual) {
+                datosActual.add(dato);
+            } else if (dato.getCodigoPeriodo() == codigoAnterior) {
+                datosAnterior.add(dato);
+            }
+        }
+
+        List<TotalesPuesto> totalesPorPuesto = TotalesSemana.sumarCompensacionYEmpleadosPorPuesto(
+                datos, CODIGO_COMPENSACION, CODIGO_EMPLEADO);
+
+        return TableroNacional.builder()
+                .periodo(periodo)
+                .resumenNacional(construirResumenNacional(periodo, datosActual, datosAnterior))
+                .resumenPorNegocio(construirResumenPorNegocio(periodo,
+                        TotalesSemana.sumarPorNegocioPeriodoEIndicador(datos)))
+                .mapaCalor(construirMapaCalor(periodo,
+                        TotalesSemana.sumarIndicadorPorPuesto(datos, CODIGO_COMPENSACION)))
+                .tablaTotal(construirTablaResultados(periodo, totalesPorPuesto, false))
+                .tablaPromedio(construirTablaResultados(periodo, totalesPorPuesto, true))
+                .build();
+    }
+
     // ==================== UTILITARIOS ====================
 
     @Override
@@ -527,54 +585,69 @@ public class CompensacionService implements CompensacionUseCase {
 
     @Override
     public Periodo obtenerPeriodoActual() {
-        // Obtener periodos disponibles ordenados de mas reciente a mas antiguo
-        List<Integer> periodos = repository.findDistinctPeriodos();
-        if (periodos.isEmpty()) {
-            return Periodo.actual();
-        }
+        return periodoActualService.obtenerPeriodoActual();
+    }
 
-        // Obtener negocios esperados
-        List<String> negociosEsperados = repository.findDistinctNegocios();
-        int minNegociosRequeridos = Math.max(3, negociosEsperados.size() - 1); // Al menos 3 negocios o todos menos 1
-
-        // Buscar el periodo mas reciente con datos completos
-        for (int i = periodos.size() - 1; i >= 0; i--) {
-            int codigoPeriodo = periodos.get(i);
-            List<DatoCompensacion> datos = repository.findByPeriodo(codigoPeriodo);
-
-            // Contar negocios unicos con datos de compensacion
-            long negociosConDatos = datos.stream()
-                    .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                    .map(d -> d.getNegocio().trim())
-                    .distinct()
-                    .count();
-
-            if (negociosConDatos >= minNegociosRequeridos) {
-                log.info("Periodo actual seleccionado: {} con {} negocios", codigoPeriodo, negociosConDatos);
-                return Periodo.fromCodigo(codigoPeriodo);
-            }
-        }
+    // ==================== HELPERS ====================
 
-        // Fallback al periodo mas reciente
-        return Periodo.fromCodigo(periodos.get(periodos.size() - 1));
+    private static TotalesPuesto combinarTotales(TotalesPuesto a, TotalesPuesto b) {
+        return new TotalesPuesto(a.puesto(), a.negocio(), a.codigoPeriodo(),
+                a.compensacion().add(b.compensacion()), a.empleados().add(b.empleados()));
     }
 
-    // ==================== HELPERS ====================
+    private long sumarCompensacion(List<DatoCompensacion> datos) {
+        return sumarIndicador(datos, CODIGO_COMPENSACION);
+    }
 
-    private BigDecimal sumarCompensacion(List<DatoCompensacion> datos) {
-        return datos.stream()
-                .filter(d -> INDICADOR_COMPENSACION.equalsIgnoreCase(d.getIndicador().trim()))
-                .map(DatoCompensacion::getValor)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Suma en centavos el valor de los datos del indicador (los valores nulos no suman)
+     */
+    private long sumarIndicador(List<DatoCompensacion> datos, int codigoIndicador) {
+        long total = 0;
+        for (DatoCompensacion dato : datos) {
+            if (dato.getValor() != null && dato.getCodigoIndicador() == codigoIndicador) {
+                total = Centavos.sumar(total, Centavos.de(dato.getValor()));
+            }
+        }
+        return total;
     }
 
     private int contarEmpleados(List<DatoCompensacion> datos) {
-        return datos.stream()
-                .filter(d -> INDICADOR_EMPLEADO.equalsIgnoreCase(d.getIndicador().trim()))
-                .map(DatoCompensacion::getValor)
-                .filter(Objects::nonNull)
-                .mapToInt(BigDecimal::intValue)
-                .sum();
+        int empleados = 0;
+        for (DatoCompensacion dato : datos) {
+            if (dato.getValor() != null && dato.getCodigoIndicador() == CODIGO_EMPLEADO) {
+                empleados += dato.getValor().intValue();
+            }
+        }
+        return empleados;
+    }
+
+    /**
+     * Serie del indicador por periodo; para gráficas muestra el PROMEDIO por empleado (excepto indicador Empleado)
+     */
+    private SerieSemanal seriePorEmpleado(List<TotalEmpleadosPeriodo> totales, String indicador) {
+        SerieSemanal serie = SerieSemanal.deTotales(totales.stream().map(TotalEmpleadosPeriodo::indicador).toList());
+        if (DiccionarioDimension.INDICADORES.buscar(indicador) != CODIGO_EMPLEADO) {
+            promediarPorEmpleado(serie, totales);
+        }
+        return serie;
+    }
+
+    /**
+     * Convierte cada valor de la serie en promedio por empleado del mismo periodo (2 decimales);
+     * los periodos sin empleados conservan el total
+     */
+    private void promediarPorEmpleado(SerieSemanal serie, List<TotalEmpleadosPeriodo> totales) {
+        int[] empleadosPorPeriodo = new int[serie.longitud()];
+        for (TotalEmpleadosPeriodo total : totales) {
+            int indice = serie.indice(Periodo.fromCodigo(total.codigoPeriodo()));
+            if (indice >= 0) {
+                empleadosPorPeriodo[indice] += total.empleados();
+            }
+        }
+        serie.transformar((indice, centavos) -> {
+            int empleados = empleadosPorPeriodo[indice];
+            return empleados > 0 ? Centavos.dividir(centavos, empleados) : centavos;
+        });
     }
 }
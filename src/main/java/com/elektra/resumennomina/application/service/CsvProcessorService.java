@@ -1,6 +1,7 @@
 package com.elektra.resumennomina.application.service;
 
 import com.elektra.resumennomina.api.dto.DatosInteligenciaRow;
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvValidationException;
@@ -17,7 +18,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Servicio para procesar archivos CSV y Excel de DatosInteligencia
+ * Servicio para procesar archivos CSV y Excel de DatosInteligencia.
+ * Negocio, puesto e indicador se guardan en su forma canonica (ver DiccionarioDimension).
  */
 @Slf4j
 @Service
@@ -61,9 +63,9 @@ public class CsvProcessorService {
                             .fnDetalle1(parseDouble(linea[10]))
                             .fnDetalle2(parseDouble(linea[11]))
                             .pkcDetalle3(parseInteger(linea[12]))
-                            .fcDetalle4(linea[13].trim())  // Negocio
-                            .fcDetalle5(linea[14].trim())  // Puesto
-                            .fcDetalle6(linea[15].trim())  // Indicador
+                            .fcDetalle4(DiccionarioDimension.NEGOCIOS.canonico(linea[13]))     // Negocio
+                            .fcDetalle5(DiccionarioDimension.PUESTOS.canonico(linea[14]))      // Puesto
+                            .fcDetalle6(DiccionarioDimension.INDICADORES.canonico(linea[15]))  // Indicador
                             .fnDetalle7(parseDouble(linea[16]))
                             .build();
 
@@ -114,9 +116,9 @@ public class CsvProcessorService {
                             .fnDetalle1(getCellAsDouble(row.getCell(10)))
                             .fnDetalle2(getCellAsDouble(row.getCell(11)))
                             .pkcDetalle3(getCellAsInteger(row.getCell(12)))
-                            .fcDetalle4(getCellAsString(row.getCell(13)))
-                            .fcDetalle5(getCellAsString(row.getCell(14)))
-                            .fcDetalle6(getCellAsString(row.getCell(15)))
+                            .fcDetalle4(DiccionarioDimension.NEGOCIOS.canonico(getCellAsString(row.getCell(13))))
+                            .fcDetalle5(DiccionarioDimension.PUESTOS.canonico(getCellAsString(row.getCell(14))))
+                            .fcDetalle6(DiccionarioDimension.INDICADORES.canonico(getCellAsString(row.getCell(15))))
                             .fnDetalle7(getCellAsDouble(row.getCell(16)))
                             .build();
 
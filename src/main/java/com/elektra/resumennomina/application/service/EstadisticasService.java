@@ -1,15 +1,17 @@
 package com.elektra.resumennomina.application.service;
 
+import com.elektra.resumennomina.domain.model.Centavos;
 import com.elektra.resumennomina.domain.model.EstadisticasSerie;
 import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.SerieSemanal;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Servicio para calculos estadisticos.
@@ -23,12 +25,12 @@ public class EstadisticasService {
      * Calcula las estadisticas de una serie de valores
      */
     public EstadisticasSerie calcularEstadisticas(
-            Map<Periodo, BigDecimal> serieValores,
+            SerieSemanal serie,
             String negocio,
             String puesto,
             String indicador) {
 
-        if (serieValores == null || serieValores.isEmpty()) {
+        if (serie == null || serie.isEmpty()) {
             return EstadisticasSerie.builder()
                     .negocio(negocio)
                     .puesto(puesto)
@@ -40,9 +42,11 @@ public class EstadisticasService {
         // Usar Apache Commons Math para calculos estadisticos
         DescriptiveStatistics stats = new DescriptiveStatistics();
 
-        serieValores.values().stream()
-                .filter(v -> v != null)
-                .forEach(v -> stats.addValue(v.doubleValue()));
+        for (int i = 0; i < serie.longitud(); i++) {
+            if (serie.tieneValor(i)) {
+                stats.addValue(serie.centavos(i) / 100.0);
+            }
+        }
 
         if (stats.getN() == 0) {
             return EstadisticasSerie.builder()
@@ -67,7 +71,7 @@ public class EstadisticasService {
         BigDecimal sigma15 = sigma.multiply(BigDecimal.valueOf(1.5));
 
         // Crear puntos de la serie con variacion vs semana anterior
-        List<EstadisticasSerie.PuntoSerie> puntos = crearPuntosSerie(serieValores);
+        List<EstadisticasSerie.PuntoSerie> puntos = crearPuntosSerie(serie);
 
         EstadisticasSerie estadisticas = EstadisticasSerie.builder()
                 .negocio(negocio)
@@ -94,41 +98,40 @@ public class EstadisticasService {
     /**
      * Crea la lista de puntos de la serie con variacion vs semana anterior
      */
-    private List<EstadisticasSerie.PuntoSerie> crearPuntosSerie(Map<Periodo, BigDecimal> serieValores) {
-        List<Periodo> periodosOrdenados = serieValores.keySet().stream()
-                .sorted()
-                .toList();
-
-        return periodosOrdenados.stream()
-                .map(periodo -> {
-                    BigDecimal valorActual = serieValores.get(periodo);
-                    BigDecimal valorAnterior = serieValores.get(periodo.anterior());
-
-                    BigDecimal variacion = calcularVariacionPorcentual(valorActual, valorAnterior);
-
-                    return EstadisticasSerie.PuntoSerie.builder()
-                            .periodo(periodo)
-                            .valor(valorActual)
-                            .variacionVsSemanaAnterior(variacion)
-                            .build();
-                })
-                .toList();
+    private List<EstadisticasSerie.PuntoSerie> crearPuntosSerie(SerieSemanal serie) {
+        List<EstadisticasSerie.PuntoSerie> puntos = new ArrayList<>();
+
+        for (int i = 0; i < serie.longitud(); i++) {
+            if (!serie.tieneValor(i)) {
+                continue;
+            }
+            Periodo periodo = serie.periodo(i);
+            int indiceAnterior = serie.indice(periodo.anterior());
+
+            // Sin semana anterior en la serie la variacion es cero
+            BigDecimal variacion = indiceAnterior >= 0 && serie.tieneValor(indiceAnterior)
+                    ? Centavos.variacionPorcentual(serie.centavos(i), serie.centavos(indiceAnterior))
+                    : BigDecimal.ZERO;
+
+            puntos.add(EstadisticasSerie.PuntoSerie.builder()
+                    .periodo(periodo)
+                    .valor(serie.valor(i))
+                    .variacionVsSemanaAnterior(variacion)
+                    .build());
+        }
+
+        return puntos;
     }
 
     /**
-     * Calcula la variacion porcentual: (actual / anterior) - 1
+     * Calcula la variacion porcentual: (actual / anterior) - 1.
+     * Los montos se redondean a centavos y el calculo se hace en punto fijo (ver Centavos)
      */
     public BigDecimal calcularVariacionPorcentual(BigDecimal valorActual, BigDecimal valorAnterior) {
-        if (valorActual == null || valorAnterior == null ||
-            valorAnterior.compareTo(BigDecimal.ZERO) == 0) {
+        if (valorActual == null || valorAnterior == null) {
             return BigDecimal.ZERO;
         }
-
-        return valorActual
-                .divide(valorAnterior, 6, RoundingMode.HALF_UP)
-                .subtract(BigDecimal.ONE)
-                .multiply(BigDecimal.valueOf(100))
-                .setScale(2, RoundingMode.HALF_UP);
+        return Centavos.variacionPorcentual(Centavos.de(valorActual), Centavos.de(valorAnterior));
     }
 
     /**
@@ -0,0 +1,339 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.ClaveSerie;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.EstadoSerieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Servicio que mantiene el estado acumulado de cada serie de alertas.
+ * Cuando llega un periodo posterior al último procesado la ventana se desplaza por serie sin leer
+ * la historia (se agrega el periodo nuevo y se quitan los que salen de la ventana); si se reemplaza o elimina
+ * un periodo histórico el estado se reconstruye leyendo la ventana completa.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstadoSeriesService {
+
+    private static final String INDICADOR_EMPLEADO = "Empleado";
+    private static final int CODIGO_EMPLEADO = DiccionarioDimension.INDICADORES.codigo(INDICADOR_EMPLEADO);
+    private static final int SEMANAS_HISTORIA = 52;
+
+    private final DatoCompensacionRepository repository;
+    private final EstadoSerieRepository estadoRepository;
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Obtiene el estado de las series con la ventana que termina en el periodo indicado.
+     * Usa el estado persistido si corresponde al periodo; si no, lo construye desde la ventana histórica.
+     */
+    public List<EstadoSerie> obtenerEstados(Periodo periodo) {
+        List<EstadoSerie> estados = estadoRepository.findAll();
+        if (!estados.isEmpty() && estados.get(0).getCodigoPeriodo() == periodo.toCodigo()) {
+            estados.sort(Comparator.comparing(EstadoSerie::clave, ClaveSerie.ORDEN));
+            log.debug("Usando estado acumulado de {} series para periodo {}", estados.size(), periodo);
+            return estados;
+        }
+        return construirEstados(periodo);
+    }
+
+    /**
+     * Lee la ventana histórica completa en una sola consulta y construye el estado de cada serie.
+     * Excluye el indicador de empleados; las series quedan en orden negocio/puesto/indicador.
+     */
+    public List<EstadoSerie> construirEstados(Periodo periodo) {
+        Periodo desde = obtenerInicioVentana(periodo);
+        List<DatoCompensacion> datos = repository.findByPeriodoBetween(desde.toCodigo(), periodo.toCodigo());
+        RangoSemanas rango = new RangoSemanas(desde, periodo);
+        Map<ClaveSerie, SerieAcumulada> series = agruparPorSerie(datos, rango);
+
+        List<EstadoSerie> estados = new ArrayList<>(series.size());
+        for (Map.Entry<ClaveSerie, SerieAcumulada> serie : series.entrySet()) {
+            EstadoSerie estado = EstadoSerie.nuevo(serie.getKey());
+            SerieAcumulada acumulada = serie.getValue();
+            for (int i = 0; i < rango.longitud(); i++) {
+                if (acumulada.registros[i] > 0) {
+                    agregarPunto(estado, rango.codigos[i], acumulada.sumas[i], acumulada.registros[i]);
+                }
+            }
+            estado.setCodigoPeriodo(periodo.toCodigo());
+            estados.add(estado);
+        }
+
+        log.debug("Ventana {} - {}: {} registros en {} series", desde, periodo, datos.size(), estados.size());
+        return estados;
+    }
+
+    /**
+     * Recorre en orden los periodos con datos entre desde y hasta, entregando para cada uno el estado
+     * de las series con la ventana que termina en ese periodo.
+     * Los datos del rango se leen una sola vez; la ventana de cada serie se desplaza agregando los
+     * periodos nuevos y quitando los que salen, por lo que cada punto se procesa una vez.
+     * El estado entregado se modifica al avanzar: la evaluación debe terminar antes de regresar.
+     */
+    public void recorrerVentanas(Periodo desde, Periodo hasta, BiConsumer<Periodo, List<EstadoSerie>> evaluacion) {
+        Periodo inicio = obtenerInicioVentana(desde);
+        List<DatoCompensacion> datos = repository.findByPeriodoBetween(inicio.toCodigo(), hasta.toCodigo());
+        RangoSemanas rango = new RangoSemanas(inicio, hasta);
+        Map<ClaveSerie, SerieAcumulada> series = agruparPorSerie(datos, rango);
+
+        // Periodos a evaluar: los del rango solicitado que tienen datos en alguna serie
+        boolean[] conDatos = new boolean[rango.longitud()];
+        for (SerieAcumulada serie : series.values()) {
+            for (int i = 0; i < conDatos.length; i++) {
+                conDatos[i] |= serie.registros[i] > 0;
+            }
+        }
+
+        List<SerieRecorrida> recorridos = new ArrayList<>(series.size());
+        for (Map.Entry<ClaveSerie, SerieAcumulada> serie : series.entrySet()) {
+            recorridos.add(new SerieRecorrida(EstadoSerie.nuevo(serie.getKey()), serie.getValue()));
+        }
+
+        log.info("Recorriendo {} a {}: {} series ({} registros)", desde, hasta, series.size(), datos.size());
+
+        for (int indice = Math.max(0, rango.indice(desde)); indice < rango.longitud(); indice++) {
+            if (!conDatos[indice]) {
+                continue;
+            }
+            int codigoPeriodo = rango.codigos[indice];
+            int inicioVentana = obtenerInicioVentana(Periodo.fromCodigo(codigoPeriodo)).toCodigo();
+
+            List<EstadoSerie> vigentes = new ArrayList<>();
+            for (SerieRecorrida recorrido : recorridos) {
+                EstadoSerie estado = recorrido.estado;
+                estado.recortar(inicioVentana);
+
+                // Agregar los periodos de la serie hasta el evaluado que caen en la ventana
+                for (; recorrido.siguiente <= indice; recorrido.siguiente++) {
+                    int j = recorrido.siguiente;
+                    if (recorrido.serie.registros[j] > 0 && rango.codigos[j] >= inicioVentana) {
+                        agregarPunto(estado, rango.codigos[j], recorrido.serie.sumas[j], recorrido.serie.registros[j]);
+                    }
+                }
+
+                if (!estado.getPuntos().isEmpty()) {
+                    estado.setCodigoPeriodo(codigoPeriodo);
+                    vigentes.add(estado);
+                }
+            }
+
+            evaluacion.accept(Periodo.fromCodigo(codigoPeriodo), vigentes);
+        }
+    }
+
+    /**
+     * Obtiene el primer periodo de la ventana histórica usada para evaluar un periodo
+     */
+    public Periodo obtenerInicioVentana(Periodo periodo) {
+        return periodo.restarSemanas(SEMANAS_HISTORIA);
+    }
+
+    // ========== ACTUALIZACION ==========
+
+    /**
+     * Actualiza el estado después de cada carga. Se ejecuta antes que los demás listeners
+     * para que la materialización de alertas ya use el estado nuevo, pero después de recargar
+     * el snapshot en memoria, que es de donde lee cuando está habilitado.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        try {
+            long inicio = System.currentTimeMillis();
+            List<EstadoSerie> estados = estadoRepository.findAll();
+
+            if (event.completo() || estados.isEmpty() || !sonPeriodosNuevos(event, estados.get(0))) {
+                reconstruir();
+            } else {
+                avanzar(estados, new TreeSet<>(event.periodos()));
+            }
+
+            log.info("Estado de series actualizado en {} ms", System.currentTimeMillis() - inicio);
+
+        } catch (Exception e) {
+            // Sin estado vigente las alertas se calculan desde la ventana completa
+            log.error("Error actualizando estado de series: {}", e.getMessage(), e);
+            descartarEstado();
+        }
+    }
+
+    private void descartarEstado() {
+        try {
+            estadoRepository.deleteAll();
+        } catch (Exception e) {
+            log.error("No se pudo descartar el estado de series: {}", e.getMessage());
+        }
+    }
+
+    private boolean sonPeriodosNuevos(DatosActualizadosEvent event, EstadoSerie estado) {
+        return !event.periodos().isEmpty()
+                && Collections.min(event.periodos()) > estado.getCodigoPeriodo();
+    }
+
+    private void reconstruir() {
+        Optional<Integer> ultimoPeriodo = repository.findMaxPeriodo();
+        if (ultimoPeriodo.isEmpty()) {
+            estadoRepository.deleteAll();
+            return;
+        }
+
+        List<EstadoSerie> estados = construirEstados(Periodo.fromCodigo(ultimoPeriodo.get()));
+        estadoRepository.replaceAll(estados);
+        log.info("Estado reconstruido para {} series hasta periodo {}", estados.size(), ultimoPeriodo.get());
+    }
+
+    /**
+     * Desplaza la ventana de todas las series por cada periodo nuevo, leyendo solo ese periodo
+     */
+    private void avanzar(List<EstadoSerie> estados, SortedSet<Integer> periodosNuevos) {
+        Map<ClaveSerie, EstadoSerie> porClave = new TreeMap<>(ClaveSerie.ORDEN);
+        for (EstadoSerie estado : estados) {
+            porClave.put(estado.clave(), estado);
+        }
+
+        for (Integer codigoPeriodo : periodosNuevos) {
+            int inicioVentana = obtenerInicioVentana(Periodo.fromCodigo(codigoPeriodo)).toCodigo();
+
+            Map<ClaveSerie, double[]> nuevos = new HashMap<>();
+            for (DatoCompensacion dato : repository.findByPeriodo(codigoPeriodo)) {
+                if (esSerieAlertas(dato)) {
+                    acumular(nuevos.computeIfAbsent(ClaveSerie.of(dato), k -> new double[2]), dato);
+                }
+            }
+
+            for (EstadoSerie estado : porClave.values()) {
+                estado.recortar(inicioVentana);
+            }
+            for (Map.Entry<ClaveSerie, double[]> nuevo : nuevos.entrySet()) {
+                EstadoSerie estado = porClave.computeIfAbsent(nuevo.getKey(), EstadoSerie::nuevo);
+                agregarPunto(estado, codigoPeriodo, nuevo.getValue()[0], (int) nuevo.getValue()[1]);
+            }
+
+            porClave.values().removeIf(estado -> estado.getPuntos().isEmpty());
+            porClave.values().forEach(estado -> estado.setCodigoPeriodo(codigoPeriodo));
+        }
+
+        estadoRepository.replaceAll(new ArrayList<>(porClave.values()));
+        log.info("Estado avanzado para {} series con periodos {}", porClave.size(), periodosNuevos);
+    }
+
+    // ========== UTILIDADES ==========
+
+    /**
+     * Periodos consecutivos (por ordinal) de un rango, con su codigo YYYYWW
+     */
+    private static final class RangoSemanas {
+        private final int ordinalInicio;
+        private final int[] codigos;
+
+        private RangoSemanas(Periodo desde, Periodo hasta) {
+            this.ordinalInicio = desde.toOrdinal();
+            this.codigos = new int[Math.max(0, hasta.toOrdinal() - ordinalInicio + 1)];
+            for (int i = 0; i < codigos.length; i++) {
+                codigos[i] = Periodo.fromOrdinal(ordinalInicio + i).toCodigo();
+            }
+        }
+
+        private int longitud() {
+            return codigos.length;
+        }
+
+        /**
+         * Índice del periodo en el rango; -1 si está fuera
+         */
+        private int indice(Periodo periodo) {
+            int indice = periodo.toOrdinal() - ordinalInicio;
+            return indice >= 0 && indice < codigos.length ? indice : -1;
+        }
+    }
+
+    /**
+     * Suma y cantidad de registros por periodo de una serie, indexadas como su RangoSemanas
+     */
+    private static final class SerieAcumulada {
+        private final double[] sumas;
+        private final int[] registros;
+
+        private SerieAcumulada(int longitud) {
+            this.sumas = new double[longitud];
+            this.registros = new int[longitud];
+        }
+    }
+
+    /**
+     * Serie en recorrido: su estado y el índice del siguiente periodo que aún no entra a la ventana
+     */
+    private static final class SerieRecorrida {
+        private final EstadoSerie estado;
+        private final SerieAcumulada serie;
+        private int siguiente;
+
+        private SerieRecorrida(EstadoSerie estado, SerieAcumulada serie) {
+            this.estado = estado;
+            this.serie = serie;
+        }
+    }
+
+    /**
+     * Suma y cantidad de registros por serie y periodo, en orden de serie
+     */
+    private Map<ClaveSerie, SerieAcumulada> agruparPorSerie(List<DatoCompensacion> datos, RangoSemanas rango) {
+        Map<ClaveSerie, SerieAcumulada> series = new TreeMap<>(ClaveSerie.ORDEN);
+        for (DatoCompensacion dato : datos) {
+            int indice = rango.indice(dato.getPeriodo());
+            if (indice >= 0 && esSerieAlertas(dato)) {
+                SerieAcumulada serie = series.computeIfAbsent(ClaveSerie.of(dato), k -> new SerieAcumulada(rango.longitud()));
+                serie.sumas[indice] += dato.getValor().doubleValue();
+                serie.registros[indice]++;
+            }
+        }
+        return series;
+    }
+
+    private boolean esSerieAlertas(DatoCompensacion dato) {
+        return dato.getIndicador() != null && dato.getCodigoIndicador() != CODIGO_EMPLEADO;
+    }
+
+    private void acumular(double[] acumulado, DatoCompensacion dato) {
+        acumulado[0] += dato.getValor().doubleValue();
+        acumulado[1]++;
+    }
+
+    /**
+     * Agrega un periodo con su suma (redondeada a 6 decimales) y su variación vs el periodo anterior
+     */
+    private void agregarPunto(EstadoSerie estado, int codigoPeriodo, double suma, int registros) {
+        double valor = CalculoEstadistico.redondear(suma, 6);
+
+        Double variacion = null;
+        if (!estado.getPuntos().isEmpty()) {
+            double anterior = estado.ultimoValor();
+            if (anterior != 0) {
+                variacion = CalculoEstadistico.redondear((valor - anterior) / anterior, 6);
+            }
+        }
+
+        estado.agregar(EstadoSerie.PuntoSerie.builder()
+                .codigoPeriodo(codigoPeriodo)
+                .valor(valor)
+                .registros(registros)
+                .variacion(variacion)
+                .build());
+    }
+}
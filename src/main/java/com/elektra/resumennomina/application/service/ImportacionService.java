@@ -1,6 +1,8 @@
 package com.elektra.resumennomina.application.service;
 
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
 import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
 import com.elektra.resumennomina.domain.port.input.ImportacionUseCase;
 import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
 import com.opencsv.CSVReader;
@@ -8,6 +10,7 @@ import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +20,11 @@ import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para importar datos desde archivos CSV.
@@ -28,6 +35,7 @@ import java.util.List;
 public class ImportacionService implements ImportacionUseCase {
 
     private final DatoCompensacionRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final int BATCH_SIZE = 1000;
 
@@ -53,6 +61,19 @@ public class ImportacionService implements ImportacionUseCase {
     @Override
     @Transactional
     public ResultadoImportacion importarDesdeCSV(InputStream inputStream, String nombreArchivo) {
+        Set<Integer> periodosCargados = new HashSet<>();
+        ResultadoImportacion resultado = importarCSV(inputStream, nombreArchivo, periodosCargados);
+        if (!periodosCargados.isEmpty()) {
+            eventPublisher.publishEvent(DatosActualizadosEvent.parcial(periodosCargados));
+        }
+        return resultado;
+    }
+
+    /**
+     * Importa el CSV por lotes, acumulando los periodos guardados
+     */
+    private ResultadoImportacion importarCSV(InputStream inputStream, String nombreArchivo,
+                                             Set<Integer> periodosCargados) {
         log.info("Iniciando importacion desde archivo: {}", nombreArchivo);
 
         List<DatoCompensacion> batch = new ArrayList<>();
@@ -77,6 +98,7 @@ public class ImportacionService implements ImportacionUseCase {
 
                         if (batch.size() >= BATCH_SIZE) {
                             repository.saveAll(batch);
+                            agregarPeriodos(batch, periodosCargados);
                             registrosExitosos += batch.size();
                             batch.clear();
                             log.debug("Procesados {} registros...", registrosExitosos);
@@ -95,6 +117,7 @@ public class ImportacionService implements ImportacionUseCase {
             // Guardar ultimo batch
             if (!batch.isEmpty()) {
                 repository.saveAll(batch);
+                agregarPeriodos(batch, periodosCargados);
                 registrosExitosos += batch.size();
             }
 
@@ -156,6 +179,10 @@ public class ImportacionService implements ImportacionUseCase {
 
         try {
             List<DatoCompensacion> guardados = repository.saveAll(datos);
+            eventPublisher.publishEvent(DatosActualizadosEvent.parcial(datos.stream()
+                    .map(DatoCompensacion::getCodigoPeriodo)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet())));
             return new ResultadoImportacion(datos.size(), guardados.size(), 0, List.of());
         } catch (Exception e) {
             log.error("Error al importar datos: {}", e.getMessage());
@@ -168,7 +195,18 @@ public class ImportacionService implements ImportacionUseCase {
     public ResultadoImportacion reimportarTodo(InputStream inputStream) {
         log.warn("Reimportando todos los datos - eliminando existentes...");
         repository.deleteAll();
-        return importarDesdeCSV(inputStream, "reimportacion");
+        Set<Integer> periodosCargados = new HashSet<>();
+        ResultadoImportacion resultado = importarCSV(inputStream, "reimportacion", periodosCargados);
+        eventPublisher.publishEvent(DatosActualizadosEvent.completo(periodosCargados));
+        return resultado;
+    }
+
+    private void agregarPeriodos(List<DatoCompensacion> datos, Set<Integer> periodos) {
+        for (DatoCompensacion dato : datos) {
+            if (dato.getCodigoPeriodo() != null) {
+                periodos.add(dato.getCodigoPeriodo());
+            }
+        }
     }
 
     /**
@@ -192,9 +230,9 @@ public class ImportacionService implements ImportacionUseCase {
                     .detalle1(parseBigDecimal(campos[COL_FN_DETALLE1]))
                     .detalle2(parseBigDecimal(campos[COL_FN_DETALLE2]))
                     .detalle3(campos[COL_PKC_DETALLE3])
-                    .negocio(campos[COL_FC_DETALLE4] != null ? campos[COL_FC_DETALLE4].trim() : null)
-                    .puesto(campos[COL_FC_DETALLE5] != null ? campos[COL_FC_DETALLE5].trim() : null)
-                    .indicador(campos[COL_FC_DETALLE6] != null ? campos[COL_FC_DETALLE6].trim() : null)
+                    .negocio(DiccionarioDimension.NEGOCIOS.canonico(campos[COL_FC_DETALLE4]))
+                    .puesto(DiccionarioDimension.PUESTOS.canonico(campos[COL_FC_DETALLE5]))
+                    .indicador(DiccionarioDimension.INDICADORES.canonico(campos[COL_FC_DETALLE6]))
                     .detalle7(parseBigDecimal(campos[COL_FN_DETALLE7]))
                     .build();
         } catch (Exception e) {
@@ -0,0 +1,73 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.Indicador;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resuelve el periodo actual: el mas reciente con datos de Compensacion de casi todos los negocios.
+ * El resultado se guarda en memoria y solo se recalcula despues de una carga o eliminacion de datos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PeriodoActualService {
+
+    private static final int MINIMO_NEGOCIOS = 3;
+
+    private final RollupSemanalRepository repository;
+
+    // Cada carga incrementa la version; un resultado calculado con una version anterior se descarta
+    private final AtomicLong version = new AtomicLong();
+    private volatile PeriodoResuelto resuelto;
+
+    private record PeriodoResuelto(long version, Periodo periodo) {}
+
+    /**
+     * Obtiene el periodo actual desde memoria, resolviendolo si los datos cambiaron
+     */
+    public Periodo obtenerPeriodoActual() {
+        long versionActual = version.get();
+        PeriodoResuelto actual = resuelto;
+        if (actual != null && actual.version() == versionActual) {
+            return actual.periodo();
+        }
+
+        Optional<Periodo> periodo = resolver();
+        if (periodo.isEmpty()) {
+            // Sin datos: no se guarda para que se resuelva de nuevo tras la primera carga
+            return Periodo.actual();
+        }
+        resuelto = new PeriodoResuelto(versionActual, periodo.get());
+        return periodo.get();
+    }
+
+    @EventListener
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        version.incrementAndGet();
+        log.debug("Periodo actual invalidado por actualizacion de datos");
+    }
+
+    private Optional<Periodo> resolver() {
+        // Al menos 3 negocios o todos menos 1
+        int minNegociosRequeridos = Math.max(MINIMO_NEGOCIOS, repository.findDistinctNegocios().size() - 1);
+
+        Optional<Integer> codigo = repository.findUltimoPeriodoConNegocios(
+                Indicador.COMPENSACION.getNombre(), minNegociosRequeridos);
+        if (codigo.isPresent()) {
+            log.info("Periodo actual seleccionado: {} con al menos {} negocios", codigo.get(), minNegociosRequeridos);
+            return codigo.map(Periodo::fromCodigo);
+        }
+
+        // Fallback al periodo mas reciente
+        return repository.findMaxPeriodo().map(Periodo::fromCodigo);
+    }
+}
@@ -0,0 +1,73 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mantiene el rollup semanal (suma y registros por negocio, puesto, indicador y periodo).
+ * Cada carga o eliminacion recalcula solo los periodos modificados; una carga completa lo reconstruye.
+ * Ni el recalculo ni la reconstruccion vacian el rollup antes de escribirlo: las consultas concurrentes
+ * siempre encuentran todas las semanas.
+ * Se ejecuta antes que los demas componentes derivados para que lean el rollup actualizado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RollupSemanalService {
+
+    private final RollupSemanalRepository rollupRepository;
+    private final DatoCompensacionRepository datoRepository;
+
+    /**
+     * Construye el rollup al iniciar si aun no existe (por ejemplo, datos cargados antes de crearlo)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        try {
+            if (rollupRepository.isEmpty() && datoRepository.count() > 0) {
+                rollupRepository.reconstruir();
+            }
+        } catch (Exception e) {
+            log.error("Error inicializando rollup semanal: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        long inicio = System.currentTimeMillis();
+        try {
+            actualizar(event);
+        } catch (Exception e) {
+            // El recalculo actualiza cada serie en su lugar, asi que un fallo deja valores anteriores
+            // pero no huecos; se reintenta una vez la misma actualizacion
+            log.error("Error actualizando rollup semanal, reintentando: {}", e.getMessage(), e);
+            reintentar(event);
+        }
+        log.info("Rollup semanal actualizado en {} ms", System.currentTimeMillis() - inicio);
+    }
+
+    private void actualizar(DatosActualizadosEvent event) {
+        if (event.completo()) {
+            rollupRepository.reconstruir();
+        } else {
+            rollupRepository.recalcularPeriodos(event.periodos());
+        }
+    }
+
+    private void reintentar(DatosActualizadosEvent event) {
+        try {
+            actualizar(event);
+        } catch (Exception e) {
+            log.error("No se pudo actualizar el rollup semanal: {}", e.getMessage());
+        }
+    }
+}
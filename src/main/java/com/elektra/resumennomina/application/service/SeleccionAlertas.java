@@ -0,0 +1,231 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.domain.model.FiltroAlertas;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Selección de las alertas a publicar: filtros, top-K con heap acotado y paginación por cursor.
+ * El cursor guarda el periodo y la clave de orden de la última alerta entregada de cada tipo, de modo
+ * que la siguiente página toma solo las alertas posteriores y únicamente ordena las k seleccionadas.
+ * Un cursor solo es válido para el periodo en el que se emitió.
+ */
+public final class SeleccionAlertas {
+
+    /** Severidad (CRITICA primero), Z-Score descendente y luego orden de la serie */
+    public static final Comparator<AlertaZScore> ORDEN_ZSCORE = Comparator
+            .comparing(AlertaZScore::getSeveridad)
+            .thenComparing(a -> a.getZScore().abs(), Comparator.reverseOrder())
+            .thenComparing(AlertaZScore::getNegocio)
+            .thenComparing(AlertaZScore::getPuesto)
+            .thenComparing(AlertaZScore::getIndicador);
+
+    /** Variación fuera del rango (mayor primero) y luego orden de la serie */
+    public static final Comparator<AlertaPrediccion> ORDEN_PREDICCION = Comparator
+            .comparing((AlertaPrediccion a) -> a.getVariacionFueraRango().abs(), Comparator.reverseOrder())
+            .thenComparing(AlertaPrediccion::getNegocio)
+            .thenComparing(AlertaPrediccion::getPuesto)
+            .thenComparing(AlertaPrediccion::getIndicador);
+
+    private static final String SEPARADOR_CAMPOS = "\u001f";
+    private static final String SEPARADOR_TIPOS = "\u001e";
+    private static final String AGOTADO = "~";
+
+    private SeleccionAlertas() {
+    }
+
+    /**
+     * Aplica filtros, cursor y límite a las alertas de un periodo
+     */
+    public static ResultadoAlertas seleccionar(Periodo periodo, List<AlertaZScore> alertasZScore,
+                                               List<AlertaPrediccion> alertasPrediccion, FiltroAlertas filtro) {
+        if (filtro.getLimite() != null && filtro.getLimite() < 1) {
+            throw new IllegalArgumentException("El limite debe ser mayor a cero");
+        }
+        String[] cursor = leerCursor(filtro.getCursor(), periodo);
+
+        Predicate<AlertaZScore> filtroZScore = a -> filtro.incluyeNegocio(a.getNegocio())
+                && (filtro.getSeveridad() == null || filtro.getSeveridad() == a.getSeveridad());
+        Predicate<AlertaPrediccion> filtroPrediccion = a -> filtro.incluyeNegocio(a.getNegocio());
+
+        Pagina<AlertaZScore> paginaZScore = paginar(alertasZScore, filtroZScore, ORDEN_ZSCORE,
+                cursor[0], SeleccionAlertas::marcadorZScore, filtro.getLimite());
+        Pagina<AlertaPrediccion> paginaPrediccion = paginar(alertasPrediccion, filtroPrediccion, ORDEN_PREDICCION,
+                cursor[1], SeleccionAlertas::marcadorPrediccion, filtro.getLimite());
+
+        String siguienteCursor = null;
+        if (paginaZScore.hayMas() || paginaPrediccion.hayMas()) {
+            siguienteCursor = escribirCursor(periodo,
+                    paginaZScore.hayMas() ? claveZScore(ultima(paginaZScore.alertas())) : AGOTADO,
+                    paginaPrediccion.hayMas() ? clavePrediccion(ultima(paginaPrediccion.alertas())) : AGOTADO);
+        }
+
+        return ResultadoAlertas.builder()
+                .periodo(periodo)
+                .alertasZScore(paginaZScore.alertas())
+                .alertasPrediccion(paginaPrediccion.alertas())
+                .totalAlertasZScore(paginaZScore.total())
+                .totalAlertasPrediccion(paginaPrediccion.total())
+                .siguienteCursor(siguienteCursor)
+                .build();
+    }
+
+    /**
+     * Las k primeras alertas según el orden, usando un heap de tamaño k: O(n log k)
+     */
+    public static <T> List<T> topK(Iterable<T> alertas, Comparator<T> orden, int k) {
+        // Heap con la peor alerta seleccionada en la cima
+        PriorityQueue<T> heap = new PriorityQueue<>(k + 1, orden.reversed());
+        for (T alerta : alertas) {
+            if (heap.size() < k) {
+                heap.add(alerta);
+            } else if (orden.compare(alerta, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(alerta);
+            }
+        }
+
+        List<T> seleccion = new ArrayList<>(heap);
+        seleccion.sort(orden);
+        return seleccion;
+    }
+
+    // ========== PAGINACION ==========
+
+    private record Pagina<T>(List<T> alertas, int total, boolean hayMas) {}
+
+    private static <T> Pagina<T> paginar(List<T> alertas, Predicate<T> filtro, Comparator<T> orden,
+                                         String clave, Function<String[], T> marcador, Integer limite) {
+        int total = 0;
+        List<T> candidatas = new ArrayList<>();
+        T ultimaEntregada = clave.isEmpty() || AGOTADO.equals(clave) ? null : leerMarcador(clave, marcador);
+
+        for (T alerta : alertas) {
+            if (!filtro.test(alerta)) {
+                continue;
+            }
+            total++;
+            if (!AGOTADO.equals(clave) && (ultimaEntregada == null || orden.compare(alerta, ultimaEntregada) > 0)) {
+                candidatas.add(alerta);
+            }
+        }
+
+        if (limite == null || candidatas.size() <= limite) {
+            candidatas.sort(orden);
+            return new Pagina<>(candidatas, total, false);
+        }
+        return new Pagina<>(topK(candidatas, orden, limite), total, true);
+    }
+
+    private static <T> T ultima(List<T> alertas) {
+        return alertas.get(alertas.size() - 1);
+    }
+
+    // ========== CURSOR ==========
+
+    private static String claveZScore(AlertaZScore alerta) {
+        return String.join(SEPARADOR_CAMPOS, alerta.getSeveridad().name(), alerta.getZScore().toPlainString(),
+                alerta.getNegocio(), alerta.getPuesto(), alerta.getIndicador());
+    }
+
+    private static AlertaZScore marcadorZScore(String[] campos) {
+        if (campos.length != 5) {
+            throw new IllegalArgumentException("Cursor de alertas invalido");
+        }
+        return AlertaZScore.builder()
+                .severidad(AlertaZScore.Severidad.valueOf(campos[0]))
+                .zScore(new BigDecimal(campos[1]))
+                .negocio(campos[2])
+                .puesto(campos[3])
+                .indicador(campos[4])
+                .build();
+    }
+
+    private static String clavePrediccion(AlertaPrediccion alerta) {
+        return String.join(SEPARADOR_CAMPOS, alerta.getVariacionFueraRango().toPlainString(),
+                alerta.getNegocio(), alerta.getPuesto(), alerta.getIndicador());
+    }
+
+    private static AlertaPrediccion marcadorPrediccion(String[] campos) {
+        if (campos.length != 4) {
+            throw new IllegalArgumentException("Cursor de alertas invalido");
+        }
+        return AlertaPrediccion.builder()
+                .variacionFueraRango(new BigDecimal(campos[0]))
+                .negocio(campos[1])
+                .puesto(campos[2])
+                .indicador(campos[3])
+                .build();
+    }
+
+    /**
+     * Periodo en el que se emitió el cursor; vacío si no hay cursor
+     */
+    public static Optional<Periodo> periodoDelCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Periodo.fromCodigo(Integer.parseInt(decodificarCursor(cursor)[0])));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de alertas invalido", e);
+        }
+    }
+
+    private static String escribirCursor(Periodo periodo, String claveZScore, String clavePrediccion) {
+        String cursor = periodo.toCodigo() + SEPARADOR_TIPOS + claveZScore + SEPARADOR_TIPOS + clavePrediccion;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve la clave de cada tipo de alerta: vacía si no hay cursor, AGOTADO si ya no quedan alertas.
+     * Rechaza el cursor si se emitió para otro periodo
+     */
+    private static String[] leerCursor(String cursor, Periodo periodo) {
+        if (cursor == null || cursor.isBlank()) {
+            return new String[]{"", ""};
+        }
+        String[] partes = decodificarCursor(cursor);
+        if (!String.valueOf(periodo.toCodigo()).equals(partes[0])) {
+            throw new IllegalArgumentException("El cursor de alertas no corresponde al periodo " + periodo.toCodigo());
+        }
+        return new String[]{partes[1], partes[2]};
+    }
+
+    /**
+     * Periodo, clave Z-Score y clave de predicción del cursor
+     */
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] partes = texto.split(SEPARADOR_TIPOS, -1);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor de alertas invalido");
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de alertas invalido", e);
+        }
+    }
+
+    private static <T> T leerMarcador(String clave, Function<String[], T> marcador) {
+        try {
+            return marcador.apply(clave.split(SEPARADOR_CAMPOS, -1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de alertas invalido", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.Indicador;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import com.elektra.resumennomina.infrastructure.config.cache.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Totales por puesto de la tabla de resultados.
+ * Se obtienen con una sola agregacion para el periodo y su anterior y se guardan en cache,
+ * de modo que las vistas de total y de promedio comparten el mismo resultado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TablaResultadosService {
+
+    private final RollupSemanalRepository repository;
+
+    /**
+     * Totales de Compensacion y Empleado por puesto del periodo y del periodo anterior
+     */
+    @Cacheable(value = CacheConfig.TABLA_RESULTADOS, key = "#periodo.toCodigo()")
+    public List<TotalesPuesto> obtenerTotalesPorPuesto(Periodo periodo) {
+        log.info("Agregando totales por puesto para periodo {}", periodo);
+        return repository.sumarCompensacionYEmpleadosPorPuesto(
+                Indicador.COMPENSACION.getNombre(),
+                Indicador.EMPLEADO.getNombre(),
+                List.of(periodo.toCodigo(), periodo.anterior().toCodigo()));
+    }
+}
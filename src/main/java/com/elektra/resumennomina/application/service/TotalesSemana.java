@@ -0,0 +1,141 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.Centavos;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totales por negocio y por puesto calculados en memoria sobre datos ya leidos.
+ * Reproducen las agregaciones del repositorio (mismos grupos y sumas) para que el tablero
+ * y los lotes de series armen todas sus vistas con una sola lectura.
+ */
+final class TotalesSemana {
+
+    // Codigo que no corresponde a ningun indicador (los del diccionario son >= -1)
+    private static final int NINGUN_INDICADOR = Integer.MIN_VALUE;
+
+    private TotalesSemana() {
+    }
+
+    private record ClaveNegocio(String negocio, int codigoPeriodo, String indicador) {}
+
+    private record ClavePuesto(String puesto, int codigoPeriodo) {}
+
+    private static final class AcumuladoPuesto {
+        private final String negocio;
+        private long totalA;
+        private long totalB;
+        private int registrosA;
+
+        private AcumuladoPuesto(String negocio) {
+            this.negocio = negocio;
+        }
+    }
+
+    private static final class AcumuladoPeriodo {
+        private final DatoCompensacion primero;
+        private long total;
+        private int registros;
+        private int empleados;
+
+        private AcumuladoPeriodo(DatoCompensacion primero) {
+            this.primero = primero;
+        }
+    }
+
+    /**
+     * Suma por negocio, periodo e indicador (equivale a sumarPorNegocioPeriodoEIndicador)
+     */
+    static List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(List<DatoCompensacion> datos) {
+        Map<ClaveNegocio, long[]> totales = new LinkedHashMap<>();
+        for (DatoCompensacion dato : datos) {
+            ClaveNegocio clave = new ClaveNegocio(dato.getNegocio(), dato.getCodigoPeriodo(), dato.getIndicador());
+            long[] total = totales.computeIfAbsent(clave, k -> new long[1]);
+            total[0] = Centavos.sumar(total[0], Centavos.de(dato.getValor()));
+        }
+
+        List<TotalIndicador> resultado = new ArrayList<>(totales.size());
+        totales.forEach((clave, total) -> resultado.add(new TotalIndicador(
+                clave.negocio(), clave.codigoPeriodo(), clave.indicador(), Centavos.aBigDecimal(total[0]))));
+        return resultado;
+    }
+
+    /**
+     * Suma de un indicador por puesto y periodo (equivale a sumarIndicadorPorPuesto)
+     */
+    static List<TotalPuesto> sumarIndicadorPorPuesto(List<DatoCompensacion> datos, int codigoIndicador) {
+        Map<ClavePuesto, AcumuladoPuesto> grupos = agruparPorPuesto(datos, codigoIndicador, NINGUN_INDICADOR);
+
+        List<TotalPuesto> resultado = new ArrayList<>(grupos.size());
+        grupos.forEach((clave, grupo) -> resultado.add(new TotalPuesto(clave.puesto(), grupo.negocio,
+                clave.codigoPeriodo(), Centavos.aBigDecimal(grupo.totalA), grupo.registrosA)));
+        return resultado;
+    }
+
+    /**
+     * Suma de Compensacion y de Empleado por puesto y periodo (equivale a sumarCompensacionYEmpleadosPorPuesto)
+     */
+    static List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(List<DatoCompensacion> datos,
+                                                                   int codigoCompensacion, int codigoEmpleado) {
+        Map<ClavePuesto, AcumuladoPuesto> grupos = agruparPorPuesto(datos, codigoCompensacion, codigoEmpleado);
+
+        List<TotalesPuesto> resultado = new ArrayList<>(grupos.size());
+        grupos.forEach((clave, grupo) -> resultado.add(new TotalesPuesto(clave.puesto(), grupo.negocio,
+                clave.codigoPeriodo(), Centavos.aBigDecimal(grupo.totalA), Centavos.aBigDecimal(grupo.totalB))));
+        return resultado;
+    }
+
+    /**
+     * Suma por periodo de un indicador y de empleados (parte entera de cada registro), en orden de periodo
+     * (equivale a sumarIndicadorYEmpleadosPorPeriodo); el negocio y puesto son los del primer dato del periodo
+     */
+    static List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(List<DatoCompensacion> datosIndicador,
+                                                                         List<DatoCompensacion> datosEmpleado) {
+        Map<Integer, AcumuladoPeriodo> periodos = new TreeMap<>();
+        for (DatoCompensacion dato : datosIndicador) {
+            AcumuladoPeriodo periodo = periodos.computeIfAbsent(dato.getCodigoPeriodo(), k -> new AcumuladoPeriodo(dato));
+            periodo.total = Centavos.sumar(periodo.total, Centavos.de(dato.getValor()));
+            periodo.registros++;
+        }
+        for (DatoCompensacion dato : datosEmpleado) {
+            AcumuladoPeriodo periodo = periodos.computeIfAbsent(dato.getCodigoPeriodo(), k -> new AcumuladoPeriodo(dato));
+            periodo.empleados += dato.getValor() != null ? dato.getValor().intValue() : 0;
+        }
+
+        List<TotalEmpleadosPeriodo> resultado = new ArrayList<>(periodos.size());
+        periodos.forEach((codigoPeriodo, periodo) -> resultado.add(new TotalEmpleadosPeriodo(codigoPeriodo,
+                periodo.primero.getNegocio(), periodo.primero.getPuesto(),
+                Centavos.aBigDecimal(periodo.total), periodo.registros, periodo.empleados)));
+        return resultado;
+    }
+
+    /**
+     * Agrupa por puesto y periodo sumando dos indicadores; el negocio es el del primer dato del grupo
+     */
+    private static Map<ClavePuesto, AcumuladoPuesto> agruparPorPuesto(List<DatoCompensacion> datos,
+                                                                     int codigoA, int codigoB) {
+        Map<ClavePuesto, AcumuladoPuesto> grupos = new LinkedHashMap<>();
+        for (DatoCompensacion dato : datos) {
+            AcumuladoPuesto grupo = grupos.computeIfAbsent(
+                    new ClavePuesto(dato.getPuesto(), dato.getCodigoPeriodo()),
+                    k -> new AcumuladoPuesto(dato.getNegocio()));
+            int codigo = dato.getCodigoIndicador();
+            if (codigo == codigoA) {
+                grupo.totalA = Centavos.sumar(grupo.totalA, Centavos.de(dato.getValor()));
+                grupo.registrosA++;
+            } else if (codigo == codigoB) {
+                grupo.totalB = Centavos.sumar(grupo.totalB, Centavos.de(dato.getValor()));
+            }
+        }
+        return grupos;
+    }
+}
@@ -0,0 +1,38 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version de los datos de compensacion: crece con cada carga, importacion o eliminacion.
+ * Parte de la hora de arranque (milisegundos) para que un reinicio (con caches vacios) no repita una version anterior.
+ * La version es propia de cada instancia, igual que los caches en memoria: con varias instancias cada una
+ * emite sus propios ETag y solo ve las escrituras que pasan por ella.
+ */
+@Slf4j
+@Service
+public class VersionDatosService {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long obtenerVersion() {
+        return version.get();
+    }
+
+    /**
+     * Se ejecuta despues de los demas listeners, cuando el rollup, el snapshot y los estados
+     * ya reflejan la escritura; asi una version nueva nunca se asocia a datos anteriores
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        long nueva = version.incrementAndGet();
+        log.debug("Version de datos actualizada a {}", nueva);
+    }
+}
@@ -0,0 +1,98 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmetica de montos en punto fijo: un monto se maneja como long de centavos.
+ * Las sumas y divisiones de los calculos agregados se hacen sobre long (con verificacion de
+ * desbordamiento) y el BigDecimal se crea solo al entregar el resultado.
+ * Los redondeos reproducen los de BigDecimal con RoundingMode.HALF_UP.
+ */
+public final class Centavos {
+
+    /** Decimales de un monto en centavos */
+    public static final int ESCALA = 2;
+
+    private static final long CENTAVOS_POR_UNIDAD = 100;
+
+    // La variacion porcentual se calcula con 6 decimales en el cociente, igual que con BigDecimal
+    private static final long ESCALA_COCIENTE = 1_000_000;
+
+    private Centavos() {
+    }
+
+    /**
+     * Convierte un monto a centavos con redondeo HALF_UP; null cuenta como cero.
+     * Lanza ArithmeticException si no cabe en un long
+     */
+    public static long de(BigDecimal valor) {
+        if (valor == null) {
+            return 0;
+        }
+        if (valor.scale() == 0) {
+            return Math.multiplyExact(valor.longValueExact(), CENTAVOS_POR_UNIDAD);
+        }
+        return valor.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Monto con escala 2
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public static long sumar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long restar(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Divide un monto entre un entero (ej. promedio por empleado) redondeando a centavos
+     */
+    public static long dividir(long centavos, long divisor) {
+        return dividirRedondeado(centavos, divisor);
+    }
+
+    /**
+     * Variacion porcentual (actual / anterior - 1) * 100 con 2 decimales; cero si no hay monto anterior.
+     * Equivale a actual.divide(anterior, 6, HALF_UP).subtract(ONE).multiply(100).setScale(2, HALF_UP)
+     */
+    public static BigDecimal variacionPorcentual(long actual, long anterior) {
+        if (anterior == 0) {
+            return BigDecimal.ZERO;
+        }
+        long cociente;
+        try {
+            cociente = dividirRedondeado(Math.multiplyExact(actual, ESCALA_COCIENTE), anterior);
+        } catch (ArithmeticException e) {
+            // Montos demasiado grandes para escalar el cociente en un long
+            return aBigDecimal(actual)
+                    .divide(aBigDecimal(anterior), 6, RoundingMode.HALF_UP)
+                    .subtract(BigDecimal.ONE)
+                    .multiply(BigDecimal.valueOf(100))
+                    .setScale(ESCALA, RoundingMode.HALF_UP);
+        }
+        // (cociente - 1) * 100 queda en diezmilesimas de punto porcentual
+        return BigDecimal.valueOf(dividirRedondeado(cociente - ESCALA_COCIENTE, CENTAVOS_POR_UNIDAD), ESCALA);
+    }
+
+    /**
+     * Division entera con redondeo HALF_UP (las mitades se alejan de cero)
+     */
+    private static long dividirRedondeado(long dividendo, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division entre cero");
+        }
+        long cociente = dividendo / divisor;
+        long residuo = Math.abs(dividendo % divisor);
+        if (residuo >= Math.abs(divisor) - residuo) {
+            cociente += (dividendo < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return cociente;
+    }
+}
@@ -0,0 +1,35 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.util.Comparator;
+
+/**
+ * Value Object que identifica una serie de tiempo por negocio, puesto e indicador.
+ * Los nombres se guardan sin espacios extra para agrupar en memoria.
+ */
+public record ClaveSerie(String negocio, String puesto, String indicador) {
+
+    /**
+     * Orden natural de las series: negocio, puesto e indicador (igual que los catalogos distintos)
+     */
+    public static final Comparator<ClaveSerie> ORDEN = Comparator
+            .comparing(ClaveSerie::negocio)
+            .thenComparing(ClaveSerie::puesto)
+            .thenComparing(ClaveSerie::indicador);
+
+    public ClaveSerie {
+        negocio = normalizar(negocio);
+        puesto = normalizar(puesto);
+        indicador = normalizar(indicador);
+    }
+
+    /**
+     * Obtiene la clave de serie de un dato de compensacion
+     */
+    public static ClaveSerie of(DatoCompensacion dato) {
+        return new ClaveSerie(dato.getNegocio(), dato.getPuesto(), dato.getIndicador());
+    }
+
+    private static String normalizar(String valor) {
+        return valor != null ? valor.trim() : "";
+    }
+}
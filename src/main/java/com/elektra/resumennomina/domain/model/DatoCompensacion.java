@@ -42,6 +42,9 @@ public class DatoCompensacion {
 
     // Campos calculados/derivados
     private Periodo periodo;
+    private Integer codigoNegocio;    // Codigos de DiccionarioDimension
+    private Integer codigoPuesto;
+    private Integer codigoIndicador;
 
     /**
      * Obtiene el periodo como objeto Periodo
@@ -53,6 +56,37 @@ public class DatoCompensacion {
         return periodo;
     }
 
+    /**
+     * Codigo del negocio en el diccionario de dimensiones (sin distinguir mayusculas ni espacios).
+     * Los datos vienen de la base de datos o de una carga, por eso registran sus nombres
+     */
+    public int getCodigoNegocio() {
+        if (codigoNegocio == null) {
+            codigoNegocio = DiccionarioDimension.NEGOCIOS.codigo(negocio);
+        }
+        return codigoNegocio;
+    }
+
+    /**
+     * Codigo del puesto en el diccionario de dimensiones
+     */
+    public int getCodigoPuesto() {
+        if (codigoPuesto == null) {
+            codigoPuesto = DiccionarioDimension.PUESTOS.codigo(puesto);
+        }
+        return codigoPuesto;
+    }
+
+    /**
+     * Codigo del indicador en el diccionario de dimensiones
+     */
+    public int getCodigoIndicador() {
+        if (codigoIndicador == null) {
+            codigoIndicador = DiccionarioDimension.INDICADORES.codigo(indicador);
+        }
+        return codigoIndicador;
+    }
+
     /**
      * Obtiene el enum Negocio correspondiente
      */
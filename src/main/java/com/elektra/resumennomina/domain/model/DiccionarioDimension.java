@@ -0,0 +1,147 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Diccionario de los valores de una dimension (negocio, puesto o indicador).
+ * Asigna un codigo entero a cada nombre sin distinguir mayusculas ni espacios extra, de modo que
+ * los filtros en memoria comparan int en lugar de hacer trim/equalsIgnoreCase por registro.
+ * La forma canonica de un nombre es la del catalogo (enums) o la primera registrada, sin espacios extra.
+ * Los codigos solo valen dentro del proceso; no se guardan en la base de datos.
+ * Solo registran nombres los datos guardados y las cargas ({@link #codigo}, {@link #canonico});
+ * los nombres que llegan en una peticion se resuelven con {@link #buscar}, {@link #buscarCanonico}
+ * y {@link #coincideCon}, que nunca agregan entradas, para que una peticion no haga crecer el diccionario.
+ */
+public final class DiccionarioDimension {
+
+    /** Codigo de un nombre nulo */
+    public static final int SIN_CODIGO = -1;
+
+    /** Resultado de buscar un nombre que no esta registrado */
+    public static final int NO_REGISTRADO = -2;
+
+    public static final DiccionarioDimension NEGOCIOS = new DiccionarioDimension(
+            Arrays.stream(Negocio.values()).map(Negocio::getNombre).toList());
+
+    public static final DiccionarioDimension PUESTOS = new DiccionarioDimension(List.of());
+
+    public static final DiccionarioDimension INDICADORES = new DiccionarioDimension(
+            Arrays.stream(Indicador.values()).map(Indicador::getNombre).toList());
+
+    // Nombre tal como llega -> codigo (acierto directo sin normalizar)
+    private final Map<String, Integer> porNombre = new ConcurrentHashMap<>();
+    // Nombre normalizado (trim + minusculas) -> codigo
+    private final Map<String, Integer> porClave = new ConcurrentHashMap<>();
+    // Capacidad que crece al doble: registrar n nombres copia O(n) elementos en total
+    private volatile String[] canonicos = new String[16];
+    private volatile int tamano;
+
+    private DiccionarioDimension(List<String> catalogo) {
+        catalogo.forEach(this::codigo);
+    }
+
+    /**
+     * Codigo del nombre; lo registra si es nuevo. Solo para datos guardados o cargados
+     */
+    public int codigo(String nombre) {
+        if (nombre == null) {
+            return SIN_CODIGO;
+        }
+        Integer codigo = porNombre.get(nombre);
+        return codigo != null ? codigo : registrar(nombre);
+    }
+
+    /**
+     * Codigo del nombre sin registrarlo; NO_REGISTRADO si ningun nombre registrado coincide
+     */
+    public int buscar(String nombre) {
+        if (nombre == null) {
+            return SIN_CODIGO;
+        }
+        Integer codigo = porNombre.get(nombre);
+        if (codigo == null) {
+            codigo = porClave.get(clave(nombre));
+        }
+        return codigo != null ? codigo : NO_REGISTRADO;
+    }
+
+    /**
+     * Forma canonica del nombre (ver clase), registrandolo si es nuevo; null si el nombre es nulo
+     */
+    public String canonico(String nombre) {
+        return nombre != null ? nombre(codigo(nombre)) : null;
+    }
+
+    /**
+     * Forma canonica del nombre si esta registrado; si no, el nombre sin espacios extra. No registra
+     */
+    public String buscarCanonico(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        int codigo = buscar(nombre);
+        return codigo >= 0 ? nombre(codigo) : nombre.trim();
+    }
+
+    /**
+     * Condicion "mismo nombre sin distinguir mayusculas ni espacios" respecto del nombre indicado, sin registrar
+     * ninguno de los dos: compara codigos si el nombre esta registrado y el texto normalizado si no
+     */
+    public Predicate<String> coincideCon(String nombre) {
+        if (nombre == null) {
+            return Objects::isNull;
+        }
+        int codigo = buscar(nombre);
+        if (codigo >= 0) {
+            return otro -> otro != null && buscar(otro) == codigo;
+        }
+        String buscada = clave(nombre);
+        return otro -> otro != null && buscar(otro) == NO_REGISTRADO && clave(otro).equals(buscada);
+    }
+
+    /**
+     * Nombre canonico de un codigo
+     */
+    public String nombre(int codigo) {
+        if (codigo < 0 || codigo >= tamano) {
+            throw new IndexOutOfBoundsException("Codigo de dimension no registrado: " + codigo);
+        }
+        return canonicos[codigo];
+    }
+
+    /**
+     * Cantidad de nombres distintos registrados
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    private synchronized int registrar(String nombre) {
+        String recortado = nombre.trim();
+        String clave = clave(nombre);
+        Integer codigo = porClave.get(clave);
+        if (codigo == null) {
+            codigo = tamano;
+            String[] actuales = canonicos;
+            if (codigo == actuales.length) {
+                actuales = Arrays.copyOf(actuales, actuales.length * 2);
+            }
+            actuales[codigo] = recortado;
+            canonicos = actuales;
+            tamano = codigo + 1;
+            porClave.put(clave, codigo);
+        }
+        porNombre.put(nombre, codigo);
+        return codigo;
+    }
+
+    private static String clave(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,170 @@
+package com.elektra.resumennomina.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado acumulado de una serie (negocio/puesto/indicador) sobre la ventana histórica
+ * que termina en codigoPeriodo.
+ * Guarda los valores por periodo de la ventana y las estadísticas de Welford (conteo, media, M2)
+ * de las variaciones históricas, de modo que la media y la desviación se obtienen en O(1).
+ * La ventana se desplaza agregando el periodo nuevo en O(1); al quitar los que salen, las estadísticas
+ * se vuelven a acumular desde los puntos que quedan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoSerie {
+
+    private String negocio;
+    private String puesto;
+    private String indicador;
+
+    /** Último periodo de la ventana (YYYYWW) */
+    private int codigoPeriodo;
+
+    /** Valores por periodo en orden cronológico */
+    @Builder.Default
+    private List<PuntoSerie> puntos = new ArrayList<>();
+
+    /** Registros de datos_compensacion que forman la ventana */
+    private int registros;
+
+    /** Variación del periodo más reciente que la tiene (no forma parte de la historia) */
+    private Double variacionActual;
+
+    /** Welford: cantidad de variaciones históricas */
+    private int conteo;
+
+    /** Welford: media de las variaciones históricas */
+    private double media;
+
+    /** Welford: suma de cuadrados de las diferencias respecto a la media */
+    private double m2;
+
+    /**
+     * Valor de un periodo dentro de la ventana
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PuntoSerie {
+        private int codigoPeriodo;
+        private double valor;
+        private int registros;
+        /** Variación vs el punto anterior; null si es el primero o el anterior vale cero */
+        private Double variacion;
+    }
+
+    public static EstadoSerie nuevo(ClaveSerie clave) {
+        return EstadoSerie.builder()
+                .negocio(clave.negocio())
+                .puesto(clave.puesto())
+                .indicador(clave.indicador())
+                .build();
+    }
+
+    public ClaveSerie clave() {
+        return new ClaveSerie(negocio, puesto, indicador);
+    }
+
+    /**
+     * Valor del periodo más reciente de la ventana
+     */
+    public double ultimoValor() {
+        return puntos.get(puntos.size() - 1).getValor();
+    }
+
+    /**
+     * Valores de la ventana en orden cronológico
+     */
+    public double[] valores() {
+        double[] valores = new double[puntos.size()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = puntos.get(i).getValor();
+        }
+        return valores;
+    }
+
+    /**
+     * Varianza muestral de la historia respecto a una media de referencia
+     * (la media redondeada que se publica): (M2 + n·(media - referencia)²) / (n - 1)
+     */
+    public double varianzaHistoria(double mediaReferencia) {
+        if (conteo < 2) {
+            return 0;
+        }
+        double diferencia = media - mediaReferencia;
+        return (m2 + conteo * diferencia * diferencia) / (conteo - 1);
+    }
+
+    /**
+     * Agrega un periodo al final de la ventana. La variación actual anterior pasa a la historia.
+     */
+    public void agregar(PuntoSerie punto) {
+        puntos.add(punto);
+        registros += punto.getRegistros();
+
+        if (punto.getVariacion() != null) {
+            if (variacionActual != null) {
+                agregarHistoria(variacionActual);
+            }
+            variacionActual = punto.getVariacion();
+        }
+    }
+
+    /**
+     * Quita de la ventana los periodos anteriores a codigoInicio.
+     * El nuevo primer punto pierde su variación porque ya no tiene periodo anterior en la ventana.
+     * Las estadísticas de Welford se vuelven a acumular desde la ventana en lugar de restar la variación
+     * que sale: restar acumula error de redondeo en un estado que se guarda y vive indefinidamente;
+     * así el estado queda igual al de una reconstrucción completa.
+     */
+    public void recortar(int codigoInicio) {
+        boolean recortado = false;
+        while (!puntos.isEmpty() && puntos.get(0).getCodigoPeriodo() < codigoInicio) {
+            PuntoSerie eliminado = puntos.remove(0);
+            registros -= eliminado.getRegistros();
+            recortado = true;
+        }
+        if (recortado) {
+            if (!puntos.isEmpty()) {
+                puntos.get(0).setVariacion(null);
+            }
+            reacumularHistoria();
+        }
+    }
+
+    /**
+     * Recalcula la variación actual y las estadísticas de la historia recorriendo la ventana en orden,
+     * con los mismos pasos que agregar
+     */
+    private void reacumularHistoria() {
+        conteo = 0;
+        media = 0;
+        m2 = 0;
+        variacionActual = null;
+        for (PuntoSerie punto : puntos) {
+            if (punto.getVariacion() != null) {
+                if (variacionActual != null) {
+                    agregarHistoria(variacionActual);
+                }
+                variacionActual = punto.getVariacion();
+            }
+        }
+    }
+
+    private void agregarHistoria(double valor) {
+        conteo++;
+        double delta = valor - media;
+        media += delta / conteo;
+        m2 += delta * (valor - media);
+    }
+}
@@ -0,0 +1,36 @@
+package com.elektra.resumennomina.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Criterios de consulta de alertas: filtros, cantidad máxima por tipo de alerta
+ * y cursor de la página anterior.
+ */
+@Data
+@Builder
+public class FiltroAlertas {
+
+    /** Negocio a evaluar; null para todos */
+    private String negocio;
+
+    /** Severidad de las alertas Z-Score; null para todas */
+    private AlertaZScore.Severidad severidad;
+
+    /** Máximo de alertas de cada tipo; null para todas */
+    private Integer limite;
+
+    /** Cursor devuelto por la página anterior; null para la primera página */
+    private String cursor;
+
+    public static FiltroAlertas todas() {
+        return FiltroAlertas.builder().build();
+    }
+
+    /**
+     * Indica si la serie de un negocio entra en el filtro
+     */
+    public boolean incluyeNegocio(String negocioSerie) {
+        return negocio == null || negocio.isBlank() || negocio.trim().equalsIgnoreCase(negocioSerie);
+    }
+}
@@ -4,7 +4,11 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Enum que representa los tipos de indicadores de compensacion.
@@ -27,15 +31,32 @@ public enum Indicador {
     private final String slug;
     private final int codigo;
 
+    private static final Map<Integer, Indicador> POR_CODIGO = Arrays.stream(values())
+            .collect(Collectors.toMap(Indicador::getCodigo, Function.identity()));
+
+    // Nombres del catalogo en minusculas: fijos, no crecen con los nombres consultados
+    private static final Map<String, Indicador> POR_NOMBRE = Arrays.stream(values())
+            .collect(Collectors.toMap(i -> i.getNombre().toLowerCase(Locale.ROOT), Function.identity()));
+
+    /**
+     * Indicador cuyo nombre esta contenido en el nombre recibido (sin distinguir mayusculas).
+     * El nombre exacto del catalogo es un acierto de mapa; si no, se recorre el catalogo
+     */
     public static Optional<Indicador> fromNombre(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        String minusculas = nombre.toLowerCase(Locale.ROOT);
+        Indicador exacto = POR_NOMBRE.get(minusculas);
+        if (exacto != null) {
+            return Optional.of(exacto);
+        }
         return Arrays.stream(values())
-                .filter(i -> nombre.toLowerCase().contains(i.getNombre().toLowerCase()))
+                .filter(i -> minusculas.contains(i.getNombre().toLowerCase(Locale.ROOT)))
                 .findFirst();
     }
 
     public static Optional<Indicador> fromCodigo(int codigo) {
-        return Arrays.stream(values())
-                .filter(i -> i.getCodigo() == codigo)
-                .findFirst();
+        return Optional.ofNullable(POR_CODIGO.get(codigo));
     }
 }
@@ -5,7 +5,11 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Enum que representa los negocios de Grupo Elektra.
@@ -85,16 +89,22 @@ public enum Negocio {
     private final String slug;
     private final List<String> puestos;
 
+    private static final Map<String, Negocio> POR_NOMBRE = Arrays.stream(values())
+            .collect(Collectors.toMap(n -> clave(n.getNombre()), Function.identity()));
+
+    private static final Map<String, Negocio> POR_SLUG = Arrays.stream(values())
+            .collect(Collectors.toMap(n -> clave(n.getSlug()), Function.identity()));
+
     public static Optional<Negocio> fromNombre(String nombre) {
-        return Arrays.stream(values())
-                .filter(n -> n.getNombre().equalsIgnoreCase(nombre.trim()))
-                .findFirst();
+        return Optional.ofNullable(POR_NOMBRE.get(clave(nombre)));
     }
 
     public static Optional<Negocio> fromSlug(String slug) {
-        return Arrays.stream(values())
-                .filter(n -> n.getSlug().equalsIgnoreCase(slug.trim()))
-                .findFirst();
+        return Optional.ofNullable(POR_SLUG.get(clave(slug)));
+    }
+
+    private static String clave(String valor) {
+        return valor.trim().toLowerCase(Locale.ROOT);
     }
 
     public boolean contienePuesto(String puesto) {
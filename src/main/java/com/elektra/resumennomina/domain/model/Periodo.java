@@ -1,26 +1,70 @@
 package com.elektra.resumennomina.domain.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
 
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
 import java.util.Locale;
 
 /**
- * Value Object que representa un periodo (año + semana).
+ * Value Object inmutable que representa un periodo (año + semana).
  * Formato: YYYYWW (ej: 202507 = semana 7 de 2025)
+ *
+ * Solo se aceptan años de cuatro digitos y semanas 1 a 53; cualquier otro codigo lanza
+ * IllegalArgumentException. Las instancias de ANIO_EPOCA a ANIO_EPOCA + 99 se crean una sola vez,
+ * de modo que anterior()/siguiente() no crean objetos; fuera de ese rango se crea una instancia nueva.
+ *
+ * Cada periodo tiene un ordinal: indice de semana desde ANIO_EPOCA con 53 posiciones por año,
+ * que permite guardar series en arreglos indexados por periodo. anterior(), siguiente() y
+ * restarSemanas() avanzan sobre años de 52 semanas: la semana 53 solo aparece cuando viene en los
+ * datos, y en los años que no la tienen su posicion del ordinal queda vacia (una semana sin datos).
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class Periodo implements Comparable<Periodo> {
+@Getter
+public final class Periodo implements Comparable<Periodo> {
 
-    private int anio;
-    private int semana;
+    /** Año a partir del cual se cuentan los ordinales */
+    public static final int ANIO_EPOCA = 2000;
+
+    /** Posiciones de semana por año en el ordinal (incluye la semana 53) */
+    public static final int SEMANAS_ORDINAL = 53;
+
+    private static final int SEMANAS_POR_ANIO = 52;
+    private static final int ANIOS_PRECARGADOS = 100;
+    private static final int ANIO_MINIMO = 1000;
+    private static final int ANIO_MAXIMO = 9999;
+
+    // Periodos de ANIO_EPOCA en adelante, indexados por ordinal
+    private static final Periodo[] POR_ORDINAL = new Periodo[ANIOS_PRECARGADOS * SEMANAS_ORDINAL];
+
+    static {
+        for (int i = 0; i < POR_ORDINAL.length; i++) {
+            POR_ORDINAL[i] = new Periodo(ANIO_EPOCA + i / SEMANAS_ORDINAL, i % SEMANAS_ORDINAL + 1);
+        }
+    }
+
+    private final int anio;
+    private final int semana;
+
+    private Periodo(int anio, int semana) {
+        this.anio = anio;
+        this.semana = semana;
+    }
+
+    /**
+     * Obtiene el periodo de un año y semana.
+     * Lanza IllegalArgumentException si el año no tiene cuatro digitos o la semana no esta entre 1 y 53
+     */
+    public static Periodo of(int anio, int semana) {
+        if (anio < ANIO_MINIMO || anio > ANIO_MAXIMO || semana < 1 || semana > SEMANAS_ORDINAL) {
+            throw new IllegalArgumentException(
+                    String.format("Periodo invalido: año %d, semana %d (se espera YYYYWW con semana 1 a 53)", anio, semana));
+        }
+        int ordinal = ordinal(anio, semana);
+        if (ordinal >= 0 && ordinal < POR_ORDINAL.length) {
+            return POR_ORDINAL[ordinal];
+        }
+        return new Periodo(anio, semana);
+    }
 
     /**
      * Crea un Periodo desde el formato YYYYWW
@@ -28,7 +72,14 @@ public class Periodo implements Comparable<Periodo> {
     public static Periodo fromCodigo(int codigo) {
         int anio = codigo / 100;
         int semana = codigo % 100;
-        return new Periodo(anio, semana);
+        return of(anio, semana);
+    }
+
+    /**
+     * Obtiene el periodo de un ordinal (ver toOrdinal)
+     */
+    public static Periodo fromOrdinal(int ordinal) {
+        return of(ANIO_EPOCA + Math.floorDiv(ordinal, SEMANAS_ORDINAL), Math.floorMod(ordinal, SEMANAS_ORDINAL) + 1);
     }
 
     /**
@@ -38,7 +89,7 @@ public class Periodo implements Comparable<Periodo> {
         WeekFields weekFields = WeekFields.of(Locale.getDefault());
         int anio = date.getYear();
         int semana = date.get(weekFields.weekOfWeekBasedYear());
-        return new Periodo(anio, semana);
+        return of(anio, semana);
     }
 
     /**
@@ -55,24 +106,39 @@ public class Periodo implements Comparable<Periodo> {
         return anio * 100 + semana;
     }
 
+    /**
+     * Indice de semana desde ANIO_EPOCA; crece con el codigo, así que sirve como índice de arreglo
+     */
+    public int toOrdinal() {
+        return ordinal(anio, semana);
+    }
+
     /**
      * Obtiene el periodo anterior
      */
     public Periodo anterior() {
         if (semana == 1) {
-            return new Periodo(anio - 1, 52);
+            return of(anio - 1, SEMANAS_POR_ANIO);
         }
-        return new Periodo(anio, semana - 1);
+        return of(anio, semana - 1);
     }
 
     /**
      * Obtiene el periodo siguiente
      */
     public Periodo siguiente() {
-        if (semana >= 52) {
-            return new Periodo(anio + 1, 1);
+        if (semana >= SEMANAS_POR_ANIO) {
+            return of(anio + 1, 1);
         }
-        return new Periodo(anio, semana + 1);
+        return of(anio, semana + 1);
+    }
+
+    /**
+     * Retrocede la cantidad de semanas indicada considerando años de 52 semanas
+     */
+    public Periodo restarSemanas(int semanas) {
+        int indice = anio * SEMANAS_POR_ANIO + (semana - 1) - semanas;
+        return of(Math.floorDiv(indice, SEMANAS_POR_ANIO), Math.floorMod(indice, SEMANAS_POR_ANIO) + 1);
     }
 
     /**
@@ -87,8 +153,25 @@ public class Periodo implements Comparable<Periodo> {
         return Integer.compare(this.toCodigo(), other.toCodigo());
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Periodo other && anio == other.anio && semana == other.semana);
+    }
+
+    @Override
+    public int hashCode() {
+        return toCodigo();
+    }
+
     @Override
     public String toString() {
         return toDisplayString();
     }
+
+    /**
+     * Ordinal de un año y semana sin validarlos; permite acotar rangos con codigos arbitrarios
+     */
+    public static int ordinal(int anio, int semana) {
+        return (anio - ANIO_EPOCA) * SEMANAS_ORDINAL + (semana - 1);
+    }
 }
@@ -0,0 +1,33 @@
+package com.elektra.resumennomina.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado de evaluar ambos tipos de alerta (Z-Score e intervalo de predicción)
+ * sobre las mismas series de un periodo.
+ */
+@Data
+@Builder
+public class ResultadoAlertas {
+
+    /** Periodo evaluado */
+    private Periodo periodo;
+
+    /** Alertas Z-Score ordenadas por severidad */
+    private List<AlertaZScore> alertasZScore;
+
+    /** Alertas de predicción ordenadas por variación fuera del rango */
+    private List<AlertaPrediccion> alertasPrediccion;
+
+    /** Total de alertas Z-Score que cumplen el filtro (sin límite) */
+    private int totalAlertasZScore;
+
+    /** Total de alertas de predicción que cumplen el filtro (sin límite) */
+    private int totalAlertasPrediccion;
+
+    /** Cursor para la siguiente página; null si no hay más alertas */
+    private String siguienteCursor;
+}
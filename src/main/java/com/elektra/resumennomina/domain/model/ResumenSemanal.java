@@ -6,11 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * Representa el resumen de compensacion para una semana especifica.
- * Incluye totales, promedios y variaciones.
+ * Incluye totales, promedios y variaciones; los calculos se hacen en centavos (ver Centavos).
  */
 @Data
 @Builder
@@ -43,7 +42,8 @@ public class ResumenSemanal {
         if (totalCompensacion == null || totalAnterior == null) {
             return BigDecimal.ZERO;
         }
-        this.diferenciaMonto = totalCompensacion.subtract(totalAnterior);
+        this.diferenciaMonto = Centavos.aBigDecimal(
+                Centavos.restar(Centavos.de(totalCompensacion), Centavos.de(totalAnterior)));
         return this.diferenciaMonto;
     }
 
@@ -51,16 +51,15 @@ public class ResumenSemanal {
      * Calcula la variacion porcentual: (actual / anterior) - 1
      */
     public BigDecimal calcularVariacionPorcentual() {
-        if (totalCompensacion == null || totalAnterior == null ||
-            totalAnterior.compareTo(BigDecimal.ZERO) == 0) {
+        if (totalCompensacion == null || totalAnterior == null) {
+            return BigDecimal.ZERO;
+        }
+        long anterior = Centavos.de(totalAnterior);
+        if (anterior == 0) {
             return BigDecimal.ZERO;
         }
 
-        this.variacionPorcentual = totalCompensacion
-                .divide(totalAnterior, 6, RoundingMode.HALF_UP)
-                .subtract(BigDecimal.ONE)
-                .multiply(BigDecimal.valueOf(100))
-                .setScale(2, RoundingMode.HALF_UP);
+        this.variacionPorcentual = Centavos.variacionPorcentual(Centavos.de(totalCompensacion), anterior);
 
         return this.variacionPorcentual;
     }
@@ -74,8 +73,8 @@ public class ResumenSemanal {
             return BigDecimal.ZERO;
         }
 
-        this.promedioCompensacion = totalCompensacion
-                .divide(BigDecimal.valueOf(cantidadEmpleados), 2, RoundingMode.HALF_UP);
+        this.promedioCompensacion = Centavos.aBigDecimal(
+                Centavos.dividir(Centavos.de(totalCompensacion), cantidadEmpleados));
 
         return this.promedioCompensacion;
     }
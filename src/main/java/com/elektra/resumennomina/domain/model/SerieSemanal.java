@@ -0,0 +1,149 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Serie de tiempo semanal respaldada por arreglos indexados por el ordinal del periodo.
+ * Los montos se suman en centavos (ver Centavos) y los conteos como int; un periodo sin registros
+ * no tiene valor. Reemplaza los Map&lt;Periodo, ...&gt; para evitar hashing y boxing por punto.
+ */
+public final class SerieSemanal {
+
+    private final int ordinalInicio;
+    private final long[] centavos;
+    private final int[] conteos;
+
+    private SerieSemanal(int ordinalInicio, int longitud) {
+        this.ordinalInicio = ordinalInicio;
+        this.centavos = new long[longitud];
+        this.conteos = new int[longitud];
+    }
+
+    /**
+     * Crea una serie vacía que cubre los periodos de los datos (sin agregar valores)
+     */
+    public static SerieSemanal cubriendo(List<DatoCompensacion> datos) {
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (DatoCompensacion dato : datos) {
+            int ordinal = dato.getPeriodo().toOrdinal();
+            minimo = Math.min(minimo, ordinal);
+            maximo = Math.max(maximo, ordinal);
+        }
+        return datos.isEmpty() ? new SerieSemanal(0, 0) : new SerieSemanal(minimo, maximo - minimo + 1);
+    }
+
+    /**
+     * Suma por periodo el valor de los datos que cumplen el filtro
+     */
+    public static SerieSemanal sumar(List<DatoCompensacion> datos, Predicate<DatoCompensacion> filtro) {
+        SerieSemanal serie = cubriendo(datos);
+        for (DatoCompensacion dato : datos) {
+            if (filtro.test(dato)) {
+                serie.agregar(dato.getPeriodo(), dato.getValor());
+            }
+        }
+        return serie;
+    }
+
+    /**
+     * Serie con totales por periodo ya sumados (ej. agregados en la base de datos o sobre un cursor);
+     * un total sin registros no da valor al periodo
+     */
+    public static SerieSemanal deTotales(List<TotalPeriodo> totales) {
+        if (totales.isEmpty()) {
+            return new SerieSemanal(0, 0);
+        }
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (TotalPeriodo total : totales) {
+            int ordinal = Periodo.fromCodigo(total.codigoPeriodo()).toOrdinal();
+            minimo = Math.min(minimo, ordinal);
+            maximo = Math.max(maximo, ordinal);
+        }
+        SerieSemanal serie = new SerieSemanal(minimo, maximo - minimo + 1);
+        for (TotalPeriodo total : totales) {
+            if (total.registros() > 0) {
+                int indice = Periodo.fromCodigo(total.codigoPeriodo()).toOrdinal() - minimo;
+                serie.centavos[indice] = Centavos.sumar(serie.centavos[indice], Centavos.de(total.total()));
+                serie.conteos[indice] += total.registros();
+            }
+        }
+        return serie;
+    }
+
+    public void agregar(Periodo periodo, BigDecimal valor) {
+        int indice = indice(periodo);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Periodo " + periodo + " fuera del rango de la serie");
+        }
+        centavos[indice] = Centavos.sumar(centavos[indice], Centavos.de(valor));
+        conteos[indice]++;
+    }
+
+    /**
+     * Reemplaza cada valor presente (en centavos) por el resultado de la función
+     */
+    public void transformar(IndiceCentavos transformacion) {
+        for (int i = 0; i < centavos.length; i++) {
+            if (conteos[i] > 0) {
+                centavos[i] = transformacion.aplicar(i, centavos[i]);
+            }
+        }
+    }
+
+    /**
+     * Función sobre el índice y el valor en centavos de un periodo
+     */
+    @FunctionalInterface
+    public interface IndiceCentavos {
+        long aplicar(int indice, long centavos);
+    }
+
+    public int longitud() {
+        return centavos.length;
+    }
+
+    public boolean tieneValor(int indice) {
+        return conteos[indice] > 0;
+    }
+
+    public long centavos(int indice) {
+        return centavos[indice];
+    }
+
+    /**
+     * Valor de un periodo como monto; null si no tiene registros o está fuera de la serie
+     */
+    public BigDecimal valor(int indice) {
+        return conteos[indice] > 0 ? Centavos.aBigDecimal(centavos[indice]) : null;
+    }
+
+    public BigDecimal valor(Periodo periodo) {
+        int indice = indice(periodo);
+        return indice >= 0 ? valor(indice) : null;
+    }
+
+    public Periodo periodo(int indice) {
+        return Periodo.fromOrdinal(ordinalInicio + indice);
+    }
+
+    /**
+     * Índice del periodo en la serie; -1 si está fuera del rango
+     */
+    public int indice(Periodo periodo) {
+        int indice = periodo.toOrdinal() - ordinalInicio;
+        return indice >= 0 && indice < centavos.length ? indice : -1;
+    }
+
+    public boolean isEmpty() {
+        for (int conteo : conteos) {
+            if (conteo > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.elektra.resumennomina.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Vistas del tablero nacional de un periodo calculadas a partir de una sola lectura:
+ * resumen nacional, resumen por negocio, mapa de calor y tablas de resultados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableroNacional {
+
+    private Periodo periodo;
+
+    private ResumenSemanal resumenNacional;
+    private List<ResumenSemanal> resumenPorNegocio;
+    private List<MapaCalorItem> mapaCalor;
+
+    // Tablas de resultados por puesto
+    private List<ResumenSemanal> tablaTotal;
+    private List<ResumenSemanal> tablaPromedio;
+}
@@ -0,0 +1,19 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object con la suma de un indicador y la de empleados en un periodo, calculadas en una sola consulta.
+ * Incluye el negocio y puesto del primer registro del periodo, la cantidad de registros del indicador
+ * y los empleados sumados como enteros (parte entera de cada registro).
+ */
+public record TotalEmpleadosPeriodo(int codigoPeriodo, String negocio, String puesto,
+                                    BigDecimal total, int registros, int empleados) {
+
+    /**
+     * Total del indicador en el periodo, sin los empleados
+     */
+    public TotalPeriodo indicador() {
+        return new TotalPeriodo(codigoPeriodo, total, registros);
+    }
+}
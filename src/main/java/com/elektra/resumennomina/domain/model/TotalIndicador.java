@@ -0,0 +1,17 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object con la suma de un indicador para un negocio y periodo,
+ * calculada en la base de datos.
+ */
+public record TotalIndicador(String negocio, int codigoPeriodo, String indicador, BigDecimal total) {
+
+    /**
+     * Indica si corresponde al indicador (sin distinguir mayusculas ni espacios)
+     */
+    public boolean esIndicador(String nombre) {
+        return indicador != null && DiccionarioDimension.INDICADORES.coincideCon(nombre).test(indicador);
+    }
+}
@@ -0,0 +1,10 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object con la suma de un indicador en un periodo, calculada sin cargar los registros.
+ * Incluye la cantidad de registros del indicador que se sumaron.
+ */
+public record TotalPeriodo(int codigoPeriodo, BigDecimal total, int registros) {
+}
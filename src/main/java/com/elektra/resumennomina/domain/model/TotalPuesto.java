@@ -0,0 +1,10 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object con la suma de un indicador para un puesto y periodo, calculada en la base de datos.
+ * Incluye el negocio del puesto y la cantidad de registros del indicador que se sumaron.
+ */
+public record TotalPuesto(String puesto, String negocio, int codigoPeriodo, BigDecimal total, int registros) {
+}
@@ -0,0 +1,11 @@
+package com.elektra.resumennomina.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object con los totales de Compensacion y Empleado de un puesto en un periodo,
+ * calculados en la base de datos, junto con el negocio del puesto.
+ */
+public record TotalesPuesto(String puesto, String negocio, int codigoPeriodo,
+                            BigDecimal compensacion, BigDecimal empleados) {
+}
@@ -43,6 +43,11 @@ public interface CompensacionUseCase {
     EstadisticasSerie obtenerSeriePorNegocioPuestoIndicador(
             String negocio, String puesto, String indicador, Periodo desde, Periodo hasta);
 
+    /**
+     * Obtiene varias series por negocio, puesto e indicador con un mismo rango de periodos
+     */
+    List<EstadisticasSerie> obtenerSeriesPorNegocioPuestoIndicador(List<ClaveSerie> claves, Periodo desde, Periodo hasta);
+
     /**
      * Obtiene el resumen de todos los indicadores para un negocio y puesto
      */
@@ -81,6 +86,14 @@ public interface CompensacionUseCase {
      */
     List<ResumenSemanal> obtenerTablaResultadosPromedio(Periodo periodo);
 
+    // ==================== TABLERO NACIONAL ====================
+
+    /**
+     * Obtiene en una sola consulta el resumen nacional, el resumen por negocio,
+     * el mapa de calor y las tablas de resultados (total y promedio) de un periodo
+     */
+    TableroNacional obtenerTableroNacional(Periodo periodo);
+
     // ==================== UTILITARIOS ====================
 
     /**
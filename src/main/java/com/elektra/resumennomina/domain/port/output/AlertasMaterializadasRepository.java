@@ -0,0 +1,32 @@
+package com.elektra.resumennomina.domain.port.output;
+
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Puerto de salida para las alertas precalculadas por periodo.
+ */
+public interface AlertasMaterializadasRepository {
+
+    /**
+     * Guarda (o reemplaza) las alertas de un periodo
+     */
+    void save(ResultadoAlertas resultado);
+
+    /**
+     * Busca las alertas precalculadas de un periodo
+     */
+    Optional<ResultadoAlertas> findByPeriodo(int codigoPeriodo);
+
+    /**
+     * Elimina las alertas precalculadas de los periodos indicados
+     */
+    void deleteByPeriodos(Collection<Integer> codigosPeriodo);
+
+    /**
+     * Elimina todas las alertas precalculadas
+     */
+    void deleteAll();
+}
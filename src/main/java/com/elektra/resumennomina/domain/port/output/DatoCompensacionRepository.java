@@ -2,7 +2,13 @@ package com.elektra.resumennomina.domain.port.output;
 
 import com.elektra.resumennomina.domain.model.DatoCompensacion;
 import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +38,11 @@ public interface DatoCompensacionRepository {
      */
     List<DatoCompensacion> findByPeriodo(int codigoPeriodo);
 
+    /**
+     * Busca todos los datos de los periodos indicados (ej. una semana y su anterior)
+     */
+    List<DatoCompensacion> findByPeriodoIn(Collection<Integer> codigosPeriodo);
+
     /**
      * Busca datos por rango de periodos
      */
@@ -79,6 +90,12 @@ public interface DatoCompensacionRepository {
     List<DatoCompensacion> findByNegocioAndPuestoAndPeriodoBetween(
             String negocio, String puesto, int periodoInicio, int periodoFin);
 
+    /**
+     * Busca datos de cualquiera de los negocios y puestos indicados en el rango inclusivo de periodos
+     */
+    List<DatoCompensacion> findByNegocioInAndPuestoInAndPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, int periodoInicio, int periodoFin);
+
     /**
      * Busca datos por negocio, puesto y periodo exacto
      */
@@ -91,6 +108,49 @@ public interface DatoCompensacionRepository {
     List<DatoCompensacion> findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
             String negocio, String puesto, String indicador, int periodoInicio, int periodoFin);
 
+    /**
+     * Suma el valor por negocio, periodo e indicador de los periodos indicados (agregado en la base de datos)
+     */
+    List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma el valor por periodo e indicador de un negocio y puesto en los periodos indicados
+     * (agregado en la base de datos). Solo incluye indicadores con registros en el periodo.
+     */
+    List<TotalIndicador> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma un indicador por puesto y periodo de los periodos indicados, con el negocio de cada puesto
+     * (agregado en la base de datos). Solo incluye puestos con registros en el periodo.
+     */
+    List<TotalPuesto> sumarIndicadorPorPuesto(String indicador, Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma un indicador por periodo en el rango inclusivo de periodos, en orden de periodo, sin cargar
+     * los registros en memoria. Solo incluye periodos con registros del indicador.
+     */
+    List<TotalPeriodo> sumarIndicadorPorPeriodo(String indicador, int periodoInicio, int periodoFin);
+
+    /**
+     * Suma por periodo un indicador y el indicador de empleados de un negocio y puesto en el rango inclusivo
+     * de periodos, en orden de periodo y en una sola consulta (indicadores sin distinguir mayusculas)
+     */
+    List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin);
+
+    /**
+     * Igual que sumarIndicadorYEmpleadosPorPeriodo para los registros de una funcion SAP
+     */
+    List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodoDeFuncionSap(
+            int funcionSap, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin);
+
+    /**
+     * Suma los indicadores de compensacion y de empleados por puesto y periodo de los periodos indicados,
+     * con el negocio de cada puesto (agregado en la base de datos). Incluye todo puesto con registros.
+     */
+    List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(
+            String indicadorCompensacion, String indicadorEmpleado, Collection<Integer> codigosPeriodo);
+
     /**
      * Obtiene la lista de negocios unicos
      */
@@ -121,6 +181,12 @@ public interface DatoCompensacionRepository {
      */
     List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto);
 
+    /**
+     * Obtiene el periodo mas reciente en el que al menos la cantidad indicada de negocios
+     * tiene registros del indicador (agregado en la base de datos)
+     */
+    Optional<Integer> findUltimoPeriodoConNegocios(String indicador, int minimoNegocios);
+
     /**
      * Obtiene el ultimo periodo disponible
      */
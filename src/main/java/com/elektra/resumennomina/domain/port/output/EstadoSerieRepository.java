@@ -0,0 +1,26 @@
+package com.elektra.resumennomina.domain.port.output;
+
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para el estado acumulado de las series de alertas.
+ */
+public interface EstadoSerieRepository {
+
+    /**
+     * Obtiene el estado de todas las series
+     */
+    List<EstadoSerie> findAll();
+
+    /**
+     * Reemplaza el estado de todas las series
+     */
+    void replaceAll(List<EstadoSerie> estados);
+
+    /**
+     * Elimina el estado de todas las series
+     */
+    void deleteAll();
+}
@@ -0,0 +1,182 @@
+package com.elektra.resumennomina.domain.port.output;
+
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de salida para el rollup semanal: suma de valor y cantidad de registros por
+ * negocio, puesto, indicador y periodo, mantenido en cada carga o eliminacion de datos.
+ *
+ * Las consultas devuelven un dato por serie y periodo con el valor sumado, de modo que cualquier
+ * suma por negocio, puesto, indicador o periodo coincide con la de los registros originales y su
+ * costo depende de la cantidad de series. Las busquedas por funcion SAP o por id y las escrituras
+ * no forman parte del rollup: se hacen con DatoCompensacionRepository.
+ */
+public interface RollupSemanalRepository {
+
+    /**
+     * Recalcula el rollup de los periodos indicados a partir de los registros originales
+     */
+    void recalcularPeriodos(Collection<Integer> codigosPeriodo);
+
+    /**
+     * Reconstruye el rollup completo
+     */
+    void reconstruir();
+
+    /**
+     * Indica si el rollup no tiene datos
+     */
+    boolean isEmpty();
+
+    /**
+     * Busca todos los datos de un periodo especifico
+     */
+    List<DatoCompensacion> findByPeriodo(int codigoPeriodo);
+
+    /**
+     * Busca todos los datos de los periodos indicados (ej. una semana y su anterior)
+     */
+    List<DatoCompensacion> findByPeriodoIn(Collection<Integer> codigosPeriodo);
+
+    /**
+     * Busca datos por rango de periodos
+     */
+    List<DatoCompensacion> findByPeriodoBetween(int periodoInicio, int periodoFin);
+
+    /**
+     * Busca datos por negocio
+     */
+    List<DatoCompensacion> findByNegocio(String negocio);
+
+    /**
+     * Busca datos por negocio y periodo
+     */
+    List<DatoCompensacion> findByNegocioAndPeriodo(String negocio, int codigoPeriodo);
+
+    /**
+     * Busca datos por puesto
+     */
+    List<DatoCompensacion> findByPuesto(String puesto);
+
+    /**
+     * Busca datos por puesto y rango de periodos
+     */
+    List<DatoCompensacion> findByPuestoAndPeriodoBetween(String puesto, int periodoInicio, int periodoFin);
+
+    /**
+     * Busca datos por negocio, indicador y rango de periodos
+     */
+    List<DatoCompensacion> findByNegocioAndIndicadorAndPeriodoBetween(
+            String negocio, String indicador, int periodoInicio, int periodoFin);
+
+    /**
+     * Busca datos por negocio, puesto y rango de periodos
+     */
+    List<DatoCompensacion> findByNegocioAndPuestoAndPeriodoBetween(
+            String negocio, String puesto, int periodoInicio, int periodoFin);
+
+    /**
+     * Busca datos de cualquiera de los negocios y puestos indicados en el rango inclusivo de periodos
+     */
+    List<DatoCompensacion> findByNegocioInAndPuestoInAndPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, int periodoInicio, int periodoFin);
+
+    /**
+     * Busca datos por negocio, puesto y periodo exacto
+     */
+    List<DatoCompensacion> findByNegocioAndPuestoAndPeriodo(
+            String negocio, String puesto, int codigoPeriodo);
+
+    /**
+     * Busca datos por negocio, puesto, indicador y rango de periodos
+     */
+    List<DatoCompensacion> findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
+            String negocio, String puesto, String indicador, int periodoInicio, int periodoFin);
+
+    /**
+     * Suma el valor por negocio, periodo e indicador de los periodos indicados (agregado en la base de datos)
+     */
+    List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma el valor por periodo e indicador de un negocio y puesto en los periodos indicados
+     * (agregado en la base de datos). Solo incluye indicadores con registros en el periodo.
+     */
+    List<TotalIndicador> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma un indicador por puesto y periodo de los periodos indicados, con el negocio de cada puesto
+     * (agregado en la base de datos). Solo incluye puestos con registros en el periodo.
+     */
+    List<TotalPuesto> sumarIndicadorPorPuesto(String indicador, Collection<Integer> codigosPeriodo);
+
+    /**
+     * Suma un indicador por periodo en el rango inclusivo de periodos, en orden de periodo, sin cargar
+     * los registros en memoria. Solo incluye periodos con registros del indicador.
+     */
+    List<TotalPeriodo> sumarIndicadorPorPeriodo(String indicador, int periodoInicio, int periodoFin);
+
+    /**
+     * Suma por periodo un indicador y el indicador de empleados de un negocio y puesto en el rango inclusivo
+     * de periodos, en orden de periodo y en una sola consulta (indicadores sin distinguir mayusculas)
+     */
+    List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin);
+
+    /**
+     * Suma los indicadores de compensacion y de empleados por puesto y periodo de los periodos indicados,
+     * con el negocio de cada puesto (agregado en la base de datos). Incluye todo puesto con registros.
+     */
+    List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(
+            String indicadorCompensacion, String indicadorEmpleado, Collection<Integer> codigosPeriodo);
+
+    /**
+     * Obtiene la lista de negocios unicos
+     */
+    List<String> findDistinctNegocios();
+
+    /**
+     * Obtiene la lista de puestos unicos por negocio
+     */
+    List<String> findDistinctPuestosByNegocio(String negocio);
+
+    /**
+     * Obtiene la lista de periodos disponibles
+     */
+    List<Integer> findDistinctPeriodos();
+
+    /**
+     * Obtiene la lista de indicadores unicos
+     */
+    List<String> findDistinctIndicadores();
+
+    /**
+     * Obtiene la lista de indicadores unicos por negocio
+     */
+    List<String> findDistinctIndicadoresByNegocio(String negocio);
+
+    /**
+     * Obtiene la lista de indicadores unicos por negocio y puesto
+     */
+    List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto);
+
+    /**
+     * Obtiene el periodo mas reciente en el que al menos la cantidad indicada de negocios
+     * tiene registros del indicador (agregado en la base de datos)
+     */
+    Optional<Integer> findUltimoPeriodoConNegocios(String indicador, int minimoNegocios);
+
+    /**
+     * Obtiene el ultimo periodo disponible
+     */
+    Optional<Integer> findMaxPeriodo();
+}
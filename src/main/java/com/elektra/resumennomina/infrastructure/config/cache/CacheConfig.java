@@ -22,6 +22,8 @@ public class CacheConfig {
     public static final String COMPENSACION_POR_PUESTO = "compensacionPorPuesto";
     public static final String ESTADISTICAS = "estadisticas";
     public static final String MAPA_CALOR = "mapaCalor";
+    public static final String TABLA_RESULTADOS = "tablaResultados";
+    public static final String TABLERO_NACIONAL = "tableroNacional";
 
     @Bean
     public CacheManager cacheManager() {
@@ -30,7 +32,9 @@ public class CacheConfig {
                 COMPENSACION_POR_NEGOCIO,
                 COMPENSACION_POR_PUESTO,
                 ESTADISTICAS,
-                MAPA_CALOR
+                MAPA_CALOR,
+                TABLA_RESULTADOS,
+                TABLERO_NACIONAL
         );
     }
 }
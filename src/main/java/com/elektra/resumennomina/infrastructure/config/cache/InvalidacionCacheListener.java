@@ -0,0 +1,39 @@
+package com.elektra.resumennomina.infrastructure.config.cache;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vacia todos los caches de consultas (los @Cacheable de los tableros) despues de cada carga,
+ * importacion o eliminacion: todos se calculan sobre datos_compensacion.
+ * Corre despues del rollup y el snapshot, de modo que lo que se vuelva a calcular ya lee los datos nuevos,
+ * y antes de que VersionDatosService publique la version nueva: una respuesta con el ETag nuevo
+ * nunca sale de un cache calculado con los datos anteriores.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidacionCacheListener {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        for (String nombre : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Caches {} vaciados por actualizacion de los periodos {}",
+                cacheManager.getCacheNames(), event.periodos());
+    }
+}
@@ -0,0 +1,43 @@
+package com.elektra.resumennomina.infrastructure.config.executor;
+
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuracion del pool de hilos para calculos estadisticos en paralelo.
+ * El pool es acotado para no competir con los hilos que atienden peticiones HTTP.
+ * La materializacion de alertas corre en un hilo propio: sus calculos usan el pool de calculo
+ * y esperarlos desde ese mismo pool podria agotarlo.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CalculoExecutorConfig {
+
+    public static final String CALCULO_EXECUTOR = "calculoExecutor";
+    public static final String MATERIALIZACION_EXECUTOR = "materializacionExecutor";
+
+    private final AppProperties appProperties;
+
+    @Bean(name = CALCULO_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService calculoExecutor() {
+        int hilos = Math.max(1, appProperties.getCalculo().getHilos());
+        log.info("Configurando pool de calculo con {} hilos", hilos);
+        return Executors.newFixedThreadPool(hilos, new CustomizableThreadFactory("calculo-"));
+    }
+
+    /**
+     * Un solo hilo: las materializaciones se aplican en el orden de las cargas
+     */
+    @Bean(name = MATERIALIZACION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService materializacionExecutor() {
+        return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("materializacion-"));
+    }
+}
@@ -13,6 +13,9 @@ public class AppProperties {
     private String version;
     private CorsProperties cors = new CorsProperties();
     private CacheProperties cache = new CacheProperties();
+    private CalculoProperties calculo = new CalculoProperties();
+    private AlertasProperties alertas = new AlertasProperties();
+    private SnapshotProperties snapshot = new SnapshotProperties();
 
     @Data
     public static class CorsProperties {
@@ -27,4 +30,22 @@ public class AppProperties {
         private boolean enabled = true;
         private int ttlSeconds = 300;
     }
+
+    @Data
+    public static class CalculoProperties {
+        private int hilos = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class AlertasProperties {
+        private boolean paralelo = true;
+        private int tamanoLote = 16;
+        private boolean materializar = true;
+        private int periodosMaterializados = 12;
+    }
+
+    @Data
+    public static class SnapshotProperties {
+        private boolean habilitado = false;
+    }
 }
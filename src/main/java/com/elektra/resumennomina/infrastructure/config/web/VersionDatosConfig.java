@@ -0,0 +1,23 @@
+package com.elektra.resumennomina.infrastructure.config.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el ETag por version de datos en los endpoints de lectura de tableros.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class VersionDatosConfig implements WebMvcConfigurer {
+
+    private final VersionDatosInterceptor versionDatosInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(versionDatosInterceptor)
+                .addPathPatterns("/api/v1/compensacion/**", "/api/v1/alertas/**", "/api/v1/alertas",
+                        "/api/v1/exportacion/**");
+    }
+}
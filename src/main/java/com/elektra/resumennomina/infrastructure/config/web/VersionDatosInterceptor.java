@@ -0,0 +1,52 @@
+package com.elektra.resumennomina.infrastructure.config.web;
+
+import com.elektra.resumennomina.application.service.VersionDatosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Agrega a las consultas GET un ETag fuerte con la version de los datos y responde 304
+ * cuando If-None-Match coincide, antes de ejecutar el controlador.
+ * Las respuestas de lectura solo cambian cuando cambian los datos (mismo URL, misma version)
+ * o cuando cambia el formato de la serie, que puede pedirse por encabezado con el mismo URL:
+ * el formato forma parte del ETag y la respuesta declara Vary: X-Formato-Serie.
+ * La version es propia de cada instancia (ver VersionDatosService).
+ */
+@Component
+@RequiredArgsConstructor
+public class VersionDatosInterceptor implements HandlerInterceptor {
+
+    // Mismos nombres que acepta CompensacionController para elegir el formato de las series
+    private static final String ENCABEZADO_FORMATO = "X-Formato-Serie";
+    private static final String PARAMETRO_FORMATO = "formato";
+    private static final String FORMATO_COLUMNAR = "columnar";
+
+    private final VersionDatosService versionDatosService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        // El cliente siempre revalida; con la misma version la respuesta es un 304 sin cuerpo
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.addHeader(HttpHeaders.VARY, ENCABEZADO_FORMATO);
+        return !new ServletWebRequest(request, response).checkNotModified(etag(request));
+    }
+
+    private String etag(HttpServletRequest request) {
+        String version = String.valueOf(versionDatosService.obtenerVersion());
+        return "\"" + (esColumnar(request) ? version + "-" + FORMATO_COLUMNAR : version) + "\"";
+    }
+
+    private static boolean esColumnar(HttpServletRequest request) {
+        return FORMATO_COLUMNAR.equalsIgnoreCase(request.getParameter(PARAMETRO_FORMATO))
+                || FORMATO_COLUMNAR.equalsIgnoreCase(request.getHeader(ENCABEZADO_FORMATO));
+    }
+}
@@ -0,0 +1,96 @@
+package com.elektra.resumennomina.infrastructure.persistence.adapter;
+
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import com.elektra.resumennomina.domain.port.output.AlertasMaterializadasRepository;
+import com.elektra.resumennomina.infrastructure.persistence.document.AlertasPeriodoDocument;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.AlertasPeriodoMapper;
+import com.elektra.resumennomina.infrastructure.persistence.repository.AlertasPeriodoMongoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador que implementa el puerto AlertasMaterializadasRepository
+ * usando MongoDB como persistencia.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertasMaterializadasRepositoryAdapter implements AlertasMaterializadasRepository {
+
+    private final AlertasPeriodoMongoRepository mongoRepository;
+    private final AlertasPeriodoMapper mapper;
+
+    @Override
+    public void save(ResultadoAlertas resultado) {
+        int codigoPeriodo = resultado.getPeriodo().toCodigo();
+
+        AlertasPeriodoDocument document = AlertasPeriodoDocument.builder()
+                .id(String.valueOf(codigoPeriodo))
+                .codigoPeriodo(codigoPeriodo)
+                .fechaCalculo(LocalDateTime.now())
+                .alertasZScore(resultado.getAlertasZScore().stream().map(mapper::toItem).toList())
+                .alertasPrediccion(resultado.getAlertasPrediccion().stream().map(mapper::toItem).toList())
+                .build();
+
+        mongoRepository.save(document);
+    }
+
+    @Override
+    public Optional<ResultadoAlertas> findByPeriodo(int codigoPeriodo) {
+        return mongoRepository.findByCodigoPeriodo(codigoPeriodo)
+                .map(this::toDomain);
+    }
+
+    @Override
+    public void deleteByPeriodos(Collection<Integer> codigosPeriodo) {
+        if (!codigosPeriodo.isEmpty()) {
+            mongoRepository.deleteByCodigoPeriodoIn(codigosPeriodo);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        log.info("Eliminando todas las alertas materializadas");
+        mongoRepository.deleteAll();
+    }
+
+    private ResultadoAlertas toDomain(AlertasPeriodoDocument document) {
+        Periodo periodo = Periodo.fromCodigo(document.getCodigoPeriodo());
+
+        List<AlertaZScore> alertasZScore = new ArrayList<>();
+        if (document.getAlertasZScore() != null) {
+            for (AlertasPeriodoDocument.AlertaZScoreItem item : document.getAlertasZScore()) {
+                AlertaZScore alerta = mapper.toDomain(item);
+                alerta.setPeriodo(periodo);
+                alertasZScore.add(alerta);
+            }
+        }
+
+        List<AlertaPrediccion> alertasPrediccion = new ArrayList<>();
+        if (document.getAlertasPrediccion() != null) {
+            for (AlertasPeriodoDocument.AlertaPrediccionItem item : document.getAlertasPrediccion()) {
+                AlertaPrediccion alerta = mapper.toDomain(item);
+                alerta.setPeriodo(periodo);
+                alertasPrediccion.add(alerta);
+            }
+        }
+
+        return ResultadoAlertas.builder()
+                .periodo(periodo)
+                .alertasZScore(alertasZScore)
+                .alertasPrediccion(alertasPrediccion)
+                .totalAlertasZScore(alertasZScore.size())
+                .totalAlertasPrediccion(alertasPrediccion.size())
+                .build();
+    }
+}
@@ -1,16 +1,35 @@
 package com.elektra.resumennomina.infrastructure.persistence.adapter;
 
+import com.elektra.resumennomina.domain.model.Centavos;
 import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
 import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
 import com.elektra.resumennomina.infrastructure.persistence.document.DatoCompensacionDocument;
 import com.elektra.resumennomina.infrastructure.persistence.mapper.DatoCompensacionMapper;
+import com.elektra.resumennomina.infrastructure.persistence.projection.DatoAnaliticoProjection;
 import com.elektra.resumennomina.infrastructure.persistence.repository.DatoCompensacionMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion.Consulta;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.SnapshotCompensacion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Adaptador que implementa el puerto de salida DatoCompensacionRepository
@@ -23,6 +42,7 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
 
     private final DatoCompensacionMongoRepository mongoRepository;
     private final DatoCompensacionMapper mapper;
+    private final SnapshotCompensacion snapshot;
 
     @Override
     public DatoCompensacion save(DatoCompensacion dato) {
@@ -47,42 +67,89 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
 
     @Override
     public List<DatoCompensacion> findByPeriodo(int codigoPeriodo) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.periodo(codigoPeriodo));
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByCodigoPeriodo(codigoPeriodo)
         );
     }
 
+    @Override
+    public List<DatoCompensacion> findByPeriodoIn(Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            List<DatoCompensacion> datos = new ArrayList<>();
+            for (Integer codigoPeriodo : codigosPeriodo) {
+                datos.addAll(columnas.buscar(Consulta.periodo(codigoPeriodo)));
+            }
+            return datos;
+        }
+        return mapper.analiticosToDomainList(
+                mongoRepository.findByCodigoPeriodoIn(codigosPeriodo)
+        );
+    }
+
     @Override
     public List<DatoCompensacion> findByPeriodoBetween(int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByCodigoPeriodoBetween(periodoInicio, periodoFin)
         );
     }
 
     @Override
     public List<DatoCompensacion> findByNegocio(String negocio) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocio(normalizeString(negocio))
         );
     }
 
     @Override
     public List<DatoCompensacion> findByNegocioAndPeriodo(String negocio, int codigoPeriodo) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .negocio(normalizeString(negocio))
+                    .periodoInicio(codigoPeriodo).periodoFin(codigoPeriodo)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocioAndCodigoPeriodo(normalizeString(negocio), codigoPeriodo)
         );
     }
 
     @Override
     public List<DatoCompensacion> findByPuesto(String puesto) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder().puesto(normalizeString(puesto)).build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByPuesto(normalizeString(puesto))
         );
     }
 
     @Override
     public List<DatoCompensacion> findByPuestoAndPeriodoBetween(String puesto, int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByPuestoAndCodigoPeriodoBetween(
                         normalizeString(puesto), periodoInicio, periodoFin)
         );
@@ -90,14 +157,25 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
 
     @Override
     public List<DatoCompensacion> findByFuncionSap(int funcionSap) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder().funcionSap(funcionSap).build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByFuncionSap(funcionSap)
         );
     }
 
     @Override
     public List<DatoCompensacion> findByFuncionSapAndPeriodoBetween(int funcionSap, int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .funcionSap(funcionSap)
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByFuncionSapAndCodigoPeriodoBetween(funcionSap, periodoInicio, periodoFin)
         );
     }
@@ -105,7 +183,14 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
     @Override
     public List<DatoCompensacion> findByNegocioAndIndicadorAndPeriodoBetween(
             String negocio, String indicador, int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .negocio(normalizeString(negocio)).indicador(normalizeString(indicador))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocioAndIndicadorAndCodigoPeriodoBetween(
                         normalizeString(negocio), normalizeString(indicador), periodoInicio, periodoFin)
         );
@@ -114,16 +199,53 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
     @Override
     public List<DatoCompensacion> findByNegocioAndPuestoAndPeriodoBetween(
             String negocio, String puesto, int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocioAndPuestoAndCodigoPeriodoBetween(
                         normalizeString(negocio), normalizeString(puesto), periodoInicio, periodoFin)
         );
     }
 
+    @Override
+    public List<DatoCompensacion> findByNegocioInAndPuestoInAndPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, int periodoInicio, int periodoFin) {
+        List<String> negociosNormalizados = negocios.stream().map(this::normalizeString).distinct().toList();
+        List<String> puestosNormalizados = puestos.stream().map(this::normalizeString).distinct().toList();
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            List<DatoCompensacion> datos = new ArrayList<>();
+            for (String negocio : negociosNormalizados) {
+                for (String puesto : puestosNormalizados) {
+                    datos.addAll(columnas.buscar(Consulta.builder()
+                            .negocio(negocio).puesto(puesto)
+                            .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                            .build()));
+                }
+            }
+            return datos;
+        }
+        return mapper.analiticosToDomainList(
+                mongoRepository.findByNegocioInAndPuestoInAndCodigoPeriodoBetween(
+                        negociosNormalizados, puestosNormalizados, periodoInicio, periodoFin));
+    }
+
     @Override
     public List<DatoCompensacion> findByNegocioAndPuestoAndPeriodo(
             String negocio, String puesto, int codigoPeriodo) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(codigoPeriodo).periodoFin(codigoPeriodo)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocioAndPuestoAndCodigoPeriodo(
                         normalizeString(negocio), normalizeString(puesto), codigoPeriodo)
         );
@@ -132,45 +254,218 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
     @Override
     public List<DatoCompensacion> findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
             String negocio, String puesto, String indicador, int periodoInicio, int periodoFin) {
-        return mapper.toDomainList(
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscar(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto)).indicador(normalizeString(indicador))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.analiticosToDomainList(
                 mongoRepository.findByNegocioAndPuestoAndIndicadorAndCodigoPeriodoBetween(
                         normalizeString(negocio), normalizeString(puesto), normalizeString(indicador), periodoInicio, periodoFin)
         );
     }
 
+    @Override
+    public List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarPorNegocioPeriodoEIndicador(codigosPeriodo);
+        }
+        return mongoRepository.sumarPorNegocioPeriodoEIndicador(codigosPeriodo).stream()
+                .map(t -> new TotalIndicador(t.getNegocio(), t.getCodigoPeriodo(), t.getIndicador(),
+                        normalizarEscala(t.getTotal())))
+                .toList();
+    }
+
+    @Override
+    public List<TotalIndicador> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarPorPeriodoEIndicador(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .build(), codigosPeriodo);
+        }
+        return mongoRepository.sumarPorPeriodoEIndicador(normalizeString(negocio), normalizeString(puesto), codigosPeriodo)
+                .stream()
+                .map(t -> new TotalIndicador(t.getNegocio(), t.getCodigoPeriodo(), t.getIndicador(),
+                        normalizarEscala(t.getTotal())))
+                .toList();
+    }
+
+    @Override
+    public List<TotalPuesto> sumarIndicadorPorPuesto(String indicador, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorPorPuesto(indicador, codigosPeriodo);
+        }
+        return mongoRepository.sumarIndicadorPorPuesto(normalizeString(indicador).toLowerCase(Locale.ROOT), codigosPeriodo)
+                .stream()
+                .map(t -> new TotalPuesto(t.getPuesto(), t.getNegocio(), t.getCodigoPeriodo(),
+                        normalizarEscala(t.getTotal()), t.getRegistros() != null ? t.getRegistros() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalPeriodo> sumarIndicadorPorPeriodo(String indicador, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorPorPeriodo(indicador, periodoInicio, periodoFin);
+        }
+        // Cada documento se suma al llegar del cursor: la memoria depende de los periodos, no de los registros.
+        // La comparacion no registra nombres en el diccionario (ni el consultado ni los de cada documento)
+        Predicate<String> esIndicador = DiccionarioDimension.INDICADORES.coincideCon(indicador);
+        Map<Integer, long[]> totales = new TreeMap<>();
+        try (Stream<DatoAnaliticoProjection> datos = mongoRepository.recorrerPorRangoDePeriodos(periodoInicio, periodoFin)) {
+            datos.forEach(dato -> {
+                if (dato.getCodigoPeriodo() != null && esIndicador.test(dato.getIndicador())) {
+                    long[] total = totales.computeIfAbsent(dato.getCodigoPeriodo(), k -> new long[2]);
+                    total[0] = Centavos.sumar(total[0], Centavos.de(dato.getValor()));
+                    total[1]++;
+                }
+            });
+        }
+        List<TotalPeriodo> resultado = new ArrayList<>(totales.size());
+        totales.forEach((codigoPeriodo, total) ->
+                resultado.add(new TotalPeriodo(codigoPeriodo, Centavos.aBigDecimal(total[0]), (int) total[1])));
+        return resultado;
+    }
+
+    @Override
+    public List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorYEmpleadosPorPeriodo(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build(), indicador, indicadorEmpleado);
+        }
+        return mongoRepository.sumarIndicadorYEmpleadosPorPeriodo(
+                        normalizeString(negocio), normalizeString(puesto),
+                        normalizeString(indicador).toLowerCase(Locale.ROOT),
+                        normalizeString(indicadorEmpleado).toLowerCase(Locale.ROOT),
+                        periodoInicio, periodoFin)
+                .stream()
+                .map(t -> new TotalEmpleadosPeriodo(t.getCodigoPeriodo(), t.getNegocio(), t.getPuesto(),
+                        normalizarEscala(t.getTotal()), t.getRegistros() != null ? t.getRegistros() : 0,
+                        t.getEmpleados() != null ? t.getEmpleados().intValue() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodoDeFuncionSap(
+            int funcionSap, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorYEmpleadosPorPeriodo(Consulta.builder()
+                    .funcionSap(funcionSap)
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build(), indicador, indicadorEmpleado);
+        }
+        return mongoRepository.sumarIndicadorYEmpleadosPorPeriodoDeFuncionSap(
+                        funcionSap,
+                        normalizeString(indicador).toLowerCase(Locale.ROOT),
+                        normalizeString(indicadorEmpleado).toLowerCase(Locale.ROOT),
+                        periodoInicio, periodoFin)
+                .stream()
+                .map(t -> new TotalEmpleadosPeriodo(t.getCodigoPeriodo(), t.getNegocio(), t.getPuesto(),
+                        normalizarEscala(t.getTotal()), t.getRegistros() != null ? t.getRegistros() : 0,
+                        t.getEmpleados() != null ? t.getEmpleados().intValue() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(
+            String indicadorCompensacion, String indicadorEmpleado, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarCompensacionYEmpleadosPorPuesto(indicadorCompensacion, indicadorEmpleado, codigosPeriodo);
+        }
+        return mongoRepository.sumarCompensacionYEmpleadosPorPuesto(
+                        normalizeString(indicadorCompensacion).toLowerCase(Locale.ROOT),
+                        normalizeString(indicadorEmpleado).toLowerCase(Locale.ROOT),
+                        codigosPeriodo)
+                .stream()
+                .map(t -> new TotalesPuesto(t.getPuesto(), t.getNegocio(), t.getCodigoPeriodo(),
+                        normalizarEscala(t.getCompensacion()), normalizarEscala(t.getEmpleados())))
+                .toList();
+    }
+
     @Override
     public List<String> findDistinctNegocios() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctNegocios();
+        }
         return mongoRepository.findDistinctNegocios();
     }
 
     @Override
     public List<String> findDistinctPuestosByNegocio(String negocio) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctPuestos(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
         return mongoRepository.findDistinctPuestosByNegocio(normalizeString(negocio));
     }
 
     @Override
     public List<Integer> findDistinctPeriodos() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctPeriodos();
+        }
         return mongoRepository.findDistinctPeriodos();
     }
 
     @Override
     public List<String> findDistinctIndicadores() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder().build());
+        }
         return mongoRepository.findDistinctIndicadores();
     }
 
     @Override
     public List<String> findDistinctIndicadoresByNegocio(String negocio) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
         return mongoRepository.findDistinctIndicadoresByNegocio(normalizeString(negocio));
     }
 
     @Override
     public List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .build());
+        }
         return mongoRepository.findDistinctIndicadoresByNegocioAndPuesto(
                 normalizeString(negocio), normalizeString(puesto));
     }
 
+    @Override
+    public Optional<Integer> findUltimoPeriodoConNegocios(String indicador, int minimoNegocios) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.ultimoPeriodoConNegocios(indicador, minimoNegocios);
+        }
+        return mongoRepository.findUltimoPeriodoConNegocios(
+                normalizeString(indicador).toLowerCase(Locale.ROOT), minimoNegocios);
+    }
+
     @Override
     public Optional<Integer> findMaxPeriodo() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.maxPeriodo();
+        }
         return mongoRepository.findTopByOrderByCodigoPeriodoDesc()
                 .map(DatoCompensacionDocument::getCodigoPeriodo);
     }
@@ -186,6 +481,15 @@ public class DatoCompensacionRepositoryAdapter implements DatoCompensacionReposi
         return mongoRepository.count();
     }
 
+    /**
+     * Quita los ceros a la derecha que deja la suma en Decimal128 (sin usar notacion exponencial)
+     */
+    private BigDecimal normalizarEscala(BigDecimal value) {
+        if (value == null) return BigDecimal.ZERO;
+        BigDecimal normalizado = value.stripTrailingZeros();
+        return normalizado.scale() < 0 ? normalizado.setScale(0) : normalizado;
+    }
+
     /**
      * Normaliza strings removiendo espacios extra
      */
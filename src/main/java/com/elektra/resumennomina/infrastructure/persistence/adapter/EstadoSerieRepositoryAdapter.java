@@ -0,0 +1,40 @@
+package com.elektra.resumennomina.infrastructure.persistence.adapter;
+
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+import com.elektra.resumennomina.domain.port.output.EstadoSerieRepository;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.EstadoSerieMapper;
+import com.elektra.resumennomina.infrastructure.persistence.repository.EstadoSerieMongoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adaptador que implementa el puerto EstadoSerieRepository
+ * usando MongoDB como persistencia.
+ */
+@Component
+@RequiredArgsConstructor
+public class EstadoSerieRepositoryAdapter implements EstadoSerieRepository {
+
+    private final EstadoSerieMongoRepository mongoRepository;
+    private final EstadoSerieMapper mapper;
+
+    @Override
+    public List<EstadoSerie> findAll() {
+        return mapper.toDomainList(mongoRepository.findAll());
+    }
+
+    @Override
+    public void replaceAll(List<EstadoSerie> estados) {
+        mongoRepository.deleteAll();
+        if (!estados.isEmpty()) {
+            mongoRepository.insert(mapper.toDocumentList(estados));
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        mongoRepository.deleteAll();
+    }
+}
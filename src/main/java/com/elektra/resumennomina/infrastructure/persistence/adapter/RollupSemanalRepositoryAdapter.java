@@ -0,0 +1,492 @@
+package com.elektra.resumennomina.infrastructure.persistence.adapter;
+
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import com.elektra.resumennomina.infrastructure.persistence.document.RollupSemanalDocument;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.RollupSemanalMapper;
+import com.elektra.resumennomina.infrastructure.persistence.repository.DatoCompensacionMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.repository.RollupSemanalMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion.Consulta;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.SnapshotCompensacion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Adaptador que implementa el puerto RollupSemanalRepository sobre la coleccion rollup_semanal.
+ * El rollup se calcula con una agregacion sobre datos_compensacion por bloques de periodos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupSemanalRepositoryAdapter implements RollupSemanalRepository {
+
+    private static final int PERIODOS_POR_BLOQUE = 8;
+    private static final String CAMPO_PERIODO = "codigoPeriodo";
+    private static final String CAMPO_VALOR = "valor";
+    private static final String CAMPO_REGISTROS = "registros";
+
+    private final RollupSemanalMongoRepository mongoRepository;
+    private final DatoCompensacionMongoRepository datosMongoRepository;
+    private final RollupSemanalMapper mapper;
+    private final MongoTemplate mongoTemplate;
+    private final SnapshotCompensacion snapshot;
+
+    // ========== MANTENIMIENTO ==========
+
+    /**
+     * Recalcula los periodos sin dejarlos vacios: cada serie-periodo se actualiza en su lugar (upsert por
+     * negocio, puesto, indicador y periodo) y al final de cada bloque se eliminan, periodo por periodo,
+     * solo las series que la agregacion ya no devolvio (sin registros).
+     * Mientras dura el recalculo, las consultas ven el valor anterior o el nuevo de cada serie, nunca un hueco.
+     * La eliminacion depende solo de los datos leidos y no de una marca del recalculo, asi que dos instancias
+     * que recalculan el mismo periodo a la vez no se borran las series entre si.
+     */
+    @Override
+    public void recalcularPeriodos(Collection<Integer> codigosPeriodo) {
+        if (codigosPeriodo.isEmpty()) {
+            return;
+        }
+        List<Integer> periodos = List.copyOf(codigosPeriodo);
+        int series = 0;
+        long eliminadas = 0;
+        for (int i = 0; i < periodos.size(); i += PERIODOS_POR_BLOQUE) {
+            List<Integer> bloque = periodos.subList(i, Math.min(i + PERIODOS_POR_BLOQUE, periodos.size()));
+            List<RollupSemanalDocument> documentos = datosMongoRepository.agruparRollupSemanal(bloque);
+            if (!documentos.isEmpty()) {
+                BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RollupSemanalDocument.class);
+                for (RollupSemanalDocument documento : documentos) {
+                    operaciones.upsert(claveSerie(documento), new Update()
+                            .set(CAMPO_VALOR, new Decimal128(normalizarEscala(documento.getValor())))
+                            .set(CAMPO_REGISTROS, documento.getRegistros()));
+                }
+                operaciones.execute();
+            }
+            Map<Integer, List<Criteria>> vigentesPorPeriodo = new TreeMap<>();
+            bloque.forEach(periodo -> vigentesPorPeriodo.put(periodo, new ArrayList<>()));
+            for (RollupSemanalDocument documento : documentos) {
+                vigentesPorPeriodo.computeIfAbsent(documento.getCodigoPeriodo(), k -> new ArrayList<>())
+                        .add(seriePeriodo(documento));
+            }
+            for (Map.Entry<Integer, List<Criteria>> vigentes : vigentesPorPeriodo.entrySet()) {
+                eliminadas += mongoTemplate.remove(Query.query(sinRegistros(vigentes.getKey(), vigentes.getValue())),
+                        RollupSemanalDocument.class).getDeletedCount();
+            }
+            series += documentos.size();
+        }
+        log.info("Rollup semanal recalculado: {} periodos, {} series-periodo, {} eliminadas",
+                periodos.size(), series, eliminadas);
+    }
+
+    /**
+     * Recalcula todos los periodos con datos y despues elimina los periodos que ya no tienen registros
+     */
+    @Override
+    public void reconstruir() {
+        log.warn("Reconstruyendo rollup_semanal");
+        List<Integer> periodos = datosMongoRepository.findDistinctPeriodos();
+        recalcularPeriodos(periodos);
+        long eliminadas = mongoTemplate.remove(Query.query(Criteria.where(CAMPO_PERIODO).nin(periodos)),
+                RollupSemanalDocument.class).getDeletedCount();
+        log.info("Rollup semanal reconstruido: {} series-periodo de periodos sin datos eliminadas", eliminadas);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mongoRepository.count() == 0;
+    }
+
+    // ========== CONSULTAS SOBRE EL ROLLUP ==========
+
+    @Override
+    public List<DatoCompensacion> findByPeriodo(int codigoPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.periodo(codigoPeriodo));
+        }
+        return mapper.toDomainList(mongoRepository.findByCodigoPeriodo(codigoPeriodo));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByPeriodoIn(Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            List<DatoCompensacion> datos = new ArrayList<>();
+            for (Integer codigoPeriodo : codigosPeriodo) {
+                datos.addAll(columnas.buscarAgrupado(Consulta.periodo(codigoPeriodo)));
+            }
+            return datos;
+        }
+        return mapper.toDomainList(mongoRepository.findByCodigoPeriodoIn(codigosPeriodo));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByPeriodoBetween(int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.toDomainList(mongoRepository.findByCodigoPeriodoBetween(periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocio(String negocio) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
+        return mapper.toDomainList(mongoRepository.findByNegocio(normalizeString(negocio)));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioAndPeriodo(String negocio, int codigoPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .negocio(normalizeString(negocio))
+                    .periodoInicio(codigoPeriodo).periodoFin(codigoPeriodo)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioAndCodigoPeriodo(normalizeString(negocio), codigoPeriodo));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByPuesto(String puesto) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder().puesto(normalizeString(puesto)).build());
+        }
+        return mapper.toDomainList(mongoRepository.findByPuesto(normalizeString(puesto)));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByPuestoAndPeriodoBetween(String puesto, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByPuestoAndCodigoPeriodoBetween(normalizeString(puesto), periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioAndIndicadorAndPeriodoBetween(
+            String negocio, String indicador, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .negocio(normalizeString(negocio)).indicador(normalizeString(indicador))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioAndIndicadorAndCodigoPeriodoBetween(
+                        normalizeString(negocio), normalizeString(indicador), periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioAndPuestoAndPeriodoBetween(
+            String negocio, String puesto, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioAndPuestoAndCodigoPeriodoBetween(
+                        normalizeString(negocio), normalizeString(puesto), periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioInAndPuestoInAndPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, int periodoInicio, int periodoFin) {
+        List<String> negociosNormalizados = negocios.stream().map(this::normalizeString).distinct().toList();
+        List<String> puestosNormalizados = puestos.stream().map(this::normalizeString).distinct().toList();
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            List<DatoCompensacion> datos = new ArrayList<>();
+            for (String negocio : negociosNormalizados) {
+                for (String puesto : puestosNormalizados) {
+                    datos.addAll(columnas.buscarAgrupado(Consulta.builder()
+                            .negocio(negocio).puesto(puesto)
+                            .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                            .build()));
+                }
+            }
+            return datos;
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioInAndPuestoInAndCodigoPeriodoBetween(
+                        negociosNormalizados, puestosNormalizados, periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioAndPuestoAndPeriodo(String negocio, String puesto, int codigoPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(codigoPeriodo).periodoFin(codigoPeriodo)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioAndPuestoAndCodigoPeriodo(
+                        normalizeString(negocio), normalizeString(puesto), codigoPeriodo));
+    }
+
+    @Override
+    public List<DatoCompensacion> findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
+            String negocio, String puesto, String indicador, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.buscarAgrupado(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto)).indicador(normalizeString(indicador))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build());
+        }
+        return mapper.toDomainList(
+                mongoRepository.findByNegocioAndPuestoAndIndicadorAndCodigoPeriodoBetween(
+                        normalizeString(negocio), normalizeString(puesto), normalizeString(indicador),
+                        periodoInicio, periodoFin));
+    }
+
+    @Override
+    public List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarPorNegocioPeriodoEIndicador(codigosPeriodo);
+        }
+        return mongoRepository.sumarPorNegocioPeriodoEIndicador(codigosPeriodo).stream()
+                .map(t -> new TotalIndicador(t.getNegocio(), t.getCodigoPeriodo(), t.getIndicador(),
+                        normalizarEscala(t.getTotal())))
+                .toList();
+    }
+
+    @Override
+    public List<TotalIndicador> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarPorPeriodoEIndicador(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .build(), codigosPeriodo);
+        }
+        return mongoRepository.sumarPorPeriodoEIndicador(normalizeString(negocio), normalizeString(puesto), codigosPeriodo)
+                .stream()
+                .map(t -> new TotalIndicador(t.getNegocio(), t.getCodigoPeriodo(), t.getIndicador(),
+                        normalizarEscala(t.getTotal())))
+                .toList();
+    }
+
+    @Override
+    public List<TotalPuesto> sumarIndicadorPorPuesto(String indicador, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorPorPuesto(indicador, codigosPeriodo);
+        }
+        return mongoRepository.sumarIndicadorPorPuesto(normalizeString(indicador).toLowerCase(Locale.ROOT), codigosPeriodo)
+                .stream()
+                .map(t -> new TotalPuesto(t.getPuesto(), t.getNegocio(), t.getCodigoPeriodo(),
+                        normalizarEscala(t.getTotal()), t.getRegistros() != null ? t.getRegistros() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalPeriodo> sumarIndicadorPorPeriodo(String indicador, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorPorPeriodo(indicador, periodoInicio, periodoFin);
+        }
+        return mongoRepository.sumarIndicadorPorPeriodo(
+                        normalizeString(indicador).toLowerCase(Locale.ROOT), periodoInicio, periodoFin)
+                .stream()
+                .map(t -> new TotalPeriodo(t.getCodigoPeriodo(), normalizarEscala(t.getTotal()),
+                        t.getRegistros() != null ? t.getRegistros() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicador, String indicadorEmpleado, int periodoInicio, int periodoFin) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarIndicadorYEmpleadosPorPeriodo(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .periodoInicio(periodoInicio).periodoFin(periodoFin)
+                    .build(), indicador, indicadorEmpleado);
+        }
+        return mongoRepository.sumarIndicadorYEmpleadosPorPeriodo(
+                        normalizeString(negocio), normalizeString(puesto),
+                        normalizeString(indicador).toLowerCase(Locale.ROOT),
+                        normalizeString(indicadorEmpleado).toLowerCase(Locale.ROOT),
+                        periodoInicio, periodoFin)
+                .stream()
+                .map(t -> new TotalEmpleadosPeriodo(t.getCodigoPeriodo(), t.getNegocio(), t.getPuesto(),
+                        normalizarEscala(t.getTotal()), t.getRegistros() != null ? t.getRegistros() : 0,
+                        t.getEmpleados() != null ? t.getEmpleados().intValue() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(
+            String indicadorCompensacion, String indicadorEmpleado, Collection<Integer> codigosPeriodo) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.sumarCompensacionYEmpleadosPorPuesto(indicadorCompensacion, indicadorEmpleado, codigosPeriodo);
+        }
+        return mongoRepository.sumarCompensacionYEmpleadosPorPuesto(
+                        normalizeString(indicadorCompensacion).toLowerCase(Locale.ROOT),
+                        normalizeString(indicadorEmpleado).toLowerCase(Locale.ROOT),
+                        codigosPeriodo)
+                .stream()
+                .map(t -> new TotalesPuesto(t.getPuesto(), t.getNegocio(), t.getCodigoPeriodo(),
+                        normalizarEscala(t.getCompensacion()), normalizarEscala(t.getEmpleados())))
+                .toList();
+    }
+
+    @Override
+    public List<String> findDistinctNegocios() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctNegocios();
+        }
+        return mongoRepository.findDistinctNegocios();
+    }
+
+    @Override
+    public List<String> findDistinctPuestosByNegocio(String negocio) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctPuestos(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
+        return mongoRepository.findDistinctPuestosByNegocio(normalizeString(negocio));
+    }
+
+    @Override
+    public List<Integer> findDistinctPeriodos() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctPeriodos();
+        }
+        return mongoRepository.findDistinctPeriodos();
+    }
+
+    @Override
+    public List<String> findDistinctIndicadores() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder().build());
+        }
+        return mongoRepository.findDistinctIndicadores();
+    }
+
+    @Override
+    public List<String> findDistinctIndicadoresByNegocio(String negocio) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder().negocio(normalizeString(negocio)).build());
+        }
+        return mongoRepository.findDistinctIndicadoresByNegocio(normalizeString(negocio));
+    }
+
+    @Override
+    public List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.distinctIndicadores(Consulta.builder()
+                    .negocio(normalizeString(negocio)).puesto(normalizeString(puesto))
+                    .build());
+        }
+        return mongoRepository.findDistinctIndicadoresByNegocioAndPuesto(
+                normalizeString(negocio), normalizeString(puesto));
+    }
+
+    @Override
+    public Optional<Integer> findUltimoPeriodoConNegocios(String indicador, int minimoNegocios) {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.ultimoPeriodoConNegocios(indicador, minimoNegocios);
+        }
+        return mongoRepository.findUltimoPeriodoConNegocios(
+                normalizeString(indicador).toLowerCase(Locale.ROOT), minimoNegocios);
+    }
+
+    @Override
+    public Optional<Integer> findMaxPeriodo() {
+        ColumnasCompensacion columnas = snapshot.vigente();
+        if (columnas != null) {
+            return columnas.maxPeriodo();
+        }
+        return mongoRepository.findTopByOrderByCodigoPeriodoDesc()
+                .map(RollupSemanalDocument::getCodigoPeriodo);
+    }
+
+    private Query claveSerie(RollupSemanalDocument documento) {
+        return Query.query(Criteria.where("negocio").is(documento.getNegocio())
+                .and("puesto").is(documento.getPuesto())
+                .and("indicador").is(documento.getIndicador())
+                .and(CAMPO_PERIODO).is(documento.getCodigoPeriodo()));
+    }
+
+    /**
+     * Serie (negocio, puesto, indicador) dentro de un periodo ya filtrado
+     */
+    private Criteria seriePeriodo(RollupSemanalDocument documento) {
+        return Criteria.where("negocio").is(documento.getNegocio())
+                .and("puesto").is(documento.getPuesto())
+                .and("indicador").is(documento.getIndicador());
+    }
+
+    /**
+     * Series del periodo que no estan entre las vigentes; sin vigentes, todas las del periodo
+     */
+    private Criteria sinRegistros(int codigoPeriodo, List<Criteria> vigentes) {
+        Criteria criteria = Criteria.where(CAMPO_PERIODO).is(codigoPeriodo);
+        return vigentes.isEmpty() ? criteria : criteria.norOperator(vigentes);
+    }
+
+    /**
+     * Quita los ceros a la derecha que deja la suma en Decimal128 (sin usar notacion exponencial)
+     */
+    private BigDecimal normalizarEscala(BigDecimal value) {
+        if (value == null) return BigDecimal.ZERO;
+        BigDecimal normalizado = value.stripTrailingZeros();
+        return normalizado.scale() < 0 ? normalizado.setScale(0) : normalizado;
+    }
+
+    /**
+     * Normaliza strings removiendo espacios extra
+     */
+    private String normalizeString(String value) {
+        if (value == null) return null;
+        return value.trim();
+    }
+}
@@ -0,0 +1,75 @@
+package com.elektra.resumennomina.infrastructure.persistence.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Documento MongoDB con las alertas precalculadas de un periodo.
+ * Se genera despues de cada carga de datos; el id es el codigo del periodo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "alertas_materializadas")
+public class AlertasPeriodoDocument {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    @Field("codigoPeriodo")
+    private Integer codigoPeriodo;
+
+    @Field("fechaCalculo")
+    private LocalDateTime fechaCalculo;
+
+    @Field("alertasZScore")
+    private List<AlertaZScoreItem> alertasZScore;
+
+    @Field("alertasPrediccion")
+    private List<AlertaPrediccionItem> alertasPrediccion;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AlertaZScoreItem {
+        private String negocio;
+        private String puesto;
+        private String indicador;
+        private BigDecimal variacionPorcentual;
+        private BigDecimal variacionMedia;
+        private BigDecimal desviacionEstandar;
+        private BigDecimal limiteInferior;
+        private BigDecimal limiteSuperior;
+        private BigDecimal zScore;
+        private String severidad;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AlertaPrediccionItem {
+        private String negocio;
+        private String puesto;
+        private String indicador;
+        private BigDecimal observacionReal;
+        private BigDecimal pronostico;
+        private BigDecimal limiteInferior;
+        private BigDecimal limiteSuperior;
+        private BigDecimal variacionFueraRango;
+        private boolean historiaInsuficiente;
+    }
+}
@@ -0,0 +1,66 @@
+package com.elektra.resumennomina.infrastructure.persistence.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+/**
+ * Documento MongoDB con el estado acumulado (ventana y estadísticas de Welford) de una serie.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "estado_series")
+public class EstadoSerieDocument {
+
+    @Id
+    private String id;
+
+    @Field("negocio")
+    private String negocio;
+
+    @Field("puesto")
+    private String puesto;
+
+    @Field("indicador")
+    private String indicador;
+
+    @Field("codigoPeriodo")
+    private Integer codigoPeriodo;
+
+    @Field("puntos")
+    private List<PuntoItem> puntos;
+
+    @Field("registros")
+    private Integer registros;
+
+    @Field("variacionActual")
+    private Double variacionActual;
+
+    @Field("conteo")
+    private Integer conteo;
+
+    @Field("media")
+    private Double media;
+
+    @Field("m2")
+    private Double m2;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PuntoItem {
+        private int codigoPeriodo;
+        private double valor;
+        private int registros;
+        private Double variacion;
+    }
+}
@@ -0,0 +1,54 @@
+package com.elektra.resumennomina.infrastructure.persistence.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * Documento MongoDB del rollup semanal: suma de valor y cantidad de registros de una serie
+ * (negocio, puesto, indicador) en un periodo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rollup_semanal")
+@CompoundIndexes({
+        @CompoundIndex(name = "idx_serie_periodo", def = "{'negocio': 1, 'puesto': 1, 'indicador': 1, 'codigoPeriodo': 1}", unique = true),
+        @CompoundIndex(name = "idx_negocio_indicador_periodo", def = "{'negocio': 1, 'indicador': 1, 'codigoPeriodo': 1}"),
+        @CompoundIndex(name = "idx_puesto_periodo", def = "{'puesto': 1, 'codigoPeriodo': 1}")
+})
+public class RollupSemanalDocument {
+
+    @Id
+    private String id;
+
+    @Field("negocio")
+    private String negocio;
+
+    @Field("puesto")
+    private String puesto;
+
+    @Field("indicador")
+    private String indicador;
+
+    @Indexed
+    @Field("codigoPeriodo")
+    private Integer codigoPeriodo;
+
+    @Field(name = "valor", targetType = FieldType.DECIMAL128)
+    private BigDecimal valor;
+
+    @Field("registros")
+    private Integer registros;
+}
@@ -0,0 +1,29 @@
+package com.elektra.resumennomina.infrastructure.persistence.mapper;
+
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.infrastructure.persistence.document.AlertasPeriodoDocument.AlertaPrediccionItem;
+import com.elektra.resumennomina.infrastructure.persistence.document.AlertasPeriodoDocument.AlertaZScoreItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Mapper para convertir entre las alertas (dominio) y los items de AlertasPeriodoDocument (persistencia).
+ * El periodo se asigna desde el documento contenedor.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AlertasPeriodoMapper {
+
+    @Mapping(target = "zScore", source = "ZScore")
+    AlertaZScoreItem toItem(AlertaZScore alerta);
+
+    @Mapping(target = "zScore", source = "ZScore")
+    @Mapping(target = "periodo", ignore = true)
+    AlertaZScore toDomain(AlertaZScoreItem item);
+
+    AlertaPrediccionItem toItem(AlertaPrediccion alerta);
+
+    @Mapping(target = "periodo", ignore = true)
+    AlertaPrediccion toDomain(AlertaPrediccionItem item);
+}
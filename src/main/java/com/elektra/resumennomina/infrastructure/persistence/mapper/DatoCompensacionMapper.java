@@ -2,6 +2,7 @@ package com.elektra.resumennomina.infrastructure.persistence.mapper;
 
 import com.elektra.resumennomina.domain.model.DatoCompensacion;
 import com.elektra.resumennomina.infrastructure.persistence.document.DatoCompensacionDocument;
+import com.elektra.resumennomina.infrastructure.persistence.projection.DatoAnaliticoProjection;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -17,9 +18,14 @@ public interface DatoCompensacionMapper {
     @Mapping(target = "periodo", ignore = true)
     DatoCompensacion toDomain(DatoCompensacionDocument document);
 
+    @Mapping(target = "periodo", ignore = true)
+    DatoCompensacion toDomain(DatoAnaliticoProjection proyeccion);
+
     DatoCompensacionDocument toDocument(DatoCompensacion domain);
 
     List<DatoCompensacion> toDomainList(List<DatoCompensacionDocument> documents);
 
+    List<DatoCompensacion> analiticosToDomainList(List<DatoAnaliticoProjection> proyecciones);
+
     List<DatoCompensacionDocument> toDocumentList(List<DatoCompensacion> domains);
 }
@@ -0,0 +1,25 @@
+package com.elektra.resumennomina.infrastructure.persistence.mapper;
+
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+import com.elektra.resumennomina.infrastructure.persistence.document.EstadoSerieDocument;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Mapper para convertir entre EstadoSerie (dominio) y EstadoSerieDocument (persistencia).
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface EstadoSerieMapper {
+
+    EstadoSerie toDomain(EstadoSerieDocument document);
+
+    @Mapping(target = "id", ignore = true)
+    EstadoSerieDocument toDocument(EstadoSerie domain);
+
+    List<EstadoSerie> toDomainList(List<EstadoSerieDocument> documents);
+
+    List<EstadoSerieDocument> toDocumentList(List<EstadoSerie> domains);
+}
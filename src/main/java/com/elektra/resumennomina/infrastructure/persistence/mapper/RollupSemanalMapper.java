@@ -0,0 +1,21 @@
+package com.elektra.resumennomina.infrastructure.persistence.mapper;
+
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.infrastructure.persistence.document.RollupSemanalDocument;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Mapper para convertir un RollupSemanalDocument en el DatoCompensacion de su serie y periodo.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface RollupSemanalMapper {
+
+    @Mapping(target = "periodo", ignore = true)
+    DatoCompensacion toDomain(RollupSemanalDocument document);
+
+    List<DatoCompensacion> toDomainList(List<RollupSemanalDocument> documents);
+}
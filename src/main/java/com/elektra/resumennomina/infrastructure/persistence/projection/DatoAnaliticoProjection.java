@@ -0,0 +1,26 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Lectura compacta de datos_compensacion para las consultas analiticas.
+ * Solo trae los campos que usan los calculos (periodo, negocio, puesto, indicador, valor y funcion SAP);
+ * los detalles, canal y codigos del CSV no viajan ni se decodifican.
+ */
+@Data
+@NoArgsConstructor
+public class DatoAnaliticoProjection {
+
+    /** Proyeccion de Mongo con los campos de esta clase */
+    public static final String CAMPOS = "{ _id: 0, funcionSap: 1, codigoPeriodo: 1, negocio: 1, puesto: 1, indicador: 1, valor: 1 }";
+
+    private Integer funcionSap;
+    private Integer codigoPeriodo;
+    private String negocio;
+    private String puesto;
+    private String indicador;
+    private BigDecimal valor;
+}
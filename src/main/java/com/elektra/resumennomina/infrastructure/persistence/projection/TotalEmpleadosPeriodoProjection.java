@@ -0,0 +1,21 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la agregacion de un indicador y de empleados por periodo.
+ */
+@Data
+@NoArgsConstructor
+public class TotalEmpleadosPeriodoProjection {
+
+    private Integer codigoPeriodo;
+    private String negocio;
+    private String puesto;
+    private BigDecimal total;
+    private Integer registros;
+    private BigDecimal empleados;
+}
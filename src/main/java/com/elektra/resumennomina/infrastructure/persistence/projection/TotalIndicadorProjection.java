@@ -0,0 +1,19 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la agregacion de totales por negocio, periodo e indicador.
+ */
+@Data
+@NoArgsConstructor
+public class TotalIndicadorProjection {
+
+    private String negocio;
+    private Integer codigoPeriodo;
+    private String indicador;
+    private BigDecimal total;
+}
@@ -0,0 +1,18 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la agregacion de un indicador por periodo.
+ */
+@Data
+@NoArgsConstructor
+public class TotalPeriodoProjection {
+
+    private Integer codigoPeriodo;
+    private BigDecimal total;
+    private Integer registros;
+}
@@ -0,0 +1,20 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la agregacion de un indicador por puesto y periodo.
+ */
+@Data
+@NoArgsConstructor
+public class TotalPuestoProjection {
+
+    private String puesto;
+    private Integer codigoPeriodo;
+    private String negocio;
+    private BigDecimal total;
+    private Integer registros;
+}
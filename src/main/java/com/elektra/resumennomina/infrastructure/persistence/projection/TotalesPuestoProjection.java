@@ -0,0 +1,20 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la agregacion de Compensacion y Empleado por puesto y periodo.
+ */
+@Data
+@NoArgsConstructor
+public class TotalesPuestoProjection {
+
+    private String puesto;
+    private Integer codigoPeriodo;
+    private String negocio;
+    private BigDecimal compensacion;
+    private BigDecimal empleados;
+}
@@ -0,0 +1,19 @@
+package com.elektra.resumennomina.infrastructure.persistence.repository;
+
+import com.elektra.resumennomina.infrastructure.persistence.document.AlertasPeriodoDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repositorio MongoDB para AlertasPeriodoDocument.
+ */
+@Repository
+public interface AlertasPeriodoMongoRepository extends MongoRepository<AlertasPeriodoDocument, String> {
+
+    Optional<AlertasPeriodoDocument> findByCodigoPeriodo(Integer codigoPeriodo);
+
+    void deleteByCodigoPeriodoIn(Collection<Integer> codigosPeriodo);
+}
@@ -1,63 +1,179 @@
 package com.elektra.resumennomina.infrastructure.persistence.repository;
 
 import com.elektra.resumennomina.infrastructure.persistence.document.DatoCompensacionDocument;
+import com.elektra.resumennomina.infrastructure.persistence.document.RollupSemanalDocument;
+import com.elektra.resumennomina.infrastructure.persistence.projection.DatoAnaliticoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalEmpleadosPeriodoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalIndicadorProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalPuestoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalesPuestoProjection;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio MongoDB para DatoCompensacionDocument.
+ * Las busquedas analiticas devuelven DatoAnaliticoProjection: solo los campos que usan los calculos.
  */
 @Repository
 public interface DatoCompensacionMongoRepository extends MongoRepository<DatoCompensacionDocument, String> {
 
     // Busquedas por periodo
-    List<DatoCompensacionDocument> findByCodigoPeriodo(Integer codigoPeriodo);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByCodigoPeriodo(Integer codigoPeriodo);
 
-    List<DatoCompensacionDocument> findByCodigoPeriodoBetween(Integer periodoInicio, Integer periodoFin);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByCodigoPeriodoBetween(Integer periodoInicio, Integer periodoFin);
+
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByCodigoPeriodoIn(Collection<Integer> codigosPeriodo);
 
     // Busquedas por negocio
-    List<DatoCompensacionDocument> findByNegocio(String negocio);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocio(String negocio);
 
-    List<DatoCompensacionDocument> findByNegocioAndCodigoPeriodo(String negocio, Integer codigoPeriodo);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndCodigoPeriodo(String negocio, Integer codigoPeriodo);
 
-    List<DatoCompensacionDocument> findByNegocioAndCodigoPeriodoBetween(
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndCodigoPeriodoBetween(
             String negocio, Integer periodoInicio, Integer periodoFin);
 
     // Busquedas por puesto
-    List<DatoCompensacionDocument> findByPuesto(String puesto);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByPuesto(String puesto);
 
-    List<DatoCompensacionDocument> findByPuestoAndCodigoPeriodoBetween(
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByPuestoAndCodigoPeriodoBetween(
             String puesto, Integer periodoInicio, Integer periodoFin);
 
     // Busquedas por funcion SAP
-    List<DatoCompensacionDocument> findByFuncionSap(Integer funcionSap);
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByFuncionSap(Integer funcionSap);
 
-    List<DatoCompensacionDocument> findByFuncionSapAndCodigoPeriodoBetween(
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByFuncionSapAndCodigoPeriodoBetween(
             Integer funcionSap, Integer periodoInicio, Integer periodoFin);
 
     // Busquedas combinadas
-    List<DatoCompensacionDocument> findByNegocioAndIndicadorAndCodigoPeriodoBetween(
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndIndicadorAndCodigoPeriodoBetween(
             String negocio, String indicador, Integer periodoInicio, Integer periodoFin);
 
     // Busquedas por negocio y puesto
-    @Query("{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': { $gte: ?2, $lte: ?3 } }")
-    List<DatoCompensacionDocument> findByNegocioAndPuestoAndCodigoPeriodoBetween(
+    @Query(value = "{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': { $gte: ?2, $lte: ?3 } }",
+            fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndPuestoAndCodigoPeriodoBetween(
             String negocio, String puesto, Integer periodoInicio, Integer periodoFin);
 
+    @Query(value = "{ 'negocio': { $in: ?0 }, 'puesto': { $in: ?1 }, 'codigoPeriodo': { $gte: ?2, $lte: ?3 } }",
+            fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioInAndPuestoInAndCodigoPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, Integer periodoInicio, Integer periodoFin);
+
     // Busqueda por negocio, puesto y periodo exacto
-    @Query("{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': ?2 }")
-    List<DatoCompensacionDocument> findByNegocioAndPuestoAndCodigoPeriodo(
+    @Query(value = "{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': ?2 }",
+            fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndPuestoAndCodigoPeriodo(
             String negocio, String puesto, Integer codigoPeriodo);
 
     // Busquedas por negocio, puesto e indicador
-    List<DatoCompensacionDocument> findByNegocioAndPuestoAndIndicadorAndCodigoPeriodoBetween(
+    @Query(fields = DatoAnaliticoProjection.CAMPOS)
+    List<DatoAnaliticoProjection> findByNegocioAndPuestoAndIndicadorAndCodigoPeriodoBetween(
             String negocio, String puesto, String indicador, Integer periodoInicio, Integer periodoFin);
 
+    // Rollup semanal: suma de valor y registros por serie y periodo
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?0 } } }",
+            "{ $group: { _id: { negocio: '$negocio', puesto: '$puesto', indicador: '$indicador', codigoPeriodo: '$codigoPeriodo' }, "
+                    + "valor: { $sum: { $toDecimal: '$valor' } }, registros: { $sum: 1 } } }",
+            "{ $project: { _id: 0, negocio: '$_id.negocio', puesto: '$_id.puesto', indicador: '$_id.indicador', "
+                    + "codigoPeriodo: '$_id.codigoPeriodo', valor: 1, registros: 1 } }"
+    })
+    List<RollupSemanalDocument> agruparRollupSemanal(Collection<Integer> codigosPeriodo);
+
+    // Totales por negocio, periodo e indicador; valor puede estar guardado como numero o texto
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?0 } } }",
+            "{ $group: { _id: { negocio: '$negocio', codigoPeriodo: '$codigoPeriodo', indicador: '$indicador' }, total: { $sum: { $toDecimal: '$valor' } } } }",
+            "{ $project: { _id: 0, negocio: '$_id.negocio', codigoPeriodo: '$_id.codigoPeriodo', indicador: '$_id.indicador', total: 1 } }"
+    })
+    List<TotalIndicadorProjection> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo);
+
+    // Totales por periodo e indicador de un negocio y puesto
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0, puesto: ?1, codigoPeriodo: { $in: ?2 } } }",
+            "{ $group: { _id: { codigoPeriodo: '$codigoPeriodo', indicador: '$indicador' }, negocio: { $first: '$negocio' }, total: { $sum: { $toDecimal: '$valor' } } } }",
+            "{ $project: { _id: 0, negocio: 1, codigoPeriodo: '$_id.codigoPeriodo', indicador: '$_id.indicador', total: 1 } }"
+    })
+    List<TotalIndicadorProjection> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo);
+
+    // Total de un indicador (comparado en minusculas) por puesto y periodo, con el primer negocio del puesto
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?1 } } }",
+            "{ $project: { puesto: 1, codigoPeriodo: 1, negocio: 1, valor: 1, esIndicador: { $eq: [ { $toLower: '$indicador' }, ?0 ] } } }",
+            "{ $group: { _id: { puesto: '$puesto', codigoPeriodo: '$codigoPeriodo' }, negocio: { $first: '$negocio' }, "
+                    + "total: { $sum: { $cond: [ '$esIndicador', { $toDecimal: '$valor' }, 0 ] } }, "
+                    + "registros: { $sum: { $cond: [ '$esIndicador', 1, 0 ] } } } }",
+            "{ $project: { _id: 0, puesto: '$_id.puesto', codigoPeriodo: '$_id.codigoPeriodo', negocio: 1, total: 1, registros: 1 } }"
+    })
+    List<TotalPuestoProjection> sumarIndicadorPorPuesto(String indicadorMinusculas, Collection<Integer> codigosPeriodo);
+
+    // Totales de compensacion y empleados (indicadores comparados en minusculas) por puesto y periodo
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?2 } } }",
+            "{ $project: { puesto: 1, codigoPeriodo: 1, negocio: 1, valor: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $group: { _id: { puesto: '$puesto', codigoPeriodo: '$codigoPeriodo' }, negocio: { $first: '$negocio' }, "
+                    + "compensacion: { $sum: { $cond: [ { $eq: [ '$indicador', ?0 ] }, { $toDecimal: '$valor' }, 0 ] } }, "
+                    + "empleados: { $sum: { $cond: [ { $eq: [ '$indicador', ?1 ] }, { $toDecimal: '$valor' }, 0 ] } } } }",
+            "{ $project: { _id: 0, puesto: '$_id.puesto', codigoPeriodo: '$_id.codigoPeriodo', negocio: 1, compensacion: 1, empleados: 1 } }"
+    })
+    List<TotalesPuestoProjection> sumarCompensacionYEmpleadosPorPuesto(
+            String compensacionMinusculas, String empleadoMinusculas, Collection<Integer> codigosPeriodo);
+
+    // Totales por periodo de un indicador y de empleados (comparados en minusculas) de un negocio y puesto
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0, puesto: ?1, codigoPeriodo: { $gte: ?4, $lte: ?5 } } }",
+            "{ $project: { codigoPeriodo: 1, negocio: 1, puesto: 1, valor: { $toDecimal: '$valor' }, registros: { $literal: 1 }, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: { $in: [ ?2, ?3 ] } } }",
+            "{ $group: { _id: '$codigoPeriodo', negocio: { $first: '$negocio' }, puesto: { $first: '$puesto' }, "
+                    + "total: { $sum: { $cond: [ { $eq: [ '$indicador', ?2 ] }, '$valor', 0 ] } }, "
+                    + "registros: { $sum: { $cond: [ { $eq: [ '$indicador', ?2 ] }, '$registros', 0 ] } }, "
+                    + "empleados: { $sum: { $cond: [ { $eq: [ '$indicador', ?3 ] }, { $trunc: '$valor' }, 0 ] } } } }",
+            "{ $sort: { _id: 1 } }",
+            "{ $project: { _id: 0, codigoPeriodo: '$_id', negocio: 1, puesto: 1, total: 1, registros: 1, empleados: 1 } }"
+    })
+    List<TotalEmpleadosPeriodoProjection> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicadorMinusculas, String empleadoMinusculas,
+            Integer periodoInicio, Integer periodoFin);
+
+    // Totales por periodo de un indicador y de empleados (comparados en minusculas) de una funcion SAP
+    @Aggregation(pipeline = {
+            "{ $match: { funcionSap: ?0, codigoPeriodo: { $gte: ?3, $lte: ?4 } } }",
+            "{ $project: { codigoPeriodo: 1, negocio: 1, puesto: 1, valor: { $toDecimal: '$valor' }, registros: { $literal: 1 }, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: { $in: [ ?1, ?2 ] } } }",
+            "{ $group: { _id: '$codigoPeriodo', negocio: { $first: '$negocio' }, puesto: { $first: '$puesto' }, "
+                    + "total: { $sum: { $cond: [ { $eq: [ '$indicador', ?1 ] }, '$valor', 0 ] } }, "
+                    + "registros: { $sum: { $cond: [ { $eq: [ '$indicador', ?1 ] }, '$registros', 0 ] } }, "
+                    + "empleados: { $sum: { $cond: [ { $eq: [ '$indicador', ?2 ] }, { $trunc: '$valor' }, 0 ] } } } }",
+            "{ $sort: { _id: 1 } }",
+            "{ $project: { _id: 0, codigoPeriodo: '$_id', negocio: 1, puesto: 1, total: 1, registros: 1, empleados: 1 } }"
+    })
+    List<TotalEmpleadosPeriodoProjection> sumarIndicadorYEmpleadosPorPeriodoDeFuncionSap(
+            Integer funcionSap, String indicadorMinusculas, String empleadoMinusculas,
+            Integer periodoInicio, Integer periodoFin);
+
+    // Recorrido con cursor de un rango inclusivo de periodos (solo periodo, indicador y valor); el Stream debe cerrarse
+    @Query(value = "{ 'codigoPeriodo': { $gte: ?0, $lte: ?1 } }",
+            fields = "{ _id: 0, codigoPeriodo: 1, indicador: 1, valor: 1 }")
+    Stream<DatoAnaliticoProjection> recorrerPorRangoDePeriodos(Integer periodoInicio, Integer periodoFin);
+
     // Agregaciones para valores distintos
     @Aggregation(pipeline = {
             "{ $group: { _id: '$negocio' } }",
@@ -99,6 +215,19 @@ public interface DatoCompensacionMongoRepository extends MongoRepository<DatoCom
     })
     List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto);
 
+    // Periodo mas reciente con al menos ?1 negocios con registros del indicador (comparado en minusculas)
+    @Aggregation(pipeline = {
+            "{ $project: { codigoPeriodo: 1, negocio: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: ?0 } }",
+            "{ $group: { _id: { codigoPeriodo: '$codigoPeriodo', negocio: '$negocio' } } }",
+            "{ $group: { _id: '$_id.codigoPeriodo', negocios: { $sum: 1 } } }",
+            "{ $match: { negocios: { $gte: ?1 } } }",
+            "{ $sort: { _id: -1 } }",
+            "{ $limit: 1 }",
+            "{ $project: { _id: 1 } }"
+    })
+    Optional<Integer> findUltimoPeriodoConNegocios(String indicadorMinusculas, int minimoNegocios);
+
     // Obtener el periodo maximo
     @Aggregation(pipeline = {
             "{ $sort: { codigoPeriodo: -1 } }",
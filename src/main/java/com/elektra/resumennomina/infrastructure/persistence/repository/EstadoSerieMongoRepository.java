@@ -0,0 +1,12 @@
+package com.elektra.resumennomina.infrastructure.persistence.repository;
+
+import com.elektra.resumennomina.infrastructure.persistence.document.EstadoSerieDocument;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio MongoDB para EstadoSerieDocument.
+ */
+@Repository
+public interface EstadoSerieMongoRepository extends MongoRepository<EstadoSerieDocument, String> {
+}
@@ -0,0 +1,176 @@
+package com.elektra.resumennomina.infrastructure.persistence.repository;
+
+import com.elektra.resumennomina.infrastructure.persistence.document.RollupSemanalDocument;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalEmpleadosPeriodoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalIndicadorProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalPeriodoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalPuestoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalesPuestoProjection;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio MongoDB para RollupSemanalDocument.
+ * Las consultas replican las de DatoCompensacionMongoRepository sobre el rollup.
+ */
+@Repository
+public interface RollupSemanalMongoRepository extends MongoRepository<RollupSemanalDocument, String> {
+
+    // Busquedas por periodo
+    List<RollupSemanalDocument> findByCodigoPeriodo(Integer codigoPeriodo);
+
+    List<RollupSemanalDocument> findByCodigoPeriodoBetween(Integer periodoInicio, Integer periodoFin);
+
+    List<RollupSemanalDocument> findByCodigoPeriodoIn(Collection<Integer> codigosPeriodo);
+
+    // Busquedas por negocio
+    List<RollupSemanalDocument> findByNegocio(String negocio);
+
+    List<RollupSemanalDocument> findByNegocioAndCodigoPeriodo(String negocio, Integer codigoPeriodo);
+
+    // Busquedas por puesto
+    List<RollupSemanalDocument> findByPuesto(String puesto);
+
+    List<RollupSemanalDocument> findByPuestoAndCodigoPeriodoBetween(
+            String puesto, Integer periodoInicio, Integer periodoFin);
+
+    // Busquedas combinadas
+    List<RollupSemanalDocument> findByNegocioAndIndicadorAndCodigoPeriodoBetween(
+            String negocio, String indicador, Integer periodoInicio, Integer periodoFin);
+
+    @Query("{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': { $gte: ?2, $lte: ?3 } }")
+    List<RollupSemanalDocument> findByNegocioAndPuestoAndCodigoPeriodoBetween(
+            String negocio, String puesto, Integer periodoInicio, Integer periodoFin);
+
+    @Query("{ 'negocio': { $in: ?0 }, 'puesto': { $in: ?1 }, 'codigoPeriodo': { $gte: ?2, $lte: ?3 } }")
+    List<RollupSemanalDocument> findByNegocioInAndPuestoInAndCodigoPeriodoBetween(
+            Collection<String> negocios, Collection<String> puestos, Integer periodoInicio, Integer periodoFin);
+
+    @Query("{ 'negocio': ?0, 'puesto': ?1, 'codigoPeriodo': ?2 }")
+    List<RollupSemanalDocument> findByNegocioAndPuestoAndCodigoPeriodo(
+            String negocio, String puesto, Integer codigoPeriodo);
+
+    List<RollupSemanalDocument> findByNegocioAndPuestoAndIndicadorAndCodigoPeriodoBetween(
+            String negocio, String puesto, String indicador, Integer periodoInicio, Integer periodoFin);
+
+    // Totales agregados (el valor del rollup ya es Decimal128)
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?0 } } }",
+            "{ $group: { _id: { negocio: '$negocio', codigoPeriodo: '$codigoPeriodo', indicador: '$indicador' }, total: { $sum: '$valor' } } }",
+            "{ $project: { _id: 0, negocio: '$_id.negocio', codigoPeriodo: '$_id.codigoPeriodo', indicador: '$_id.indicador', total: 1 } }"
+    })
+    List<TotalIndicadorProjection> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo);
+
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0, puesto: ?1, codigoPeriodo: { $in: ?2 } } }",
+            "{ $group: { _id: { codigoPeriodo: '$codigoPeriodo', indicador: '$indicador' }, negocio: { $first: '$negocio' }, total: { $sum: '$valor' } } }",
+            "{ $project: { _id: 0, negocio: 1, codigoPeriodo: '$_id.codigoPeriodo', indicador: '$_id.indicador', total: 1 } }"
+    })
+    List<TotalIndicadorProjection> sumarPorPeriodoEIndicador(String negocio, String puesto, Collection<Integer> codigosPeriodo);
+
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?1 } } }",
+            "{ $project: { puesto: 1, codigoPeriodo: 1, negocio: 1, valor: 1, registros: 1, esIndicador: { $eq: [ { $toLower: '$indicador' }, ?0 ] } } }",
+            "{ $group: { _id: { puesto: '$puesto', codigoPeriodo: '$codigoPeriodo' }, negocio: { $first: '$negocio' }, "
+                    + "total: { $sum: { $cond: [ '$esIndicador', '$valor', 0 ] } }, "
+                    + "registros: { $sum: { $cond: [ '$esIndicador', '$registros', 0 ] } } } }",
+            "{ $project: { _id: 0, puesto: '$_id.puesto', codigoPeriodo: '$_id.codigoPeriodo', negocio: 1, total: 1, registros: 1 } }"
+    })
+    List<TotalPuestoProjection> sumarIndicadorPorPuesto(String indicadorMinusculas, Collection<Integer> codigosPeriodo);
+
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $in: ?2 } } }",
+            "{ $project: { puesto: 1, codigoPeriodo: 1, negocio: 1, valor: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $group: { _id: { puesto: '$puesto', codigoPeriodo: '$codigoPeriodo' }, negocio: { $first: '$negocio' }, "
+                    + "compensacion: { $sum: { $cond: [ { $eq: [ '$indicador', ?0 ] }, '$valor', 0 ] } }, "
+                    + "empleados: { $sum: { $cond: [ { $eq: [ '$indicador', ?1 ] }, '$valor', 0 ] } } } }",
+            "{ $project: { _id: 0, puesto: '$_id.puesto', codigoPeriodo: '$_id.codigoPeriodo', negocio: 1, compensacion: 1, empleados: 1 } }"
+    })
+    List<TotalesPuestoProjection> sumarCompensacionYEmpleadosPorPuesto(
+            String compensacionMinusculas, String empleadoMinusculas, Collection<Integer> codigosPeriodo);
+
+    @Aggregation(pipeline = {
+            "{ $match: { codigoPeriodo: { $gte: ?1, $lte: ?2 } } }",
+            "{ $project: { codigoPeriodo: 1, valor: 1, registros: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: ?0 } }",
+            "{ $group: { _id: '$codigoPeriodo', total: { $sum: '$valor' }, registros: { $sum: '$registros' } } }",
+            "{ $sort: { _id: 1 } }",
+            "{ $project: { _id: 0, codigoPeriodo: '$_id', total: 1, registros: 1 } }"
+    })
+    List<TotalPeriodoProjection> sumarIndicadorPorPeriodo(String indicadorMinusculas, Integer periodoInicio, Integer periodoFin);
+
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0, puesto: ?1, codigoPeriodo: { $gte: ?4, $lte: ?5 } } }",
+            "{ $project: { codigoPeriodo: 1, negocio: 1, puesto: 1, valor: 1, registros: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: { $in: [ ?2, ?3 ] } } }",
+            "{ $group: { _id: '$codigoPeriodo', negocio: { $first: '$negocio' }, puesto: { $first: '$puesto' }, "
+                    + "total: { $sum: { $cond: [ { $eq: [ '$indicador', ?2 ] }, '$valor', 0 ] } }, "
+                    + "registros: { $sum: { $cond: [ { $eq: [ '$indicador', ?2 ] }, '$registros', 0 ] } }, "
+                    + "empleados: { $sum: { $cond: [ { $eq: [ '$indicador', ?3 ] }, { $trunc: '$valor' }, 0 ] } } } }",
+            "{ $sort: { _id: 1 } }",
+            "{ $project: { _id: 0, codigoPeriodo: '$_id', negocio: 1, puesto: 1, total: 1, registros: 1, empleados: 1 } }"
+    })
+    List<TotalEmpleadosPeriodoProjection> sumarIndicadorYEmpleadosPorPeriodo(
+            String negocio, String puesto, String indicadorMinusculas, String empleadoMinusculas,
+            Integer periodoInicio, Integer periodoFin);
+
+    // Valores distintos
+    @Aggregation(pipeline = {
+            "{ $group: { _id: '$negocio' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<String> findDistinctNegocios();
+
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0 } }",
+            "{ $group: { _id: '$puesto' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<String> findDistinctPuestosByNegocio(String negocio);
+
+    @Aggregation(pipeline = {
+            "{ $group: { _id: '$codigoPeriodo' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<Integer> findDistinctPeriodos();
+
+    @Aggregation(pipeline = {
+            "{ $group: { _id: '$indicador' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<String> findDistinctIndicadores();
+
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0 } }",
+            "{ $group: { _id: '$indicador' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<String> findDistinctIndicadoresByNegocio(String negocio);
+
+    @Aggregation(pipeline = {
+            "{ $match: { negocio: ?0, puesto: ?1 } }",
+            "{ $group: { _id: '$indicador' } }",
+            "{ $sort: { _id: 1 } }"
+    })
+    List<String> findDistinctIndicadoresByNegocioAndPuesto(String negocio, String puesto);
+
+    @Aggregation(pipeline = {
+            "{ $project: { codigoPeriodo: 1, negocio: 1, indicador: { $toLower: '$indicador' } } }",
+            "{ $match: { indicador: ?0 } }",
+            "{ $group: { _id: { codigoPeriodo: '$codigoPeriodo', negocio: '$negocio' } } }",
+            "{ $group: { _id: '$_id.codigoPeriodo', negocios: { $sum: 1 } } }",
+            "{ $match: { negocios: { $gte: ?1 } } }",
+            "{ $sort: { _id: -1 } }",
+            "{ $limit: 1 }",
+            "{ $project: { _id: 1 } }"
+    })
+    Optional<Integer> findUltimoPeriodoConNegocios(String indicadorMinusculas, int minimoNegocios);
+
+    Optional<RollupSemanalDocument> findTopByOrderByCodigoPeriodoDesc();
+}
@@ -0,0 +1,642 @@
+package com.elektra.resumennomina.infrastructure.persistence.snapshot;
+
+import com.elektra.resumennomina.domain.model.Centavos;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.domain.model.TotalesPuesto;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Copia en memoria de datos_compensacion organizada en columnas.
+ * negocio, puesto e indicador se guardan como ids de diccionario, el periodo como ordinal
+ * (Periodo.toOrdinal) y el valor en centavos. Las consultas recorren los arreglos sin crear
+ * objetos por registro; solo se materializan los resultados.
+ * Es inmutable: cada recarga construye una instancia nueva con el Constructor.
+ */
+public final class ColumnasCompensacion {
+
+    private static final int CUALQUIERA = -1;
+    private static final int NO_EXISTE = -2;
+
+    private final Diccionario negocios;
+    private final Diccionario puestos;
+    private final Diccionario indicadores;
+
+    private final int registros;
+    private final int[] negocio;
+    private final int[] puesto;
+    private final int[] indicador;
+    private final int[] ordinal;
+    private final int[] funcionSap;
+    private final BitSet sinFuncionSap;
+    private final long[] centavos;
+    private final BitSet sinValor;
+
+    private final int ordinalMinimo;
+    private final int ordinalMaximo;
+
+    private ColumnasCompensacion(Constructor c) {
+        this.negocios = c.negocios;
+        this.puestos = c.puestos;
+        this.indicadores = c.indicadores;
+        this.registros = c.registros;
+        this.negocio = Arrays.copyOf(c.negocio, c.registros);
+        this.puesto = Arrays.copyOf(c.puesto, c.registros);
+        this.indicador = Arrays.copyOf(c.indicador, c.registros);
+        this.ordinal = Arrays.copyOf(c.ordinal, c.registros);
+        this.funcionSap = Arrays.copyOf(c.funcionSap, c.registros);
+        this.sinFuncionSap = c.sinFuncionSap;
+        this.centavos = Arrays.copyOf(c.centavos, c.registros);
+        this.sinValor = c.sinValor;
+
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (int i = 0; i < registros; i++) {
+            minimo = Math.min(minimo, ordinal[i]);
+            maximo = Math.max(maximo, ordinal[i]);
+        }
+        this.ordinalMinimo = registros > 0 ? minimo : 0;
+        this.ordinalMaximo = registros > 0 ? maximo : -1;
+    }
+
+    public static Constructor constructor() {
+        return new Constructor();
+    }
+
+    public int getRegistros() {
+        return registros;
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Filtro de una consulta; los campos nulos no filtran. Los textos se comparan exactos
+     * (como en MongoDB) y los periodos son un rango inclusivo de codigos YYYYWW.
+     */
+    @Builder
+    public record Consulta(String negocio, String puesto, String indicador, Integer funcionSap,
+                           Integer periodoInicio, Integer periodoFin) {
+
+        public static Consulta periodo(int codigoPeriodo) {
+            return Consulta.builder().periodoInicio(codigoPeriodo).periodoFin(codigoPeriodo).build();
+        }
+    }
+
+    /**
+     * Registros que cumplen la consulta, uno por documento
+     */
+    public List<DatoCompensacion> buscar(Consulta consulta) {
+        Filtro filtro = filtro(consulta);
+        List<DatoCompensacion> resultado = new ArrayList<>();
+        if (filtro == null) {
+            return resultado;
+        }
+        for (int i = 0; i < registros; i++) {
+            if (filtro.coincide(i)) {
+                resultado.add(DatoCompensacion.builder()
+                        .funcionSap(sinFuncionSap.get(i) ? null : funcionSap[i])
+                        .codigoPeriodo(codigo(ordinal[i]))
+                        .valor(sinValor.get(i) ? null : monto(centavos[i]))
+                        .negocio(negocios.valor(negocio[i]))
+                        .puesto(puestos.valor(puesto[i]))
+                        .indicador(indicadores.valor(indicador[i]))
+                        .build());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Registros que cumplen la consulta sumados por serie (negocio, puesto, indicador) y periodo,
+     * con la misma forma que el rollup semanal
+     */
+    public List<DatoCompensacion> buscarAgrupado(Consulta consulta) {
+        Filtro filtro = filtro(consulta);
+        if (filtro == null) {
+            return new ArrayList<>();
+        }
+        Map<Long, long[]> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < registros; i++) {
+            if (filtro.coincide(i)) {
+                long clave = ((((long) negocio[i] * puestos.tamano() + puesto[i]) * indicadores.tamano() + indicador[i])
+                        * (ordinalMaximo - ordinalMinimo + 1)) + (ordinal[i] - ordinalMinimo);
+                long[] grupo = grupos.computeIfAbsent(clave, k -> new long[]{0, 0});
+                grupo[0] = Centavos.sumar(grupo[0], sinValor.get(i) ? 0 : centavos[i]);
+                if (grupo[1] == 0) {
+                    grupo[1] = i + 1L;
+                }
+            }
+        }
+
+        List<DatoCompensacion> resultado = new ArrayList<>(grupos.size());
+        for (long[] grupo : grupos.values()) {
+            int i = (int) grupo[1] - 1;
+            resultado.add(DatoCompensacion.builder()
+                    .codigoPeriodo(codigo(ordinal[i]))
+                    .valor(monto(grupo[0]))
+                    .negocio(negocios.valor(negocio[i]))
+                    .puesto(puestos.valor(puesto[i]))
+                    .indicador(indicadores.valor(indicador[i]))
+                    .build());
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma del valor por negocio, periodo e indicador de los periodos indicados
+     */
+    public List<TotalIndicador> sumarPorNegocioPeriodoEIndicador(Collection<Integer> codigosPeriodo) {
+        boolean[] periodos = periodos(codigosPeriodo);
+        int anchoIndicador = indicadores.tamano();
+        long[][] totales = new long[periodos.length][];
+        // Solo las combinaciones con registros, igual que el $group
+        boolean[][] presentes = new boolean[periodos.length][];
+
+        for (int i = 0; i < registros; i++) {
+            int p = ordinal[i] - ordinalMinimo;
+            if (periodos[p]) {
+                if (totales[p] == null) {
+                    totales[p] = new long[negocios.tamano() * anchoIndicador];
+                    presentes[p] = new boolean[totales[p].length];
+                }
+                int k = negocio[i] * anchoIndicador + indicador[i];
+                totales[p][k] = Centavos.sumar(totales[p][k], sinValor.get(i) ? 0 : centavos[i]);
+                presentes[p][k] = true;
+            }
+        }
+
+        List<TotalIndicador> resultado = new ArrayList<>();
+        for (int p = 0; p < totales.length; p++) {
+            if (totales[p] == null) {
+                continue;
+            }
+            for (int k = 0; k < presentes[p].length; k++) {
+                if (presentes[p][k]) {
+                    resultado.add(new TotalIndicador(negocios.valor(k / anchoIndicador), codigo(p + ordinalMinimo),
+                            indicadores.valor(k % anchoIndicador), monto(totales[p][k])));
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma del valor por periodo e indicador de los registros que cumplen la consulta en los periodos indicados,
+     * con el negocio del primer registro de cada grupo
+     */
+    public List<TotalIndicador> sumarPorPeriodoEIndicador(Consulta consulta, Collection<Integer> codigosPeriodo) {
+        Filtro filtro = filtro(consulta);
+        if (filtro == null) {
+            return new ArrayList<>();
+        }
+        boolean[] periodos = periodos(codigosPeriodo);
+        Map<Long, long[]> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < registros; i++) {
+            if (periodos[ordinal[i] - ordinalMinimo] && filtro.coincide(i)) {
+                long clave = (long) (ordinal[i] - ordinalMinimo) * indicadores.tamano() + indicador[i];
+                long[] grupo = grupos.computeIfAbsent(clave, k -> new long[]{0, 0});
+                grupo[0] = Centavos.sumar(grupo[0], sinValor.get(i) ? 0 : centavos[i]);
+                if (grupo[1] == 0) {
+                    grupo[1] = i + 1L;
+                }
+            }
+        }
+
+        List<TotalIndicador> resultado = new ArrayList<>(grupos.size());
+        for (long[] grupo : grupos.values()) {
+            int i = (int) grupo[1] - 1;
+            resultado.add(new TotalIndicador(negocios.valor(negocio[i]), codigo(ordinal[i]),
+                    indicadores.valor(indicador[i]), monto(grupo[0])));
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma de un indicador (sin distinguir mayusculas) por puesto y periodo, con el primer negocio
+     * de cada puesto y la cantidad de registros del indicador
+     */
+    public List<TotalPuesto> sumarIndicadorPorPuesto(String indicadorBuscado, Collection<Integer> codigosPeriodo) {
+        boolean[] esIndicador = indicadores.coincidenSinMayusculas(indicadorBuscado);
+        List<TotalPuesto> resultado = new ArrayList<>();
+        for (GrupoPuesto grupo : agruparPorPuesto(codigosPeriodo, esIndicador, null)) {
+            resultado.add(new TotalPuesto(puestos.valor(puesto[grupo.primero]), negocios.valor(negocio[grupo.primero]),
+                    codigo(ordinal[grupo.primero]), monto(grupo.totalA), grupo.registrosA));
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma de los indicadores de compensacion y empleados por puesto y periodo, con el primer negocio de cada puesto
+     */
+    public List<TotalesPuesto> sumarCompensacionYEmpleadosPorPuesto(
+            String compensacion, String empleado, Collection<Integer> codigosPeriodo) {
+        List<TotalesPuesto> resultado = new ArrayList<>();
+        for (GrupoPuesto grupo : agruparPorPuesto(codigosPeriodo,
+                indicadores.coincidenSinMayusculas(compensacion), indicadores.coincidenSinMayusculas(empleado))) {
+            resultado.add(new TotalesPuesto(puestos.valor(puesto[grupo.primero]), negocios.valor(negocio[grupo.primero]),
+                    codigo(ordinal[grupo.primero]), monto(grupo.totalA), monto(grupo.totalB)));
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma de un indicador (sin distinguir mayusculas) por periodo dentro del rango inclusivo,
+     * en orden de periodo; solo incluye periodos con registros del indicador
+     */
+    public List<TotalPeriodo> sumarIndicadorPorPeriodo(String indicadorBuscado, int periodoInicio, int periodoFin) {
+        boolean[] esIndicador = indicadores.coincidenSinMayusculas(indicadorBuscado);
+        int desde = ordinalDesde(periodoInicio);
+        int hasta = ordinalHasta(periodoFin);
+        long[] totales = new long[ordinalMaximo - ordinalMinimo + 1];
+        int[] conteos = new int[totales.length];
+        for (int i = 0; i < registros; i++) {
+            if (esIndicador[indicador[i]] && ordinal[i] >= desde && ordinal[i] <= hasta) {
+                int p = ordinal[i] - ordinalMinimo;
+                totales[p] = Centavos.sumar(totales[p], sinValor.get(i) ? 0 : centavos[i]);
+                conteos[p]++;
+            }
+        }
+
+        List<TotalPeriodo> resultado = new ArrayList<>();
+        for (int p = 0; p < totales.length; p++) {
+            if (conteos[p] > 0) {
+                resultado.add(new TotalPeriodo(codigo(p + ordinalMinimo), monto(totales[p]), conteos[p]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma por periodo de un indicador y del indicador de empleados (sin distinguir mayusculas) de los registros
+     * que cumplen la consulta, con el negocio y puesto del primer registro de cada periodo.
+     * Los empleados se suman como la parte entera de cada registro
+     */
+    public List<TotalEmpleadosPeriodo> sumarIndicadorYEmpleadosPorPeriodo(
+            Consulta consulta, String indicadorBuscado, String empleado) {
+        Filtro filtro = filtro(consulta);
+        if (filtro == null) {
+            return new ArrayList<>();
+        }
+        boolean[] esIndicador = indicadores.coincidenSinMayusculas(indicadorBuscado);
+        boolean[] esEmpleado = indicadores.coincidenSinMayusculas(empleado);
+        int periodos = ordinalMaximo - ordinalMinimo + 1;
+        long[] totales = new long[periodos];
+        int[] conteos = new int[periodos];
+        int[] empleados = new int[periodos];
+        int[] primero = new int[periodos];
+        Arrays.fill(primero, -1);
+
+        for (int i = 0; i < registros; i++) {
+            if ((esIndicador[indicador[i]] || esEmpleado[indicador[i]]) && filtro.coincide(i)) {
+                int p = ordinal[i] - ordinalMinimo;
+                if (primero[p] < 0) {
+                    primero[p] = i;
+                }
+                long monto = sinValor.get(i) ? 0 : centavos[i];
+                if (esIndicador[indicador[i]]) {
+                    totales[p] = Centavos.sumar(totales[p], monto);
+                    conteos[p]++;
+                }
+                if (esEmpleado[indicador[i]]) {
+                    empleados[p] += (int) (monto / 100);
+                }
+            }
+        }
+
+        List<TotalEmpleadosPeriodo> resultado = new ArrayList<>();
+        for (int p = 0; p < periodos; p++) {
+            int i = primero[p];
+            if (i >= 0) {
+                resultado.add(new TotalEmpleadosPeriodo(codigo(p + ordinalMinimo), negocios.valor(negocio[i]),
+                        puestos.valor(puesto[i]), monto(totales[p]), conteos[p], empleados[p]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Periodo mas reciente con al menos la cantidad indicada de negocios con registros del indicador
+     */
+    public Optional<Integer> ultimoPeriodoConNegocios(String indicadorBuscado, int minimoNegocios) {
+        boolean[] esIndicador = indicadores.coincidenSinMayusculas(indicadorBuscado);
+        int anchoNegocio = negocios.tamano();
+        BitSet presentes = new BitSet();
+        for (int i = 0; i < registros; i++) {
+            if (esIndicador[indicador[i]]) {
+                presentes.set((ordinal[i] - ordinalMinimo) * anchoNegocio + negocio[i]);
+            }
+        }
+        for (int p = ordinalMaximo - ordinalMinimo; p >= 0; p--) {
+            int desde = p * anchoNegocio;
+            if (presentes.get(desde, desde + anchoNegocio).cardinality() >= minimoNegocios) {
+                return Optional.of(codigo(p + ordinalMinimo));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Integer> maxPeriodo() {
+        return registros > 0 ? Optional.of(codigo(ordinalMaximo)) : Optional.empty();
+    }
+
+    public List<Integer> distinctPeriodos() {
+        boolean[] presentes = new boolean[ordinalMaximo - ordinalMinimo + 1];
+        for (int i = 0; i < registros; i++) {
+            presentes[ordinal[i] - ordinalMinimo] = true;
+        }
+        List<Integer> resultado = new ArrayList<>();
+        for (int p = 0; p < presentes.length; p++) {
+            if (presentes[p]) {
+                resultado.add(codigo(p + ordinalMinimo));
+            }
+        }
+        return resultado;
+    }
+
+    public List<String> distinctNegocios() {
+        return distintos(Consulta.builder().build(), negocios, negocio);
+    }
+
+    public List<String> distinctPuestos(Consulta consulta) {
+        return distintos(consulta, puestos, puesto);
+    }
+
+    public List<String> distinctIndicadores(Consulta consulta) {
+        return distintos(consulta, indicadores, indicador);
+    }
+
+    // ========== RECORRIDOS ==========
+
+    private static final class GrupoPuesto {
+        private final int primero;
+        private long totalA;
+        private long totalB;
+        private int registrosA;
+
+        private GrupoPuesto(int primero) {
+            this.primero = primero;
+        }
+    }
+
+    private Collection<GrupoPuesto> agruparPorPuesto(Collection<Integer> codigosPeriodo, boolean[] indicadorA, boolean[] indicadorB) {
+        boolean[] periodos = periodos(codigosPeriodo);
+        Map<Long, GrupoPuesto> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < registros; i++) {
+            int p = ordinal[i] - ordinalMinimo;
+            if (!periodos[p]) {
+                continue;
+            }
+            int fila = i;
+            GrupoPuesto grupo = grupos.computeIfAbsent((long) puesto[i] * periodos.length + p, k -> new GrupoPuesto(fila));
+            long monto = sinValor.get(i) ? 0 : centavos[i];
+            if (indicadorA[indicador[i]]) {
+                grupo.totalA = Centavos.sumar(grupo.totalA, monto);
+                grupo.registrosA++;
+            }
+            if (indicadorB != null && indicadorB[indicador[i]]) {
+                grupo.totalB = Centavos.sumar(grupo.totalB, monto);
+            }
+        }
+        return grupos.values();
+    }
+
+    private List<String> distintos(Consulta consulta, Diccionario diccionario, int[] columna) {
+        Filtro filtro = filtro(consulta);
+        if (filtro == null) {
+            return new ArrayList<>();
+        }
+        boolean[] presentes = new boolean[diccionario.tamano()];
+        for (int i = 0; i < registros; i++) {
+            if (filtro.coincide(i)) {
+                presentes[columna[i]] = true;
+            }
+        }
+        List<String> resultado = new ArrayList<>();
+        for (int id = 0; id < presentes.length; id++) {
+            if (presentes[id]) {
+                resultado.add(diccionario.valor(id));
+            }
+        }
+        resultado.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return resultado;
+    }
+
+    /**
+     * Marca por ordinal relativo los periodos solicitados que caen en el rango de los datos
+     */
+    private boolean[] periodos(Collection<Integer> codigosPeriodo) {
+        boolean[] periodos = new boolean[ordinalMaximo - ordinalMinimo + 1];
+        for (Integer codigo : codigosPeriodo) {
+            int p = Periodo.fromCodigo(codigo).toOrdinal() - ordinalMinimo;
+            if (p >= 0 && p < periodos.length) {
+                periodos[p] = true;
+            }
+        }
+        return periodos;
+    }
+
+    /**
+     * Traduce la consulta a ids y ordinales; null si algun texto no existe (sin resultados)
+     */
+    private Filtro filtro(Consulta consulta) {
+        int idNegocio = consulta.negocio() == null ? CUALQUIERA : negocios.id(consulta.negocio());
+        int idPuesto = consulta.puesto() == null ? CUALQUIERA : puestos.id(consulta.puesto());
+        int idIndicador = consulta.indicador() == null ? CUALQUIERA : indicadores.id(consulta.indicador());
+        if (idNegocio == NO_EXISTE || idPuesto == NO_EXISTE || idIndicador == NO_EXISTE) {
+            return null;
+        }
+        int desde = consulta.periodoInicio() == null ? Integer.MIN_VALUE : ordinalDesde(consulta.periodoInicio());
+        int hasta = consulta.periodoFin() == null ? Integer.MAX_VALUE : ordinalHasta(consulta.periodoFin());
+        return new Filtro(idNegocio, idPuesto, idIndicador, consulta.funcionSap(), desde, hasta);
+    }
+
+    private final class Filtro {
+        private final int idNegocio;
+        private final int idPuesto;
+        private final int idIndicador;
+        private final Integer idFuncionSap;
+        private final int desde;
+        private final int hasta;
+
+        private Filtro(int idNegocio, int idPuesto, int idIndicador, Integer idFuncionSap, int desde, int hasta) {
+            this.idNegocio = idNegocio;
+            this.idPuesto = idPuesto;
+            this.idIndicador = idIndicador;
+            this.idFuncionSap = idFuncionSap;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        private boolean coincide(int i) {
+            return ordinal[i] >= desde && ordinal[i] <= hasta
+                    && (idNegocio == CUALQUIERA || negocio[i] == idNegocio)
+                    && (idPuesto == CUALQUIERA || puesto[i] == idPuesto)
+                    && (idIndicador == CUALQUIERA || indicador[i] == idIndicador)
+                    && (idFuncionSap == null || (!sinFuncionSap.get(i) && funcionSap[i] == idFuncionSap));
+        }
+    }
+
+    // ========== CONVERSIONES ==========
+
+    /**
+     * Primer ordinal cuyo codigo es mayor o igual al indicado (acota semanas fuera de 1..53)
+     */
+    private static int ordinalDesde(int codigo) {
+        int anio = Math.floorDiv(codigo, 100);
+        int semana = Math.floorMod(codigo, 100);
+        if (semana < 1) {
+            semana = 1;
+        } else if (semana > Periodo.SEMANAS_ORDINAL) {
+            anio++;
+            semana = 1;
+        }
+        return Periodo.ordinal(anio, semana);
+    }
+
+    /**
+     * Ultimo ordinal cuyo codigo es menor o igual al indicado (acota semanas fuera de 1..53)
+     */
+    private static int ordinalHasta(int codigo) {
+        int anio = Math.floorDiv(codigo, 100);
+        int semana = Math.floorMod(codigo, 100);
+        if (semana > Periodo.SEMANAS_ORDINAL) {
+            semana = Periodo.SEMANAS_ORDINAL;
+        } else if (semana < 1) {
+            anio--;
+            semana = Periodo.SEMANAS_ORDINAL;
+        }
+        return Periodo.ordinal(anio, semana);
+    }
+
+    private static int codigo(int ordinal) {
+        return Periodo.fromOrdinal(ordinal).toCodigo();
+    }
+
+    private static BigDecimal monto(long centavos) {
+        return Centavos.aBigDecimal(centavos);
+    }
+
+    // ========== DICCIONARIO ==========
+
+    private static final class Diccionario {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+        private String[] minusculas;
+
+        private int codificar(String valor) {
+            return ids.computeIfAbsent(valor, v -> {
+                valores.add(v);
+                return valores.size() - 1;
+            });
+        }
+
+        private int id(String valor) {
+            Integer id = ids.get(valor);
+            return id != null ? id : NO_EXISTE;
+        }
+
+        private String valor(int id) {
+            return valores.get(id);
+        }
+
+        private int tamano() {
+            return valores.size();
+        }
+
+        /**
+         * Ids cuyo valor coincide con el buscado sin distinguir mayusculas ni espacios
+         */
+        private boolean[] coincidenSinMayusculas(String buscado) {
+            String objetivo = buscado.trim().toLowerCase(Locale.ROOT);
+            boolean[] coinciden = new boolean[valores.size()];
+            for (int id = 0; id < coinciden.length; id++) {
+                coinciden[id] = minusculas[id] != null && minusculas[id].equals(objetivo);
+            }
+            return coinciden;
+        }
+
+        private void cerrar() {
+            minusculas = new String[valores.size()];
+            for (int id = 0; id < minusculas.length; id++) {
+                String valor = valores.get(id);
+                minusculas[id] = valor != null ? valor.trim().toLowerCase(Locale.ROOT) : null;
+            }
+        }
+    }
+
+    // ========== CONSTRUCCION ==========
+
+    /**
+     * Acumula registros en arreglos que crecen al doble y construye las columnas inmutables
+     */
+    public static final class Constructor {
+        private final Diccionario negocios = new Diccionario();
+        private final Diccionario puestos = new Diccionario();
+        private final Diccionario indicadores = new Diccionario();
+        private final BitSet sinFuncionSap = new BitSet();
+        private final BitSet sinValor = new BitSet();
+        private int registros;
+        private int[] negocio = new int[1024];
+        private int[] puesto = new int[1024];
+        private int[] indicador = new int[1024];
+        private int[] ordinal = new int[1024];
+        private int[] funcionSap = new int[1024];
+        private long[] centavos = new long[1024];
+
+        private Constructor() {
+        }
+
+        public Constructor agregar(String negocioValor, String puestoValor, String indicadorValor,
+                                   int codigoPeriodo, Integer funcionSapValor, BigDecimal valor) {
+            if (registros == negocio.length) {
+                int capacidad = registros * 2;
+                negocio = Arrays.copyOf(negocio, capacidad);
+                puesto = Arrays.copyOf(puesto, capacidad);
+                indicador = Arrays.copyOf(indicador, capacidad);
+                ordinal = Arrays.copyOf(ordinal, capacidad);
+                funcionSap = Arrays.copyOf(funcionSap, capacidad);
+                centavos = Arrays.copyOf(centavos, capacidad);
+            }
+            int i = registros++;
+            negocio[i] = negocios.codificar(negocioValor);
+            puesto[i] = puestos.codificar(puestoValor);
+            indicador[i] = indicadores.codificar(indicadorValor);
+            ordinal[i] = Periodo.fromCodigo(codigoPeriodo).toOrdinal();
+            if (funcionSapValor != null) {
+                funcionSap[i] = funcionSapValor;
+            } else {
+                sinFuncionSap.set(i);
+            }
+            if (valor != null) {
+                centavos[i] = Centavos.de(valor);
+            } else {
+                sinValor.set(i);
+            }
+            return this;
+        }
+
+        public ColumnasCompensacion construir() {
+            negocios.cerrar();
+            puestos.cerrar();
+            indicadores.cerrar();
+            return new ColumnasCompensacion(this);
+        }
+    }
+}
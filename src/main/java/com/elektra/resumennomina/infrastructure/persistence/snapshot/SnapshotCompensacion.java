@@ -0,0 +1,125 @@
+package com.elektra.resumennomina.infrastructure.persistence.snapshot;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import com.mongodb.client.model.Projections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Motor opcional en memoria (app.snapshot.habilitado): mantiene datos_compensacion en columnas
+ * para que los adaptadores respondan las consultas sin ir a la base de datos.
+ * Se carga al iniciar y se reconstruye completo despues de cada carga o eliminacion; la nueva
+ * copia reemplaza a la anterior en una sola asignacion, por lo que las consultas nunca ven una
+ * copia a medio construir. Si la carga falla, las consultas vuelven a MongoDB.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotCompensacion {
+
+    private static final String COLLECTION_NAME = "datos_compensacion";
+    private static final int TAMANO_LOTE = 5000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AppProperties appProperties;
+
+    private volatile ColumnasCompensacion columnas;
+
+    /**
+     * Columnas vigentes; null si el motor esta deshabilitado o no hay una copia cargada
+     */
+    public ColumnasCompensacion vigente() {
+        return appProperties.getSnapshot().isHabilitado() ? columnas : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (appProperties.getSnapshot().isHabilitado()) {
+            cargar();
+        }
+    }
+
+    /**
+     * Se ejecuta antes que los demas componentes derivados para que lean la copia actualizada
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDatosActualizados(DatosActualizadosEvent event) {
+        if (appProperties.getSnapshot().isHabilitado()) {
+            cargar();
+        }
+    }
+
+    /**
+     * Lee la coleccion completa y reemplaza la copia en memoria
+     */
+    public synchronized void cargar() {
+        long inicio = System.currentTimeMillis();
+        try {
+            ColumnasCompensacion.Constructor constructor = ColumnasCompensacion.constructor();
+            int omitidos = 0;
+
+            for (Document doc : mongoTemplate.getCollection(COLLECTION_NAME)
+                    .find()
+                    .projection(Projections.include("negocio", "puesto", "indicador", "codigoPeriodo", "funcionSap", "valor"))
+                    .batchSize(TAMANO_LOTE)) {
+                Integer codigoPeriodo = entero(doc.get("codigoPeriodo"));
+                if (codigoPeriodo == null) {
+                    omitidos++;
+                    continue;
+                }
+                constructor.agregar(doc.getString("negocio"), doc.getString("puesto"), doc.getString("indicador"),
+                        codigoPeriodo, entero(doc.get("funcionSap")), decimal(doc.get("valor")));
+            }
+
+            columnas = constructor.construir();
+            log.info("Snapshot en memoria cargado: {} registros ({} sin periodo omitidos) en {} ms",
+                    columnas.getRegistros(), omitidos, System.currentTimeMillis() - inicio);
+
+        } catch (Exception e) {
+            log.error("Error cargando snapshot en memoria, se consultara MongoDB: {}", e.getMessage(), e);
+            columnas = null;
+        }
+    }
+
+    private static Integer entero(Object valor) {
+        if (valor instanceof Number numero) {
+            return numero.intValue();
+        }
+        if (valor instanceof String texto && texto.trim().matches("-?\\d+")) {
+            return Integer.parseInt(texto.trim());
+        }
+        return null;
+    }
+
+    /**
+     * El valor puede estar guardado como double (carga administrativa), texto (BigDecimal de la importacion)
+     * o Decimal128
+     */
+    private static BigDecimal decimal(Object valor) {
+        if (valor instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (valor instanceof Double || valor instanceof Float) {
+            return BigDecimal.valueOf(((Number) valor).doubleValue());
+        }
+        if (valor instanceof Number numero) {
+            return BigDecimal.valueOf(numero.longValue());
+        }
+        if (valor instanceof String texto && !texto.isBlank()) {
+            return new BigDecimal(texto.trim());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.elektra.resumennomina.api.controller;
+
+import com.elektra.resumennomina.api.exception.GlobalExceptionHandler;
+import com.elektra.resumennomina.api.mapper.ResponseMapper;
+import com.elektra.resumennomina.domain.model.ClaveSerie;
+import com.elektra.resumennomina.domain.model.EstadisticasSerie;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.port.input.CompensacionUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CompensacionControllerTest {
+
+    private CompensacionUseCase compensacionUseCase;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        compensacionUseCase = mock(CompensacionUseCase.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CompensacionController(compensacionUseCase, new ResponseMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    // ==================== LOTE DE SERIES ====================
+
+    @Test
+    void elLoteDevuelveLasSeriesEnElOrdenSolicitado() throws Exception {
+        List<ClaveSerie> claves = List.of(new ClaveSerie("N1", "P1", "Bono"), new ClaveSerie("N2", "P2", "Vales"));
+        when(compensacionUseCase.obtenerSeriesPorNegocioPuestoIndicador(
+                claves, Periodo.fromCodigo(202401), Periodo.fromCodigo(202452)))
+                .thenReturn(List.of(serie("N1", "P1", "Bono"), serie("N2", "P2", "Vales")));
+
+        mockMvc.perform(post("/api/v1/compensacion/negocios/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"desde": 202401, "hasta": 202452, "series": [
+                                  {"negocio": "N1", "puesto": "P1", "indicador": "Bono"},
+                                  {"negocio": "N2", "puesto": "P2", "indicador": "Vales"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].indicador").value("Bono"))
+                .andExpect(jsonPath("$.data[1].negocio").value("N2"))
+                .andExpect(jsonPath("$.data[0].columnas").doesNotExist());
+    }
+
+    @Test
+    void sinHastaElLoteUsaElPeriodoActual() throws Exception {
+        when(compensacionUseCase.obtenerPeriodoActual()).thenReturn(Periodo.fromCodigo(202430));
+        when(compensacionUseCase.obtenerSeriesPorNegocioPuestoIndicador(anyList(), any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/v1/compensacion/negocios/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"desde\": 202420, \"series\": [{\"negocio\": \"N1\", \"puesto\": \"P1\", \"indicador\": \"Bono\"}]}"))
+                .andExpect(status().isOk());
+
+        verify(compensacionUseCase).obtenerSeriesPorNegocioPuestoIndicador(
+                List.of(new ClaveSerie("N1", "P1", "Bono")), Periodo.fromCodigo(202420), Periodo.fromCodigo(202430));
+    }
+
+    @Test
+    void unLoteFueraDeLimitesRespondeBadRequest() throws Exception {
+        when(compensacionUseCase.obtenerSeriesPorNegocioPuestoIndicador(anyList(), any(), any()))
+                .thenThrow(new IllegalArgumentException("El lote debe tener entre 1 y 200 series"));
+
+        mockMvc.perform(post("/api/v1/compensacion/negocios/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"desde\": 202401, \"hasta\": 202452}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("BAD_REQUEST"));
+
+        // Sin 'series' el lote llega vacio al caso de uso
+        verify(compensacionUseCase).obtenerSeriesPorNegocioPuestoIndicador(
+                List.of(), Periodo.fromCodigo(202401), Periodo.fromCodigo(202452));
+    }
+
+    // ==================== FORMATO COLUMNAR ====================
+
+    @Test
+    void conFormatoColumnarLaSerieVaEnArreglosConLaMascaraEnBase64() throws Exception {
+        when(compensacionUseCase.obtenerSerieNacionalTotal(Periodo.fromCodigo(202401), Periodo.fromCodigo(202452)))
+                .thenReturn(serieConBandas());
+
+        mockMvc.perform(get("/api/v1/compensacion/nacional/serie")
+                        .param("desde", "202401").param("hasta", "202452").param("formato", "columnar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.serie").doesNotExist())
+                .andExpect(jsonPath("$.data.columnas.periodos[4]").value(202414))
+                .andExpect(jsonPath("$.data.columnas.valores[3]").value(nullValue()))
+                .andExpect(jsonPath("$.data.columnas.fueraDeSigma").value("NAM="));
+    }
+
+    @Test
+    void elEncabezadoDeFormatoEquivaleAlParametro() throws Exception {
+        when(compensacionUseCase.obtenerSerieNacionalTotal(any(), any())).thenReturn(serieConBandas());
+
+        mockMvc.perform(get("/api/v1/compensacion/nacional/serie")
+                        .param("desde", "202401").param("hasta", "202452")
+                        .header("X-Formato-Serie", "COLUMNAR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.columnas.fueraDeSigma").value("NAM="));
+    }
+
+    @Test
+    void sinFormatoLaSerieVaComoObjetos() throws Exception {
+        when(compensacionUseCase.obtenerSerieNacionalTotal(any(), any())).thenReturn(serieConBandas());
+
+        mockMvc.perform(get("/api/v1/compensacion/nacional/serie").param("desde", "202401").param("hasta", "202452"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.columnas").doesNotExist())
+                .andExpect(jsonPath("$.data.serie.length()").value(5))
+                .andExpect(jsonPath("$.data.serie[2].fueraDe15Sigma").value(true));
+    }
+
+    @Test
+    void elLoteTambienAceptaElFormatoColumnar() throws Exception {
+        when(compensacionUseCase.obtenerSeriesPorNegocioPuestoIndicador(anyList(), any(), any()))
+                .thenReturn(List.of(serieConBandas()));
+
+        mockMvc.perform(post("/api/v1/compensacion/negocios/series")
+                        .param("formato", "columnar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"desde\": 202401, \"hasta\": 202452, \"series\": [{\"negocio\": \"N1\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].serie").doesNotExist())
+                .andExpect(jsonPath("$.data[0].columnas.fueraDeSigma").value("NAM="));
+    }
+
+    private static EstadisticasSerie serie(String negocio, String puesto, String indicador) {
+        return EstadisticasSerie.builder()
+                .negocio(negocio)
+                .puesto(puesto)
+                .indicador(indicador)
+                .cantidadPuntos(0)
+                .puntos(List.of())
+                .build();
+    }
+
+    /**
+     * 5 puntos con bandas de 1 sigma [90, 110] y 1.5 sigma [85, 115]: mascara 0x34 0x03 ("NAM=")
+     */
+    private static EstadisticasSerie serieConBandas() {
+        String[] valores = {"100", "112", "120", null, "80"};
+        List<EstadisticasSerie.PuntoSerie> puntos = new ArrayList<>();
+        for (int i = 0; i < valores.length; i++) {
+            puntos.add(EstadisticasSerie.PuntoSerie.builder()
+                    .periodo(Periodo.of(2024, 10 + i))
+                    .valor(valores[i] != null ? new BigDecimal(valores[i]) : null)
+                    .build());
+        }
+        return EstadisticasSerie.builder()
+                .negocio("Nacional")
+                .puesto("Total")
+                .indicador("Compensación")
+                .cantidadPuntos(puntos.size())
+                .limiteSuperior1Sigma(new BigDecimal("110"))
+                .limiteInferior1Sigma(new BigDecimal("90"))
+                .limiteSuperior15Sigma(new BigDecimal("115"))
+                .limiteInferior15Sigma(new BigDecimal("85"))
+                .puntos(puntos)
+                .build();
+    }
+}
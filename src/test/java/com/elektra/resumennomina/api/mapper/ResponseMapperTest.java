@@ -0,0 +1,97 @@
+package com.elektra.resumennomina.api.mapper;
+
+import com.elektra.resumennomina.api.dto.SerieTemporalResponse;
+import com.elektra.resumennomina.domain.model.EstadisticasSerie;
+import com.elektra.resumennomina.domain.model.Periodo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseMapperTest {
+
+    private final ResponseMapper mapper = new ResponseMapper();
+
+    // ==================== SERIE COLUMNAR ====================
+
+    @Test
+    void laSerieColumnarTieneArreglosParalelosYSinObjetosPorPunto() {
+        SerieTemporalResponse response = mapper.toSerieTemporalResponse(estadisticas(), true);
+
+        assertThat(response.getSerie()).isNull();
+        SerieTemporalResponse.SerieColumnarDto columnas = response.getColumnas();
+        assertThat(columnas.getPeriodos()).containsExactly(202410, 202411, 202412, 202413, 202414);
+        assertThat(columnas.getValores()).containsExactly(
+                new BigDecimal("100"), new BigDecimal("112"), new BigDecimal("120"), null, new BigDecimal("80"));
+        assertThat(columnas.getVariaciones()).hasSize(5);
+        assertThat(response.getLineasConfianza().getLimiteSuperior1Sigma()).isEqualByComparingTo("110");
+    }
+
+    @Test
+    void laMascaraUsaDosBitsPorPunto() {
+        byte[] mascara = mapper.toSerieTemporalResponse(estadisticas(), true).getColumnas().getFueraDeSigma();
+
+        // Bit 2i: fuera de 1 sigma; bit 2i+1: fuera de 1.5 sigma. 5 puntos ocupan 10 bits (2 bytes)
+        // 112 -> bit 2; 120 -> bits 4 y 5; sin valor -> nada; 80 -> bits 8 y 9
+        assertThat(mascara).containsExactly((byte) 0b0011_0100, (byte) 0b0000_0011);
+        assertThat(Base64.getEncoder().encodeToString(mascara)).isEqualTo("NAM=");
+    }
+
+    @Test
+    void laMascaraCoincideConLosIndicadoresDeLaSerieDeObjetos() {
+        SerieTemporalResponse objetos = mapper.toSerieTemporalResponse(estadisticas(), false);
+        byte[] mascara = mapper.toSerieTemporalResponse(estadisticas(), true).getColumnas().getFueraDeSigma();
+
+        assertThat(objetos.getColumnas()).isNull();
+        for (int i = 0; i < objetos.getSerie().size(); i++) {
+            SerieTemporalResponse.PuntoSerieDto punto = objetos.getSerie().get(i);
+            assertThat(bit(mascara, 2 * i)).isEqualTo(punto.getFueraDe1Sigma());
+            assertThat(bit(mascara, 2 * i + 1)).isEqualTo(punto.getFueraDe15Sigma());
+        }
+    }
+
+    @Test
+    void unaSerieSinPuntosDaArreglosVacios() {
+        EstadisticasSerie vacia = EstadisticasSerie.builder().negocio("N1").cantidadPuntos(0).build();
+
+        SerieTemporalResponse.SerieColumnarDto columnas = mapper.toSerieTemporalResponse(vacia, true).getColumnas();
+
+        assertThat(columnas.getPeriodos()).isEmpty();
+        assertThat(columnas.getValores()).isEmpty();
+        assertThat(columnas.getFueraDeSigma()).isEmpty();
+    }
+
+    private static boolean bit(byte[] mascara, int posicion) {
+        return (mascara[posicion / 8] & (1 << (posicion % 8))) != 0;
+    }
+
+    /**
+     * Serie de 5 puntos con bandas de 1 sigma [90, 110] y 1.5 sigma [85, 115]
+     */
+    private static EstadisticasSerie estadisticas() {
+        String[] valores = {"100", "112", "120", null, "80"};
+        List<EstadisticasSerie.PuntoSerie> puntos = new ArrayList<>();
+        for (int i = 0; i < valores.length; i++) {
+            puntos.add(EstadisticasSerie.PuntoSerie.builder()
+                    .periodo(Periodo.of(2024, 10 + i))
+                    .valor(valores[i] != null ? new BigDecimal(valores[i]) : null)
+                    .variacionVsSemanaAnterior(BigDecimal.ONE)
+                    .build());
+        }
+        return EstadisticasSerie.builder()
+                .negocio("Nacional")
+                .puesto("Total")
+                .indicador("Compensación")
+                .cantidadPuntos(puntos.size())
+                .limiteSuperior1Sigma(new BigDecimal("110"))
+                .limiteInferior1Sigma(new BigDecimal("90"))
+                .limiteSuperior15Sigma(new BigDecimal("115"))
+                .limiteInferior15Sigma(new BigDecimal("85"))
+                .puntos(puntos)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import com.elektra.resumennomina.domain.port.output.AlertasMaterializadasRepository;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertasMaterializadasServiceTest {
+
+    private AlertasService alertasService;
+    private AlertasMaterializadasRepository materializadasRepository;
+    private DatoCompensacionRepository datoRepository;
+    private ExecutorManual executor;
+    private AlertasMaterializadasService service;
+
+    @BeforeEach
+    void setUp() {
+        alertasService = mock(AlertasService.class);
+        materializadasRepository = mock(AlertasMaterializadasRepository.class);
+        datoRepository = mock(DatoCompensacionRepository.class);
+        executor = new ExecutorManual();
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAlertas().setPeriodosMaterializados(2);
+
+        service = new AlertasMaterializadasService(alertasService, mock(EstadoSeriesService.class),
+                materializadasRepository, datoRepository, appProperties, executor);
+
+        when(datoRepository.findDistinctPeriodos()).thenReturn(List.of(202401, 202402, 202403));
+        when(alertasService.obtenerAlertas(any(Periodo.class)))
+                .thenAnswer(inv -> ResultadoAlertas.builder().periodo(inv.getArgument(0)).build());
+    }
+
+    @Test
+    void laCargaSoloInvalidaYElRecalculoQuedaProgramado() {
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202401, 202402, 202403)));
+
+        verify(materializadasRepository).deleteAll();
+        verify(alertasService, never()).obtenerAlertas(any(Periodo.class));
+        assertThat(executor.pendientes).hasSize(1);
+
+        executor.ejecutarPendientes();
+
+        var orden = inOrder(alertasService);
+        orden.verify(alertasService).obtenerAlertas(Periodo.fromCodigo(202403));
+        orden.verify(alertasService).obtenerAlertas(Periodo.fromCodigo(202402));
+        verify(materializadasRepository, times(2)).save(any());
+    }
+
+    @Test
+    void unaCargaPosteriorDescartaElRecalculoAnterior() {
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202401, 202402, 202403)));
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202401, 202402, 202403)));
+
+        Runnable primero = executor.pendientes.remove(0);
+        primero.run();
+        verify(materializadasRepository, never()).save(any());
+
+        executor.ejecutarPendientes();
+        verify(materializadasRepository, times(2)).save(any());
+    }
+
+    /**
+     * Executor que guarda las tareas para ejecutarlas cuando la prueba lo indique
+     */
+    private static class ExecutorManual extends AbstractExecutorService {
+
+        private final List<Runnable> pendientes = new ArrayList<>();
+
+        void ejecutarPendientes() {
+            while (!pendientes.isEmpty()) {
+                pendientes.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            pendientes.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
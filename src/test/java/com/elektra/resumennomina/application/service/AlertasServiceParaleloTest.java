@@ -0,0 +1,97 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.ClaveSerie;
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlertasServiceParaleloTest {
+
+    private static final Periodo PERIODO = Periodo.of(2024, 30);
+    private static final int TAMANO_LOTE = 16;
+
+    private final ExecutorService calculoExecutor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        calculoExecutor.shutdownNow();
+    }
+
+    @Test
+    void elDefaultEsParaleloComoEnApplicationYml() {
+        assertThat(new AppProperties().getAlertas().isParalelo()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 16, 48, 37, 203})
+    void elModoParaleloDaLasMismasAlertasQueElSecuencial(int cantidadSeries) {
+        List<EstadoSerie> series = seriesAleatorias(new Random(cantidadSeries), cantidadSeries);
+
+        ResultadoAlertas secuencial = servicio(series, false).obtenerAlertas(PERIODO);
+        ResultadoAlertas paralelo = servicio(series, true).obtenerAlertas(PERIODO);
+
+        assertThat(secuencial.getTotalAlertasZScore() + secuencial.getTotalAlertasPrediccion()).isPositive();
+        assertThat(paralelo.getAlertasZScore()).isEqualTo(secuencial.getAlertasZScore());
+        assertThat(paralelo.getAlertasPrediccion()).isEqualTo(secuencial.getAlertasPrediccion());
+    }
+
+    @Test
+    void elModoParaleloConservaElOrdenDeLasSeriesSinOrdenar() {
+        // 37 series: dos lotes completos y uno de 5; sin ordenar, el resultado sigue el orden de entrada
+        List<EstadoSerie> series = seriesAleatorias(new Random(7), 37);
+
+        assertThat(servicio(series, true).obtenerAlertasPrediccion(PERIODO))
+                .isEqualTo(servicio(series, false).obtenerAlertasPrediccion(PERIODO));
+    }
+
+    private AlertasService servicio(List<EstadoSerie> series, boolean paralelo) {
+        EstadoSeriesService estadoSeriesService = mock(EstadoSeriesService.class);
+        when(estadoSeriesService.obtenerEstados(PERIODO)).thenReturn(series);
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAlertas().setParalelo(paralelo);
+        appProperties.getAlertas().setTamanoLote(TAMANO_LOTE);
+        return new AlertasService(estadoSeriesService, calculoExecutor, appProperties);
+    }
+
+    /**
+     * Series de 20 semanas; una de cada tres termina con un salto para que haya alertas de ambos tipos
+     */
+    private static List<EstadoSerie> seriesAleatorias(Random random, int cantidad) {
+        List<EstadoSerie> series = new ArrayList<>();
+        for (int s = 0; s < cantidad; s++) {
+            EstadoSerie serie = EstadoSerie.nuevo(new ClaveSerie("N" + s % 4, "P" + s, "Compensación"));
+            double anterior = 0;
+            for (int semana = 11; semana <= 30; semana++) {
+                double valor = 1_000 + random.nextInt(100);
+                if (semana == 30 && s % 3 == 0) {
+                    valor *= 1.5 + random.nextDouble();
+                }
+                serie.agregar(EstadoSerie.PuntoSerie.builder()
+                        .codigoPeriodo(Periodo.of(2024, semana).toCodigo())
+                        .valor(valor)
+                        .registros(1)
+                        .variacion(anterior != 0 ? (valor - anterior) / anterior : null)
+                        .build());
+                anterior = valor;
+            }
+            serie.setCodigoPeriodo(PERIODO.toCodigo());
+            series.add(serie);
+        }
+        return series;
+    }
+}
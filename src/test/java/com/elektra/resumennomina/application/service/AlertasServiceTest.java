@@ -0,0 +1,47 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AlertasServiceTest {
+
+    private EstadoSeriesService estadoSeriesService;
+    private AlertasService service;
+
+    @BeforeEach
+    void setUp() {
+        estadoSeriesService = mock(EstadoSeriesService.class);
+        service = new AlertasService(estadoSeriesService, mock(ExecutorService.class), new AppProperties());
+    }
+
+    @Test
+    void historialDeDosAniosSeAcepta() {
+        assertThat(service.obtenerHistorialAlertas(Periodo.of(2024, 1), Periodo.of(2025, 53))).isEmpty();
+        verify(estadoSeriesService).recorrerVentanas(any(), any(), any());
+    }
+
+    @Test
+    void historialMayorADosAniosSeRechaza() {
+        assertThatThrownBy(() -> service.obtenerHistorialAlertas(Periodo.of(2023, 52), Periodo.of(2025, 52)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("106");
+        verifyNoInteractions(estadoSeriesService);
+    }
+
+    @Test
+    void historialConRangoInvertidoSeRechaza() {
+        assertThatThrownBy(() -> service.obtenerHistorialAlertas(Periodo.of(2025, 2), Periodo.of(2025, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
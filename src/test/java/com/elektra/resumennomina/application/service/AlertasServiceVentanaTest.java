@@ -0,0 +1,385 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.domain.model.ClaveSerie;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.EstadoSerieRepository;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compara la evaluación de alertas sobre la ventana leída una sola vez contra el cálculo original,
+ * que consultaba y evaluaba cada serie por separado en BigDecimal
+ */
+class AlertasServiceVentanaTest {
+
+    private static final Periodo PERIODO = Periodo.of(2024, 30);
+    private static final Periodo INICIO_VENTANA = Periodo.of(2023, 30);
+    private static final String[] INDICADORES = {"Compensación", "Bono", "Vales"};
+    private static final BigDecimal CIEN = new BigDecimal("100");
+
+    private final ExecutorService calculoExecutor = Executors.newFixedThreadPool(2);
+    private List<DatoCompensacion> datos;
+    private DatoCompensacionRepository repository;
+    private EstadoSeriesService estadoSeriesService;
+    private AlertasService service;
+
+    @BeforeEach
+    void setUp() {
+        datos = datosAleatorios(new Random(2023L));
+        repository = mock(DatoCompensacionRepository.class);
+        when(repository.findByPeriodoBetween(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int desde = invocation.getArgument(0);
+            int hasta = invocation.getArgument(1);
+            return datos.stream()
+                    .filter(dato -> dato.getCodigoPeriodo() >= desde && dato.getCodigoPeriodo() <= hasta)
+                    .toList();
+        });
+        EstadoSerieRepository estadoRepository = mock(EstadoSerieRepository.class);
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>());
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAlertas().setTamanoLote(8);
+        estadoSeriesService = spy(new EstadoSeriesService(repository, estadoRepository));
+        service = new AlertasService(estadoSeriesService, calculoExecutor, appProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculoExecutor.shutdownNow();
+    }
+
+    // ==================== Z-SCORE ====================
+
+    @Test
+    void lasAlertasZScoreCoincidenConEvaluarCadaSerieEnBigDecimal() {
+        List<AlertaZScore> esperadas = new ArrayList<>();
+        porSerie().forEach((clave, datosSerie) -> {
+            AlertaZScore alerta = zScoreOriginal(clave, datosSerie);
+            if (alerta != null) {
+                esperadas.add(alerta);
+            }
+        });
+        esperadas.sort(SeleccionAlertas.ORDEN_ZSCORE);
+
+        List<AlertaZScore> alertas = service.obtenerAlertasZScore(PERIODO);
+
+        assertThat(esperadas).hasSizeGreaterThan(5);
+        assertThat(alertas).extracting(this::clave).containsExactlyElementsOf(esperadas.stream().map(this::clave).toList());
+        for (int i = 0; i < alertas.size(); i++) {
+            AlertaZScore alerta = alertas.get(i);
+            AlertaZScore esperada = esperadas.get(i);
+            assertThat(alerta.getSeveridad()).isEqualTo(esperada.getSeveridad());
+            assertThat(alerta.getZScore()).isCloseTo(esperada.getZScore(), within(new BigDecimal("0.01")));
+            assertThat(alerta.getVariacionPorcentual()).isEqualByComparingTo(esperada.getVariacionPorcentual());
+            assertThat(alerta.getVariacionMedia()).isCloseTo(esperada.getVariacionMedia(), within(new BigDecimal("0.01")));
+            assertThat(alerta.getDesviacionEstandar()).isCloseTo(esperada.getDesviacionEstandar(), within(new BigDecimal("0.01")));
+            assertThat(alerta.getPeriodo()).isEqualTo(PERIODO);
+        }
+    }
+
+    @Test
+    void laVentanaSeLeeUnaSolaVezSinConsultasPorSerie() {
+        service.obtenerAlertasZScore(PERIODO);
+
+        verify(repository, times(1)).findByPeriodoBetween(INICIO_VENTANA.toCodigo(), PERIODO.toCodigo());
+        verify(repository, never()).findDistinctNegocios();
+        verify(repository, never()).findDistinctPuestosByNegocio(anyString());
+        verify(repository, never()).findDistinctIndicadoresByNegocioAndPuesto(anyString(), anyString());
+        verify(repository, never()).findByNegocioAndPuestoAndIndicadorAndPeriodoBetween(
+                anyString(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    // ==================== PREDICCION ====================
+
+    @Test
+    void lasAlertasDePrediccionCoincidenConEvaluarCadaSerieEnBigDecimal() {
+        Map<String, AlertaPrediccion> esperadas = new TreeMap<>();
+        porSerie().forEach((clave, datosSerie) -> {
+            AlertaPrediccion alerta = prediccionOriginal(clave, datosSerie);
+            if (alerta != null) {
+                esperadas.put(clave(alerta), alerta);
+            }
+        });
+
+        List<AlertaPrediccion> alertas = service.obtenerAlertasPrediccion(PERIODO);
+
+        assertThat(esperadas).hasSizeGreaterThan(5);
+        assertThat(alertas).extracting(this::clave).containsExactlyInAnyOrderElementsOf(esperadas.keySet());
+        assertThat(alertas).isSortedAccordingTo(SeleccionAlertas.ORDEN_PREDICCION);
+        for (AlertaPrediccion alerta : alertas) {
+            AlertaPrediccion esperada = esperadas.get(clave(alerta));
+            assertThat(alerta.getObservacionReal()).isEqualByComparingTo(esperada.getObservacionReal());
+            assertThat(alerta.getPronostico()).isCloseTo(esperada.getPronostico(), within(new BigDecimal("0.01")));
+            assertThat(alerta.getLimiteInferior()).isCloseTo(esperada.getLimiteInferior(), within(new BigDecimal("0.02")));
+            assertThat(alerta.getLimiteSuperior()).isCloseTo(esperada.getLimiteSuperior(), within(new BigDecimal("0.02")));
+            assertThat(alerta.getVariacionFueraRango()).isCloseTo(esperada.getVariacionFueraRango(), within(new BigDecimal("0.01")));
+            assertThat(alerta.isHistoriaInsuficiente()).isEqualTo(esperada.isHistoriaInsuficiente());
+        }
+    }
+
+    // ==================== ALERTAS COMBINADAS ====================
+
+    @Test
+    void lasAlertasCombinadasCoincidenConEvaluarCadaPruebaPorSeparado() {
+        List<AlertaZScore> zScore = service.obtenerAlertasZScore(PERIODO);
+        List<AlertaPrediccion> prediccion = service.obtenerAlertasPrediccion(PERIODO);
+
+        ResultadoAlertas resultado = service.obtenerAlertas(PERIODO);
+
+        assertThat(resultado.getAlertasZScore()).usingRecursiveComparison().isEqualTo(zScore);
+        assertThat(resultado.getAlertasPrediccion()).usingRecursiveComparison().isEqualTo(prediccion);
+        assertThat(resultado.getTotalAlertasZScore()).isEqualTo(zScore.size());
+        assertThat(resultado.getTotalAlertasPrediccion()).isEqualTo(prediccion.size());
+    }
+
+    @Test
+    void lasAlertasCombinadasCarganLasSeriesUnaSolaVez() {
+        service.obtenerAlertas(PERIODO);
+
+        verify(estadoSeriesService, times(1)).obtenerEstados(PERIODO);
+        verify(repository, times(1)).findByPeriodoBetween(INICIO_VENTANA.toCodigo(), PERIODO.toCodigo());
+
+        clearInvocations(estadoSeriesService, repository);
+        service.obtenerAlertasZScore(PERIODO);
+        service.obtenerAlertasPrediccion(PERIODO);
+
+        verify(estadoSeriesService, times(2)).obtenerEstados(PERIODO);
+    }
+
+    // ==================== CALCULO ORIGINAL ====================
+
+    /**
+     * Registros de la ventana por serie, como los devolvía la consulta por negocio/puesto/indicador
+     */
+    private Map<ClaveSerie, List<DatoCompensacion>> porSerie() {
+        Map<ClaveSerie, List<DatoCompensacion>> series = new TreeMap<>(ClaveSerie.ORDEN);
+        for (DatoCompensacion dato : datos) {
+            if (!"Empleado".equalsIgnoreCase(dato.getIndicador().trim())
+                    && dato.getCodigoPeriodo() >= INICIO_VENTANA.toCodigo()
+                    && dato.getCodigoPeriodo() <= PERIODO.toCodigo()) {
+                series.computeIfAbsent(ClaveSerie.of(dato), k -> new ArrayList<>()).add(dato);
+            }
+        }
+        return series;
+    }
+
+    private static Map<Integer, BigDecimal> valoresPorPeriodo(List<DatoCompensacion> datosSerie) {
+        Map<Integer, BigDecimal> valores = new TreeMap<>();
+        datosSerie.forEach(dato -> valores.merge(dato.getCodigoPeriodo(), dato.getValor(), BigDecimal::add));
+        return valores;
+    }
+
+    private AlertaZScore zScoreOriginal(ClaveSerie clave, List<DatoCompensacion> datosSerie) {
+        if (datosSerie.size() < 10) {
+            return null;
+        }
+        List<BigDecimal> valores = new ArrayList<>(valoresPorPeriodo(datosSerie).values());
+        if (valores.size() < 3) {
+            return null;
+        }
+
+        List<BigDecimal> variaciones = new ArrayList<>();
+        for (int i = 1; i < valores.size(); i++) {
+            BigDecimal anterior = valores.get(i - 1);
+            if (anterior.compareTo(BigDecimal.ZERO) != 0) {
+                variaciones.add(valores.get(i).subtract(anterior).divide(anterior, 6, RoundingMode.HALF_UP));
+            }
+        }
+        if (variaciones.size() < 2) {
+            return null;
+        }
+
+        BigDecimal variacionActual = variaciones.get(variaciones.size() - 1);
+        List<BigDecimal> historicas = variaciones.subList(0, variaciones.size() - 1);
+        BigDecimal media = historicas.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(new BigDecimal(historicas.size()), 6, RoundingMode.HALF_UP);
+        BigDecimal desviacion = BigDecimal.ZERO;
+        if (historicas.size() >= 2) {
+            BigDecimal varianza = historicas.stream().map(v -> v.subtract(media).pow(2))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(new BigDecimal(historicas.size() - 1), 6, RoundingMode.HALF_UP);
+            desviacion = new BigDecimal(Math.sqrt(varianza.doubleValue())).setScale(6, RoundingMode.HALF_UP);
+        }
+        if (desviacion.compareTo(BigDecimal.ZERO) == 0) {
+            desviacion = new BigDecimal("0.01");
+        }
+
+        BigDecimal margen;
+        if (desviacion.compareTo(new BigDecimal("0.01")) < 0) {
+            margen = new BigDecimal("0.015");
+        } else if (desviacion.compareTo(new BigDecimal("0.05")) < 0) {
+            margen = desviacion.multiply(new BigDecimal("1.3"));
+        } else {
+            margen = desviacion;
+        }
+        margen = margen.max(new BigDecimal("0.01")).min(new BigDecimal("0.20"));
+        BigDecimal limiteSuperior = media.add(margen);
+        BigDecimal limiteInferior = media.subtract(margen);
+
+        BigDecimal zScore = variacionActual.subtract(media).divide(desviacion, 4, RoundingMode.HALF_UP).abs();
+        boolean superaUmbrales = variacionActual.compareTo(limiteSuperior) > 0 || variacionActual.compareTo(limiteInferior) < 0;
+        boolean diferenciaSignificativa = variacionActual.subtract(media).abs().compareTo(new BigDecimal("0.01")) > 0;
+        if (!superaUmbrales || !diferenciaSignificativa || zScore.compareTo(BigDecimal.ONE) <= 0) {
+            return null;
+        }
+
+        AlertaZScore.Severidad severidad = zScore.compareTo(new BigDecimal("3")) > 0 ? AlertaZScore.Severidad.CRITICA
+                : zScore.compareTo(new BigDecimal("2")) > 0 ? AlertaZScore.Severidad.ALTA
+                : AlertaZScore.Severidad.MODERADA;
+
+        return AlertaZScore.builder()
+                .negocio(clave.negocio())
+                .puesto(clave.puesto())
+                .indicador(clave.indicador())
+                .variacionPorcentual(variacionActual.multiply(CIEN).setScale(2, RoundingMode.HALF_UP))
+                .variacionMedia(media.multiply(CIEN).setScale(2, RoundingMode.HALF_UP))
+                .desviacionEstandar(desviacion.multiply(CIEN).setScale(2, RoundingMode.HALF_UP))
+                .limiteInferior(limiteInferior.multiply(CIEN).setScale(2, RoundingMode.HALF_UP))
+                .limiteSuperior(limiteSuperior.multiply(CIEN).setScale(2, RoundingMode.HALF_UP))
+                .zScore(zScore.setScale(2, RoundingMode.HALF_UP))
+                .severidad(severidad)
+                .periodo(PERIODO)
+                .build();
+    }
+
+    private AlertaPrediccion prediccionOriginal(ClaveSerie clave, List<DatoCompensacion> datosSerie) {
+        List<BigDecimal> valores = new ArrayList<>(valoresPorPeriodo(datosSerie).values());
+        boolean historiaInsuficiente = valores.size() < 10;
+        if (valores.size() < 3) {
+            return null;
+        }
+
+        BigDecimal observacionReal = valores.get(valores.size() - 1);
+        List<BigDecimal> historicos = valores.subList(0, valores.size() - 1);
+        int n = historicos.size();
+
+        BigDecimal alpha = new BigDecimal("2").divide(new BigDecimal(n + 1), 6, RoundingMode.HALF_UP);
+        BigDecimal pronostico = historicos.get(0);
+        for (int i = 1; i < n; i++) {
+            pronostico = alpha.multiply(historicos.get(i)).add(BigDecimal.ONE.subtract(alpha).multiply(pronostico));
+        }
+        if (n >= 3) {
+            pronostico = pronostico.add(historicos.get(n - 1).subtract(historicos.get(n - 3))
+                    .divide(new BigDecimal("2"), 6, RoundingMode.HALF_UP));
+        }
+
+        BigDecimal media = historicos.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(new BigDecimal(n), 6, RoundingMode.HALF_UP);
+        BigDecimal varianza = historicos.stream().map(v -> v.subtract(media).pow(2))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(new BigDecimal(n - 1), 6, RoundingMode.HALF_UP);
+        BigDecimal errorEstandar = new BigDecimal(Math.sqrt(varianza.doubleValue()) * Math.sqrt(1 + 1.0 / n))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        BigDecimal margen = new BigDecimal("1.96").multiply(errorEstandar);
+        BigDecimal limiteInferior = pronostico.subtract(margen);
+        BigDecimal limiteSuperior = pronostico.add(margen);
+        BigDecimal limiteExcedido;
+        if (observacionReal.compareTo(limiteSuperior) > 0) {
+            limiteExcedido = limiteSuperior;
+        } else if (observacionReal.compareTo(limiteInferior) < 0) {
+            limiteExcedido = limiteInferior;
+        } else {
+            return null;
+        }
+        BigDecimal variacionFuera = observacionReal.subtract(limiteExcedido)
+                .divide(pronostico, 4, RoundingMode.HALF_UP).multiply(CIEN);
+
+        return AlertaPrediccion.builder()
+                .negocio(clave.negocio())
+                .puesto(clave.puesto())
+                .indicador(clave.indicador())
+                .observacionReal(observacionReal.setScale(2, RoundingMode.HALF_UP))
+                .pronostico(pronostico.setScale(2, RoundingMode.HALF_UP))
+                .limiteInferior(limiteInferior.setScale(2, RoundingMode.HALF_UP))
+                .limiteSuperior(limiteSuperior.setScale(2, RoundingMode.HALF_UP))
+                .variacionFueraRango(variacionFuera.setScale(2, RoundingMode.HALF_UP))
+                .historiaInsuficiente(historiaInsuficiente)
+                .periodo(PERIODO)
+                .build();
+    }
+
+    private String clave(AlertaZScore alerta) {
+        return alerta.getNegocio() + "/" + alerta.getPuesto() + "/" + alerta.getIndicador();
+    }
+
+    private String clave(AlertaPrediccion alerta) {
+        return alerta.getNegocio() + "/" + alerta.getPuesto() + "/" + alerta.getIndicador();
+    }
+
+    // ==================== DATOS ====================
+
+    /**
+     * 60 series de 2023-20 a 2024-30 (la ventana empieza en 2023-30) con uno a tres registros por semana.
+     * Algunas saltan semanas o tienen pocos registros; una de cada tres termina con un salto.
+     * Cada puesto tiene además registros de empleados, que no se evalúan
+     */
+    private static List<DatoCompensacion> datosAleatorios(Random random) {
+        List<DatoCompensacion> datos = new ArrayList<>();
+        for (int s = 0; s < 60; s++) {
+            String negocio = "N" + s % 3;
+            String puesto = "P" + s / 3;
+            String indicador = INDICADORES[s % INDICADORES.length];
+            double base = 10_000 + random.nextInt(90_000);
+            double volatilidad = 0.005 + random.nextDouble() * 0.08;
+            int probabilidadSalto = s % 7 == 0 ? 3 : 20;
+
+            for (Periodo periodo = Periodo.of(2023, 20); periodo.compareTo(PERIODO) <= 0; periodo = periodo.siguiente()) {
+                if (s % 11 == 0 && random.nextInt(4) == 0 || random.nextInt(probabilidadSalto * 5) == 0) {
+                    continue;
+                }
+                double valor = base * (1 + random.nextGaussian() * volatilidad);
+                if (periodo.equals(PERIODO) && s % 3 == 0) {
+                    valor *= random.nextBoolean() ? 1.25 : 0.8;
+                }
+                int registros = 1 + random.nextInt(3);
+                long centavos = Math.round(valor * 100);
+                for (int r = 0; r < registros; r++) {
+                    long parte = r == registros - 1 ? centavos - centavos / registros * r : centavos / registros;
+                    datos.add(dato(negocio, puesto, indicador, periodo, BigDecimal.valueOf(parte, 2)));
+                }
+                datos.add(dato(negocio, puesto, "Empleado", periodo, BigDecimal.valueOf(5 + random.nextInt(5))));
+            }
+        }
+        return datos;
+    }
+
+    private static DatoCompensacion dato(String negocio, String puesto, String indicador, Periodo periodo, BigDecimal valor) {
+        return DatoCompensacion.builder()
+                .negocio(negocio)
+                .puesto(puesto)
+                .indicador(indicador)
+                .codigoPeriodo(periodo.toCodigo())
+                .valor(valor)
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.elektra.resumennomina.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el cálculo en double de {@link CalculoEstadistico} publica los mismos
+ * resultados a 2 decimales que las fórmulas originales en BigDecimal de AlertasService.
+ */
+class CalculoEstadisticoTest {
+
+    private static final int CASOS = 20_000;
+    private static final BigDecimal CIEN = new BigDecimal("100");
+
+    // ==================== MEDIA Y DESVIACIÓN ====================
+
+    @Test
+    void mediaYDesviacionCoincidenConBigDecimal() {
+        Random random = new Random(20240101L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            List<BigDecimal> serie = serieAleatoria(random, 2 + random.nextInt(52));
+            double[] valores = aDouble(serie);
+
+            BigDecimal mediaEsperada = mediaBigDecimal(serie);
+            double media = CalculoEstadistico.redondear(CalculoEstadistico.media(valores, 0, valores.length), 6);
+            assertThat(decimal(media)).as("media caso %d", caso).isEqualByComparingTo(decimal(mediaEsperada));
+
+            BigDecimal desviacionEsperada = desviacionBigDecimal(serie, mediaEsperada);
+            double varianza = CalculoEstadistico.redondear(
+                    CalculoEstadistico.varianzaMuestral(valores, 0, valores.length, media), 6);
+            double desviacion = CalculoEstadistico.redondear(Math.sqrt(varianza), 6);
+            assertThat(decimal(desviacion)).as("desviación caso %d", caso)
+                    .isEqualByComparingTo(decimal(desviacionEsperada));
+        }
+    }
+
+    @Test
+    void varianzaEsCeroConMenosDeDosValores() {
+        assertThat(CalculoEstadistico.varianzaMuestral(new double[]{5.0}, 0, 1, 5.0)).isZero();
+        assertThat(CalculoEstadistico.media(new double[0], 0, 0)).isZero();
+    }
+
+    // ==================== Z-SCORE ====================
+
+    @Test
+    void zScoreCoincideConBigDecimal() {
+        Random random = new Random(42L);
+        int evaluados = 0;
+        for (int caso = 0; caso < CASOS; caso++) {
+            List<BigDecimal> serie = serieAleatoria(random, 4 + random.nextInt(50));
+            List<BigDecimal> variaciones = variacionesBigDecimal(serie);
+            List<BigDecimal> historia = variaciones.subList(0, variaciones.size() - 1);
+            BigDecimal actual = variaciones.get(variaciones.size() - 1);
+
+            BigDecimal media = mediaBigDecimal(historia);
+            BigDecimal desviacion = desviacionBigDecimal(historia, media);
+            if (desviacion.signum() == 0) {
+                continue;
+            }
+            BigDecimal zEsperado = actual.subtract(media).divide(desviacion, 4, RoundingMode.HALF_UP).abs();
+
+            double[] v = aDouble(historia);
+            double mediaD = CalculoEstadistico.redondear(CalculoEstadistico.media(v, 0, v.length), 6);
+            double varianza = CalculoEstadistico.redondear(CalculoEstadistico.varianzaMuestral(v, 0, v.length, mediaD), 6);
+            double desviacionD = CalculoEstadistico.redondear(Math.sqrt(varianza), 6);
+            double diferencia = CalculoEstadistico.redondear(actual.doubleValue() - mediaD, 6);
+            double z = Math.abs(CalculoEstadistico.redondear(diferencia / desviacionD, 4));
+
+            assertThat(decimal(z)).as("z-score caso %d", caso).isEqualByComparingTo(decimal(zEsperado));
+            assertThat(porcentaje(mediaD)).as("media de variaciones caso %d", caso)
+                    .isEqualByComparingTo(media.multiply(CIEN).setScale(2, RoundingMode.HALF_UP));
+            evaluados++;
+        }
+        assertThat(evaluados).isGreaterThan(CASOS / 2);
+    }
+
+    // ==================== PRONÓSTICO EMA ====================
+
+    @Test
+    void pronosticoEmaCoincideConBigDecimal() {
+        Random random = new Random(7L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            List<BigDecimal> serie = serieAleatoria(random, 1 + random.nextInt(52));
+            double pronostico = CalculoEstadistico.pronosticoEma(aDouble(serie), 0, serie.size());
+            assertThat(decimal(pronostico)).as("pronóstico caso %d", caso)
+                    .isEqualByComparingTo(decimal(pronosticoBigDecimal(serie)));
+        }
+    }
+
+    @Test
+    void pronosticoEmaRespetaElRango() {
+        double[] valores = {999, 10, 20, 30, 999};
+        assertThat(CalculoEstadistico.pronosticoEma(valores, 1, 4))
+                .isEqualTo(CalculoEstadistico.pronosticoEma(new double[]{10, 20, 30}, 0, 3));
+        assertThat(CalculoEstadistico.pronosticoEma(valores, 2, 2)).isZero();
+    }
+
+    // ==================== REDONDEO ====================
+
+    @Test
+    void redondearAplicaHalfUp() {
+        assertThat(CalculoEstadistico.redondear(2.345, 2)).isEqualTo(2.35);
+        assertThat(CalculoEstadistico.redondear(-2.345, 2)).isEqualTo(-2.35);
+        assertThat(CalculoEstadistico.redondear(0.1234565, 6)).isEqualTo(0.123457);
+        assertThat(CalculoEstadistico.redondear(23050.604999999996, 2)).isEqualTo(23050.61);
+        assertThat(CalculoEstadistico.redondear(23050.6049, 2)).isEqualTo(23050.60);
+        assertThat(CalculoEstadistico.redondear(1e300, 8)).isEqualTo(1e300);
+    }
+
+    // ==================== REFERENCIA EN BIGDECIMAL ====================
+
+    private static BigDecimal mediaBigDecimal(List<BigDecimal> valores) {
+        if (valores.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal suma = valores.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        return suma.divide(new BigDecimal(valores.size()), 6, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal desviacionBigDecimal(List<BigDecimal> valores, BigDecimal media) {
+        if (valores.size() < 2) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal sumaCuadrados = valores.stream()
+                .map(v -> v.subtract(media).pow(2))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal varianza = sumaCuadrados.divide(
+                new BigDecimal(valores.size() - 1), 6, RoundingMode.HALF_UP);
+        return new BigDecimal(Math.sqrt(varianza.doubleValue())).setScale(6, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal pronosticoBigDecimal(List<BigDecimal> valores) {
+        int n = valores.size();
+        BigDecimal alpha = new BigDecimal("2").divide(new BigDecimal(n + 1), 6, RoundingMode.HALF_UP);
+        BigDecimal ema = valores.get(0);
+        for (int i = 1; i < n; i++) {
+            ema = alpha.multiply(valores.get(i)).add(BigDecimal.ONE.subtract(alpha).multiply(ema));
+        }
+        if (n >= 3) {
+            BigDecimal tendencia = valores.get(n - 1).subtract(valores.get(n - 3))
+                    .divide(new BigDecimal("2"), 6, RoundingMode.HALF_UP);
+            return ema.add(tendencia);
+        }
+        return ema;
+    }
+
+    private static List<BigDecimal> variacionesBigDecimal(List<BigDecimal> serie) {
+        List<BigDecimal> variaciones = new ArrayList<>();
+        for (int i = 1; i < serie.size(); i++) {
+            variaciones.add(serie.get(i).subtract(serie.get(i - 1))
+                    .divide(serie.get(i - 1), 6, RoundingMode.HALF_UP));
+        }
+        return variaciones;
+    }
+
+    // ==================== UTILIDADES ====================
+
+    /**
+     * Serie semanal de montos positivos con 2 decimales, como los totales de nómina
+     */
+    private static List<BigDecimal> serieAleatoria(Random random, int tamano) {
+        List<BigDecimal> serie = new ArrayList<>(tamano);
+        long base = 100_000 + random.nextInt(50_000_000);
+        for (int i = 0; i < tamano; i++) {
+            long centavos = Math.max(1, base + (long) (random.nextGaussian() * base * 0.08));
+            serie.add(BigDecimal.valueOf(centavos, 2));
+        }
+        return serie;
+    }
+
+    private static double[] aDouble(List<BigDecimal> valores) {
+        double[] resultado = new double[valores.size()];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = valores.get(i).doubleValue();
+        }
+        return resultado;
+    }
+
+    /**
+     * Misma conversión que AlertasService al publicar un valor
+     */
+    private static BigDecimal decimal(double valor) {
+        return BigDecimal.valueOf(CalculoEstadistico.redondear(valor, 2)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal decimal(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal porcentaje(double fraccion) {
+        return BigDecimal.valueOf(fraccion).multiply(CIEN).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,394 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.ClaveSerie;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
+import com.elektra.resumennomina.domain.model.EstadisticasSerie;
+import com.elektra.resumennomina.domain.model.MapaCalorItem;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResumenIndicador;
+import com.elektra.resumennomina.domain.model.ResumenSemanal;
+import com.elektra.resumennomina.domain.model.SerieSemanal;
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CompensacionServiceTest {
+
+    private static final Periodo DESDE = Periodo.of(2024, 1);
+    private static final Periodo HASTA = Periodo.of(2024, 52);
+
+    private RollupSemanalRepository repository;
+    private EstadisticasService estadisticasService;
+    private ExecutorService calculoExecutor;
+    private CompensacionService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RollupSemanalRepository.class);
+        estadisticasService = mock(EstadisticasService.class);
+        calculoExecutor = Executors.newSingleThreadExecutor();
+        service = new CompensacionService(repository, mock(DatoCompensacionRepository.class), estadisticasService,
+                mock(TablaResultadosService.class), mock(PeriodoActualService.class), calculoExecutor);
+        when(estadisticasService.calcularEstadisticas(any(), anyString(), anyString(), anyString()))
+                .thenReturn(EstadisticasSerie.builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculoExecutor.shutdownNow();
+    }
+
+    // ==================== SERIE POR EMPLEADO ====================
+
+    @Test
+    void laSerieDeUnIndicadorEsElPromedioPorEmpleado() {
+        when(repository.sumarIndicadorYEmpleadosPorPeriodo("N1", "P1", "Bono", "Empleado", 202401, 202452))
+                .thenReturn(List.of(
+                        new TotalEmpleadosPeriodo(202410, "N1", "P1", new BigDecimal("100.00"), 2, 3),
+                        new TotalEmpleadosPeriodo(202411, "N1", "P1", new BigDecimal("80.00"), 1, 0),
+                        new TotalEmpleadosPeriodo(202412, "N1", "P1", new BigDecimal("0.00"), 0, 5)));
+
+        service.obtenerSeriePorNegocioPuestoIndicador("N1", "P1", "Bono", DESDE, HASTA);
+
+        SerieSemanal serie = serieCalculada("Bono");
+        // 100 / 3 redondeado a centavos; sin empleados se conserva el total; sin registros no hay valor
+        assertThat(serie.valor(Periodo.of(2024, 10))).isEqualByComparingTo("33.33");
+        assertThat(serie.valor(Periodo.of(2024, 11))).isEqualByComparingTo("80.00");
+        assertThat(serie.valor(Periodo.of(2024, 12))).isNull();
+    }
+
+    @Test
+    void laSerieDeEmpleadosNoSePromedia() {
+        when(repository.sumarIndicadorYEmpleadosPorPeriodo("N1", "P1", "empleado", "Empleado", 202401, 202452))
+                .thenReturn(List.of(new TotalEmpleadosPeriodo(202410, "N1", "P1", new BigDecimal("12.00"), 3, 12)));
+
+        service.obtenerSeriePorNegocioPuestoIndicador("N1", "P1", "empleado", DESDE, HASTA);
+
+        assertThat(serieCalculada("empleado").valor(Periodo.of(2024, 10))).isEqualByComparingTo("12.00");
+    }
+
+    private SerieSemanal serieCalculada(String indicador) {
+        ArgumentCaptor<SerieSemanal> serie = ArgumentCaptor.forClass(SerieSemanal.class);
+        verify(estadisticasService).calcularEstadisticas(serie.capture(), eq("N1"), eq("P1"), eq(indicador));
+        return serie.getValue();
+    }
+
+    // ==================== RESUMEN DE INDICADORES ====================
+
+    @Test
+    void elResumenDeIndicadoresSaleDeUnaSolaAgregacionDeAmbasSemanas() {
+        when(repository.sumarPorPeriodoEIndicador("N1", "P1", List.of(202410, 202409))).thenReturn(List.of(
+                new TotalIndicador("N1", 202410, "Bono", new BigDecimal("150.00")),
+                new TotalIndicador("N1", 202409, "Bono", new BigDecimal("100.00")),
+                new TotalIndicador("N1", 202409, "Vales", new BigDecimal("20.00"))));
+
+        List<ResumenIndicador> resumenes = service.obtenerResumenIndicadoresPorNegocioYPuesto(
+                "N1", "P1", Periodo.of(2024, 10));
+
+        assertThat(resumenes).extracting(ResumenIndicador::getIndicador).containsExactly("Bono", "Vales");
+        assertThat(resumenes.get(0).getValorActual()).isEqualByComparingTo("150.00");
+        assertThat(resumenes.get(0).getValorAnterior()).isEqualByComparingTo("100.00");
+        assertThat(resumenes.get(0).getDiferencia()).isEqualByComparingTo("50.00");
+        assertThat(resumenes.get(0).getVariacionPorcentual()).isEqualByComparingTo("50.00");
+        assertThat(resumenes.get(0).isVariacionPositiva()).isTrue();
+        // Solo con datos la semana anterior: actual en cero y variacion negativa
+        assertThat(resumenes.get(1).getValorActual()).isEqualByComparingTo("0");
+        assertThat(resumenes.get(1).isVariacionPositiva()).isFalse();
+        verify(repository, never()).findDistinctIndicadoresByNegocioAndPuesto(anyString(), anyString());
+    }
+
+    @Test
+    void unIndicadorSinDatosEnNingunaDeLasDosSemanasNoSeLista() {
+        // La agregacion ya no consulta los indicadores distintos del puesto: uno que solo tiene
+        // registros en otras semanas no aparece (antes se listaba como 0 -> 0)
+        when(repository.findDistinctIndicadoresByNegocioAndPuesto("N1", "P1")).thenReturn(List.of("Bono", "Antiguo"));
+        when(repository.sumarPorPeriodoEIndicador("N1", "P1", List.of(202410, 202409))).thenReturn(List.of(
+                new TotalIndicador("N1", 202410, "Bono", new BigDecimal("1.00"))));
+
+        assertThat(service.obtenerResumenIndicadoresPorNegocioYPuesto("N1", "P1", Periodo.of(2024, 10)))
+                .extracting(ResumenIndicador::getIndicador)
+                .containsExactly("Bono");
+    }
+
+    @Test
+    void lasVariantesDelNombreDeUnIndicadorSeCombinan() {
+        when(repository.sumarPorPeriodoEIndicador("N1", "P1", List.of(202410, 202409))).thenReturn(List.of(
+                new TotalIndicador("N1", 202410, "Prima Vacacional", new BigDecimal("10.00")),
+                new TotalIndicador("N1", 202410, "PRIMA VACACIONAL ", new BigDecimal("5.00")),
+                new TotalIndicador("N1", 202409, "prima vacacional", new BigDecimal("3.00"))));
+
+        List<ResumenIndicador> resumenes = service.obtenerResumenIndicadoresPorNegocioYPuesto(
+                "N1", "P1", Periodo.of(2024, 10));
+
+        assertThat(resumenes).hasSize(1);
+        assertThat(resumenes.get(0).getIndicador()).isEqualToIgnoringCase("prima vacacional");
+        assertThat(resumenes.get(0).getValorActual()).isEqualByComparingTo("15.00");
+        assertThat(resumenes.get(0).getValorAnterior()).isEqualByComparingTo("3.00");
+    }
+
+    // ==================== LOTE DE SERIES ====================
+
+    @Test
+    void unLoteVacioSeRechaza() {
+        assertThatThrownBy(() -> service.obtenerSeriesPorNegocioPuestoIndicador(List.of(), DESDE, HASTA))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("200");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void unLoteDeMasDe200SeriesSeRechaza() {
+        List<ClaveSerie> claves = Collections.nCopies(201, new ClaveSerie("N1", "P1", "Bono"));
+
+        assertThatThrownBy(() -> service.obtenerSeriesPorNegocioPuestoIndicador(claves, DESDE, HASTA))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("200");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void unLoteDe200SeriesSeAcepta() {
+        List<ClaveSerie> claves = Collections.nCopies(200, new ClaveSerie("N1", "P1", "Bono"));
+
+        assertThat(service.obtenerSeriesPorNegocioPuestoIndicador(claves, DESDE, HASTA)).hasSize(200);
+    }
+
+    @Test
+    void elLoteLeeElRangoUnaVezYAgrupaCadaSerieSinDistinguirMayusculas() {
+        when(repository.findByNegocioInAndPuestoInAndPeriodoBetween(
+                Set.of("N1", "n2"), Set.of("P1", "P2"), 202401, 202452)).thenReturn(List.of(
+                dato("N1", "P1", "Bono", 202410, "90.00"),
+                dato("N1", "P1", "BONO", 202410, "30.00"),
+                dato("n1", "p1", "Empleado", 202410, "4"),
+                dato("N2", "P2", "Bono", 202410, "50.00"),
+                dato("N2", "P2", "Bono", 202411, "70.00")));
+
+        service.obtenerSeriesPorNegocioPuestoIndicador(List.of(
+                new ClaveSerie("N1", "P1", "bono"),
+                new ClaveSerie("n2", "P2", "Bono"),
+                new ClaveSerie("N1", "P1", "Vales")), DESDE, HASTA);
+
+        ArgumentCaptor<SerieSemanal> series = ArgumentCaptor.forClass(SerieSemanal.class);
+        verify(estadisticasService, times(3)).calcularEstadisticas(series.capture(), anyString(), anyString(), anyString());
+        // Los calculos corren en un solo hilo, en el orden del lote
+        SerieSemanal n1 = series.getAllValues().get(0);
+        SerieSemanal n2 = series.getAllValues().get(1);
+        SerieSemanal vales = series.getAllValues().get(2);
+
+        // (90 + 30) / 4 empleados
+        assertThat(n1.valor(Periodo.of(2024, 10))).isEqualByComparingTo("30.00");
+        // Sin empleados se conserva el total
+        assertThat(n2.valor(Periodo.of(2024, 10))).isEqualByComparingTo("50.00");
+        assertThat(n2.valor(Periodo.of(2024, 11))).isEqualByComparingTo("70.00");
+        assertThat(vales.isEmpty()).isTrue();
+        verify(repository).findByNegocioInAndPuestoInAndPeriodoBetween(any(), any(), eq(202401), eq(202452));
+    }
+
+    @Test
+    void lasClavesDeUnaPeticionNoRegistranNombresEnElDiccionario() {
+        int negocios = DiccionarioDimension.NEGOCIOS.tamano();
+        int puestos = DiccionarioDimension.PUESTOS.tamano();
+        int indicadores = DiccionarioDimension.INDICADORES.tamano();
+        String desconocido = "peticion-" + UUID.randomUUID();
+
+        service.obtenerSeriesPorNegocioPuestoIndicador(List.of(
+                new ClaveSerie(desconocido, desconocido + "-p", desconocido + "-i")), DESDE, HASTA);
+        service.obtenerSeriePorNegocioPuestoIndicador("N1", "P1", desconocido + "-serie", DESDE, HASTA);
+
+        assertThat(DiccionarioDimension.NEGOCIOS.tamano()).isEqualTo(negocios);
+        assertThat(DiccionarioDimension.PUESTOS.tamano()).isEqualTo(puestos);
+        assertThat(DiccionarioDimension.INDICADORES.tamano()).isEqualTo(indicadores);
+    }
+
+    // ==================== AGREGACIONES EN LA BASE ====================
+
+    private static final Periodo PERIODO_AGREGADO = Periodo.of(2024, 12);
+
+    @Test
+    void elResumenPorNegocioDaLoMismoQueSumarLosRegistrosDeCadaNegocio() {
+        List<DatoCompensacion> datos = datosAgregados(new Random(31L));
+        responderDesde(datos);
+
+        List<ResumenSemanal> resumenes = service.obtenerResumenNacionalPorNegocio(PERIODO_AGREGADO);
+
+        assertThat(resumenes).hasSize(4);
+        assertThat(resumenes)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(resumenPorNegocioEnMemoria(datos, PERIODO_AGREGADO));
+    }
+
+    @Test
+    void elMapaDeCalorDaLoMismoQueAgruparLosRegistrosPorPuesto() {
+        List<DatoCompensacion> datos = datosAgregados(new Random(32L));
+        responderDesde(datos);
+
+        List<MapaCalorItem> items = service.obtenerMapaCalor(PERIODO_AGREGADO);
+
+        assertThat(items).hasSize(8);
+        assertThat(items)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(mapaCalorEnMemoria(datos, PERIODO_AGREGADO));
+    }
+
+    /**
+     * Las agregaciones se resuelven con las columnas en memoria construidas con los mismos registros
+     */
+    @SuppressWarnings("unchecked")
+    private void responderDesde(List<DatoCompensacion> datos) {
+        ColumnasCompensacion.Constructor constructor = ColumnasCompensacion.constructor();
+        for (DatoCompensacion dato : datos) {
+            constructor.agregar(dato.getNegocio(), dato.getPuesto(), dato.getIndicador(),
+                    dato.getCodigoPeriodo(), 1, dato.getValor());
+        }
+        ColumnasCompensacion columnas = constructor.construir();
+        when(repository.findDistinctNegocios()).thenReturn(columnas.distinctNegocios());
+        when(repository.sumarPorNegocioPeriodoEIndicador(any())).thenAnswer(invocation ->
+                columnas.sumarPorNegocioPeriodoEIndicador((Collection<Integer>) invocation.getArgument(0)));
+        when(repository.sumarIndicadorPorPuesto(anyString(), any())).thenAnswer(invocation ->
+                columnas.sumarIndicadorPorPuesto(invocation.getArgument(0), (Collection<Integer>) invocation.getArgument(1)));
+    }
+
+    /**
+     * Calculo anterior: los registros de cada negocio en ambos periodos, sumados en la aplicacion
+     */
+    private static List<ResumenSemanal> resumenPorNegocioEnMemoria(List<DatoCompensacion> datos, Periodo periodo) {
+        List<ResumenSemanal> resumenes = new ArrayList<>();
+        for (String negocio : datos.stream().map(DatoCompensacion::getNegocio).distinct().sorted().toList()) {
+            List<DatoCompensacion> actual = filtrar(datos, negocio, periodo);
+            List<DatoCompensacion> anterior = filtrar(datos, negocio, periodo.anterior());
+            ResumenSemanal resumen = ResumenSemanal.builder()
+                    .periodo(periodo)
+                    .negocio(negocio.trim())
+                    .totalCompensacion(sumar(actual, "Compensación"))
+                    .totalAnterior(sumar(anterior, "Compensación"))
+                    .cantidadEmpleados(actual.stream()
+                            .filter(d -> "Empleado".equalsIgnoreCase(d.getIndicador().trim()))
+                            .map(DatoCompensacion::getValor)
+                            .filter(Objects::nonNull)
+                            .mapToInt(BigDecimal::intValue)
+                            .sum())
+                    .build();
+            resumen.calcularDiferenciaMonto();
+            resumen.calcularVariacionPorcentual();
+            resumen.calcularPromedio();
+            resumenes.add(resumen);
+        }
+        return resumenes;
+    }
+
+    /**
+     * Calculo anterior: todos los registros de ambos periodos agrupados por puesto en la aplicacion
+     */
+    private static List<MapaCalorItem> mapaCalorEnMemoria(List<DatoCompensacion> datos, Periodo periodo) {
+        List<DatoCompensacion> datosActual = datos.stream().filter(d -> d.getCodigoPeriodo() == periodo.toCodigo()).toList();
+        List<DatoCompensacion> datosAnterior = datos.stream()
+                .filter(d -> d.getCodigoPeriodo() == periodo.anterior().toCodigo()).toList();
+        Map<String, BigDecimal> actualPorPuesto = sumarPorPuesto(datosActual);
+        Map<String, BigDecimal> anteriorPorPuesto = sumarPorPuesto(datosAnterior);
+        Map<String, String> negocioPorPuesto = datosActual.stream()
+                .collect(Collectors.toMap(d -> d.getPuesto().trim(), d -> d.getNegocio().trim(), (a, b) -> a));
+        EstadisticasService estadisticas = new EstadisticasService();
+
+        List<MapaCalorItem> items = new ArrayList<>();
+        for (String puesto : actualPorPuesto.keySet()) {
+            BigDecimal valorActual = actualPorPuesto.get(puesto);
+            BigDecimal valorAnterior = anteriorPorPuesto.getOrDefault(puesto, BigDecimal.ZERO);
+            items.add(MapaCalorItem.builder()
+                    .negocio(negocioPorPuesto.getOrDefault(puesto, "Otro"))
+                    .puesto(puesto)
+                    .valorSemanaActual(valorActual)
+                    .valorSemanaAnterior(valorAnterior)
+                    .variacionPorcentual(estadisticas.calcularVariacionPorcentual(valorActual, valorAnterior))
+                    .periodoActual(periodo)
+                    .periodoAnterior(periodo.anterior())
+                    .build());
+        }
+        items.sort(Comparator.comparing(MapaCalorItem::getNegocio).thenComparing(i -> i.getValorAbsoluto().negate()));
+        return items;
+    }
+
+    private static List<DatoCompensacion> filtrar(List<DatoCompensacion> datos, String negocio, Periodo periodo) {
+        return datos.stream()
+                .filter(d -> d.getNegocio().equals(negocio) && d.getCodigoPeriodo() == periodo.toCodigo())
+                .toList();
+    }
+
+    private static BigDecimal sumar(List<DatoCompensacion> datos, String indicador) {
+        return datos.stream()
+                .filter(d -> indicador.equalsIgnoreCase(d.getIndicador().trim()))
+                .map(DatoCompensacion::getValor)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static Map<String, BigDecimal> sumarPorPuesto(List<DatoCompensacion> datos) {
+        return datos.stream()
+                .filter(d -> "Compensación".equalsIgnoreCase(d.getIndicador().trim()))
+                .collect(Collectors.groupingBy(d -> d.getPuesto().trim(),
+                        Collectors.reducing(BigDecimal.ZERO, DatoCompensacion::getValor, BigDecimal::add)));
+    }
+
+    /**
+     * Cuatro negocios con dos puestos cada uno en cuatro semanas. El indicador cambia de mayusculas entre registros.
+     * Los empleados son enteros: el rollup guarda la suma por serie, no cada registro
+     */
+    private static List<DatoCompensacion> datosAgregados(Random random) {
+        String[] indicadores = {"Compensación", "COMPENSACIÓN", "Empleado", "Bono"};
+        List<DatoCompensacion> datos = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            int puesto = random.nextInt(8);
+            String indicador = indicadores[random.nextInt(indicadores.length)];
+            String valor = indicador.equals("Empleado")
+                    ? String.valueOf(1 + random.nextInt(40))
+                    : BigDecimal.valueOf(random.nextInt(10_000_000), 2).toPlainString();
+            datos.add(dato("N" + puesto % 4, "P" + puesto, indicador, 202410 + random.nextInt(4), valor));
+        }
+        return datos;
+    }
+
+    private static DatoCompensacion dato(String negocio, String puesto, String indicador, int periodo, String valor) {
+        return DatoCompensacion.builder()
+                .negocio(negocio)
+                .puesto(puesto)
+                .indicador(indicador)
+                .codigoPeriodo(periodo)
+                .valor(new BigDecimal(valor))
+                .build();
+    }
+}
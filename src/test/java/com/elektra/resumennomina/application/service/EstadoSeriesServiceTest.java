@@ -0,0 +1,267 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.domain.model.EstadoSerie;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.EstadoSerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EstadoSeriesServiceTest {
+
+    private static final Periodo INICIO = Periodo.of(2020, 1);
+
+    private final List<DatoCompensacion> datos = new ArrayList<>();
+    private final EstadoEnMemoria estadoRepository = new EstadoEnMemoria();
+    private final Random random = new Random(2024);
+    private EstadoSeriesService service;
+
+    @BeforeEach
+    void setUp() {
+        DatoCompensacionRepository repository = mock(DatoCompensacionRepository.class);
+        when(repository.findByPeriodo(anyInt())).thenAnswer(invocation -> {
+            int codigo = invocation.getArgument(0);
+            return datos.stream().filter(dato -> dato.getCodigoPeriodo() == codigo).toList();
+        });
+        when(repository.findByPeriodoBetween(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int desde = invocation.getArgument(0);
+            int hasta = invocation.getArgument(1);
+            return datos.stream()
+                    .filter(dato -> dato.getCodigoPeriodo() >= desde && dato.getCodigoPeriodo() <= hasta)
+                    .toList();
+        });
+        when(repository.findMaxPeriodo()).thenAnswer(invocation ->
+                datos.stream().map(DatoCompensacion::getCodigoPeriodo).max(Integer::compare));
+        service = new EstadoSeriesService(repository, estadoRepository);
+    }
+
+    @Test
+    void avanzarPeriodoAPeriodoDejaElMismoEstadoQueReconstruir() {
+        cargarSemanas(INICIO, 10);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        // 150 semanas más: la ventana de 52 se recorta en cada avance y una serie deja de reportar
+        Periodo periodo = INICIO.restarSemanas(-10);
+        for (int i = 0; i < 150; i++, periodo = periodo.siguiente()) {
+            cargarSemana(periodo);
+            service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(periodo.toCodigo())));
+
+            assertEstadoIgualAReconstruir(periodo);
+        }
+    }
+
+    @Test
+    void avanzarVariosPeriodosEnUnEventoDejaElMismoEstadoQueReconstruir() {
+        cargarSemanas(INICIO, 60);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        Periodo desde = INICIO.restarSemanas(-60);
+        cargarSemanas(desde, 5);
+        Periodo hasta = desde.restarSemanas(-4);
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(
+                desde.toCodigo(), desde.siguiente().toCodigo(), desde.siguiente().siguiente().toCodigo(),
+                hasta.anterior().toCodigo(), hasta.toCodigo())));
+
+        assertEstadoIgualAReconstruir(hasta);
+    }
+
+    @Test
+    void reemplazarUnPeriodoHistoricoReconstruyeLaVentana() {
+        cargarSemanas(INICIO, 80);
+        Periodo ultimo = INICIO.restarSemanas(-79);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        Periodo historico = ultimo.restarSemanas(20);
+        datos.removeIf(dato -> dato.getCodigoPeriodo() == historico.toCodigo());
+        cargarSemana(historico);
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(historico.toCodigo())));
+
+        assertEstadoIgualAReconstruir(ultimo);
+    }
+
+    @Test
+    void eliminarUnPeriodoReconstruyeLaVentana() {
+        cargarSemanas(INICIO, 80);
+        Periodo ultimo = INICIO.restarSemanas(-79);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        Periodo eliminado = ultimo.restarSemanas(10);
+        datos.removeIf(dato -> dato.getCodigoPeriodo() == eliminado.toCodigo());
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(eliminado.toCodigo())));
+
+        assertEstadoIgualAReconstruir(ultimo);
+        assertThat(estadoRepository.estados.get(0).getPuntos())
+                .noneMatch(punto -> punto.getCodigoPeriodo() == eliminado.toCodigo());
+    }
+
+    @Test
+    void unaCargaCompletaReconstruyeDesdeElUltimoPeriodo() {
+        cargarSemanas(INICIO, 70);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+        Periodo periodo = INICIO.restarSemanas(-70);
+        cargarSemana(periodo);
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(periodo.toCodigo())));
+
+        datos.clear();
+        cargarSemanas(INICIO.restarSemanas(-5), 90);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        assertEstadoIgualAReconstruir(INICIO.restarSemanas(-94));
+    }
+
+    @Test
+    void eliminarTodosLosDatosDescartaElEstado() {
+        cargarSemanas(INICIO, 10);
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+        assertThat(estadoRepository.estados).isNotEmpty();
+
+        datos.clear();
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of()));
+
+        assertThat(estadoRepository.estados).isEmpty();
+    }
+
+    @Test
+    void recorrerVentanasEntregaElMismoEstadoQueConstruirCadaPeriodo() {
+        cargarSemanas(INICIO, 130);
+        Periodo desde = INICIO.restarSemanas(-40);
+        Periodo hasta = INICIO.restarSemanas(-129);
+        List<Periodo> evaluados = new ArrayList<>();
+
+        service.recorrerVentanas(desde, hasta, (periodo, estados) -> {
+            evaluados.add(periodo);
+            List<EstadoSerie> construidos = service.construirEstados(periodo);
+            assertThat(estados).isEqualTo(construidos);
+            estados.forEach(EstadoSeriesServiceTest::assertParidadDecimal);
+        });
+
+        assertThat(evaluados).hasSize(90);
+    }
+
+    // ========== UTILIDADES ==========
+
+    /**
+     * El estado guardado debe ser idéntico (bit a bit en media y M2) al construido desde la ventana
+     * completa, y coincidir con la media, varianza y Z-Score calculados en BigDecimal
+     */
+    private void assertEstadoIgualAReconstruir(Periodo periodo) {
+        List<EstadoSerie> construidos = service.construirEstados(periodo);
+        assertThat(estadoRepository.estados).isEqualTo(construidos);
+        assertThat(estadoRepository.estados).allMatch(estado -> estado.getCodigoPeriodo() == periodo.toCodigo());
+        estadoRepository.estados.forEach(EstadoSeriesServiceTest::assertParidadDecimal);
+    }
+
+    private static void assertParidadDecimal(EstadoSerie serie) {
+        List<BigDecimal> variaciones = new ArrayList<>();
+        for (EstadoSerie.PuntoSerie punto : serie.getPuntos()) {
+            if (punto.getVariacion() != null) {
+                variaciones.add(BigDecimal.valueOf(punto.getVariacion()));
+            }
+        }
+        if (!variaciones.isEmpty()) {
+            variaciones.remove(variaciones.size() - 1);
+        }
+        assertThat(serie.getConteo()).isEqualTo(variaciones.size());
+        if (variaciones.size() < 2) {
+            return;
+        }
+
+        MathContext mc = MathContext.DECIMAL128;
+        BigDecimal n = BigDecimal.valueOf(variaciones.size());
+        BigDecimal media = variaciones.stream().reduce(BigDecimal.ZERO, BigDecimal::add).divide(n, mc);
+        BigDecimal sumaCuadrados = BigDecimal.ZERO;
+        for (BigDecimal variacion : variaciones) {
+            sumaCuadrados = sumaCuadrados.add(variacion.subtract(media).pow(2));
+        }
+        double varianza = sumaCuadrados.divide(n.subtract(BigDecimal.ONE), mc).doubleValue();
+
+        assertThat(serie.getMedia()).isCloseTo(media.doubleValue(), within(1e-12));
+        assertThat(serie.varianzaHistoria(serie.getMedia())).isCloseTo(varianza, within(1e-12 + varianza * 1e-9));
+        if (varianza > 0) {
+            double zScore = (serie.getVariacionActual() - media.doubleValue()) / Math.sqrt(varianza);
+            double zEstado = (serie.getVariacionActual() - serie.getMedia()) / Math.sqrt(serie.varianzaHistoria(serie.getMedia()));
+            assertThat(zEstado).isCloseTo(zScore, within(1e-8));
+        }
+    }
+
+    private void cargarSemanas(Periodo desde, int semanas) {
+        Periodo periodo = desde;
+        for (int i = 0; i < semanas; i++, periodo = periodo.siguiente()) {
+            cargarSemana(periodo);
+        }
+    }
+
+    /**
+     * Tres series con varios registros por periodo, un registro de empleados (excluido de las alertas)
+     * y una serie que solo reporta en los primeros 30 periodos para que salga por completo de la ventana
+     */
+    private void cargarSemana(Periodo periodo) {
+        for (String puesto : List.of("Gerente", "Asesor", "Cajero")) {
+            for (int r = 0; r < 3; r++) {
+                datos.add(dato(periodo, puesto, "Compensación", 50_000 + random.nextGaussian() * 20_000));
+            }
+        }
+        datos.add(dato(periodo, "Gerente", "Empleado", 10));
+        if (periodo.toOrdinal() - INICIO.toOrdinal() < 30) {
+            datos.add(dato(periodo, "Temporal", "Bono", random.nextInt(4) == 0 ? 0 : 1_000 + random.nextInt(500)));
+        }
+    }
+
+    private static DatoCompensacion dato(Periodo periodo, String puesto, String indicador, double valor) {
+        return DatoCompensacion.builder()
+                .codigoPeriodo(periodo.toCodigo())
+                .negocio("Elektra")
+                .puesto(puesto)
+                .indicador(indicador)
+                .valor(BigDecimal.valueOf(valor))
+                .build();
+    }
+
+    /**
+     * Repositorio de estado que, como Mongo, entrega copias: el servicio no puede modificar lo guardado
+     */
+    private static final class EstadoEnMemoria implements EstadoSerieRepository {
+        private List<EstadoSerie> estados = List.of();
+
+        @Override
+        public List<EstadoSerie> findAll() {
+            return new ArrayList<>(estados.stream().map(EstadoEnMemoria::copia).toList());
+        }
+
+        @Override
+        public void replaceAll(List<EstadoSerie> nuevos) {
+            estados = nuevos.stream().map(EstadoEnMemoria::copia).toList();
+        }
+
+        @Override
+        public void deleteAll() {
+            estados = List.of();
+        }
+
+        private static EstadoSerie copia(EstadoSerie estado) {
+            List<EstadoSerie.PuntoSerie> puntos = new ArrayList<>();
+            for (EstadoSerie.PuntoSerie punto : estado.getPuntos()) {
+                puntos.add(new EstadoSerie.PuntoSerie(punto.getCodigoPeriodo(), punto.getValor(),
+                        punto.getRegistros(), punto.getVariacion()));
+            }
+            return new EstadoSerie(estado.getNegocio(), estado.getPuesto(), estado.getIndicador(),
+                    estado.getCodigoPeriodo(), puntos, estado.getRegistros(), estado.getVariacionActual(),
+                    estado.getConteo(), estado.getMedia(), estado.getM2());
+        }
+    }
+}
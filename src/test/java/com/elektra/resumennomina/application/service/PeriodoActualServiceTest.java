@@ -0,0 +1,107 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PeriodoActualServiceTest {
+
+    private RollupSemanalRepository repository;
+    private PeriodoActualService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RollupSemanalRepository.class);
+        when(repository.findDistinctNegocios()).thenReturn(List.of("N1", "N2", "N3", "N4", "N5"));
+        service = new PeriodoActualService(repository);
+    }
+
+    @Test
+    void resuelveConElMinimoDeNegociosYLoGuardaEnMemoria() {
+        when(repository.findUltimoPeriodoConNegocios("Compensación", 4)).thenReturn(Optional.of(202430));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202430));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202430));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202430));
+
+        verify(repository, times(1)).findUltimoPeriodoConNegocios("Compensación", 4);
+        verify(repository, times(1)).findDistinctNegocios();
+    }
+
+    @Test
+    void conPocosNegociosPideAlMenosTres() {
+        when(repository.findDistinctNegocios()).thenReturn(List.of("N1", "N2"));
+        when(repository.findUltimoPeriodoConNegocios("Compensación", 3)).thenReturn(Optional.of(202410));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202410));
+    }
+
+    @Test
+    void recalculaDespuesDeUnaActualizacionDeDatos() {
+        when(repository.findUltimoPeriodoConNegocios("Compensación", 4))
+                .thenReturn(Optional.of(202430), Optional.of(202431));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202430));
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202431)));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202431));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202431));
+        verify(repository, times(2)).findUltimoPeriodoConNegocios("Compensación", 4);
+    }
+
+    @Test
+    void unResultadoQueCoincideConUnaCargaNoSeGuarda() {
+        // La carga llega mientras se resuelve: el valor se entrega pero la siguiente consulta vuelve a resolver
+        when(repository.findUltimoPeriodoConNegocios("Compensación", 4)).thenAnswer(invocation -> {
+            service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202431)));
+            return Optional.of(202430);
+        }).thenReturn(Optional.of(202431));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202430));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202431));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202431));
+        verify(repository, times(2)).findUltimoPeriodoConNegocios("Compensación", 4);
+    }
+
+    @Test
+    void sinPeriodoConSuficientesNegociosUsaElMasReciente() {
+        when(repository.findUltimoPeriodoConNegocios(anyString(), anyInt())).thenReturn(Optional.empty());
+        when(repository.findMaxPeriodo()).thenReturn(Optional.of(202412));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202412));
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202412));
+        verify(repository, times(1)).findMaxPeriodo();
+    }
+
+    @Test
+    void sinDatosNoGuardaNadaYVuelveAResolverTrasLaPrimeraCarga() {
+        when(repository.findDistinctNegocios()).thenReturn(List.of());
+        when(repository.findUltimoPeriodoConNegocios(anyString(), anyInt())).thenReturn(Optional.empty());
+        when(repository.findMaxPeriodo()).thenReturn(Optional.empty());
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.actual());
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.actual());
+        verify(repository, times(2)).findMaxPeriodo();
+
+        when(repository.findUltimoPeriodoConNegocios("Compensación", 3)).thenReturn(Optional.of(202405));
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202405)));
+
+        assertThat(service.obtenerPeriodoActual()).isEqualTo(Periodo.fromCodigo(202405));
+        verify(repository, never()).findByPeriodo(anyInt());
+    }
+}
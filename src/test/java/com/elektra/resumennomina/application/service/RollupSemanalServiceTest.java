@@ -0,0 +1,66 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.domain.port.output.DatoCompensacionRepository;
+import com.elektra.resumennomina.domain.port.output.RollupSemanalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RollupSemanalServiceTest {
+
+    private RollupSemanalRepository rollupRepository;
+    private DatoCompensacionRepository datoRepository;
+    private RollupSemanalService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(RollupSemanalRepository.class);
+        datoRepository = mock(DatoCompensacionRepository.class);
+        service = new RollupSemanalService(rollupRepository, datoRepository);
+    }
+
+    @Test
+    void unaCargaParcialRecalculaSoloSusPeriodos() {
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202410)));
+
+        verify(rollupRepository).recalcularPeriodos(Set.of(202410));
+        verify(rollupRepository, never()).reconstruir();
+    }
+
+    @Test
+    void unErrorReintentaLosMismosPeriodosSinReconstruirTodo() {
+        doThrow(new IllegalStateException("timeout")).doNothing()
+                .when(rollupRepository).recalcularPeriodos(Set.of(202410));
+
+        service.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202410)));
+
+        verify(rollupRepository, times(2)).recalcularPeriodos(Set.of(202410));
+        verify(rollupRepository, never()).reconstruir();
+    }
+
+    @Test
+    void unaCargaCompletaReconstruye() {
+        service.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202410)));
+
+        verify(rollupRepository).reconstruir();
+    }
+
+    @Test
+    void alIniciarSeConstruyeSoloSiElRollupEstaVacio() {
+        when(rollupRepository.isEmpty()).thenReturn(false);
+        when(datoRepository.count()).thenReturn(10L);
+
+        service.inicializar();
+
+        verify(rollupRepository, never()).reconstruir();
+    }
+}
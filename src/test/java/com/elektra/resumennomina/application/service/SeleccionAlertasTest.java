@@ -0,0 +1,138 @@
+package com.elektra.resumennomina.application.service;
+
+import com.elektra.resumennomina.domain.model.AlertaPrediccion;
+import com.elektra.resumennomina.domain.model.AlertaZScore;
+import com.elektra.resumennomina.domain.model.FiltroAlertas;
+import com.elektra.resumennomina.domain.model.Periodo;
+import com.elektra.resumennomina.domain.model.ResultadoAlertas;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeleccionAlertasTest {
+
+    private static final Periodo PERIODO = Periodo.fromCodigo(202410);
+
+    @Test
+    void lasPaginasRecorrenTodasLasAlertasEnOrdenSinRepetir() {
+        List<AlertaZScore> zScore = alertasZScore(37);
+        List<AlertaPrediccion> prediccion = alertasPrediccion(12);
+
+        List<AlertaZScore> entregadasZScore = new ArrayList<>();
+        List<AlertaPrediccion> entregadasPrediccion = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            ResultadoAlertas pagina = SeleccionAlertas.seleccionar(PERIODO, zScore, prediccion,
+                    FiltroAlertas.builder().limite(5).cursor(cursor).build());
+            assertThat(pagina.getAlertasZScore()).hasSizeLessThanOrEqualTo(5);
+            assertThat(pagina.getTotalAlertasZScore()).isEqualTo(37);
+            assertThat(pagina.getTotalAlertasPrediccion()).isEqualTo(12);
+            entregadasZScore.addAll(pagina.getAlertasZScore());
+            entregadasPrediccion.addAll(pagina.getAlertasPrediccion());
+            cursor = pagina.getSiguienteCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(paginas).isEqualTo(8);
+        assertThat(entregadasZScore).isSortedAccordingTo(SeleccionAlertas.ORDEN_ZSCORE)
+                .containsExactlyInAnyOrderElementsOf(zScore);
+        assertThat(entregadasPrediccion).isSortedAccordingTo(SeleccionAlertas.ORDEN_PREDICCION)
+                .containsExactlyInAnyOrderElementsOf(prediccion);
+    }
+
+    @Test
+    void elFiltroDeSeveridadYNegocioSeAplicaAntesDelLimite() {
+        List<AlertaZScore> zScore = alertasZScore(40);
+        ResultadoAlertas resultado = SeleccionAlertas.seleccionar(PERIODO, zScore, List.of(),
+                FiltroAlertas.builder().negocio("negocio1").severidad(AlertaZScore.Severidad.CRITICA).limite(3).build());
+
+        long esperadas = zScore.stream()
+                .filter(a -> a.getNegocio().equals("NEGOCIO1") && a.getSeveridad() == AlertaZScore.Severidad.CRITICA)
+                .count();
+        assertThat(resultado.getTotalAlertasZScore()).isEqualTo((int) esperadas);
+        assertThat(resultado.getAlertasZScore())
+                .allMatch(a -> a.getNegocio().equals("NEGOCIO1") && a.getSeveridad() == AlertaZScore.Severidad.CRITICA);
+    }
+
+    @Test
+    void elCursorGuardaSuPeriodoYSeRechazaEnOtro() {
+        ResultadoAlertas primera = SeleccionAlertas.seleccionar(PERIODO, alertasZScore(10), List.of(),
+                FiltroAlertas.builder().limite(4).build());
+        String cursor = primera.getSiguienteCursor();
+
+        assertThat(SeleccionAlertas.periodoDelCursor(cursor)).contains(PERIODO);
+        assertThatThrownBy(() -> SeleccionAlertas.seleccionar(Periodo.fromCodigo(202411), alertasZScore(10), List.of(),
+                FiltroAlertas.builder().limite(4).cursor(cursor).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("202411");
+    }
+
+    @Test
+    void unCursorAlteradoEsInvalido() {
+        assertThatThrownBy(() -> SeleccionAlertas.seleccionar(PERIODO, List.of(), List.of(),
+                FiltroAlertas.builder().cursor("no-es-un-cursor").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeleccionAlertas.periodoDelCursor("no-es-un-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SeleccionAlertas.periodoDelCursor(null)).isEmpty();
+    }
+
+    @Test
+    void elLimiteDebeSerPositivo() {
+        assertThatThrownBy(() -> SeleccionAlertas.seleccionar(PERIODO, List.of(), List.of(),
+                FiltroAlertas.builder().limite(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void topKDevuelveLasPrimerasEnOrden() {
+        List<Integer> valores = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            valores.add(i);
+        }
+        Collections.shuffle(valores, new Random(3L));
+        assertThat(SeleccionAlertas.topK(valores, Integer::compare, 4)).containsExactly(0, 1, 2, 3);
+    }
+
+    // ==================== DATOS ====================
+
+    private static List<AlertaZScore> alertasZScore(int cantidad) {
+        Random random = new Random(cantidad);
+        AlertaZScore.Severidad[] severidades = AlertaZScore.Severidad.values();
+        List<AlertaZScore> alertas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            alertas.add(AlertaZScore.builder()
+                    .negocio("NEGOCIO" + (i % 3))
+                    .puesto("PUESTO" + i)
+                    .indicador("Total")
+                    // Z-Score repetido a proposito para que el desempate por serie entre en juego
+                    .zScore(BigDecimal.valueOf(100 + random.nextInt(5), 2))
+                    .severidad(severidades[random.nextInt(severidades.length)])
+                    .periodo(PERIODO)
+                    .build());
+        }
+        return alertas;
+    }
+
+    private static List<AlertaPrediccion> alertasPrediccion(int cantidad) {
+        List<AlertaPrediccion> alertas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            alertas.add(AlertaPrediccion.builder()
+                    .negocio("NEGOCIO" + (i % 2))
+                    .puesto("PUESTO" + i)
+                    .indicador("Total")
+                    .variacionFueraRango(BigDecimal.valueOf((i % 4) * 250 - 400, 2))
+                    .periodo(PERIODO)
+                    .build());
+        }
+        return alertas;
+    }
+}
@@ -0,0 +1,112 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de asignación: compara los bytes asignados por el hilo al sumar una semana de
+ * registros y calcular promedio y variación con BigDecimal contra el mismo cálculo en centavos.
+ * Usa el contador de asignación por hilo de la JVM, por lo que se omite si la JVM no lo soporta.
+ */
+class CentavosAsignacionBenchmarkTest {
+
+    private static final int REGISTROS = 50_000;
+    private static final int CALENTAMIENTO = 5;
+    private static final int REPETICIONES = 10;
+
+    private final com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void centavosAsignaUnaFraccionDeBigDecimal() {
+        assumeTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        BigDecimal[] actual = montos(new Random(1L));
+        BigDecimal[] anterior = montos(new Random(2L));
+        // Igual que en los servicios: cada registro se convierte una sola vez desde BigDecimal
+        long[] actualCentavos = aCentavos(actual);
+        long[] anteriorCentavos = aCentavos(anterior);
+
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            conBigDecimal(actual, anterior);
+            conCentavos(actualCentavos, anteriorCentavos);
+        }
+
+        long bytesBigDecimal = medir(() -> conBigDecimal(actual, anterior));
+        long bytesCentavos = medir(() -> conCentavos(actualCentavos, anteriorCentavos));
+
+        assertThat(conCentavos(actualCentavos, anteriorCentavos)).isEqualTo(conBigDecimal(actual, anterior));
+        assertThat(bytesBigDecimal).as("bytes con BigDecimal").isGreaterThan((long) REGISTROS * 16);
+        assertThat(bytesCentavos).as("bytes con centavos (BigDecimal: %d)", bytesBigDecimal)
+                .isLessThan(bytesBigDecimal / 100);
+    }
+
+    /**
+     * Bytes asignados por el hilo en promedio por repetición
+     */
+    private long medir(java.util.function.Supplier<BigDecimal[]> calculo) {
+        long hilo = Thread.currentThread().getId();
+        long inicio = hilos.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < REPETICIONES; i++) {
+            calculo.get();
+        }
+        return (hilos.getThreadAllocatedBytes(hilo) - inicio) / REPETICIONES;
+    }
+
+    private static BigDecimal[] conBigDecimal(BigDecimal[] actual, BigDecimal[] anterior) {
+        BigDecimal sumaActual = BigDecimal.ZERO;
+        for (BigDecimal valor : actual) {
+            sumaActual = sumaActual.add(valor);
+        }
+        BigDecimal sumaAnterior = BigDecimal.ZERO;
+        for (BigDecimal valor : anterior) {
+            sumaAnterior = sumaAnterior.add(valor);
+        }
+        BigDecimal promedio = sumaActual.divide(BigDecimal.valueOf(actual.length), 2, RoundingMode.HALF_UP);
+        BigDecimal variacion = sumaActual.divide(sumaAnterior, 6, RoundingMode.HALF_UP)
+                .subtract(BigDecimal.ONE)
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(2, RoundingMode.HALF_UP);
+        return new BigDecimal[]{sumaActual, promedio, variacion};
+    }
+
+    private static BigDecimal[] conCentavos(long[] actual, long[] anterior) {
+        long sumaActual = 0;
+        for (long valor : actual) {
+            sumaActual = Centavos.sumar(sumaActual, valor);
+        }
+        long sumaAnterior = 0;
+        for (long valor : anterior) {
+            sumaAnterior = Centavos.sumar(sumaAnterior, valor);
+        }
+        return new BigDecimal[]{
+                Centavos.aBigDecimal(sumaActual),
+                Centavos.aBigDecimal(Centavos.dividir(sumaActual, actual.length)),
+                Centavos.variacionPorcentual(sumaActual, sumaAnterior)
+        };
+    }
+
+    private static BigDecimal[] montos(Random random) {
+        BigDecimal[] montos = new BigDecimal[REGISTROS];
+        for (int i = 0; i < REGISTROS; i++) {
+            montos[i] = BigDecimal.valueOf(500_000 + random.nextInt(5_000_000), 2);
+        }
+        return montos;
+    }
+
+    private static long[] aCentavos(BigDecimal[] montos) {
+        long[] centavos = new long[montos.length];
+        for (int i = 0; i < montos.length; i++) {
+            centavos[i] = Centavos.de(montos[i]);
+        }
+        return centavos;
+    }
+}
@@ -0,0 +1,115 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que la aritmética en centavos reproduce los resultados de las fórmulas en BigDecimal
+ */
+class CentavosTest {
+
+    private static final int CASOS = 100_000;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+
+    // ==================== CONVERSIÓN ====================
+
+    @Test
+    void deRedondeaHalfUpACentavos() {
+        assertThat(Centavos.de(new BigDecimal("10.005"))).isEqualTo(1001);
+        assertThat(Centavos.de(new BigDecimal("10.0049"))).isEqualTo(1000);
+        assertThat(Centavos.de(new BigDecimal("-10.005"))).isEqualTo(-1001);
+        assertThat(Centavos.de(new BigDecimal("42"))).isEqualTo(4200);
+        assertThat(Centavos.de(null)).isZero();
+        assertThat(Centavos.aBigDecimal(1001)).isEqualTo(new BigDecimal("10.01"));
+    }
+
+    @Test
+    void deCoincideConSetScaleHalfUp() {
+        Random random = new Random(16L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            BigDecimal valor = BigDecimal.valueOf(random.nextLong() % 10_000_000_000L, 1 + random.nextInt(5));
+            assertThat(Centavos.aBigDecimal(Centavos.de(valor)))
+                    .as("valor %s", valor)
+                    .isEqualTo(valor.setScale(Centavos.ESCALA, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void desbordamientoLanzaArithmeticException() {
+        assertThatThrownBy(() -> Centavos.sumar(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Centavos.de(new BigDecimal("1e20"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    // ==================== PROMEDIO ====================
+
+    @Test
+    void dividirCoincideConBigDecimalHalfUp() {
+        Random random = new Random(1_600L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            long centavos = random.nextLong() % 100_000_000_000L;
+            long divisor = 1 + random.nextInt(5_000);
+            BigDecimal esperado = Centavos.aBigDecimal(centavos)
+                    .divide(BigDecimal.valueOf(divisor), 2, RoundingMode.HALF_UP);
+            assertThat(Centavos.aBigDecimal(Centavos.dividir(centavos, divisor)))
+                    .as("%d / %d", centavos, divisor)
+                    .isEqualTo(esperado);
+        }
+    }
+
+    @Test
+    void dividirRedondeaLasMitadesLejosDeCero() {
+        assertThat(Centavos.dividir(5, 2)).isEqualTo(3);
+        assertThat(Centavos.dividir(-5, 2)).isEqualTo(-3);
+        assertThat(Centavos.dividir(5, -2)).isEqualTo(-3);
+        assertThat(Centavos.dividir(4, 3)).isEqualTo(1);
+        assertThatThrownBy(() -> Centavos.dividir(1, 0)).isInstanceOf(ArithmeticException.class);
+    }
+
+    // ==================== VARIACIÓN PORCENTUAL ====================
+
+    @Test
+    void variacionPorcentualCoincideConBigDecimal() {
+        Random random = new Random(2_024L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            long anterior = random.nextLong() % 10_000_000_000L;
+            if (anterior == 0) {
+                continue;
+            }
+            long actual = random.nextInt(4) == 0
+                    ? random.nextLong() % 10_000_000_000L
+                    : anterior + (long) (random.nextGaussian() * anterior * 0.1);
+            assertThat(Centavos.variacionPorcentual(actual, anterior))
+                    .as("%d vs %d", actual, anterior)
+                    .isEqualTo(variacionBigDecimal(actual, anterior));
+        }
+    }
+
+    @Test
+    void variacionPorcentualConMontosGrandesUsaBigDecimal() {
+        long actual = Long.MAX_VALUE / 10;
+        long anterior = Long.MAX_VALUE / 20;
+        assertThat(Centavos.variacionPorcentual(actual, anterior)).isEqualTo(variacionBigDecimal(actual, anterior));
+    }
+
+    @Test
+    void variacionPorcentualSinAnteriorEsCero() {
+        assertThat(Centavos.variacionPorcentual(12_345, 0)).isEqualTo(BigDecimal.ZERO);
+    }
+
+    /**
+     * Fórmula original: actual.divide(anterior, 6, HALF_UP).subtract(ONE).multiply(100).setScale(2, HALF_UP)
+     */
+    private static BigDecimal variacionBigDecimal(long actual, long anterior) {
+        return Centavos.aBigDecimal(actual)
+                .divide(Centavos.aBigDecimal(anterior), 6, RoundingMode.HALF_UP)
+                .subtract(BigDecimal.ONE)
+                .multiply(CIEN)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
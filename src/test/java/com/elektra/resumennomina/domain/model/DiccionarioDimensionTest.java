@@ -0,0 +1,91 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiccionarioDimensionTest {
+
+    private static final DiccionarioDimension INDICADORES = DiccionarioDimension.INDICADORES;
+
+    @Test
+    void buscarNoRegistraNombresDesconocidos() {
+        int tamano = INDICADORES.tamano();
+
+        for (int i = 0; i < 1_000; i++) {
+            String desconocido = "consulta-" + UUID.randomUUID();
+            assertThat(INDICADORES.buscar(desconocido)).isEqualTo(DiccionarioDimension.NO_REGISTRADO);
+            assertThat(INDICADORES.buscarCanonico("  " + desconocido + " ")).isEqualTo(desconocido);
+            assertThat(INDICADORES.coincideCon(desconocido).test("Compensación")).isFalse();
+        }
+
+        assertThat(INDICADORES.tamano()).isEqualTo(tamano);
+    }
+
+    @Test
+    void buscarResuelveVariantesDeUnNombreRegistrado() {
+        int codigo = INDICADORES.codigo("Compensación");
+
+        assertThat(INDICADORES.buscar("  COMPENSACIÓN ")).isEqualTo(codigo);
+        assertThat(INDICADORES.buscarCanonico("compensación")).isEqualTo("Compensación");
+        assertThat(INDICADORES.buscar(null)).isEqualTo(DiccionarioDimension.SIN_CODIGO);
+    }
+
+    @Test
+    void coincideConComparaSinMayusculasAunqueNingunoEsteRegistrado() {
+        String nombre = "indicador-" + UUID.randomUUID();
+        int tamano = INDICADORES.tamano();
+
+        assertThat(INDICADORES.coincideCon(nombre).test(" " + nombre.toUpperCase() + " ")).isTrue();
+        assertThat(INDICADORES.coincideCon(nombre).test("otro")).isFalse();
+        assertThat(INDICADORES.coincideCon(nombre).test(null)).isFalse();
+        assertThat(INDICADORES.tamano()).isEqualTo(tamano);
+    }
+
+    @Test
+    void unIndicadorConsultadoNoSeRegistra() {
+        int tamano = INDICADORES.tamano();
+        TotalIndicador total = new TotalIndicador("N1", 202410, "Compensación", BigDecimal.ONE);
+
+        assertThat(total.esIndicador("compensación")).isTrue();
+        assertThat(total.esIndicador("consulta-" + UUID.randomUUID())).isFalse();
+        assertThat(INDICADORES.tamano()).isEqualTo(tamano);
+    }
+
+    @Test
+    void codigoRegistraUnaVezCadaNombreNormalizado() {
+        String nombre = "carga-" + UUID.randomUUID();
+        int tamano = INDICADORES.tamano();
+
+        int codigo = INDICADORES.codigo(nombre);
+
+        assertThat(INDICADORES.codigo(" " + nombre.toUpperCase())).isEqualTo(codigo);
+        assertThat(INDICADORES.nombre(codigo)).isEqualTo(nombre);
+        assertThat(INDICADORES.tamano()).isEqualTo(tamano + 1);
+    }
+
+    @Test
+    void registrarMuchosNombresConservaLosCodigos() {
+        DiccionarioDimension puestos = DiccionarioDimension.PUESTOS;
+        String prefijo = "puesto-" + UUID.randomUUID() + "-";
+        int[] codigos = new int[500];
+        for (int i = 0; i < codigos.length; i++) {
+            codigos[i] = puestos.codigo(prefijo + i);
+        }
+
+        for (int i = 0; i < codigos.length; i++) {
+            assertThat(puestos.nombre(codigos[i])).isEqualTo(prefijo + i);
+        }
+    }
+
+    @Test
+    void fromNombreDeIndicadorNoDependeDeUnCache() {
+        assertThat(Indicador.fromNombre("compensación")).contains(Indicador.COMPENSACION);
+        assertThat(Indicador.fromNombre("Total Venta a Contado semanal")).contains(Indicador.VENTA_CONTADO);
+        assertThat(Indicador.fromNombre("consulta-" + UUID.randomUUID())).isEmpty();
+        assertThat(Indicador.fromNombre(null)).isEmpty();
+    }
+}
@@ -0,0 +1,187 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EstadoSerieTest {
+
+    private static final int VENTANA = 52;
+    private static final ClaveSerie CLAVE = new ClaveSerie("Elektra", "Gerente", "Compensación");
+
+    @Test
+    void desplazarLaVentanaDejaElMismoEstadoQueConstruirlaDeNuevo() {
+        Random random = new Random(42);
+        List<EstadoSerie.PuntoSerie> historia = new ArrayList<>();
+        EstadoSerie desplazada = EstadoSerie.nuevo(CLAVE);
+
+        // 400 semanas: la ventana se recorta en cada paso durante más de 340 periodos
+        Periodo periodo = Periodo.of(2015, 1);
+        for (int i = 0; i < 400; i++, periodo = periodo.siguiente()) {
+            EstadoSerie.PuntoSerie punto = punto(periodo, valorAleatorio(random), historia);
+            historia.add(punto);
+
+            int inicio = periodo.restarSemanas(VENTANA).toCodigo();
+            desplazada.recortar(inicio);
+            desplazada.agregar(copia(punto));
+
+            EstadoSerie construida = construir(historia, inicio);
+            assertThat(desplazada.getPuntos()).isEqualTo(construida.getPuntos());
+            assertThat(desplazada.getConteo()).isEqualTo(construida.getConteo());
+            assertThat(desplazada.getMedia()).isEqualTo(construida.getMedia());
+            assertThat(desplazada.getM2()).isEqualTo(construida.getM2());
+            assertThat(desplazada.getVariacionActual()).isEqualTo(construida.getVariacionActual());
+            assertThat(desplazada.getRegistros()).isEqualTo(construida.getRegistros());
+            assertParidadDecimal(desplazada);
+        }
+    }
+
+    @Test
+    void recortarQuitaLaVariacionDelNuevoPrimerPuntoYLaSacaDeLaHistoria() {
+        EstadoSerie serie = EstadoSerie.nuevo(CLAVE);
+        serie.agregar(punto(202401, 100, null));
+        serie.agregar(punto(202402, 110, 0.1));
+        serie.agregar(punto(202403, 99, -0.1));
+        serie.agregar(punto(202404, 118.8, 0.2));
+
+        assertThat(serie.getConteo()).isEqualTo(2);
+        assertThat(serie.getVariacionActual()).isEqualTo(0.2);
+
+        serie.recortar(202402);
+
+        assertThat(serie.getPuntos().get(0).getVariacion()).isNull();
+        assertThat(serie.getConteo()).isEqualTo(1);
+        assertThat(serie.getMedia()).isEqualTo(-0.1);
+        assertThat(serie.getM2()).isZero();
+        assertThat(serie.getVariacionActual()).isEqualTo(0.2);
+        assertThat(serie.getRegistros()).isEqualTo(3);
+    }
+
+    @Test
+    void recortarTodaLaVentanaDejaElEstadoVacio() {
+        EstadoSerie serie = EstadoSerie.nuevo(CLAVE);
+        serie.agregar(punto(202401, 100, null));
+        serie.agregar(punto(202402, 110, 0.1));
+        serie.agregar(punto(202403, 99, -0.1));
+
+        serie.recortar(202410);
+
+        assertThat(serie.getPuntos()).isEmpty();
+        assertThat(serie.getConteo()).isZero();
+        assertThat(serie.getMedia()).isZero();
+        assertThat(serie.getM2()).isZero();
+        assertThat(serie.getVariacionActual()).isNull();
+        assertThat(serie.getRegistros()).isZero();
+    }
+
+    @Test
+    void recortarSinPuntosFueraDeLaVentanaNoCambiaElEstado() {
+        EstadoSerie serie = EstadoSerie.nuevo(CLAVE);
+        serie.agregar(punto(202401, 100, null));
+        serie.agregar(punto(202402, 110, 0.1));
+        serie.agregar(punto(202403, 99, -0.1));
+        serie.agregar(punto(202404, 118.8, 0.2));
+        double media = serie.getMedia();
+        double m2 = serie.getM2();
+
+        serie.recortar(202401);
+
+        assertThat(serie.getPuntos()).hasSize(4);
+        assertThat(serie.getMedia()).isEqualTo(media);
+        assertThat(serie.getM2()).isEqualTo(m2);
+    }
+
+    // ========== UTILIDADES ==========
+
+    /**
+     * Compara media y varianza de Welford contra el cálculo directo en BigDecimal
+     * sobre las variaciones históricas de la ventana (todas menos la actual)
+     */
+    private static void assertParidadDecimal(EstadoSerie serie) {
+        List<BigDecimal> variaciones = new ArrayList<>();
+        for (EstadoSerie.PuntoSerie punto : serie.getPuntos()) {
+            if (punto.getVariacion() != null) {
+                variaciones.add(BigDecimal.valueOf(punto.getVariacion()));
+            }
+        }
+        if (!variaciones.isEmpty()) {
+            assertThat(serie.getVariacionActual())
+                    .isEqualTo(variaciones.remove(variaciones.size() - 1).doubleValue());
+        }
+        assertThat(serie.getConteo()).isEqualTo(variaciones.size());
+        if (variaciones.size() < 2) {
+            return;
+        }
+
+        MathContext mc = MathContext.DECIMAL128;
+        BigDecimal n = BigDecimal.valueOf(variaciones.size());
+        BigDecimal media = variaciones.stream().reduce(BigDecimal.ZERO, BigDecimal::add).divide(n, mc);
+        BigDecimal sumaCuadrados = BigDecimal.ZERO;
+        for (BigDecimal variacion : variaciones) {
+            BigDecimal diferencia = variacion.subtract(media);
+            sumaCuadrados = sumaCuadrados.add(diferencia.multiply(diferencia));
+        }
+        double varianza = sumaCuadrados.divide(n.subtract(BigDecimal.ONE), mc).doubleValue();
+
+        assertThat(serie.getMedia()).isCloseTo(media.doubleValue(), within(1e-12));
+        assertThat(serie.varianzaHistoria(serie.getMedia())).isCloseTo(varianza, within(1e-12 + varianza * 1e-9));
+
+        if (varianza > 0) {
+            double zScore = (serie.getVariacionActual() - media.doubleValue()) / Math.sqrt(varianza);
+            double zEstado = (serie.getVariacionActual() - serie.getMedia()) / Math.sqrt(serie.varianzaHistoria(serie.getMedia()));
+            assertThat(zEstado).isCloseTo(zScore, within(1e-8));
+        }
+    }
+
+    private static EstadoSerie construir(List<EstadoSerie.PuntoSerie> historia, int codigoInicio) {
+        EstadoSerie serie = EstadoSerie.nuevo(CLAVE);
+        for (EstadoSerie.PuntoSerie punto : historia) {
+            if (punto.getCodigoPeriodo() >= codigoInicio) {
+                EstadoSerie.PuntoSerie copia = copia(punto);
+                if (serie.getPuntos().isEmpty()) {
+                    copia.setVariacion(null);
+                }
+                serie.agregar(copia);
+            }
+        }
+        return serie;
+    }
+
+    /**
+     * Valores grandes con ceros ocasionales para que haya variaciones nulas dentro de la ventana
+     */
+    private static double valorAleatorio(Random random) {
+        return random.nextInt(25) == 0 ? 0 : 1_000_000 + random.nextGaussian() * 250_000;
+    }
+
+    private static EstadoSerie.PuntoSerie punto(Periodo periodo, double valor, List<EstadoSerie.PuntoSerie> historia) {
+        Double variacion = null;
+        if (!historia.isEmpty()) {
+            double anterior = historia.get(historia.size() - 1).getValor();
+            if (anterior != 0) {
+                variacion = (valor - anterior) / anterior;
+            }
+        }
+        return punto(periodo.toCodigo(), valor, variacion);
+    }
+
+    private static EstadoSerie.PuntoSerie punto(int codigoPeriodo, double valor, Double variacion) {
+        return EstadoSerie.PuntoSerie.builder()
+                .codigoPeriodo(codigoPeriodo)
+                .valor(valor)
+                .registros(1)
+                .variacion(variacion)
+                .build();
+    }
+
+    private static EstadoSerie.PuntoSerie copia(EstadoSerie.PuntoSerie punto) {
+        return punto(punto.getCodigoPeriodo(), punto.getValor(), punto.getVariacion());
+    }
+}
@@ -0,0 +1,56 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PeriodoTest {
+
+    @Test
+    void fromCodigoSeparaAnioYSemana() {
+        Periodo periodo = Periodo.fromCodigo(202507);
+        assertThat(periodo.getAnio()).isEqualTo(2025);
+        assertThat(periodo.getSemana()).isEqualTo(7);
+        assertThat(periodo.toCodigo()).isEqualTo(202507);
+        assertThat(periodo.toDisplayString()).isEqualTo("2025-07");
+    }
+
+    @Test
+    void losPeriodosDelRangoPrecargadoSeReutilizan() {
+        assertThat(Periodo.fromCodigo(202453)).isSameAs(Periodo.of(2024, 53));
+        assertThat(Periodo.of(2024, 10).siguiente()).isSameAs(Periodo.of(2024, 11));
+    }
+
+    @Test
+    void fueraDelRangoPrecargadoSeCreaUnaInstanciaNueva() {
+        Periodo periodo = Periodo.of(1999, 10);
+        assertThat(periodo).isEqualTo(Periodo.fromCodigo(199910)).isNotSameAs(Periodo.fromCodigo(199910));
+        assertThat(periodo.hashCode()).isEqualTo(199910);
+    }
+
+    @Test
+    void codigosInvalidosSeRechazan() {
+        assertThatThrownBy(() -> Periodo.fromCodigo(202400)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Periodo.fromCodigo(202454)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Periodo.fromCodigo(2024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Periodo.fromCodigo(-202401)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Periodo.fromCodigo(Integer.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void anteriorYSiguienteAvanzanSobreAniosDe52Semanas() {
+        assertThat(Periodo.of(2024, 52).siguiente()).isEqualTo(Periodo.of(2025, 1));
+        assertThat(Periodo.of(2024, 53).siguiente()).isEqualTo(Periodo.of(2025, 1));
+        assertThat(Periodo.of(2025, 1).anterior()).isEqualTo(Periodo.of(2024, 52));
+        assertThat(Periodo.of(2025, 10).restarSemanas(52)).isEqualTo(Periodo.of(2024, 10));
+    }
+
+    @Test
+    void elOrdinalReservaLaSemana53YCreceConElCodigo() {
+        assertThat(Periodo.of(2024, 53).toOrdinal() - Periodo.of(2024, 52).toOrdinal()).isEqualTo(1);
+        assertThat(Periodo.of(2025, 1).toOrdinal() - Periodo.of(2024, 52).toOrdinal()).isEqualTo(2);
+        assertThat(Periodo.fromOrdinal(Periodo.of(2024, 53).toOrdinal())).isEqualTo(Periodo.of(2024, 53));
+        assertThat(Periodo.of(Periodo.ANIO_EPOCA, 1).toOrdinal()).isZero();
+    }
+}
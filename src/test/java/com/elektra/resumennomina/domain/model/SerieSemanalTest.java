@@ -0,0 +1,62 @@
+package com.elektra.resumennomina.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerieSemanalTest {
+
+    @Test
+    void deTotalesCubreElRangoYDejaSinValorLosPeriodosFaltantes() {
+        SerieSemanal serie = SerieSemanal.deTotales(List.of(
+                new TotalPeriodo(202452, new BigDecimal("10.00"), 2),
+                new TotalPeriodo(202502, new BigDecimal("30.50"), 1)));
+
+        // 202452, 202453 (posicion vacia), 202501, 202502
+        assertThat(serie.longitud()).isEqualTo(4);
+        assertThat(serie.periodo(0)).isEqualTo(Periodo.fromCodigo(202452));
+        assertThat(serie.valor(Periodo.fromCodigo(202452))).isEqualByComparingTo("10.00");
+        assertThat(serie.tieneValor(1)).isFalse();
+        assertThat(serie.valor(Periodo.fromCodigo(202501))).isNull();
+        assertThat(serie.valor(Periodo.fromCodigo(202502))).isEqualByComparingTo("30.50");
+    }
+
+    @Test
+    void unTotalSinRegistrosNoDaValor() {
+        SerieSemanal serie = SerieSemanal.deTotales(List.of(
+                new TotalPeriodo(202410, BigDecimal.ZERO, 0),
+                new TotalPeriodo(202411, new BigDecimal("1.00"), 1)));
+
+        assertThat(serie.valor(Periodo.fromCodigo(202410))).isNull();
+        assertThat(serie.valor(Periodo.fromCodigo(202411))).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    void deTotalesVaciosEsUnaSerieVacia() {
+        assertThat(SerieSemanal.deTotales(List.of()).isEmpty()).isTrue();
+        assertThat(SerieSemanal.deTotales(List.of()).longitud()).isZero();
+    }
+
+    @Test
+    void deTotalesCoincideConSumarLosRegistros() {
+        List<DatoCompensacion> datos = List.of(
+                dato(202410, "100.10"), dato(202410, "0.90"), dato(202412, "5.55"));
+
+        SerieSemanal porRegistros = SerieSemanal.sumar(datos, d -> true);
+        SerieSemanal porTotales = SerieSemanal.deTotales(List.of(
+                new TotalPeriodo(202410, new BigDecimal("101.00"), 2),
+                new TotalPeriodo(202412, new BigDecimal("5.55"), 1)));
+
+        assertThat(porTotales.longitud()).isEqualTo(porRegistros.longitud());
+        for (int i = 0; i < porTotales.longitud(); i++) {
+            assertThat(porTotales.valor(i)).isEqualTo(porRegistros.valor(i));
+        }
+    }
+
+    private static DatoCompensacion dato(int periodo, String valor) {
+        return DatoCompensacion.builder().codigoPeriodo(periodo).valor(new BigDecimal(valor)).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.elektra.resumennomina.infrastructure.config.cache;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.application.service.VersionDatosService;
+import com.elektra.resumennomina.infrastructure.config.properties.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidacionCacheListenerTest {
+
+    private final CacheManager cacheManager = new CacheConfig(new AppProperties()).cacheManager();
+    private final InvalidacionCacheListener listener = new InvalidacionCacheListener(cacheManager);
+
+    @Test
+    void laTablaDeResultadosSeVaciaConCadaCarga() {
+        cacheManager.getCache(CacheConfig.TABLA_RESULTADOS).put(202410, "tabla");
+
+        listener.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202410)));
+
+        assertThat(cacheManager.getCache(CacheConfig.TABLA_RESULTADOS).get(202410)).isNull();
+    }
+
+    @Test
+    void elTableroNacionalSeVaciaConCadaCarga() {
+        cacheManager.getCache(CacheConfig.TABLERO_NACIONAL).put(202410, "tablero");
+
+        listener.onDatosActualizados(DatosActualizadosEvent.completo(Set.of(202410)));
+
+        assertThat(cacheManager.getCache(CacheConfig.TABLERO_NACIONAL).get(202410)).isNull();
+    }
+
+    @Test
+    void todosLosCachesDeConsultasSeVacianConCadaCarga() {
+        assertThat(cacheManager.getCacheNames()).contains(CacheConfig.COMPENSACION_NACIONAL,
+                CacheConfig.COMPENSACION_POR_NEGOCIO, CacheConfig.COMPENSACION_POR_PUESTO,
+                CacheConfig.ESTADISTICAS, CacheConfig.MAPA_CALOR);
+        for (String nombre : cacheManager.getCacheNames()) {
+            cacheManager.getCache(nombre).put(202410, nombre);
+        }
+
+        listener.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202410)));
+
+        for (String nombre : cacheManager.getCacheNames()) {
+            assertThat(cacheManager.getCache(nombre).get(202410)).as(nombre).isNull();
+        }
+    }
+
+    @Test
+    void losCachesSeVacianAntesDePublicarLaVersionNueva() throws NoSuchMethodException {
+        Order invalidacion = AnnotationUtils.findAnnotation(InvalidacionCacheListener.class
+                .getMethod("onDatosActualizados", DatosActualizadosEvent.class), Order.class);
+        Order version = AnnotationUtils.findAnnotation(VersionDatosService.class
+                .getMethod("onDatosActualizados", DatosActualizadosEvent.class), Order.class);
+
+        assertThat(invalidacion.value()).isLessThan(version.value());
+    }
+}
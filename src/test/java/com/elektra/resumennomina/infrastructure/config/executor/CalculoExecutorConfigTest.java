@@ -0,0 +1,44 @@
+package com.elektra.resumennomina.infrastructure.config.executor;
+
+import com.elektra.resumennomina.application.service.AlertasMaterializadasService;
+import com.elektra.resumennomina.application.service.AlertasService;
+import com.elektra.resumennomina.application.service.CompensacionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalculoExecutorConfigTest {
+
+    @Test
+    void losServiciosDeCalculoPidenElPoolDeCalculoPorNombre() {
+        assertThat(qualifierDelPool(AlertasService.class)).isEqualTo(CalculoExecutorConfig.CALCULO_EXECUTOR);
+        assertThat(qualifierDelPool(CompensacionService.class)).isEqualTo(CalculoExecutorConfig.CALCULO_EXECUTOR);
+    }
+
+    @Test
+    void laMaterializacionPideSuPropioHiloPorNombre() {
+        assertThat(qualifierDelPool(AlertasMaterializadasService.class))
+                .isEqualTo(CalculoExecutorConfig.MATERIALIZACION_EXECUTOR);
+    }
+
+    /**
+     * Qualifier del parametro ExecutorService del constructor: la inyeccion no depende del nombre del parametro
+     */
+    private static String qualifierDelPool(Class<?> servicio) {
+        Constructor<?>[] constructores = servicio.getConstructors();
+        assertThat(constructores).hasSize(1);
+        Parameter pool = Arrays.stream(constructores[0].getParameters())
+                .filter(p -> p.getType() == ExecutorService.class)
+                .findFirst()
+                .orElseThrow();
+        Qualifier qualifier = pool.getAnnotation(Qualifier.class);
+        assertThat(qualifier).as("@Qualifier en %s", servicio.getSimpleName()).isNotNull();
+        return qualifier.value();
+    }
+}
@@ -0,0 +1,94 @@
+package com.elektra.resumennomina.infrastructure.config.web;
+
+import com.elektra.resumennomina.application.event.DatosActualizadosEvent;
+import com.elektra.resumennomina.application.service.VersionDatosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionDatosInterceptorTest {
+
+    private final VersionDatosService versionDatosService = new VersionDatosService();
+    private final VersionDatosInterceptor interceptor = new VersionDatosInterceptor(versionDatosService);
+
+    @Test
+    void unaConsultaGetLlevaElEtagDeLaVersion() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(get(), response, null)).isTrue();
+
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + versionDatosService.obtenerVersion() + "\"");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache");
+        assertThat(response.getHeaders("Vary")).contains("X-Formato-Serie");
+    }
+
+    @Test
+    void conElMismoEtagRespondeNoModificadoSinEjecutarElControlador() {
+        String etag = etag(get());
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaders("Vary")).contains("X-Formato-Serie");
+    }
+
+    @Test
+    void unaCargaCambiaElEtag() {
+        String anterior = etag(get());
+
+        versionDatosService.onDatosActualizados(DatosActualizadosEvent.parcial(Set.of(202410)));
+
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", anterior);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getHeader("ETag")).isNotEqualTo(anterior);
+    }
+
+    @Test
+    void elFormatoColumnarTieneSuPropioEtag() {
+        String objetos = etag(get());
+        MockHttpServletRequest porEncabezado = get();
+        porEncabezado.addHeader("X-Formato-Serie", "columnar");
+        MockHttpServletRequest porParametro = get();
+        porParametro.setParameter("formato", "COLUMNAR");
+
+        assertThat(etag(porEncabezado)).isNotEqualTo(objetos).isEqualTo(etag(porParametro));
+    }
+
+    @Test
+    void elEtagDeObjetosNoValidaUnaRespuestaColumnar() {
+        MockHttpServletRequest request = get();
+        request.addHeader("X-Formato-Serie", "columnar");
+        request.addHeader("If-None-Match", etag(get()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void lasEscriturasNoLlevanEtag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/compensacion/negocios/series");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getHeader("ETag")).isNull();
+    }
+
+    private String etag(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        return response.getHeader("ETag");
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/v1/compensacion/nacional/serie");
+    }
+}
@@ -0,0 +1,297 @@
+package com.elektra.resumennomina.infrastructure.persistence.adapter;
+
+import com.elektra.resumennomina.domain.model.DiccionarioDimension;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.domain.model.TotalPuesto;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.DatoCompensacionMapperImpl;
+import com.elektra.resumennomina.infrastructure.persistence.projection.DatoAnaliticoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalIndicadorProjection;
+import com.elektra.resumennomina.infrastructure.persistence.projection.TotalPuestoProjection;
+import com.elektra.resumennomina.infrastructure.persistence.repository.DatoCompensacionMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.SnapshotCompensacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatoCompensacionRepositoryAdapterTest {
+
+    private static final String[] INDICADORES = {"Compensación", "COMPENSACIÓN", "Empleado", "Bono"};
+
+    private DatoCompensacionMongoRepository mongoRepository;
+    private DatoCompensacionRepositoryAdapter adapter;
+    private List<DatoAnaliticoProjection> datos;
+
+    @BeforeEach
+    void setUp() {
+        mongoRepository = mock(DatoCompensacionMongoRepository.class);
+        adapter = new DatoCompensacionRepositoryAdapter(mongoRepository, new DatoCompensacionMapperImpl(),
+                mock(SnapshotCompensacion.class));
+        datos = datosAleatorios(new Random(20L), 3_000);
+    }
+
+    @Test
+    void sumarIndicadorPorPeriodoRecorreElCursorYLoCierra() {
+        AtomicBoolean cerrado = new AtomicBoolean();
+        List<DatoAnaliticoProjection> enRango = datos.stream()
+                .filter(d -> d.getCodigoPeriodo() >= 202405 && d.getCodigoPeriodo() <= 202440)
+                .toList();
+        when(mongoRepository.recorrerPorRangoDePeriodos(202405, 202440))
+                .thenReturn(enRango.stream().onClose(() -> cerrado.set(true)));
+
+        List<TotalPeriodo> totales = adapter.sumarIndicadorPorPeriodo("compensación", 202405, 202440);
+
+        assertThat(totales).isEqualTo(esperado(enRango, "compensación"));
+        assertThat(totales).extracting(TotalPeriodo::codigoPeriodo).isSorted();
+        assertThat(cerrado).isTrue();
+    }
+
+    @Test
+    void elSnapshotDaLosMismosTotalesQueElCursor() {
+        ColumnasCompensacion.Constructor constructor = ColumnasCompensacion.constructor();
+        for (DatoAnaliticoProjection dato : datos) {
+            constructor.agregar(dato.getNegocio(), dato.getPuesto(), dato.getIndicador(),
+                    dato.getCodigoPeriodo(), dato.getFuncionSap(), dato.getValor());
+        }
+        ColumnasCompensacion columnas = constructor.construir();
+        when(mongoRepository.recorrerPorRangoDePeriodos(202401, 202452)).thenReturn(datos.stream());
+
+        assertThat(columnas.sumarIndicadorPorPeriodo("Compensación", 202401, 202452))
+                .isEqualTo(adapter.sumarIndicadorPorPeriodo("Compensación", 202401, 202452));
+    }
+
+    @Test
+    void unPeriodoSinRegistrosDelIndicadorNoAparece() {
+        DatoAnaliticoProjection soloBono = dato(202410, "Bono", "5.00");
+        when(mongoRepository.recorrerPorRangoDePeriodos(202401, 202452))
+                .thenReturn(Stream.of(dato(202409, "Compensación", "10.00"), soloBono));
+
+        assertThat(adapter.sumarIndicadorPorPeriodo("Compensación", 202401, 202452))
+                .containsExactly(new TotalPeriodo(202409, new BigDecimal("10.00"), 1));
+    }
+
+    @Test
+    void elRecorridoNoRegistraNombresEnElDiccionario() {
+        String nuevo = "indicador-" + UUID.randomUUID();
+        when(mongoRepository.recorrerPorRangoDePeriodos(202401, 202452)).thenReturn(Stream.of(
+                dato(202409, nuevo.toUpperCase(), "10.00"),
+                dato(202409, "otro-" + UUID.randomUUID(), "5.00")));
+        int tamano = DiccionarioDimension.INDICADORES.tamano();
+
+        assertThat(adapter.sumarIndicadorPorPeriodo(" " + nuevo, 202401, 202452))
+                .containsExactly(new TotalPeriodo(202409, new BigDecimal("10.00"), 1));
+        assertThat(DiccionarioDimension.INDICADORES.tamano()).isEqualTo(tamano);
+    }
+
+    // ==================== TOTALES POR NEGOCIO E INDICADOR ====================
+
+    @Test
+    void elSnapshotSumaPorNegocioPeriodoEIndicadorComoElGroupEnMemoria() {
+        List<DatoAnaliticoProjection> variosNegocios = datosVariosNegocios(new Random(10L), 4_000);
+        List<Integer> periodos = List.of(202411, 202412);
+
+        List<TotalIndicador> totales = adapterConSnapshot(variosNegocios).sumarPorNegocioPeriodoEIndicador(periodos);
+
+        assertThat(porClave(totales)).isEqualTo(agruparPorNegocioPeriodoEIndicador(variosNegocios, periodos));
+    }
+
+    @Test
+    void laAgregacionEnMongoSeEntregaConLaEscalaNormalizada() {
+        List<DatoAnaliticoProjection> variosNegocios = datosVariosNegocios(new Random(11L), 2_000);
+        List<Integer> periodos = List.of(202411, 202412);
+        Map<String, BigDecimal> esperado = agruparPorNegocioPeriodoEIndicador(variosNegocios, periodos);
+        // $sum en Decimal128 conserva la escala de la suma: se simula con ceros a la derecha
+        List<TotalIndicadorProjection> grupos = new ArrayList<>();
+        esperado.forEach((clave, total) -> {
+            String[] partes = clave.split("\\|");
+            TotalIndicadorProjection grupo = new TotalIndicadorProjection();
+            grupo.setNegocio(partes[0]);
+            grupo.setCodigoPeriodo(Integer.parseInt(partes[1]));
+            grupo.setIndicador(partes[2]);
+            grupo.setTotal(total.setScale(4));
+            grupos.add(grupo);
+        });
+        when(mongoRepository.sumarPorNegocioPeriodoEIndicador(periodos)).thenReturn(grupos);
+
+        List<TotalIndicador> totales = adapter.sumarPorNegocioPeriodoEIndicador(periodos);
+
+        assertThat(porClave(totales)).isEqualTo(esperado);
+        assertThat(totales).allMatch(total -> total.total().scale() <= 2);
+    }
+
+    // ==================== TOTALES POR PUESTO ====================
+
+    @Test
+    void elSnapshotSumaElIndicadorPorPuestoComoElAgrupamientoEnMemoria() {
+        List<DatoAnaliticoProjection> variosNegocios = datosVariosNegocios(new Random(12L), 4_000);
+        List<Integer> periodos = List.of(202411, 202412);
+
+        List<TotalPuesto> totales = adapterConSnapshot(variosNegocios).sumarIndicadorPorPuesto("compensación", periodos);
+
+        assertThat(totales)
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(agruparIndicadorPorPuesto(variosNegocios, "Compensación", periodos));
+    }
+
+    @Test
+    void laAgregacionPorPuestoEnMongoRecibeElIndicadorEnMinusculas() {
+        TotalPuestoProjection conRegistros = totalPuesto("P1", "N1", 202412, "150.5000", 2);
+        TotalPuestoProjection soloOtrosIndicadores = totalPuesto("P2", "N2", 202412, "0", null);
+        when(mongoRepository.sumarIndicadorPorPuesto(eq("compensación"), anyCollection()))
+                .thenReturn(List.of(conRegistros, soloOtrosIndicadores));
+
+        assertThat(adapter.sumarIndicadorPorPuesto(" COMPENSACIÓN ", List.of(202412))).containsExactly(
+                new TotalPuesto("P1", "N1", 202412, new BigDecimal("150.5"), 2),
+                new TotalPuesto("P2", "N2", 202412, BigDecimal.ZERO, 0));
+    }
+
+    // ==================== DATOS ====================
+
+    /**
+     * Suma en BigDecimal por periodo, sin distinguir mayusculas en el indicador
+     */
+    private static List<TotalPeriodo> esperado(List<DatoAnaliticoProjection> datos, String indicador) {
+        Map<Integer, BigDecimal> sumas = new TreeMap<>();
+        Map<Integer, Integer> conteos = new TreeMap<>();
+        for (DatoAnaliticoProjection dato : datos) {
+            if (dato.getIndicador().equalsIgnoreCase(indicador)) {
+                sumas.merge(dato.getCodigoPeriodo(), dato.getValor(), BigDecimal::add);
+                conteos.merge(dato.getCodigoPeriodo(), 1, Integer::sum);
+            }
+        }
+        List<TotalPeriodo> resultado = new ArrayList<>();
+        sumas.forEach((periodo, suma) -> resultado.add(new TotalPeriodo(periodo, suma, conteos.get(periodo))));
+        return resultado;
+    }
+
+    private static List<DatoAnaliticoProjection> datosAleatorios(Random random, int cantidad) {
+        List<DatoAnaliticoProjection> datos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            // Semanas impares solamente, para que haya periodos sin datos dentro del rango
+            int semana = 1 + 2 * random.nextInt(26);
+            datos.add(dato(202400 + semana, INDICADORES[random.nextInt(INDICADORES.length)],
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2).toPlainString()));
+        }
+        return datos;
+    }
+
+    private static DatoAnaliticoProjection dato(int periodo, String indicador, String valor) {
+        DatoAnaliticoProjection dato = new DatoAnaliticoProjection();
+        dato.setCodigoPeriodo(periodo);
+        dato.setNegocio("NEGOCIO");
+        dato.setPuesto("PUESTO");
+        dato.setFuncionSap(1);
+        dato.setIndicador(indicador);
+        dato.setValor(new BigDecimal(valor));
+        return dato;
+    }
+
+    private DatoCompensacionRepositoryAdapter adapterConSnapshot(List<DatoAnaliticoProjection> datos) {
+        ColumnasCompensacion.Constructor constructor = ColumnasCompensacion.constructor();
+        for (DatoAnaliticoProjection dato : datos) {
+            constructor.agregar(dato.getNegocio(), dato.getPuesto(), dato.getIndicador(),
+                    dato.getCodigoPeriodo(), dato.getFuncionSap(), dato.getValor());
+        }
+        SnapshotCompensacion snapshot = mock(SnapshotCompensacion.class);
+        when(snapshot.vigente()).thenReturn(constructor.construir());
+        return new DatoCompensacionRepositoryAdapter(mongoRepository, new DatoCompensacionMapperImpl(), snapshot);
+    }
+
+    /**
+     * Agrupamiento en memoria equivalente al $group por negocio, periodo e indicador (sin normalizar nombres)
+     */
+    private static Map<String, BigDecimal> agruparPorNegocioPeriodoEIndicador(
+            List<DatoAnaliticoProjection> datos, List<Integer> periodos) {
+        Map<String, BigDecimal> totales = new TreeMap<>();
+        for (DatoAnaliticoProjection dato : datos) {
+            if (periodos.contains(dato.getCodigoPeriodo())) {
+                totales.merge(dato.getNegocio() + "|" + dato.getCodigoPeriodo() + "|" + dato.getIndicador(),
+                        dato.getValor(), BigDecimal::add);
+            }
+        }
+        totales.replaceAll((clave, total) -> total.stripTrailingZeros());
+        return totales;
+    }
+
+    private static Map<String, BigDecimal> porClave(List<TotalIndicador> totales) {
+        Map<String, BigDecimal> resultado = new TreeMap<>();
+        for (TotalIndicador total : totales) {
+            BigDecimal anterior = resultado.put(total.negocio() + "|" + total.codigoPeriodo() + "|" + total.indicador(),
+                    total.total().stripTrailingZeros());
+            assertThat(anterior).as("grupo repetido").isNull();
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrupamiento en memoria que reemplazo la agregacion del mapa de calor: por puesto y periodo,
+     * con el primer negocio del puesto y solo los registros del indicador en el total
+     */
+    private static List<TotalPuesto> agruparIndicadorPorPuesto(
+            List<DatoAnaliticoProjection> datos, String indicador, List<Integer> periodos) {
+        Map<String, Object[]> grupos = new LinkedHashMap<>();
+        for (DatoAnaliticoProjection dato : datos) {
+            if (!periodos.contains(dato.getCodigoPeriodo())) {
+                continue;
+            }
+            Object[] grupo = grupos.computeIfAbsent(dato.getPuesto() + "|" + dato.getCodigoPeriodo(),
+                    k -> new Object[]{dato.getNegocio(), BigDecimal.ZERO, 0});
+            if (dato.getIndicador().toLowerCase(Locale.ROOT).equals(indicador.toLowerCase(Locale.ROOT))) {
+                grupo[1] = ((BigDecimal) grupo[1]).add(dato.getValor());
+                grupo[2] = (Integer) grupo[2] + 1;
+            }
+        }
+        List<TotalPuesto> resultado = new ArrayList<>();
+        grupos.forEach((clave, grupo) -> {
+            String[] partes = clave.split("\\|");
+            resultado.add(new TotalPuesto(partes[0], (String) grupo[0], Integer.parseInt(partes[1]),
+                    (BigDecimal) grupo[1], (Integer) grupo[2]));
+        });
+        return resultado;
+    }
+
+    /**
+     * Cuatro negocios con ocho puestos (cada puesto pertenece a un negocio) en cuatro semanas
+     */
+    private static List<DatoAnaliticoProjection> datosVariosNegocios(Random random, int cantidad) {
+        List<DatoAnaliticoProjection> datos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            int puesto = random.nextInt(8);
+            DatoAnaliticoProjection dato = dato(202410 + random.nextInt(4), INDICADORES[random.nextInt(INDICADORES.length)],
+                    BigDecimal.valueOf(random.nextInt(10_000_000), 2).toPlainString());
+            dato.setNegocio("N" + puesto % 4);
+            dato.setPuesto("P" + puesto);
+            datos.add(dato);
+        }
+        return datos;
+    }
+
+    private static TotalPuestoProjection totalPuesto(String puesto, String negocio, int periodo, String total, Integer registros) {
+        TotalPuestoProjection proyeccion = new TotalPuestoProjection();
+        proyeccion.setPuesto(puesto);
+        proyeccion.setNegocio(negocio);
+        proyeccion.setCodigoPeriodo(periodo);
+        proyeccion.setTotal(new BigDecimal(total));
+        proyeccion.setRegistros(registros);
+        return proyeccion;
+    }
+}
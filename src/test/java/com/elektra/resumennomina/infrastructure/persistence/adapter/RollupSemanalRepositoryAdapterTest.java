@@ -0,0 +1,148 @@
+package com.elektra.resumennomina.infrastructure.persistence.adapter;
+
+import com.elektra.resumennomina.infrastructure.persistence.document.RollupSemanalDocument;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.RollupSemanalMapper;
+import com.elektra.resumennomina.infrastructure.persistence.repository.DatoCompensacionMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.repository.RollupSemanalMongoRepository;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.SnapshotCompensacion;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RollupSemanalRepositoryAdapterTest {
+
+    private RollupSemanalMongoRepository mongoRepository;
+    private DatoCompensacionMongoRepository datosMongoRepository;
+    private MongoTemplate mongoTemplate;
+    private BulkOperations operaciones;
+    private RollupSemanalRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        mongoRepository = mock(RollupSemanalMongoRepository.class);
+        datosMongoRepository = mock(DatoCompensacionMongoRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        operaciones = mock(BulkOperations.class);
+        adapter = new RollupSemanalRepositoryAdapter(mongoRepository, datosMongoRepository,
+                mock(RollupSemanalMapper.class), mongoTemplate, mock(SnapshotCompensacion.class));
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RollupSemanalDocument.class)).thenReturn(operaciones);
+        when(mongoTemplate.remove(any(Query.class), eq(RollupSemanalDocument.class))).thenReturn(DeleteResult.acknowledged(0));
+    }
+
+    @Test
+    void recalcularActualizaEnSuLugarYDespuesEliminaSoloLasSeriesSinRegistros() {
+        when(datosMongoRepository.agruparRollupSemanal(List.of(202401, 202402))).thenReturn(List.of(
+                documento("NEGOCIO", "PUESTO", "Total", 202401, "10.50"),
+                documento("NEGOCIO", "OTRO", "Total", 202401, "3.00"),
+                documento("NEGOCIO", "PUESTO", "Total", 202402, "12.00")));
+
+        adapter.recalcularPeriodos(List.of(202401, 202402));
+
+        ArgumentCaptor<Update> actualizaciones = ArgumentCaptor.forClass(Update.class);
+        verify(operaciones, times(3)).upsert(any(Query.class), actualizaciones.capture());
+        assertThat(actualizaciones.getValue().getUpdateObject().get("$set", Document.class).keySet())
+                .containsExactlyInAnyOrder("valor", "registros");
+
+        // Las eliminaciones van despues de escribir el bloque, una por periodo, y excluyen las series recien escritas
+        InOrder orden = inOrder(operaciones, mongoTemplate);
+        orden.verify(operaciones).execute();
+        ArgumentCaptor<Query> eliminaciones = ArgumentCaptor.forClass(Query.class);
+        orden.verify(mongoTemplate, times(2)).remove(eliminaciones.capture(), eq(RollupSemanalDocument.class));
+
+        Document primerPeriodo = eliminaciones.getAllValues().get(0).getQueryObject();
+        assertThat(primerPeriodo.get("codigoPeriodo")).isEqualTo(202401);
+        assertThat(primerPeriodo.getList("$nor", Document.class)).containsExactly(
+                new Document("negocio", "NEGOCIO").append("puesto", "PUESTO").append("indicador", "Total"),
+                new Document("negocio", "NEGOCIO").append("puesto", "OTRO").append("indicador", "Total"));
+        assertThat(primerPeriodo).doesNotContainKey("generacion");
+
+        Document segundoPeriodo = eliminaciones.getAllValues().get(1).getQueryObject();
+        assertThat(segundoPeriodo.get("codigoPeriodo")).isEqualTo(202402);
+        assertThat(segundoPeriodo.getList("$nor", Document.class)).containsExactly(
+                new Document("negocio", "NEGOCIO").append("puesto", "PUESTO").append("indicador", "Total"));
+
+        verify(mongoRepository, never()).deleteAll();
+        verify(mongoRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void dosRecalculosConLosMismosDatosNoSeEliminanLasSeriesEntreSi() {
+        // Dos instancias que recalculan a la vez: ninguna marca propia entra en el filtro de eliminacion,
+        // asi que ambas borran exactamente las mismas series (las que ya no tienen registros)
+        when(datosMongoRepository.agruparRollupSemanal(List.of(202401))).thenReturn(List.of(
+                documento("NEGOCIO", "PUESTO", "Total", 202401, "10.50")));
+        RollupSemanalRepositoryAdapter otraInstancia = new RollupSemanalRepositoryAdapter(mongoRepository,
+                datosMongoRepository, mock(RollupSemanalMapper.class), mongoTemplate, mock(SnapshotCompensacion.class));
+
+        adapter.recalcularPeriodos(List.of(202401));
+        otraInstancia.recalcularPeriodos(List.of(202401));
+
+        ArgumentCaptor<Update> actualizaciones = ArgumentCaptor.forClass(Update.class);
+        verify(operaciones, times(2)).upsert(any(Query.class), actualizaciones.capture());
+        assertThat(actualizaciones.getAllValues().get(0).getUpdateObject())
+                .isEqualTo(actualizaciones.getAllValues().get(1).getUpdateObject());
+
+        ArgumentCaptor<Query> eliminaciones = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).remove(eliminaciones.capture(), eq(RollupSemanalDocument.class));
+        Document filtro = eliminaciones.getAllValues().get(0).getQueryObject();
+        assertThat(eliminaciones.getAllValues().get(1).getQueryObject()).isEqualTo(filtro);
+        assertThat(filtro.getList("$nor", Document.class))
+                .containsExactly(new Document("negocio", "NEGOCIO").append("puesto", "PUESTO").append("indicador", "Total"));
+    }
+
+    @Test
+    void unPeriodoSinRegistrosSoloEliminaSusSeries() {
+        when(datosMongoRepository.agruparRollupSemanal(List.of(202405))).thenReturn(List.of());
+
+        adapter.recalcularPeriodos(List.of(202405));
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+        ArgumentCaptor<Query> eliminacion = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(eliminacion.capture(), eq(RollupSemanalDocument.class));
+        assertThat(eliminacion.getValue().getQueryObject()).isEqualTo(new Document("codigoPeriodo", 202405));
+    }
+
+    @Test
+    void reconstruirNoVaciaLaColeccion() {
+        when(datosMongoRepository.findDistinctPeriodos()).thenReturn(List.of(202401));
+        when(datosMongoRepository.agruparRollupSemanal(List.of(202401))).thenReturn(List.of(
+                documento("NEGOCIO", "PUESTO", "Total", 202401, "1")));
+
+        adapter.reconstruir();
+
+        ArgumentCaptor<Query> eliminaciones = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).remove(eliminaciones.capture(), eq(RollupSemanalDocument.class));
+        Document periodosSinDatos = eliminaciones.getAllValues().get(1).getQueryObject();
+        assertThat(periodosSinDatos.get("codigoPeriodo", Document.class).get("$nin")).isEqualTo(List.of(202401));
+        verify(mongoRepository, never()).deleteAll();
+    }
+
+    private static RollupSemanalDocument documento(String negocio, String puesto, String indicador, int periodo, String valor) {
+        return RollupSemanalDocument.builder()
+                .negocio(negocio).puesto(puesto).indicador(indicador)
+                .codigoPeriodo(periodo).valor(new BigDecimal(valor)).registros(1)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.elektra.resumennomina.infrastructure.persistence.projection;
+
+import com.elektra.resumennomina.domain.model.DatoCompensacion;
+import com.elektra.resumennomina.infrastructure.persistence.mapper.DatoCompensacionMapperImpl;
+import com.elektra.resumennomina.infrastructure.persistence.repository.DatoCompensacionMongoRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatoAnaliticoProjectionTest {
+
+    @Test
+    void laProyeccionDeMongoIncluyeTodosLosCamposDeLaClaseYNingunoMas() {
+        Document campos = Document.parse(DatoAnaliticoProjection.CAMPOS);
+        List<String> atributos = Arrays.stream(DatoAnaliticoProjection.class.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                .map(Field::getName)
+                .toList();
+
+        assertThat(campos.get("_id")).isEqualTo(0);
+        assertThat(campos.keySet()).containsExactlyInAnyOrderElementsOf(
+                concatenar(atributos, "_id"));
+    }
+
+    @Test
+    void cadaBusquedaAnaliticaLimitaLosCampos() {
+        Document todos = Document.parse(DatoAnaliticoProjection.CAMPOS);
+        List<Method> analiticas = Arrays.stream(DatoCompensacionMongoRepository.class.getDeclaredMethods())
+                .filter(DatoAnaliticoProjectionTest::devuelveProyeccion)
+                .toList();
+
+        assertThat(analiticas).isNotEmpty();
+        assertThat(analiticas).allSatisfy(metodo -> {
+            Query query = metodo.getAnnotation(Query.class);
+            assertThat(query).as(metodo.getName()).isNotNull();
+            if (metodo.getReturnType() == List.class) {
+                assertThat(query.fields()).as(metodo.getName()).isEqualTo(DatoAnaliticoProjection.CAMPOS);
+            } else {
+                // Los recorridos con cursor pueden traer menos campos, nunca otros
+                Document campos = Document.parse(query.fields());
+                assertThat(campos.get("_id")).as(metodo.getName()).isEqualTo(0);
+                assertThat(todos.keySet()).as(metodo.getName()).containsAll(campos.keySet());
+            }
+        });
+    }
+
+    @Test
+    void elMapperConvierteLaProyeccionAlDominio() {
+        DatoAnaliticoProjection proyeccion = new DatoAnaliticoProjection();
+        proyeccion.setFuncionSap(1234);
+        proyeccion.setCodigoPeriodo(202410);
+        proyeccion.setNegocio("NEGOCIO");
+        proyeccion.setPuesto("PUESTO");
+        proyeccion.setIndicador("Compensación");
+        proyeccion.setValor(new BigDecimal("1500.25"));
+
+        DatoCompensacion dato = new DatoCompensacionMapperImpl().toDomain(proyeccion);
+
+        assertThat(dato.getFuncionSap()).isEqualTo(1234);
+        assertThat(dato.getCodigoPeriodo()).isEqualTo(202410);
+        assertThat(dato.getPeriodo().getSemana()).isEqualTo(10);
+        assertThat(dato.getNegocio()).isEqualTo("NEGOCIO");
+        assertThat(dato.getPuesto()).isEqualTo("PUESTO");
+        assertThat(dato.getIndicador()).isEqualTo("Compensación");
+        assertThat(dato.getValor()).isEqualByComparingTo("1500.25");
+    }
+
+    private static boolean devuelveProyeccion(Method metodo) {
+        Type tipo = metodo.getGenericReturnType();
+        if (tipo instanceof ParameterizedType parametrizado) {
+            return parametrizado.getActualTypeArguments()[0] == DatoAnaliticoProjection.class;
+        }
+        return false;
+    }
+
+    private static List<String> concatenar(List<String> valores, String extra) {
+        return java.util.stream.Stream.concat(valores.stream(), java.util.stream.Stream.of(extra)).toList();
+    }
+}
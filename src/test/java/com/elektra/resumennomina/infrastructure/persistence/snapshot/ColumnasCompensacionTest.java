@@ -0,0 +1,193 @@
+package com.elektra.resumennomina.infrastructure.persistence.snapshot;
+
+import com.elektra.resumennomina.domain.model.TotalEmpleadosPeriodo;
+import com.elektra.resumennomina.domain.model.TotalIndicador;
+import com.elektra.resumennomina.domain.model.TotalPeriodo;
+import com.elektra.resumennomina.infrastructure.persistence.snapshot.ColumnasCompensacion.Consulta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnasCompensacionTest {
+
+    // ========== TOTALES POR PERIODO ==========
+
+    @Test
+    void sumarIndicadorPorPeriodoNoDistingueMayusculasEIncluyeLosExtremos() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Compensación", 202409, 1, new BigDecimal("1.00"))
+                .agregar("N1", "P1", "Compensación", 202410, 1, new BigDecimal("10.25"))
+                .agregar("N2", "P2", "COMPENSACIÓN", 202410, 2, new BigDecimal("4.75"))
+                .agregar("N1", "P1", "Empleado", 202411, 1, new BigDecimal("3"))
+                .agregar("N1", "P1", "compensación", 202412, 1, new BigDecimal("2.50"))
+                .agregar("N1", "P1", "Compensación", 202413, 1, new BigDecimal("99.00"))
+                .construir();
+
+        // 202411 solo tiene empleados: no aparece en lugar de dar un total en cero
+        assertThat(columnas.sumarIndicadorPorPeriodo("compensación", 202410, 202412)).containsExactly(
+                new TotalPeriodo(202410, new BigDecimal("15.00"), 2),
+                new TotalPeriodo(202412, new BigDecimal("2.50"), 1));
+    }
+
+    @Test
+    void sumarIndicadorPorPeriodoCruzaElCambioDeAnio() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202452, 1, new BigDecimal("1.00"))
+                .agregar("N1", "P1", "Bono", 202501, 1, new BigDecimal("2.00"))
+                .agregar("N1", "P1", "Bono", 202502, 1, new BigDecimal("3.00"))
+                .construir();
+
+        assertThat(columnas.sumarIndicadorPorPeriodo("Bono", 202452, 202501))
+                .extracting(TotalPeriodo::codigoPeriodo)
+                .containsExactly(202452, 202501);
+    }
+
+    @Test
+    void sumarIndicadorPorPeriodoDeUnIndicadorInexistenteEsVacio() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("1.00"))
+                .construir();
+
+        assertThat(columnas.sumarIndicadorPorPeriodo("Vales", 202401, 202452)).isEmpty();
+    }
+
+    // ========== TOTALES CON EMPLEADOS ==========
+
+    @Test
+    void sumarIndicadorYEmpleadosPorPeriodoSumaLaParteEnteraDeLosEmpleados() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("100.00"))
+                .agregar("N1", "P1", "bono", 202410, 2, new BigDecimal("50.50"))
+                .agregar("N1", "P1", "Empleado", 202410, 1, new BigDecimal("2.90"))
+                .agregar("N1", "P1", "EMPLEADO", 202410, 2, new BigDecimal("1.20"))
+                .agregar("N1", "P1", "Empleado", 202411, 1, new BigDecimal("4"))
+                .agregar("N1", "P2", "Bono", 202410, 3, new BigDecimal("999.00"))
+                .agregar("N1", "P1", "Compensación", 202410, 1, new BigDecimal("7.00"))
+                .construir();
+
+        List<TotalEmpleadosPeriodo> totales = columnas.sumarIndicadorYEmpleadosPorPeriodo(
+                Consulta.builder().negocio("N1").puesto("P1").periodoInicio(202401).periodoFin(202452).build(),
+                "BONO", "empleado");
+
+        // 2.90 + 1.20 cuenta 3 empleados, no 4; 202411 solo tiene empleados y queda sin registros del indicador
+        assertThat(totales).containsExactly(
+                new TotalEmpleadosPeriodo(202410, "N1", "P1", new BigDecimal("150.50"), 2, 3),
+                new TotalEmpleadosPeriodo(202411, "N1", "P1", new BigDecimal("0.00"), 0, 4));
+    }
+
+    @Test
+    void sumarIndicadorYEmpleadosPorPeriodoRespetaElRango() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202409, 1, new BigDecimal("1.00"))
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("2.00"))
+                .agregar("N1", "P1", "Empleado", 202411, 1, new BigDecimal("1"))
+                .construir();
+
+        assertThat(columnas.sumarIndicadorYEmpleadosPorPeriodo(
+                Consulta.builder().negocio("N1").puesto("P1").periodoInicio(202410).periodoFin(202410).build(),
+                "Bono", "Empleado"))
+                .extracting(TotalEmpleadosPeriodo::codigoPeriodo)
+                .containsExactly(202410);
+    }
+
+    @Test
+    void sumarIndicadorYEmpleadosPorPeriodoDeUnPuestoInexistenteEsVacio() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("1.00"))
+                .construir();
+
+        assertThat(columnas.sumarIndicadorYEmpleadosPorPeriodo(
+                Consulta.builder().negocio("N1").puesto("OTRO").build(), "Bono", "Empleado")).isEmpty();
+    }
+
+    // ========== TOTALES POR PERIODO E INDICADOR ==========
+
+    @Test
+    void sumarPorPeriodoEIndicadorSoloAgrupaLosPeriodosPedidos() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("10.00"))
+                .agregar("N1", "P1", "Bono", 202410, 2, new BigDecimal("5.00"))
+                .agregar("N1", "P1", "Bono", 202409, 1, new BigDecimal("7.00"))
+                .agregar("N1", "P1", "Antiguo", 202405, 1, new BigDecimal("1.00"))
+                .agregar("N1", "P2", "Vales", 202410, 1, new BigDecimal("3.00"))
+                .construir();
+
+        List<TotalIndicador> totales = columnas.sumarPorPeriodoEIndicador(
+                Consulta.builder().negocio("N1").puesto("P1").build(), List.of(202410, 202409));
+
+        // "Antiguo" solo tiene registros en otra semana y "Vales" es de otro puesto
+        assertThat(totales).containsExactlyInAnyOrder(
+                new TotalIndicador("N1", 202410, "Bono", new BigDecimal("15.00")),
+                new TotalIndicador("N1", 202409, "Bono", new BigDecimal("7.00")));
+    }
+
+    @Test
+    void sumarPorPeriodoEIndicadorSinPeriodosEsVacio() {
+        ColumnasCompensacion columnas = ColumnasCompensacion.constructor()
+                .agregar("N1", "P1", "Bono", 202410, 1, new BigDecimal("10.00"))
+                .construir();
+
+        assertThat(columnas.sumarPorPeriodoEIndicador(Consulta.builder().build(), List.of(202420))).isEmpty();
+    }
+
+    // ========== PERIODO ACTUAL ==========
+
+    @Test
+    void ultimoPeriodoConNegociosCoincideConRecorrerLosPeriodosHaciaAtras() {
+        Random random = new Random(13);
+        for (int caso = 0; caso < 50; caso++) {
+            List<Object[]> filas = new ArrayList<>();
+            ColumnasCompensacion.Constructor constructor = ColumnasCompensacion.constructor();
+            for (int semana = 1; semana <= 20; semana++) {
+                for (int n = 1; n <= 6; n++) {
+                    if (random.nextInt(3) == 0) {
+                        continue;
+                    }
+                    // Mayusculas y espacios variados, y un indicador que no cuenta
+                    String indicador = random.nextBoolean() ? " COMPENSACIÓN " : random.nextBoolean() ? "Compensación" : "Bono";
+                    String negocio = "N" + n;
+                    filas.add(new Object[]{negocio, indicador, 202400 + semana});
+                    constructor.agregar(negocio, "P", indicador, 202400 + semana, 1, BigDecimal.ONE);
+                }
+            }
+            ColumnasCompensacion columnas = constructor.construir();
+
+            for (int minimo = 1; minimo <= 7; minimo++) {
+                assertThat(columnas.ultimoPeriodoConNegocios("compensación", minimo))
+                        .as("caso %d, minimo %d", caso, minimo)
+                        .isEqualTo(recorrerHaciaAtras(filas, minimo));
+            }
+        }
+    }
+
+    /**
+     * Algoritmo anterior: de la semana mas reciente hacia atras, la primera con suficientes negocios con Compensacion
+     */
+    private static Optional<Integer> recorrerHaciaAtras(List<Object[]> filas, int minimo) {
+        TreeSet<Integer> periodos = new TreeSet<>();
+        filas.forEach(fila -> periodos.add((Integer) fila[2]));
+        for (Integer periodo : periodos.descendingSet()) {
+            Set<String> negocios = new HashSet<>();
+            for (Object[] fila : filas) {
+                if (fila[2].equals(periodo)
+                        && "compensación".equals(((String) fila[1]).trim().toLowerCase(Locale.ROOT))) {
+                    negocios.add(((String) fila[0]).trim());
+                }
+            }
+            if (negocios.size() >= minimo) {
+                return Optional.of(periodo);
+            }
+        }
+        return Optional.empty();
+    }
+}